@@ -0,0 +1,156 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.metrics.binder.executor;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.netty.channel.EventLoopGroupListener;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
+
+import javax.inject.Singleton;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static io.micronaut.configuration.metrics.micrometer.MeterRegistryFactory.MICRONAUT_METRICS;
+import static io.micronaut.configuration.metrics.micrometer.MeterRegistryFactory.MICRONAUT_METRICS_ENABLED;
+
+/**
+ * Publishes the saturation of the Netty event loop groups created by Micronaut. The number of tasks pending on the
+ * event loops and the number of event loop threads are published as gauges. A probe task scheduled at a fixed rate on
+ * each event loop records how late it runs, which is the time any task waits before the event loop picks it up.
+ *
+ * @author agent
+ * @since 1.0
+ */
+@Singleton
+@Requires(beans = MeterRegistry.class)
+@Requires(classes = EventLoopGroupListener.class)
+@Requires(property = MICRONAUT_METRICS_ENABLED, value = "true", defaultValue = "true")
+@Requires(property = MICRONAUT_METRICS + "binders.executor.enabled", value = "true", defaultValue = "true")
+public class EventLoopGroupMetricsBinder implements EventLoopGroupListener {
+
+    private static final long PROBE_INTERVAL_MILLIS = 1000;
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, GroupState> groups = new ConcurrentHashMap<>();
+
+    /**
+     * @param meterRegistry The meter registry
+     */
+    public EventLoopGroupMetricsBinder(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void onStarted(String name, EventLoopGroup eventLoopGroup) {
+        GroupState state = groups.computeIfAbsent(name, this::register);
+        state.group = eventLoopGroup;
+        for (EventExecutor executor : eventLoopGroup) {
+            long interval = TimeUnit.MILLISECONDS.toNanos(PROBE_INTERVAL_MILLIS);
+            executor.scheduleAtFixedRate(new Probe(state.taskWait, System.nanoTime() + interval, interval), interval, interval, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void onStopped(String name, EventLoopGroup eventLoopGroup) {
+        GroupState state = groups.get(name);
+        if (state != null && state.group == eventLoopGroup) {
+            state.group = null;
+        }
+    }
+
+    private GroupState register(String name) {
+        Tags tags = Tags.of("group", name);
+        GroupState state = new GroupState(Timer.builder("netty.event.loop.task.wait")
+                .tags(tags)
+                .description("The time tasks wait before the event loop runs them")
+                .register(meterRegistry));
+        Gauge.builder("netty.event.loop.pending.tasks", state, GroupState::pendingTasks)
+                .tags(tags)
+                .description("The number of tasks pending on the event loops")
+                .register(meterRegistry);
+        Gauge.builder("netty.event.loop.threads", state, GroupState::threads)
+                .tags(tags)
+                .description("The number of event loop threads")
+                .register(meterRegistry);
+        return state;
+    }
+
+    /**
+     * The meters of an event loop group. The gauges read the most recently started group of the same name.
+     */
+    private static final class GroupState {
+        private final Timer taskWait;
+        private volatile EventLoopGroup group;
+
+        GroupState(Timer taskWait) {
+            this.taskWait = taskWait;
+        }
+
+        double pendingTasks() {
+            EventLoopGroup current = group;
+            long pending = 0;
+            if (current != null) {
+                for (EventExecutor executor : current) {
+                    if (executor instanceof SingleThreadEventExecutor) {
+                        pending += ((SingleThreadEventExecutor) executor).pendingTasks();
+                    }
+                }
+            }
+            return pending;
+        }
+
+        double threads() {
+            EventLoopGroup current = group;
+            int threads = 0;
+            if (current != null) {
+                for (EventExecutor ignored : current) {
+                    threads++;
+                }
+            }
+            return threads;
+        }
+    }
+
+    /**
+     * Records how late it runs compared to its schedule.
+     */
+    private static final class Probe implements Runnable {
+        private final Timer taskWait;
+        private final long interval;
+        private long expected;
+
+        Probe(Timer taskWait, long expected, long interval) {
+            this.taskWait = taskWait;
+            this.expected = expected;
+            this.interval = interval;
+        }
+
+        @Override
+        public void run() {
+            long now = System.nanoTime();
+            taskWait.record(Math.max(0, now - expected), TimeUnit.NANOSECONDS);
+            expected += interval;
+        }
+    }
+}
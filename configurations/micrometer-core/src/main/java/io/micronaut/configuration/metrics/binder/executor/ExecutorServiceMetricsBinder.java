@@ -0,0 +1,237 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.metrics.binder.executor;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.BeanCreatedEvent;
+import io.micronaut.context.event.BeanCreatedEventListener;
+import io.micronaut.core.naming.NameResolver;
+import io.micronaut.inject.BeanDefinition;
+import io.micronaut.scheduling.instrument.InstrumentedExecutor;
+import io.micronaut.scheduling.instrument.InstrumentedExecutorService;
+import io.micronaut.scheduling.instrument.InstrumentedScheduledExecutorService;
+
+import javax.annotation.Nonnull;
+import javax.inject.Named;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static io.micronaut.configuration.metrics.micrometer.MeterRegistryFactory.MICRONAUT_METRICS;
+import static io.micronaut.configuration.metrics.micrometer.MeterRegistryFactory.MICRONAUT_METRICS_ENABLED;
+
+/**
+ * Instruments the named {@link ExecutorService} beans, such as the {@code io} and {@code scheduled} executors. Tasks
+ * are timed while they wait in the queue and while they execute, and the pool size, active threads, queue depth and
+ * saturation of the underlying pool are published as gauges tagged with the name of the executor.
+ *
+ * @author agent
+ * @since 1.0
+ */
+@Singleton
+@Requires(beans = MeterRegistry.class)
+@Requires(property = MICRONAUT_METRICS_ENABLED, value = "true", defaultValue = "true")
+@Requires(property = MICRONAUT_METRICS + "binders.executor.enabled", value = "true", defaultValue = "true")
+public class ExecutorServiceMetricsBinder implements BeanCreatedEventListener<ExecutorService> {
+
+    private static final String NAME_TAG = "name";
+
+    private final Provider<MeterRegistry> meterRegistryProvider;
+
+    /**
+     * @param meterRegistryProvider The meter registry provider
+     */
+    public ExecutorServiceMetricsBinder(Provider<MeterRegistry> meterRegistryProvider) {
+        this.meterRegistryProvider = meterRegistryProvider;
+    }
+
+    @Override
+    public ExecutorService onCreated(BeanCreatedEvent<ExecutorService> event) {
+        ExecutorService executorService = event.getBean();
+        Optional<String> name = resolveName(event.getBeanDefinition());
+        if (!name.isPresent()) {
+            return executorService;
+        }
+        MeterRegistry meterRegistry = meterRegistryProvider.get();
+        Tags tags = Tags.of(NAME_TAG, name.get());
+
+        ExecutorService target = unwrap(executorService);
+        new ExecutorServiceMetrics(target, name.get(), Tags.empty()).bindTo(meterRegistry);
+        if (target instanceof ThreadPoolExecutor) {
+            ThreadPoolExecutor pool = (ThreadPoolExecutor) target;
+            Gauge.builder("executor.saturation", pool, p -> (double) p.getActiveCount() / p.getMaximumPoolSize())
+                    .tags(tags)
+                    .description("The ratio of active threads to the maximum pool size")
+                    .register(meterRegistry);
+        }
+
+        Timer queueWait = Timer.builder("executor.queue.wait")
+                .tags(tags)
+                .description("The time tasks wait in the queue before they execute")
+                .register(meterRegistry);
+        Timer execution = Timer.builder("executor.execution")
+                .tags(tags)
+                .description("The time taken to execute tasks")
+                .register(meterRegistry);
+        if (executorService instanceof ScheduledExecutorService) {
+            return new TimedScheduledExecutorService((ScheduledExecutorService) executorService, queueWait, execution);
+        } else {
+            return new TimedExecutorService(executorService, queueWait, execution);
+        }
+    }
+
+    private Optional<String> resolveName(BeanDefinition<ExecutorService> definition) {
+        if (definition instanceof NameResolver) {
+            Optional<String> name = ((NameResolver) definition).resolveName();
+            if (name.isPresent()) {
+                return name;
+            }
+        }
+        return definition.getValue(Named.class, String.class);
+    }
+
+    private ExecutorService unwrap(ExecutorService executorService) {
+        Executor current = executorService;
+        while (current instanceof InstrumentedExecutor) {
+            current = ((InstrumentedExecutor) current).getTarget();
+        }
+        return current instanceof ExecutorService ? (ExecutorService) current : executorService;
+    }
+
+    /**
+     * Times the tasks submitted to an executor.
+     */
+    private static class TimedExecutorService implements InstrumentedExecutorService {
+
+        static final long NOT_QUEUED = Long.MIN_VALUE;
+
+        private final ExecutorService target;
+        private final Timer queueWait;
+        private final Timer execution;
+
+        TimedExecutorService(ExecutorService target, Timer queueWait, Timer execution) {
+            this.target = target;
+            this.queueWait = queueWait;
+            this.execution = execution;
+        }
+
+        @Override
+        public ExecutorService getTarget() {
+            return target;
+        }
+
+        @Override
+        public Runnable instrument(Runnable command) {
+            return timed(command, System.nanoTime());
+        }
+
+        @Override
+        public <T> Callable<T> instrument(Callable<T> task) {
+            return timed(task, System.nanoTime());
+        }
+
+        /**
+         * @param command   The command
+         * @param submitted The time the command was submitted in nanoseconds, or {@link #NOT_QUEUED} if the queue wait is not recorded
+         * @return The timed command
+         */
+        Runnable timed(Runnable command, long submitted) {
+            return () -> {
+                long start = System.nanoTime();
+                if (submitted != NOT_QUEUED) {
+                    queueWait.record(start - submitted, TimeUnit.NANOSECONDS);
+                }
+                try {
+                    command.run();
+                } finally {
+                    execution.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            };
+        }
+
+        /**
+         * @param task      The task
+         * @param submitted The time the task was submitted in nanoseconds, or {@link #NOT_QUEUED} if the queue wait is not recorded
+         * @param <T>       The result type
+         * @return The timed task
+         */
+        <T> Callable<T> timed(Callable<T> task, long submitted) {
+            return () -> {
+                long start = System.nanoTime();
+                if (submitted != NOT_QUEUED) {
+                    queueWait.record(start - submitted, TimeUnit.NANOSECONDS);
+                }
+                try {
+                    return task.call();
+                } finally {
+                    execution.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            };
+        }
+    }
+
+    /**
+     * Times the tasks submitted to a scheduled executor. The delay of scheduled tasks is intentional, so only their
+     * execution is timed.
+     */
+    private static final class TimedScheduledExecutorService extends TimedExecutorService implements InstrumentedScheduledExecutorService {
+
+        private final ScheduledExecutorService target;
+
+        TimedScheduledExecutorService(ScheduledExecutorService target, Timer queueWait, Timer execution) {
+            super(target, queueWait, execution);
+            this.target = target;
+        }
+
+        @Override
+        public ScheduledExecutorService getTarget() {
+            return target;
+        }
+
+        @Override
+        public ScheduledFuture<?> schedule(@Nonnull Runnable command, long delay, @Nonnull TimeUnit unit) {
+            return target.schedule(timed(command, NOT_QUEUED), delay, unit);
+        }
+
+        @Override
+        public <V> ScheduledFuture<V> schedule(@Nonnull Callable<V> callable, long delay, @Nonnull TimeUnit unit) {
+            return target.schedule(timed(callable, NOT_QUEUED), delay, unit);
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleAtFixedRate(@Nonnull Runnable command, long initialDelay, long period, @Nonnull TimeUnit unit) {
+            return target.scheduleAtFixedRate(timed(command, NOT_QUEUED), initialDelay, period, unit);
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleWithFixedDelay(@Nonnull Runnable command, long initialDelay, long delay, @Nonnull TimeUnit unit) {
+            return target.scheduleWithFixedDelay(timed(command, NOT_QUEUED), initialDelay, delay, unit);
+        }
+    }
+}
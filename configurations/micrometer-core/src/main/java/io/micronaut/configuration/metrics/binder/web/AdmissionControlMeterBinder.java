@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.metrics.binder.web;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.server.netty.AdmissionController;
+
+import javax.inject.Singleton;
+
+import static io.micronaut.configuration.metrics.micrometer.MeterRegistryFactory.MICRONAUT_METRICS;
+import static io.micronaut.configuration.metrics.micrometer.MeterRegistryFactory.MICRONAUT_METRICS_ENABLED;
+
+/**
+ * Publishes the state of the server {@link AdmissionController}: the current concurrency limit, the requests in
+ * flight and waiting for the limit, and the number of requests queued and rejected so far.
+ *
+ * @author agent
+ * @since 1.0
+ */
+@Singleton
+@Requires(classes = AdmissionController.class)
+@Requires(beans = AdmissionController.class)
+@Requires(property = MICRONAUT_METRICS_ENABLED, value = "true", defaultValue = "true")
+@Requires(property = MICRONAUT_METRICS + "binders.web.enabled", value = "true", defaultValue = "true")
+public class AdmissionControlMeterBinder implements MeterBinder {
+
+    private static final String PREFIX = "http.server.admission.";
+
+    private final AdmissionController admissionController;
+
+    /**
+     * @param admissionController The admission controller
+     */
+    public AdmissionControlMeterBinder(AdmissionController admissionController) {
+        this.admissionController = admissionController;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder(PREFIX + "limit", admissionController, AdmissionController::getLimit)
+                .description("The number of requests that may be processed concurrently")
+                .register(registry);
+        Gauge.builder(PREFIX + "inflight", admissionController, AdmissionController::getInflight)
+                .description("The number of requests being processed")
+                .register(registry);
+        Gauge.builder(PREFIX + "queued", admissionController, AdmissionController::getQueued)
+                .description("The number of requests waiting for the limit")
+                .register(registry);
+        FunctionCounter.builder(PREFIX + "queued.total", admissionController, AdmissionController::getQueuedTotal)
+                .description("The number of requests that waited for the limit")
+                .register(registry);
+        FunctionCounter.builder(PREFIX + "rejected", admissionController, AdmissionController::getRejected)
+                .description("The number of requests rejected because the server was overloaded")
+                .register(registry);
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.metrics.binder.web;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.client.HttpClientConnectionListener;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
+
+import javax.annotation.Nullable;
+import javax.inject.Singleton;
+import java.net.SocketAddress;
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.micronaut.configuration.metrics.micrometer.MeterRegistryFactory.MICRONAUT_METRICS;
+import static io.micronaut.configuration.metrics.micrometer.MeterRegistryFactory.MICRONAUT_METRICS_ENABLED;
+
+/**
+ * Instruments the connections of the HTTP clients: name resolution, connect and TLS handshake times, the number of
+ * open and active channels, the bytes transferred, the sizes of compressed bodies before and after compression and
+ * the number of tasks pending on the client event loops. Comparing
+ * these with the {@code http.client.requests} timers tells downstream latency from local queuing.
+ *
+ * @author agent
+ * @since 1.0
+ */
+@Singleton
+@Requires(beans = MeterRegistry.class)
+@Requires(classes = HttpClientConnectionListener.class)
+@Requires(property = MICRONAUT_METRICS_ENABLED, value = "true", defaultValue = "true")
+@Requires(property = MICRONAUT_METRICS + "binders.http-client.enabled", value = "true", defaultValue = "true")
+public class HttpClientConnectionMeterBinder implements HttpClientConnectionListener {
+
+    private static final String PREFIX = "http.client.";
+    private static final Tags SUCCESS = Tags.of("outcome", "success");
+    private static final Tags FAILURE = Tags.of("outcome", "failure");
+    private static final Tags REQUEST = Tags.of("direction", "request");
+    private static final Tags RESPONSE = Tags.of("direction", "response");
+
+    private final AtomicLong openChannels = new AtomicLong();
+    private final AtomicLong activeChannels = new AtomicLong();
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+    private final LongAdder requestUncompressedBytes = new LongAdder();
+    private final LongAdder requestCompressedBytes = new LongAdder();
+    private final LongAdder responseUncompressedBytes = new LongAdder();
+    private final LongAdder responseCompressedBytes = new LongAdder();
+    private final Set<EventLoopGroup> eventLoopGroups = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+    private final Timer resolveSuccess;
+    private final Timer resolveFailure;
+    private final Timer connectSuccess;
+    private final Timer connectFailure;
+    private final Timer handshakeSuccess;
+    private final Timer handshakeFailure;
+
+    /**
+     * @param meterRegistry The meter registry
+     */
+    public HttpClientConnectionMeterBinder(MeterRegistry meterRegistry) {
+        Gauge.builder(PREFIX + "connections.open", openChannels, AtomicLong::get)
+                .description("The number of open client channels, including those still connecting")
+                .register(meterRegistry);
+        Gauge.builder(PREFIX + "connections.active", activeChannels, AtomicLong::get)
+                .description("The number of connected client channels")
+                .register(meterRegistry);
+        Gauge.builder(PREFIX + "event.loop.pending.tasks", this, HttpClientConnectionMeterBinder::pendingTasks)
+                .description("The number of tasks waiting to run on the client event loops")
+                .register(meterRegistry);
+        FunctionCounter.builder(PREFIX + "bytes.read", bytesRead, LongAdder::doubleValue)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        FunctionCounter.builder(PREFIX + "bytes.written", bytesWritten, LongAdder::doubleValue)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        registerCompression(meterRegistry, REQUEST, requestUncompressedBytes, requestCompressedBytes);
+        registerCompression(meterRegistry, RESPONSE, responseUncompressedBytes, responseCompressedBytes);
+        this.resolveSuccess = meterRegistry.timer(PREFIX + "dns.resolution", SUCCESS);
+        this.resolveFailure = meterRegistry.timer(PREFIX + "dns.resolution", FAILURE);
+        this.connectSuccess = meterRegistry.timer(PREFIX + "connect", SUCCESS);
+        this.connectFailure = meterRegistry.timer(PREFIX + "connect", FAILURE);
+        this.handshakeSuccess = meterRegistry.timer(PREFIX + "tls.handshake", SUCCESS);
+        this.handshakeFailure = meterRegistry.timer(PREFIX + "tls.handshake", FAILURE);
+    }
+
+    @Override
+    public void onClientRegistered(EventLoopGroup eventLoopGroup) {
+        eventLoopGroups.add(eventLoopGroup);
+    }
+
+    @Override
+    public void onResolved(String host, long durationNanos, @Nullable Throwable failure) {
+        (failure == null ? resolveSuccess : resolveFailure).record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onConnected(SocketAddress remoteAddress, long durationNanos, @Nullable Throwable failure) {
+        (failure == null ? connectSuccess : connectFailure).record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onHandshakeCompleted(SocketAddress remoteAddress, long durationNanos, @Nullable Throwable failure) {
+        (failure == null ? handshakeSuccess : handshakeFailure).record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onChannelOpened() {
+        openChannels.incrementAndGet();
+    }
+
+    @Override
+    public void onChannelClosed() {
+        openChannels.decrementAndGet();
+    }
+
+    @Override
+    public void onChannelActive() {
+        activeChannels.incrementAndGet();
+    }
+
+    @Override
+    public void onChannelInactive() {
+        activeChannels.decrementAndGet();
+    }
+
+    @Override
+    public void onBytesRead(int bytes) {
+        bytesRead.add(bytes);
+    }
+
+    @Override
+    public void onBytesWritten(int bytes) {
+        bytesWritten.add(bytes);
+    }
+
+    @Override
+    public void onRequestCompressed(long uncompressedBytes, long compressedBytes) {
+        requestUncompressedBytes.add(uncompressedBytes);
+        requestCompressedBytes.add(compressedBytes);
+    }
+
+    @Override
+    public void onResponseDecompressed(long compressedBytes, long decompressedBytes) {
+        responseCompressedBytes.add(compressedBytes);
+        responseUncompressedBytes.add(decompressedBytes);
+    }
+
+    private static void registerCompression(MeterRegistry meterRegistry, Tags tags, LongAdder uncompressed, LongAdder compressed) {
+        FunctionCounter.builder(PREFIX + "compression.bytes.uncompressed", uncompressed, LongAdder::doubleValue)
+                .description("The size of the compressed bodies before compression")
+                .baseUnit("bytes")
+                .tags(tags)
+                .register(meterRegistry);
+        FunctionCounter.builder(PREFIX + "compression.bytes.compressed", compressed, LongAdder::doubleValue)
+                .description("The size of the compressed bodies after compression")
+                .baseUnit("bytes")
+                .tags(tags)
+                .register(meterRegistry);
+        Gauge.builder(PREFIX + "compression.ratio", compressed, bytes -> bytes.sum() == 0 ? 0 : uncompressed.doubleValue() / bytes.doubleValue())
+                .description("The size of the compressed bodies before compression divided by their compressed size")
+                .tags(tags)
+                .register(meterRegistry);
+    }
+
+    private double pendingTasks() {
+        long pending = 0;
+        synchronized (eventLoopGroups) {
+            for (EventLoopGroup group : eventLoopGroups) {
+                if (group.isShutdown()) {
+                    continue;
+                }
+                for (EventExecutor executor : group) {
+                    if (executor instanceof SingleThreadEventExecutor) {
+                        pending += ((SingleThreadEventExecutor) executor).pendingTasks();
+                    }
+                }
+            }
+        }
+        return pending;
+    }
+}
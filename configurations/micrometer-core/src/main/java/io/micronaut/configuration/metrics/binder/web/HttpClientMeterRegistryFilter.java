@@ -0,0 +1,123 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.metrics.binder.web;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.HttpAttributes;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MutableHttpRequest;
+import io.micronaut.http.annotation.Filter;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.http.filter.ClientFilterChain;
+import io.micronaut.http.filter.HttpClientFilter;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.micronaut.configuration.metrics.micrometer.MeterRegistryFactory.MICRONAUT_METRICS;
+import static io.micronaut.configuration.metrics.micrometer.MeterRegistryFactory.MICRONAUT_METRICS_ENABLED;
+
+/**
+ * Client filter that times each request sent by the HTTP clients.
+ * <p>
+ * The requests are tagged with the service id and the URI template of declarative clients, so that the number of
+ * time series does not grow with the number of distinct request paths. Requests of low level clients, which have no
+ * URI template, are tagged with the host they are sent to and {@code UNKNOWN} as URI.
+ *
+ * @author agent
+ * @since 1.0
+ */
+@Filter("${micronaut.metrics.http.client.path:/**}")
+@Requires(beans = MeterRegistry.class)
+@Requires(classes = HttpClientResponseException.class)
+@Requires(property = MICRONAUT_METRICS_ENABLED, value = "true", defaultValue = "true")
+@Requires(property = MICRONAUT_METRICS + "binders.http-client.enabled", value = "true", defaultValue = "true")
+public class HttpClientMeterRegistryFilter implements HttpClientFilter {
+
+    private static final String UNKNOWN = "UNKNOWN";
+    private static final String NONE = "none";
+    private static final String STATUS_CLIENT_ERROR = "CLIENT_ERROR";
+
+    private final HttpRequestTimers timers;
+
+    /**
+     * Filter constructor.
+     *
+     * @param meterRegistry the meter registry
+     * @param configuration the configuration of the published distribution statistics
+     */
+    public HttpClientMeterRegistryFilter(MeterRegistry meterRegistry, WebMetricsConfiguration configuration) {
+        this.timers = new HttpRequestTimers(meterRegistry, HttpRequestTimers.CLIENT_METRIC_NAME, configuration);
+    }
+
+    @Override
+    public Publisher<? extends HttpResponse<?>> doFilter(MutableHttpRequest<?> request, ClientFilterChain chain) {
+        Publisher<? extends HttpResponse<?>> responsePublisher = chain.proceed(request);
+        String serviceId = request.getAttribute(HttpAttributes.SERVICE_ID, String.class).orElseGet(() -> {
+            String host = request.getUri().getHost();
+            return host != null ? host : UNKNOWN;
+        });
+        String uri = request.getAttribute(HttpAttributes.URI_TEMPLATE, String.class).orElse(UNKNOWN);
+        String method = request.getMethod().name();
+        return (Publisher<HttpResponse<?>>) actual -> responsePublisher.subscribe(new Subscriber<HttpResponse<?>>() {
+            private final long start = System.nanoTime();
+            private boolean recorded;
+
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                actual.onSubscribe(subscription);
+            }
+
+            @Override
+            public void onNext(HttpResponse<?> response) {
+                record(status(response.getStatus()), NONE);
+                actual.onNext(response);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                if (throwable instanceof HttpClientResponseException) {
+                    record(status(((HttpClientResponseException) throwable).getStatus()), throwable.getClass().getSimpleName());
+                } else {
+                    record(STATUS_CLIENT_ERROR, throwable.getClass().getSimpleName());
+                }
+                actual.onError(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                actual.onComplete();
+            }
+
+            private void record(String status, String exception) {
+                if (!recorded) {
+                    recorded = true;
+                    timers.timer(serviceId, method, status, uri, exception)
+                            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            }
+        });
+    }
+
+    private static String status(HttpStatus status) {
+        return status != null ? String.valueOf(status.getCode()) : UNKNOWN;
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.metrics.binder.web;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the timers registered for HTTP requests, so that recording a request is a single map lookup rather than
+ * building and registering the timer each time. The timers are keyed by service id, URI template, method, status and
+ * exception, all of which have a bounded number of values.
+ *
+ * @author agent
+ * @since 1.0
+ */
+class HttpRequestTimers {
+
+    static final String SERVER_METRIC_NAME = "http.server.requests";
+    static final String CLIENT_METRIC_NAME = "http.client.requests";
+    static final String SERVICE_ID = "serviceId";
+    static final String METHOD = "method";
+    static final String STATUS = "status";
+    static final String URI = "uri";
+    static final String EXCEPTION = "exception";
+
+    private final MeterRegistry meterRegistry;
+    private final String metricName;
+    private final double[] percentiles;
+    private final boolean percentileHistogram;
+    private final Duration[] slos;
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    /**
+     * @param meterRegistry The meter registry
+     * @param metricName The name of the timers
+     * @param configuration The web metrics configuration
+     */
+    HttpRequestTimers(MeterRegistry meterRegistry, String metricName, WebMetricsConfiguration configuration) {
+        this.meterRegistry = meterRegistry;
+        this.metricName = metricName;
+        this.percentiles = configuration.getPercentiles().stream().mapToDouble(Double::doubleValue).toArray();
+        this.percentileHistogram = configuration.isPercentileHistogram();
+        this.slos = configuration.getSlos().toArray(new Duration[0]);
+    }
+
+    /**
+     * @param serviceId The service id the request was sent to or null for server requests
+     * @param method The HTTP method
+     * @param status The response status
+     * @param uri The route template or the bounded fallback value
+     * @param exception The exception name or none
+     * @return The timer
+     */
+    Timer timer(String serviceId, String method, String status, String uri, String exception) {
+        TimerKey key = new TimerKey(serviceId, method, status, uri, exception);
+        Timer timer = timers.get(key);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(key, this::register);
+        }
+        return timer;
+    }
+
+    private Timer register(TimerKey key) {
+        Tags tags = Tags.of(URI, key.uri, STATUS, key.status, EXCEPTION, key.exception);
+        if (key.method != null) {
+            tags = tags.and(METHOD, key.method);
+        }
+        if (key.serviceId != null) {
+            tags = tags.and(SERVICE_ID, key.serviceId);
+        }
+        Timer.Builder builder = Timer.builder(metricName).tags(tags);
+        if (percentiles.length > 0) {
+            builder.publishPercentiles(percentiles);
+        }
+        if (percentileHistogram) {
+            builder.publishPercentileHistogram();
+        }
+        if (slos.length > 0) {
+            builder.sla(slos);
+        }
+        return builder.register(meterRegistry);
+    }
+
+    /**
+     * The tag values identifying a timer.
+     */
+    private static final class TimerKey {
+        final String serviceId;
+        final String method;
+        final String status;
+        final String uri;
+        final String exception;
+        final int hashCode;
+
+        TimerKey(String serviceId, String method, String status, String uri, String exception) {
+            this.serviceId = serviceId;
+            this.method = method;
+            this.status = status;
+            this.uri = uri;
+            this.exception = exception;
+            int result = Objects.hashCode(serviceId);
+            result = 31 * result + Objects.hashCode(method);
+            result = 31 * result + status.hashCode();
+            result = 31 * result + uri.hashCode();
+            this.hashCode = 31 * result + exception.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TimerKey)) {
+                return false;
+            }
+            TimerKey other = (TimerKey) o;
+            return Objects.equals(serviceId, other.serviceId) && Objects.equals(method, other.method) && status.equals(other.status) &&
+                    uri.equals(other.uri) && exception.equals(other.exception);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -16,9 +16,6 @@
 
 package io.micronaut.configuration.metrics.binder.web;
 
-import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.Tag;
-import io.micronaut.core.util.StringUtils;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.HttpStatus;
 import io.micronaut.http.MutableHttpResponse;
@@ -26,31 +23,28 @@ import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 
-import java.util.List;
-import java.util.Objects;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * A publisher that will deal with the web filter metrics for success and error conditions.
+ * <p>
+ * The {@code uri} tag is the URI template of the matched route, so that the number of time series does not grow with
+ * the number of distinct request paths. Requests without a matched route fall back to one of a bounded set of values.
  *
  * @author Christian Oestreich
  * @since 1.0
  */
 public class MetricsPublisher implements Publisher<MutableHttpResponse<?>> {
 
-    private static final String WEB_METRIC_NAME = "http.server.requests";
-    private static final Tag URI_NOT_FOUND = Tag.of("uri", "NOT_FOUND");
-    private static final Tag URI_REDIRECTION = Tag.of("uri", "REDIRECTION");
+    private static final String URI_NOT_FOUND = "NOT_FOUND";
+    private static final String URI_REDIRECTION = "REDIRECTION";
+    private static final String URI_ROOT = "root";
     private static final String UNKNOWN = "UNKNOWN";
-    private static final String METHOD = "method";
-    private static final String STATUS = "status";
-    private static final String URI = "uri";
-    private static final String EXCEPTION = "exception";
+    private static final String STATUS_SERVER_ERROR = "500";
+    private static final String NONE = "none";
     private final Publisher<MutableHttpResponse<?>> publisher;
-    private final MeterRegistry meterRegistry;
-    private final String requestPath;
+    private final HttpRequestTimers timers;
+    private final String uriTemplate;
     private final long start;
     private final String httpMethod;
 
@@ -58,15 +52,15 @@ public class MetricsPublisher implements Publisher<MutableHttpResponse<?>> {
      * Publisher constructor.
      *
      * @param publisher     The original publisher
-     * @param meterRegistry MeterRegistry bean
-     * @param requestPath   The request path
+     * @param timers        The timers of the HTTP server requests
+     * @param uriTemplate   The URI template of the matched route or null if no route matched
      * @param start         The start time of the request
      * @param httpMethod    The http method name used
      */
-    MetricsPublisher(Publisher<MutableHttpResponse<?>> publisher, MeterRegistry meterRegistry, String requestPath, long start, String httpMethod) {
+    MetricsPublisher(Publisher<MutableHttpResponse<?>> publisher, HttpRequestTimers timers, String uriTemplate, long start, String httpMethod) {
         this.publisher = publisher;
-        this.meterRegistry = meterRegistry;
-        this.requestPath = requestPath;
+        this.timers = timers;
+        this.uriTemplate = uriTemplate;
         this.start = start;
         this.httpMethod = httpMethod;
     }
@@ -95,7 +89,7 @@ public class MetricsPublisher implements Publisher<MutableHttpResponse<?>> {
              */
             @Override
             public void onNext(MutableHttpResponse<?> httpResponse) {
-                success(httpResponse, start, httpMethod, requestPath);
+                success(httpResponse);
                 actual.onNext(httpResponse);
             }
 
@@ -104,7 +98,7 @@ public class MetricsPublisher implements Publisher<MutableHttpResponse<?>> {
              */
             @Override
             public void onError(Throwable throwable) {
-                error(start, httpMethod, requestPath, throwable);
+                error(throwable);
                 actual.onError(throwable);
             }
 
@@ -119,64 +113,31 @@ public class MetricsPublisher implements Publisher<MutableHttpResponse<?>> {
     }
 
     /**
-     * Get the tags for the metrics based on request shape.
-     *
-     * @param httpResponse The http response
-     * @param httpMethod   The name of the http method (GET, POST, etc)
-     * @param requestPath  The request path (/foo, /foo/bar, etc)
-     * @param throwable    The throwable (optional)
-     * @return A list of Tag objects
-     */
-    private static List<Tag> getTags(HttpResponse httpResponse,
-                                     String httpMethod,
-                                     String requestPath,
-                                     Throwable throwable) {
-        return Stream
-                .of(method(httpMethod), status(httpResponse), uri(httpResponse, requestPath), exception(throwable))
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
-    }
-
-    /**
-     * Get a tag with the http method name.
-     *
-     * @param httpMethod The name of the http method.
-     * @return Tag of method
-     */
-    private static Tag method(String httpMethod) {
-        Tag tag = null;
-        if (httpMethod != null) {
-            tag = Tag.of(METHOD, httpMethod);
-        }
-        return tag;
-    }
-
-    /**
-     * Get a tag with the http status value.
+     * Get the value of the status tag.
      *
      * @param httpResponse the http response
-     * @return Tag of status
+     * @return The status code
      */
-    private static Tag status(HttpResponse httpResponse) {
+    private static String status(HttpResponse httpResponse) {
         if (httpResponse == null) {
-            return Tag.of(STATUS, "500");
+            return STATUS_SERVER_ERROR;
         }
 
         HttpStatus status = httpResponse.status();
         if (status == null) {
             status = HttpStatus.OK;
         }
-        return Tag.of(STATUS, String.valueOf(status.getCode()));
+        return String.valueOf(status.getCode());
     }
 
     /**
-     * Get a tag with the uri.
+     * Get the value of the uri tag.
      *
      * @param httpResponse the http response
-     * @param path         the path of the request
-     * @return Tag of uri
+     * @param uriTemplate  the URI template of the matched route
+     * @return The route template or a bounded fallback value
      */
-    private static Tag uri(HttpResponse httpResponse, String path) {
+    private static String uri(HttpResponse httpResponse, String uriTemplate) {
         if (httpResponse != null) {
             HttpStatus status = httpResponse.getStatus();
             if (status != null && status.getCode() >= 300 && status.getCode() < 400) {
@@ -186,63 +147,42 @@ public class MetricsPublisher implements Publisher<MutableHttpResponse<?>> {
                 return URI_NOT_FOUND;
             }
         }
-        return Tag.of(URI, sanitizePath(path));
+        if (uriTemplate == null) {
+            return UNKNOWN;
+        }
+        return uriTemplate.isEmpty() || uriTemplate.equals("/") ? URI_ROOT : uriTemplate;
     }
 
     /**
-     * Get a tag with the throwable.
+     * Get the value of the exception tag.
      *
      * @param throwable a throwable exception
-     * @return Tag of exception class name
+     * @return The exception class name
      */
-    private static Tag exception(Throwable throwable) {
+    private static String exception(Throwable throwable) {
         if (throwable != null) {
-            return Tag.of(EXCEPTION, throwable.getClass().getSimpleName());
+            return throwable.getClass().getSimpleName();
         }
-        return Tag.of(EXCEPTION, "none");
-    }
-
-    /**
-     * Sanitize the uri path for double slashes and ending slashes.
-     *
-     * @param path the uri of the request
-     * @return sanitized string
-     */
-    private static String sanitizePath(String path) {
-        if (!StringUtils.isEmpty(path)) {
-            return path
-                    .replaceAll("//+", "/")
-                    .replaceAll("/$", "");
-        }
-
-        return path != null ? (path.isEmpty() ? "root" : path) : UNKNOWN;
+        return NONE;
     }
 
     /**
-     * Method to register the success timer for a web request.
+     * Method to record the success timer for a web request.
      *
      * @param httpResponse the http response
-     * @param start        the start time of the request
-     * @param httpMethod   the name of the http method (GET, POST, etc)
-     * @param requestPath  the uri of the reuqest
      */
-    private void success(HttpResponse httpResponse, long start, String httpMethod, String requestPath) {
-        Iterable<Tag> tags = getTags(httpResponse, httpMethod, requestPath, null);
-        this.meterRegistry.timer(WEB_METRIC_NAME, tags)
+    private void success(HttpResponse httpResponse) {
+        timers.timer(null, httpMethod, status(httpResponse), uri(httpResponse, uriTemplate), NONE)
                 .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
     }
 
     /**
-     * Method to register the error timer for a web request when an exception occurs.
+     * Method to record the error timer for a web request when an exception occurs.
      *
-     * @param start       the start time of the request
-     * @param httpMethod  the name of the http method (GET, POST, etc)
-     * @param requestPath the uri of the reuqest
-     * @param throwable   exception that occurred
+     * @param throwable exception that occurred
      */
-    private void error(long start, String httpMethod, String requestPath, Throwable throwable) {
-        Iterable<Tag> tags = getTags(null, httpMethod, requestPath, throwable);
-        this.meterRegistry.timer(WEB_METRIC_NAME, tags)
+    private void error(Throwable throwable) {
+        timers.timer(null, httpMethod, STATUS_SERVER_ERROR, uri(null, uriTemplate), exception(throwable))
                 .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
     }
 }
@@ -2,6 +2,7 @@ package io.micronaut.configuration.metrics.binder.web;
 
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.HttpAttributes;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.MutableHttpResponse;
 import io.micronaut.http.annotation.Filter;
@@ -9,6 +10,8 @@ import io.micronaut.http.filter.OncePerRequestHttpServerFilter;
 import io.micronaut.http.filter.ServerFilterChain;
 import org.reactivestreams.Publisher;
 
+import javax.inject.Inject;
+
 import static io.micronaut.configuration.metrics.micrometer.MeterRegistryFactory.MICRONAUT_METRICS;
 import static io.micronaut.configuration.metrics.micrometer.MeterRegistryFactory.MICRONAUT_METRICS_ENABLED;
 
@@ -28,7 +31,7 @@ import static io.micronaut.configuration.metrics.micrometer.MeterRegistryFactory
 @Requires(property = MICRONAUT_METRICS + "binders.web.enabled", value = "true", defaultValue = "true")
 public class WebMeterRegistryFilter extends OncePerRequestHttpServerFilter {
 
-    private final MeterRegistry meterRegistry;
+    private final HttpRequestTimers timers;
 
     /**
      * Filter constructor.
@@ -36,7 +39,18 @@ public class WebMeterRegistryFilter extends OncePerRequestHttpServerFilter {
      * @param meterRegistry the meter registry
      */
     public WebMeterRegistryFilter(MeterRegistry meterRegistry) {
-        this.meterRegistry = meterRegistry;
+        this(meterRegistry, new WebMetricsConfiguration());
+    }
+
+    /**
+     * Filter constructor.
+     *
+     * @param meterRegistry the meter registry
+     * @param configuration the configuration of the published distribution statistics
+     */
+    @Inject
+    public WebMeterRegistryFilter(MeterRegistry meterRegistry, WebMetricsConfiguration configuration) {
+        this.timers = new HttpRequestTimers(meterRegistry, HttpRequestTimers.SERVER_METRIC_NAME, configuration);
     }
 
     /**
@@ -50,6 +64,7 @@ public class WebMeterRegistryFilter extends OncePerRequestHttpServerFilter {
     protected Publisher<MutableHttpResponse<?>> doFilterOnce(HttpRequest<?> httpRequest, ServerFilterChain chain) {
         long start = System.nanoTime();
         Publisher<MutableHttpResponse<?>> responsePublisher = chain.proceed(httpRequest);
-        return new MetricsPublisher(responsePublisher, meterRegistry, httpRequest.getPath(), start, httpRequest.getMethod().toString());
+        String uriTemplate = httpRequest.getAttribute(HttpAttributes.URI_TEMPLATE, String.class).orElse(null);
+        return new MetricsPublisher(responsePublisher, timers, uriTemplate, start, httpRequest.getMethod().name());
     }
 }
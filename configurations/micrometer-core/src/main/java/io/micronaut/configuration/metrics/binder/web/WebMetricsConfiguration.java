@@ -0,0 +1,61 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.metrics.binder.web;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.micronaut.configuration.metrics.micrometer.MeterRegistryFactory.MICRONAUT_METRICS;
+
+/**
+ * Configuration of the distribution statistics published by the timers of the {@link WebMeterRegistryFilter}.
+ * Each route gets its own timer, so percentiles and SLO buckets are computed per route.
+ *
+ * @author agent
+ * @since 1.0
+ */
+@ConfigurationProperties(MICRONAUT_METRICS + "binders.web")
+public class WebMetricsConfiguration {
+
+    protected List<Double> percentiles = new ArrayList<>();
+    protected boolean percentileHistogram;
+    protected List<Duration> slos = new ArrayList<>();
+
+    /**
+     * @return The percentiles to compute and publish for each route, for example 0.95 or 0.99
+     */
+    public List<Double> getPercentiles() {
+        return percentiles;
+    }
+
+    /**
+     * @return Whether to publish a histogram suitable to compute aggregable percentiles in the monitoring system
+     */
+    public boolean isPercentileHistogram() {
+        return percentileHistogram;
+    }
+
+    /**
+     * @return The service level objectives to publish as cumulative histogram buckets for each route
+     */
+    public List<Duration> getSlos() {
+        return slos;
+    }
+}
@@ -0,0 +1,77 @@
+package io.micronaut.configuration.metrics.binder.executor
+
+import io.micrometer.core.instrument.MeterRegistry
+import io.micronaut.context.ApplicationContext
+import io.micronaut.http.netty.channel.EventLoopGroupListener
+import io.micronaut.inject.qualifiers.Qualifiers
+import io.micronaut.runtime.server.EmbeddedServer
+import io.micronaut.scheduling.TaskExecutors
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.TimeUnit
+
+class ExecutorMetricsSpec extends Specification {
+
+    void "test named executors are instrumented"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(['micronaut.metrics.binders.logback.enabled': false])
+        MeterRegistry registry = context.getBean(MeterRegistry)
+        ExecutorService io = context.getBean(ExecutorService, Qualifiers.byName(TaskExecutors.IO))
+        ScheduledExecutorService scheduled = (ScheduledExecutorService) context.getBean(ExecutorService, Qualifiers.byName(TaskExecutors.SCHEDULED))
+
+        when:
+        io.submit({ "io" } as java.util.concurrent.Callable).get()
+        io.execute({ } as Runnable)
+        scheduled.schedule({ } as Runnable, 10, TimeUnit.MILLISECONDS).get()
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            registry.get("executor.execution").tags("name", TaskExecutors.IO).timer().count() == 2
+        }
+        registry.get("executor.queue.wait").tags("name", TaskExecutors.IO).timer().count() == 2
+        registry.get("executor.execution").tags("name", TaskExecutors.SCHEDULED).timer().count() == 1
+        registry.get("executor.queue.wait").tags("name", TaskExecutors.SCHEDULED).timer().count() == 0
+        registry.get("executor.pool.size").tags("name", TaskExecutors.IO).gauge().value() >= 1
+        registry.get("executor.queued").tags("name", TaskExecutors.IO).gauge()
+        registry.get("executor.saturation").tags("name", TaskExecutors.SCHEDULED).gauge().value() >= 0
+
+        cleanup:
+        context.close()
+    }
+
+    void "test executor metrics can be disabled"() {
+        given:
+        ApplicationContext context = ApplicationContext.run([
+                'micronaut.metrics.binders.logback.enabled': false,
+                'micronaut.metrics.binders.executor.enabled': false
+        ])
+        MeterRegistry registry = context.getBean(MeterRegistry)
+        context.getBean(ExecutorService, Qualifiers.byName(TaskExecutors.IO))
+
+        expect:
+        !context.containsBean(ExecutorServiceMetricsBinder)
+        !registry.find("executor.execution").timer()
+
+        cleanup:
+        context.close()
+    }
+
+    void "test the server event loops are instrumented"() {
+        given:
+        EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, ['micronaut.metrics.binders.logback.enabled': false])
+        MeterRegistry registry = embeddedServer.applicationContext.getBean(MeterRegistry)
+
+        expect:
+        registry.get("netty.event.loop.threads").tags("group", EventLoopGroupListener.SERVER_WORKER).gauge().value() > 0
+        registry.get("netty.event.loop.pending.tasks").tags("group", EventLoopGroupListener.SERVER_PARENT).gauge().value() >= 0
+        new PollingConditions(timeout: 5).eventually {
+            registry.get("netty.event.loop.task.wait").tags("group", EventLoopGroupListener.SERVER_WORKER).timer().count() > 0
+        }
+
+        cleanup:
+        embeddedServer.close()
+    }
+}
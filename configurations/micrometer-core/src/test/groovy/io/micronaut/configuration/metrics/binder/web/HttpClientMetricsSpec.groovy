@@ -0,0 +1,75 @@
+package io.micronaut.configuration.metrics.binder.web
+
+import io.micrometer.core.instrument.MeterRegistry
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.client.Client
+import io.micronaut.runtime.server.EmbeddedServer
+import spock.lang.Specification
+
+class HttpClientMetricsSpec extends Specification {
+
+    void "test client requests are timed by service id and uri template"() {
+        given:
+        EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+                'spec.name': 'HttpClientMetricsSpec',
+                'micronaut.metrics.binders.logback.enabled': false,
+        ])
+        OrderClient client = embeddedServer.applicationContext.getBean(OrderClient)
+        MeterRegistry registry = embeddedServer.applicationContext.getBean(MeterRegistry)
+
+        when:
+        client.show(1)
+        client.show(2)
+
+        then:
+        registry.get("http.client.requests")
+                .tags("serviceId", "/orders", "uri", "/orders/{id}", "method", "GET", "status", "200", "exception", "none")
+                .timer().count() == 2
+        !registry.find("http.client.requests").tags("uri", "/orders/1").timer()
+
+        when:"a declarative client maps a 404 response to null"
+        String missing = client.missing(3)
+
+        then:
+        missing == null
+        registry.get("http.client.requests")
+                .tags("uri", "/orders/{id}/missing", "status", "404", "exception", "HttpClientResponseException")
+                .timer().count() == 1
+
+        and:
+        registry.get("http.client.connect").tags("outcome", "success").timer().count() >= 1
+        registry.get("http.client.connections.open").gauge().value() >= 0
+        registry.get("http.client.bytes.written").functionCounter().count() > 0
+        registry.get("http.client.bytes.read").functionCounter().count() > 0
+        registry.get("http.client.event.loop.pending.tasks").gauge()
+        registry.get("http.client.compression.bytes.compressed").tags("direction", "request").functionCounter()
+        registry.get("http.client.compression.ratio").tags("direction", "response").gauge()
+
+        cleanup:
+        embeddedServer.close()
+    }
+
+    @Requires(property = "spec.name", value = "HttpClientMetricsSpec")
+    @Client("/orders")
+    static interface OrderClient {
+
+        @Get("/{id}")
+        String show(Long id)
+
+        @Get("/{id}/missing")
+        String missing(Long id)
+    }
+
+    @Requires(property = "spec.name", value = "HttpClientMetricsSpec")
+    @Controller("/orders")
+    static class OrderController {
+
+        @Get("/{id}")
+        String show(Long id) {
+            "order " + id
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package io.micronaut.configuration.metrics.binder.web
+
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.Timer
+import io.micrometer.core.instrument.distribution.ValueAtPercentile
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import io.micronaut.context.ApplicationContext
+import io.micronaut.http.client.RxHttpClient
+import io.micronaut.http.client.exceptions.HttpClientResponseException
+import io.micronaut.runtime.server.EmbeddedServer
+import spock.lang.Specification
+
+class WebMeterRegistryFilterSpec extends Specification {
+
+    void "test the uri tag is the route template"() {
+        given:
+        EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+                'spec.name': 'WebMeterRegistryFilterSpec',
+                'micronaut.metrics.binders.web.percentiles': [0.5, 0.95],
+                'micronaut.metrics.binders.web.slos': ['100ms', '1s'],
+                'micronaut.metrics.binders.logback.enabled': false,
+        ])
+        RxHttpClient client = embeddedServer.applicationContext.createBean(RxHttpClient, embeddedServer.getURL())
+        MeterRegistry registry = embeddedServer.applicationContext.getBean(MeterRegistry)
+
+        when:
+        client.toBlocking().retrieve("/users/1")
+        client.toBlocking().retrieve("/users/2")
+        client.toBlocking().retrieve("/users/3")
+
+        then:
+        Timer timer = registry.get("http.server.requests").tags("uri", "/users/{id}", "method", "GET", "status", "200").timer()
+        timer.count() == 3
+        !registry.find("http.server.requests").tags("uri", "/users/1").timer()
+        timer.takeSnapshot().percentileValues()*.percentile() as Set == [0.5d, 0.95d] as Set
+        timer.takeSnapshot().histogramCounts().size() == 2
+
+        when:
+        client.toBlocking().retrieve("/nowhere/1")
+
+        then:
+        thrown(HttpClientResponseException)
+        registry.get("http.server.requests").tags("uri", "NOT_FOUND", "status", "404").timer().count() == 1
+
+        when:
+        client.toBlocking().retrieve("/users/4/error")
+
+        then:
+        thrown(HttpClientResponseException)
+        registry.get("http.server.requests").tags("uri", "/users/{id}/error", "status", "500").timer().count() == 1
+
+        cleanup:
+        client.close()
+        embeddedServer.close()
+    }
+
+    void "test the admission control state is published"() {
+        given:
+        EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+                'spec.name': 'WebMeterRegistryFilterSpec',
+                'micronaut.server.netty.admission-control.enabled': true,
+                'micronaut.server.netty.admission-control.max-concurrency': 50,
+                'micronaut.metrics.binders.logback.enabled': false,
+        ])
+        RxHttpClient client = embeddedServer.applicationContext.createBean(RxHttpClient, embeddedServer.getURL())
+        MeterRegistry registry = embeddedServer.applicationContext.getBean(SimpleMeterRegistry)
+
+        when:
+        client.toBlocking().retrieve("/users/1")
+
+        then:
+        registry.get("http.server.admission.limit").gauge().value() == 50
+        registry.get("http.server.admission.inflight").gauge().value() == 0
+        registry.get("http.server.admission.queued").gauge().value() == 0
+        registry.get("http.server.admission.rejected").functionCounter().count() == 0
+
+        cleanup:
+        client.close()
+        embeddedServer.close()
+    }
+}
@@ -0,0 +1,20 @@
+package io.micronaut.configuration.metrics.binder.web
+
+import io.micronaut.context.annotation.Requires
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+
+@Requires(property = "spec.name", value = "WebMeterRegistryFilterSpec")
+@Controller("/users")
+class WebMetricsController {
+
+    @Get("/{id}")
+    String show(String id) {
+        id
+    }
+
+    @Get("/{id}/error")
+    String error(String id) {
+        throw new IllegalStateException("bad user " + id)
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.configuration.metrics.micrometer.prometheus.management;
+
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.http.annotation.Produces;
+import io.micronaut.management.endpoint.Endpoint;
+import io.micronaut.management.endpoint.EndpointConfiguration;
+import io.micronaut.management.endpoint.Read;
+import io.micronaut.scheduling.TaskExecutors;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.prometheus.client.Collector;
+import io.prometheus.client.CollectorRegistry;
+import io.prometheus.client.exporter.common.TextFormat;
+import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+
+import javax.inject.Named;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * <p>Exposes the metrics of the {@link PrometheusMeterRegistry} in the Prometheus text exposition format.</p>
+ *
+ * <p>Rather than rendering the whole registry into a single {@link String}, metric families are written straight
+ * into {@link ByteBuf} chunks of roughly {@link #CHUNK_SIZE} bytes that are streamed to the client as they are
+ * produced. Responses are compressed by the server if the scraper accepts gzip. If
+ * {@code endpoints.prometheus.cache-ttl} is set the rendered output is reused for that long, which avoids rendering
+ * the registry again when several scrapers hit the same instance.</p>
+ *
+ * @author agent
+ * @since 1.0
+ */
+@Endpoint(value = PrometheusEndpoint.NAME, defaultSensitive = PrometheusEndpoint.DEFAULT_SENSITIVE)
+@Requires(beans = PrometheusMeterRegistry.class)
+public class PrometheusEndpoint {
+
+    /**
+     * Constant for prometheus.
+     */
+    public static final String NAME = "prometheus";
+
+    /**
+     * Prefix for prometheus endpoint.
+     */
+    public static final String PREFIX = EndpointConfiguration.PREFIX + "." + NAME;
+
+    /**
+     * The approximate size in bytes of each chunk streamed to the client.
+     */
+    public static final int CHUNK_SIZE = 8192;
+
+    /**
+     * If the endpoint is sensitive if no configuration is provided.
+     */
+    static final boolean DEFAULT_SENSITIVE = false;
+
+    private final CollectorRegistry collectorRegistry;
+    private final Scheduler scheduler;
+    private final long cacheTtlMillis;
+    private volatile CachedScrape cachedScrape;
+
+    /**
+     * @param meterRegistry   The prometheus meter registry
+     * @param cacheTtl        How long the rendered output may be reused
+     * @param executorService The executor the registry is rendered on
+     */
+    public PrometheusEndpoint(PrometheusMeterRegistry meterRegistry,
+                              @Value("${" + PREFIX + ".cache-ttl:0s}") Duration cacheTtl,
+                              @Named(TaskExecutors.IO) ExecutorService executorService) {
+        this.collectorRegistry = meterRegistry.getPrometheusRegistry();
+        this.cacheTtlMillis = cacheTtl.toMillis();
+        this.scheduler = Schedulers.from(executorService);
+    }
+
+    /**
+     * Renders the registry in the Prometheus text exposition format.
+     *
+     * @return The chunks of the rendered output
+     */
+    @Read
+    @Produces(TextFormat.CONTENT_TYPE_004)
+    Flowable<ByteBuf> scrape() {
+        Flowable<ByteBuf> chunks;
+        if (cacheTtlMillis > 0) {
+            chunks = Flowable.defer(() -> Flowable.fromIterable(cachedChunks()).map(Unpooled::wrappedBuffer));
+        } else {
+            chunks = Flowable.generate(
+                () -> new ChunkWriter(collectorRegistry.metricFamilySamples(), ByteBufAllocator.DEFAULT),
+                (writer, emitter) -> {
+                    ByteBuf chunk = writer.next();
+                    if (chunk != null) {
+                        emitter.onNext(chunk);
+                    } else {
+                        emitter.onComplete();
+                    }
+                }
+            );
+        }
+        return chunks.subscribeOn(scheduler);
+    }
+
+    private List<byte[]> cachedChunks() {
+        CachedScrape cached = this.cachedScrape;
+        if (cached == null || cached.isExpired(cacheTtlMillis)) {
+            synchronized (this) {
+                cached = this.cachedScrape;
+                if (cached == null || cached.isExpired(cacheTtlMillis)) {
+                    List<byte[]> chunks = new ArrayList<>();
+                    ChunkWriter writer = new ChunkWriter(collectorRegistry.metricFamilySamples(), ByteBufAllocator.DEFAULT);
+                    ByteBuf chunk;
+                    while ((chunk = writer.next()) != null) {
+                        try {
+                            chunks.add(ByteBufUtil.getBytes(chunk));
+                        } finally {
+                            chunk.release();
+                        }
+                    }
+                    cached = new CachedScrape(chunks);
+                    this.cachedScrape = cached;
+                }
+            }
+        }
+        return cached.chunks;
+    }
+
+    /**
+     * Writes metric families into chunks.
+     */
+    private static final class ChunkWriter {
+        private final Enumeration<Collector.MetricFamilySamples> samples;
+        private final ByteBufAllocator allocator;
+
+        ChunkWriter(Enumeration<Collector.MetricFamilySamples> samples, ByteBufAllocator allocator) {
+            this.samples = samples;
+            this.allocator = allocator;
+        }
+
+        /**
+         * @return The next chunk or {@code null} if all metric families have been written
+         */
+        ByteBuf next() {
+            if (!samples.hasMoreElements()) {
+                return null;
+            }
+            ByteBuf chunk = allocator.buffer(CHUNK_SIZE);
+            try {
+                Writer writer = new OutputStreamWriter(new ByteBufOutputStream(chunk), StandardCharsets.UTF_8);
+                while (samples.hasMoreElements() && chunk.readableBytes() < CHUNK_SIZE) {
+                    TextFormat.write004(writer, Collections.enumeration(Collections.singletonList(samples.nextElement())));
+                    writer.flush();
+                }
+                return chunk;
+            } catch (IOException e) {
+                chunk.release();
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * The rendered output along with the time it was rendered.
+     */
+    private static final class CachedScrape {
+        private final List<byte[]> chunks;
+        private final long timestamp = System.currentTimeMillis();
+
+        CachedScrape(List<byte[]> chunks) {
+            this.chunks = chunks;
+        }
+
+        boolean isExpired(long ttlMillis) {
+            return System.currentTimeMillis() - timestamp > ttlMillis;
+        }
+    }
+}
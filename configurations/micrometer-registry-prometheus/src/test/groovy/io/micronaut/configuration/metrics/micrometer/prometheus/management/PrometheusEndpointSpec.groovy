@@ -0,0 +1,62 @@
+package io.micronaut.configuration.metrics.micrometer.prometheus.management
+
+import io.micrometer.core.instrument.MeterRegistry
+import io.micronaut.context.ApplicationContext
+import io.micronaut.http.HttpHeaders
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.client.RxHttpClient
+import io.micronaut.runtime.server.EmbeddedServer
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+class PrometheusEndpointSpec extends Specification {
+
+    @Shared @AutoCleanup EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+            'endpoints.prometheus.sensitive': false,
+            'micronaut.metrics.binders.logback.enabled': false
+    ])
+    @Shared @AutoCleanup RxHttpClient client = embeddedServer.applicationContext.createBean(RxHttpClient, embeddedServer.getURL())
+
+    void "test the registry is streamed in the prometheus text format"() {
+        given:
+        MeterRegistry registry = embeddedServer.applicationContext.getBean(MeterRegistry)
+        300.times { registry.counter("test.streamed.counter", "index", String.valueOf(it)).increment() }
+
+        when:
+        HttpResponse<String> response = client.exchange(HttpRequest.GET("/prometheus"), String).blockingFirst()
+        String body = response.body()
+
+        then:
+        response.header(HttpHeaders.CONTENT_TYPE).startsWith("text/plain;version=0.0.4")
+        body.length() > PrometheusEndpoint.CHUNK_SIZE
+        body.contains('# TYPE test_streamed_counter_total counter')
+        body.contains('test_streamed_counter_total{index="299",} 1.0')
+    }
+
+    void "test the rendered output is cached for the configured time"() {
+        given:
+        EmbeddedServer server = ApplicationContext.run(EmbeddedServer, [
+                'endpoints.prometheus.sensitive': false,
+                'endpoints.prometheus.cache-ttl': '1m',
+                'micronaut.metrics.binders.logback.enabled': false
+        ])
+        RxHttpClient rxClient = server.applicationContext.createBean(RxHttpClient, server.getURL())
+        MeterRegistry registry = server.applicationContext.getBean(MeterRegistry)
+        registry.counter("test.cached.counter").increment()
+
+        when:
+        String first = rxClient.retrieve(HttpRequest.GET("/prometheus")).blockingFirst()
+        registry.counter("test.cached.counter").increment()
+        String second = rxClient.retrieve(HttpRequest.GET("/prometheus")).blockingFirst()
+
+        then:
+        first.contains('test_cached_counter_total 1.0')
+        second == first
+
+        cleanup:
+        rxClient.close()
+        server.close()
+    }
+}
@@ -45,6 +45,7 @@ public class RedisHttpSessionConfiguration extends HttpSessionConfiguration impl
     protected boolean enableKeyspaceEvents = true;
     protected WriteMode writeMode = WriteMode.BATCH;
     protected Duration expiredSessionCheck = Duration.ofMinutes(1);
+    protected Duration writeBehindInterval = Duration.ofSeconds(1);
 
     /**
      * @return The key prefix to use for reading and writing sessions
@@ -109,6 +110,13 @@ public class RedisHttpSessionConfiguration extends HttpSessionConfiguration impl
         return expiredSessionCheck;
     }
 
+    /**
+     * @return The maximum duration saved sessions are held before being written when using {@link RedisHttpSessionConfiguration.WriteMode#WRITE_BEHIND}
+     */
+    public Duration getWriteBehindInterval() {
+        return writeBehindInterval;
+    }
+
     /**
      * The write mode for saving the session data.
      */
@@ -124,6 +132,15 @@ public class RedisHttpSessionConfiguration extends HttpSessionConfiguration impl
          *
          * <p>This strategy has the advantage of providing greater consistency at the expense of more network traffic</p>
          */
-        BACKGROUND
+        BACKGROUND,
+        /**
+         * <p>Hold saved sessions in memory and write the changes of all the saved sessions in a single pipeline at most
+         * {@link RedisHttpSessionConfiguration#getWriteBehindInterval()} later. Saving the same session again before it is
+         * written coalesces the changes into a single write.</p>
+         *
+         * <p>This strategy has the advantage of reducing network traffic and request latency at the expense of changes being
+         * lost if the application stops abruptly</p>
+         */
+        WRITE_BEHIND
     }
 }
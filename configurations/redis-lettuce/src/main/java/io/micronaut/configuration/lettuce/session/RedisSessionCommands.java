@@ -20,13 +20,16 @@ import io.lettuce.core.Range;
 import io.lettuce.core.dynamic.Commands;
 import io.lettuce.core.dynamic.annotation.Command;
 import io.lettuce.core.dynamic.annotation.Param;
+import io.lettuce.core.dynamic.batch.CommandBatching;
 
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 /**
- * Commands for storing and retrieving {@link io.micronaut.session.Session} instances.
+ * Commands for storing and retrieving {@link io.micronaut.session.Session} instances. The variants accepting a
+ * {@link CommandBatching} argument are queued and pipelined to Redis in a single write when a command is invoked with
+ * {@link CommandBatching#flush()}.
  *
  * @author Graeme Rocher
  * @since 1.0
@@ -43,6 +46,17 @@ public interface RedisSessionCommands extends Commands {
     @Command("HMSET :sessionId :value")
     CompletableFuture<Void> saveSessionData(@Param("sessionId") byte[] sessionId, @Param("value") Map<byte[], byte[]> attributes);
 
+    /**
+     * Set multiple hash fields to multiple values as part of a batch.
+     *
+     * @param sessionId  The session ID
+     * @param attributes The attributes
+     * @param batching   Whether to queue the command or flush the batch
+     * @return String simple-string-reply
+     */
+    @Command("HMSET ?0 ?1")
+    CompletableFuture<Void> saveSessionData(byte[] sessionId, Map<byte[], byte[]> attributes, CommandBatching batching);
+
     /**
      * Set a single attribute of a session.
      *
@@ -64,6 +78,17 @@ public interface RedisSessionCommands extends Commands {
     @Command("HDEL :sessionId :attributes")
     CompletableFuture<Void> deleteAttributes(@Param("sessionId") byte[] sessionId, @Param("attributes") byte[]... attributes);
 
+    /**
+     * Removes attributes of a session as part of a batch.
+     *
+     * @param sessionId  The session ID
+     * @param attributes The attributes to delete
+     * @param batching   Whether to queue the command or flush the batch
+     * @return String simple-string-reply
+     */
+    @Command("HDEL ?0 ?1")
+    CompletableFuture<Void> deleteAttributes(byte[] sessionId, byte[][] attributes, CommandBatching batching);
+
     /**
      * Get all the fields and values in a hash.
      *
@@ -84,6 +109,17 @@ public interface RedisSessionCommands extends Commands {
     @Command("SET :expiryKey :seconds EX :seconds")
     CompletableFuture<Void> saveExpiry(@Param("expiryKey") byte[] expiryKey, @Param("seconds") byte[] seconds);
 
+    /**
+     * Save an expiry as part of a batch.
+     *
+     * @param expiryKey The expiry key
+     * @param seconds   The seconds until expiration
+     * @param batching  Whether to queue the command or flush the batch
+     * @return A future
+     */
+    @Command("SET ?0 ?1 EX ?1")
+    CompletableFuture<Void> saveExpiry(byte[] expiryKey, byte[] seconds, CommandBatching batching);
+
     /**
      * Delete a key.
      *
@@ -92,6 +128,15 @@ public interface RedisSessionCommands extends Commands {
      */
     CompletableFuture<Void> del(byte[] key);
 
+    /**
+     * Delete a key as part of a batch.
+     *
+     * @param key      The key to delete
+     * @param batching Whether to queue the command or flush the batch
+     * @return the future
+     */
+    CompletableFuture<Void> del(byte[] key, CommandBatching batching);
+
     /**
      * Remove an item from the given sorted set.
      *
@@ -109,6 +154,15 @@ public interface RedisSessionCommands extends Commands {
      */
     CompletableFuture<byte[]> get(@Param("keys") byte[] key);
 
+    /**
+     * Get a key as part of a batch.
+     *
+     * @param key      The key to get
+     * @param batching Whether to queue the command or flush the batch
+     * @return The value of the key
+     */
+    CompletableFuture<byte[]> get(byte[] key, CommandBatching batching);
+
     /**
      * Return a range of members in a sorted set, by score.
      *
@@ -132,6 +186,17 @@ public interface RedisSessionCommands extends Commands {
      */
     CompletableFuture<Long> zadd(byte[] key, double score, byte[] member);
 
+    /**
+     * Add a member to a sorted set, or update its score if it already exists, as part of a batch.
+     *
+     * @param key      The key
+     * @param score    The score
+     * @param member   The member
+     * @param batching Whether to queue the command or flush the batch
+     * @return Long integer-reply the number of elements added to the sorted set
+     */
+    CompletableFuture<Long> zadd(byte[] key, double score, byte[] member, CommandBatching batching);
+
     /**
      * Set a key's time to live in seconds.
      *
@@ -144,6 +209,16 @@ public interface RedisSessionCommands extends Commands {
      */
     CompletableFuture<Boolean> expire(byte[] key, long seconds);
 
+    /**
+     * Set a key's time to live in seconds as part of a batch.
+     *
+     * @param key      The key
+     * @param seconds  The seconds type: long
+     * @param batching Whether to queue the command or flush the batch
+     * @return Boolean integer-reply {@literal true} if the timeout was set
+     */
+    CompletableFuture<Boolean> expire(byte[] key, long seconds, CommandBatching batching);
+
     /**
      * Post a message to a channel.
      *
@@ -153,6 +228,16 @@ public interface RedisSessionCommands extends Commands {
      */
     CompletableFuture<Long> publish(byte[] channel, byte[] message);
 
+    /**
+     * Post a message to a channel as part of a batch.
+     *
+     * @param channel  The channel type: key
+     * @param message  The message type: value
+     * @param batching Whether to queue the command or flush the batch
+     * @return Long integer-reply the number of clients that received the message.
+     */
+    CompletableFuture<Long> publish(byte[] channel, byte[] message, CommandBatching batching);
+
     /**
      * Set a configuration parameter to the given value.
      *
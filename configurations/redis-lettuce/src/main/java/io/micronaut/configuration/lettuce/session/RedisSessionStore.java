@@ -19,6 +19,7 @@ package io.micronaut.configuration.lettuce.session;
 import io.lettuce.core.Range;
 import io.lettuce.core.api.StatefulConnection;
 import io.lettuce.core.dynamic.RedisCommandFactory;
+import io.lettuce.core.dynamic.batch.CommandBatching;
 import io.lettuce.core.pubsub.RedisPubSubAdapter;
 import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
 import io.lettuce.core.pubsub.api.sync.RedisPubSubCommands;
@@ -34,7 +35,6 @@ import io.micronaut.core.convert.ConversionService;
 import io.micronaut.core.convert.value.MutableConvertibleValues;
 import io.micronaut.core.serialize.JdkSerializer;
 import io.micronaut.core.serialize.ObjectSerializer;
-import io.micronaut.core.util.CollectionUtils;
 import io.micronaut.inject.qualifiers.Qualifiers;
 import io.micronaut.scheduling.TaskExecutors;
 import io.micronaut.session.*;
@@ -44,6 +44,7 @@ import io.micronaut.session.event.SessionExpiredEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import java.nio.charset.Charset;
@@ -52,11 +53,12 @@ import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 import static io.micronaut.configuration.lettuce.session.RedisSessionStore.RedisSession.*;
 
@@ -76,6 +78,13 @@ import static io.micronaut.configuration.lettuce.session.RedisSessionStore.Redis
  * <p>More exact session expiry entries are stored with keys {@code micronaut:session:expiry:[SESSION_ID]} and current active sessions are tracked within sorted set at the key {@code micronaut:session:active-sessions}.
  * The entries within the set are sorted by expiry time and a scheduled job that runs every minute periodically touches the keys within the set that match the last minute thus ensuring Redis propagates expiry events in a timely manner.</p>
  *
+ * <h2>Writing Sessions</h2>
+ *
+ * <p>The commands that save a session are pipelined to Redis in a single write and only the attributes that changed since the session was last saved are written.
+ * With {@link RedisHttpSessionConfiguration.WriteMode#WRITE_BEHIND} saved sessions are held in memory and the changes of all of them are written in a single pipeline
+ * every {@link RedisHttpSessionConfiguration#getWriteBehindInterval()}, coalescing repeated saves of the same session.
+ * The changes of a save are taken from the session when it is saved and tracked again if the write fails, so they are only discarded once Redis has acknowledged them.</p>
+ *
  * <h2>Redis Pub/Sub</h2>
  *
  * <p>This implementation requires the Redis instance to have keyspace event notification enabled with {@code notify-keyspace-events Egx}. The implementation will attempt to enable this programmatically. This behaviour can be disabled with {@link RedisHttpSessionConfiguration#isEnableKeyspaceEvents()} </p>
@@ -102,6 +111,8 @@ public class RedisSessionStore extends RedisPubSubAdapter<String, String> implem
     private final byte[] sessionCreatedTopic;
     private final byte[] activeSessionsSet;
     private final RedisHttpSessionConfiguration.WriteMode writeMode;
+    private final Map<String, SessionDelta> pendingSessions = new ConcurrentHashMap<>();
+    private final Map<String, SessionDelta> writingSessions = new ConcurrentHashMap<>();
 
     /**
      * Constructor.
@@ -179,10 +190,12 @@ public class RedisSessionStore extends RedisPubSubAdapter<String, String> implem
                                 activeSessionsSet, Range.create(Long.valueOf(oneMinuteAgo).doubleValue(), Long.valueOf(oneMinuteFromNow).doubleValue())
                         ).thenAccept((aboutToExpire) -> {
                             if (aboutToExpire != null) {
+                                List<Function<CommandBatching, CompletableFuture<?>>> commands = new ArrayList<>(aboutToExpire.size());
                                 for (byte[] bytes : aboutToExpire) {
                                     byte[] expiryKey = getExpiryKey(new String(bytes, charset));
-                                    sessionCommands.get(expiryKey);
+                                    commands.add(batching -> sessionCommands.get(expiryKey, batching));
                                 }
+                                executeBatch(commands);
                             }
                         });
                     },
@@ -190,6 +203,15 @@ public class RedisSessionStore extends RedisPubSubAdapter<String, String> implem
                     checkDelayMillis,
                     TimeUnit.MILLISECONDS
             );
+            if (writeMode == RedisHttpSessionConfiguration.WriteMode.WRITE_BEHIND) {
+                long writeBehindMillis = sessionConfiguration.getWriteBehindInterval().toMillis();
+                ((ScheduledExecutorService) scheduledExecutorService).scheduleWithFixedDelay(
+                        this::writePendingSessions,
+                        writeBehindMillis,
+                        writeBehindMillis,
+                        TimeUnit.MILLISECONDS
+                );
+            }
         } else {
             throw new ConfigurationException("Configured scheduled executor service is not an instanceof ScheduledExecutorService");
         }
@@ -248,11 +270,25 @@ public class RedisSessionStore extends RedisPubSubAdapter<String, String> implem
 
     @Override
     public CompletableFuture<Optional<RedisSession>> findSession(String id) {
-        return findSessionInternal(id, false);
+        // read the pending changes first, a write behind moves them to the writing sessions before removing them
+        SessionDelta pending = pendingSessions.get(id);
+        SessionDelta writing = writingSessions.get(id);
+        if (pending == null && writing == null) {
+            return findSessionInternal(id, false);
+        }
+        return findSessionInternal(id, false, data -> {
+            if (writing != null) {
+                writing.applyTo(data);
+            }
+            if (pending != null) {
+                pending.applyTo(data);
+            }
+        });
     }
 
     @Override
     public CompletableFuture<Boolean> deleteSession(String id) {
+        pendingSessions.remove(id);
         CompletableFuture<Boolean> completableFuture = new CompletableFuture<>();
         findSessionInternal(id, true).whenComplete((session, throwable) -> {
             if (throwable != null) {
@@ -261,7 +297,7 @@ public class RedisSessionStore extends RedisPubSubAdapter<String, String> implem
                 if (session.isPresent()) {
                     RedisSession redisSession = session.get();
                     redisSession.setMaxInactiveInterval(Duration.ZERO);
-                    save(redisSession).whenComplete((savedSession, throwable1) -> {
+                    saveNow(redisSession).whenComplete((savedSession, throwable1) -> {
                         if (throwable1 != null) {
                             completableFuture.completeExceptionally(throwable1);
                         } else {
@@ -278,100 +314,146 @@ public class RedisSessionStore extends RedisPubSubAdapter<String, String> implem
 
     @Override
     public CompletableFuture<RedisSession> save(RedisSession session) {
-        Map<byte[], byte[]> changes = session.delta(charset);
-        if (changes.isEmpty()) {
-            return CompletableFuture.completedFuture(session);
-        } else {
-            Set<String> removedKeys = session.removedKeys;
-            byte[][] removedKeyBytes = removedKeys.stream().map(str -> (RedisSession.ATTR_PREFIX + str).getBytes(charset)).toArray(byte[][]::new);
-            if (!removedKeys.isEmpty()) {
-                CompletableFuture<RedisSession> completableFuture = new CompletableFuture<>();
-                byte[] sessionKey = getSessionKey(session.getId());
-                sessionCommands.deleteAttributes(sessionKey, removedKeyBytes)
-                        .whenComplete((aVoid, throwable) -> {
-                            if (throwable == null) {
-                                saveSessionDelta(session, changes, completableFuture);
-                            } else {
-                                completableFuture.completeExceptionally(throwable);
-                            }
-                        });
-                return completableFuture;
-            } else {
-
-                CompletableFuture<RedisSession> future = new CompletableFuture<>();
-                saveSessionDelta(session, changes, future);
-                return future;
+        if (writeMode == RedisHttpSessionConfiguration.WriteMode.WRITE_BEHIND) {
+            SessionDelta delta = session.takeDelta();
+            if (delta != null) {
+                pendingSessions.merge(session.getId(), delta, SessionDelta::merge);
             }
+            return CompletableFuture.completedFuture(session);
         }
+        return saveNow(session);
     }
 
-    private void saveSessionDelta(RedisSession session, Map<byte[], byte[]> changes, CompletableFuture<RedisSession> future) {
-        Duration maxInactiveInterval = session.getMaxInactiveInterval();
-        long expirySeconds = maxInactiveInterval.getSeconds();
-        byte[] sessionKey = getSessionKey(session.getId());
-        byte[] sessionIdBytes = session.getId().getBytes(charset);
-        if (expirySeconds == 0) {
-            // delete the expired session
-            CompletableFuture<Void> deleteOp = sessionCommands.del(getExpiryKey(session));
-            deleteOp.whenComplete((aLong, throwable) -> {
-                    if (throwable != null) {
-                        future.completeExceptionally(throwable);
-                    } else {
-                        future.complete(session);
-                    }
-                });
-        }
+    /**
+     * Writes the sessions saved with {@link RedisHttpSessionConfiguration.WriteMode#WRITE_BEHIND} that are still pending.
+     */
+    @PreDestroy
+    public void close() {
+        writePendingSessions();
+    }
 
-        sessionCommands.saveSessionData(
-                sessionKey,
-                changes
-        ).whenComplete((s, throwable) -> {
+    private CompletableFuture<RedisSession> saveNow(RedisSession session) {
+        SessionDelta delta = session.takeDelta();
+        if (delta == null) {
+            return CompletableFuture.completedFuture(session);
+        }
+        List<Function<CommandBatching, CompletableFuture<?>>> commands = new ArrayList<>(6);
+        addSaveCommands(delta, commands);
+        CompletableFuture<RedisSession> future = new CompletableFuture<>();
+        executeBatch(commands).whenComplete((aVoid, throwable) -> {
             if (throwable != null) {
+                // the changes were not acknowledged so they are written again by the next save
+                session.restoreModifications(delta);
                 future.completeExceptionally(throwable);
             } else {
-                try {
-                    if (session.isNew()) {
-                        session.clearModifications();
+                future.complete(session);
+            }
+        });
+        return future;
+    }
 
-                        sessionCommands.publish(sessionCreatedTopic, sessionIdBytes).whenComplete((aLong, throwable12) -> {
-                            if (throwable12 != null) {
-                                if (LOG.isErrorEnabled()) {
-                                    LOG.error("Error publishing session creation event: " + throwable12.getMessage(), throwable12);
-                                }
-                            }
-                        });
-                    } else {
-                        session.clearModifications();
-                    }
-                } catch (Throwable e) {
+    private void writePendingSessions() {
+        if (pendingSessions.isEmpty()) {
+            return;
+        }
+        Map<String, SessionDelta> written = new HashMap<>();
+        try {
+            List<Function<CommandBatching, CompletableFuture<?>>> commands = new ArrayList<>();
+            for (String id : pendingSessions.keySet()) {
+                pendingSessions.computeIfPresent(id, (key, delta) -> {
+                    addSaveCommands(delta, commands);
+                    // the changes stay visible to findSession until Redis has acknowledged them
+                    written.put(key, writingSessions.merge(key, delta, SessionDelta::merge));
+                    return null;
+                });
+            }
+            executeBatch(commands).whenComplete((aVoid, throwable) -> {
+                if (throwable != null) {
                     if (LOG.isErrorEnabled()) {
-                        LOG.error("Error publishing session creation event: " + e.getMessage(), e);
+                        LOG.error("Error writing behind sessions: " + throwable.getMessage(), throwable);
                     }
-                } finally {
-                    long fiveMinutesAfterExpires = expirySeconds
-                            + TimeUnit.MINUTES.toSeconds(EXPIRATION_SECONDS);
-                    byte[] expiryKey = getExpiryKey(session);
-                    double expireTimeScore = Long.valueOf(Instant.now().plus(expirySeconds, ChronoUnit.SECONDS).toEpochMilli()).doubleValue();
-
-                    CompletableFuture<Boolean> expireOp = sessionCommands.expire(sessionKey, fiveMinutesAfterExpires);
-                    CompletableFuture<Void> saveExpiryOp = sessionCommands.saveExpiry(expiryKey, String.valueOf(expirySeconds).getBytes());
-                    CompletableFuture<Long> saveActiveSessionOp = sessionCommands.zadd(activeSessionsSet, expireTimeScore, sessionIdBytes);
-                    CompletableFuture.allOf(expireOp, saveExpiryOp, saveActiveSessionOp).whenComplete((aBoolean, throwable1) -> {
-                                if (throwable1 != null) {
-                                    future.completeExceptionally(throwable1);
-                                } else {
-                                    future.complete(session);
-                                }
-                            });
+                    requeue(written);
                 }
-
+                written.forEach(writingSessions::remove);
+            });
+        } catch (Exception e) {
+            if (LOG.isErrorEnabled()) {
+                LOG.error("Error writing behind sessions: " + e.getMessage(), e);
             }
-        });
+            requeue(written);
+            written.forEach(writingSessions::remove);
+        }
+    }
+
+    /**
+     * Queues the changes of a failed write behind again, ahead of any changes saved since.
+     *
+     * @param failed The changes that failed to be written by session id
+     */
+    private void requeue(Map<String, SessionDelta> failed) {
+        failed.forEach((id, delta) -> pendingSessions.merge(id, delta, (newer, older) -> older.merge(newer)));
+    }
+
+    /**
+     * Adds the commands that write the changes made to the session since it was last saved.
+     *
+     * @param delta    The changes of the session
+     * @param commands The commands to add to
+     */
+    private void addSaveCommands(SessionDelta delta, List<Function<CommandBatching, CompletableFuture<?>>> commands) {
+        Map<byte[], byte[]> changes = new LinkedHashMap<>(delta.changes.size());
+        for (Map.Entry<String, byte[]> entry : delta.changes.entrySet()) {
+            changes.put(entry.getKey().getBytes(charset), entry.getValue());
+        }
+        boolean isNew = delta.created;
+        byte[][] removedKeyBytes = delta.removedKeys.stream().map(str -> (RedisSession.ATTR_PREFIX + str).getBytes(charset)).toArray(byte[][]::new);
+
+        long expirySeconds = delta.maxInactiveInterval.getSeconds();
+        byte[] sessionKey = getSessionKey(delta.id);
+        byte[] sessionIdBytes = delta.id.getBytes(charset);
+        byte[] expiryKey = getExpiryKey(delta.id);
+        long fiveMinutesAfterExpires = expirySeconds + TimeUnit.MINUTES.toSeconds(EXPIRATION_SECONDS);
+
+        if (removedKeyBytes.length > 0) {
+            commands.add(batching -> sessionCommands.deleteAttributes(sessionKey, removedKeyBytes, batching));
+        }
+        commands.add(batching -> sessionCommands.saveSessionData(sessionKey, changes, batching));
+        commands.add(batching -> sessionCommands.expire(sessionKey, fiveMinutesAfterExpires, batching));
+        if (expirySeconds == 0) {
+            // delete the expired session
+            commands.add(batching -> sessionCommands.del(expiryKey, batching));
+        } else {
+            double expireTimeScore = Long.valueOf(Instant.now().plus(expirySeconds, ChronoUnit.SECONDS).toEpochMilli()).doubleValue();
+            byte[] expirySecondsBytes = String.valueOf(expirySeconds).getBytes();
+            commands.add(batching -> sessionCommands.saveExpiry(expiryKey, expirySecondsBytes, batching));
+            commands.add(batching -> sessionCommands.zadd(activeSessionsSet, expireTimeScore, sessionIdBytes, batching));
+        }
+        if (isNew) {
+            commands.add(batching -> sessionCommands.publish(sessionCreatedTopic, sessionIdBytes, batching).exceptionally(throwable -> {
+                if (LOG.isErrorEnabled()) {
+                    LOG.error("Error publishing session creation event: " + throwable.getMessage(), throwable);
+                }
+                return null;
+            }));
+        }
     }
 
-    private byte[] getExpiryKey(RedisSession session) {
-        String id = session.getId();
-        return getExpiryKey(id);
+    /**
+     * Queues the given commands and flushes them to Redis in a single write with the last command.
+     *
+     * @param commands The commands
+     * @return A future that completes when all the commands have completed
+     */
+    private CompletableFuture<Void> executeBatch(List<Function<CommandBatching, CompletableFuture<?>>> commands) {
+        int size = commands.size();
+        if (size == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<?>[] futures = new CompletableFuture[size];
+        for (int i = 0; i < size; i++) {
+            futures[i] = commands.get(i).apply(i == size - 1 ? CommandBatching.flush() : CommandBatching.queue());
+        }
+        return CompletableFuture.allOf(futures);
     }
 
     private byte[] getExpiryKey(String id) {
@@ -379,21 +461,35 @@ public class RedisSessionStore extends RedisPubSubAdapter<String, String> implem
     }
 
     private CompletableFuture<Optional<RedisSession>> findSessionInternal(String id, boolean allowExpired) {
+        return findSessionInternal(id, allowExpired, null);
+    }
+
+    /**
+     * Reads a session from Redis.
+     *
+     * @param id             The session id
+     * @param allowExpired   Whether an expired session is returned
+     * @param pendingChanges Applies the changes that are not written to Redis yet to the data read, can be null
+     * @return A future with the session if it was found
+     */
+    private CompletableFuture<Optional<RedisSession>> findSessionInternal(String id, boolean allowExpired, Consumer<Map<String, byte[]>> pendingChanges) {
         CompletableFuture<Optional<RedisSession>> completableFuture = new CompletableFuture<>();
         CompletableFuture<Map<byte[], byte[]>> future = sessionCommands.findSessionData(
                 getSessionKey(id)
         );
         future.whenComplete((data, throwable) -> {
-
-            if (CollectionUtils.isEmpty(data) || throwable != null) {
+            Map<String, byte[]> transformed = new HashMap<>();
+            if (throwable == null && data != null) {
+                for (Map.Entry<byte[], byte[]> entry : data.entrySet()) {
+                    transformed.put(new String(entry.getKey(), charset), entry.getValue());
+                }
+                if (pendingChanges != null) {
+                    pendingChanges.accept(transformed);
+                }
+            }
+            if (transformed.isEmpty()) {
                 completableFuture.complete(Optional.empty());
             } else {
-                Map<String, byte[]> transformed = data.entrySet().stream().collect(
-                        Collectors.toMap(
-                                entry -> new String(entry.getKey(), charset),
-                                Map.Entry::getValue
-                        )
-                );
                 RedisSession session = new RedisSession(
                         id,
                         valueSerializer,
@@ -494,7 +590,8 @@ public class RedisSessionStore extends RedisPubSubAdapter<String, String> implem
         static final String ATTR_PREFIX = "attr:";
         final Set<String> removedKeys = new HashSet<>(2);
         final Set<String> modifiedKeys = new HashSet<>(2);
-        private final Set<Modification> modifications = new HashSet<>();
+        private final Set<Modification> modifications = EnumSet.noneOf(Modification.class);
+        private boolean maxInactiveIntervalModified;
         private final ObjectSerializer valueSerializer;
 
         /**
@@ -538,7 +635,7 @@ public class RedisSessionStore extends RedisPubSubAdapter<String, String> implem
         }
 
         @Override
-        public <T> Optional<T> get(CharSequence name, ArgumentConversionContext<T> conversionContext) {
+        public synchronized <T> Optional<T> get(CharSequence name, ArgumentConversionContext<T> conversionContext) {
             Optional<T> result = super.get(name, conversionContext);
             if (!result.isPresent() && attributeMap.containsKey(name)) {
                 Object val = attributeMap.get(name);
@@ -552,7 +649,7 @@ public class RedisSessionStore extends RedisPubSubAdapter<String, String> implem
         }
 
         @Override
-        public Session setLastAccessedTime(Instant instant) {
+        public synchronized Session setLastAccessedTime(Instant instant) {
             if (instant != null) {
                 if (!isNew()) {
                     this.modifications.add(Modification.ADDITION);
@@ -566,11 +663,12 @@ public class RedisSessionStore extends RedisPubSubAdapter<String, String> implem
         }
 
         @Override
-        public Session setMaxInactiveInterval(Duration duration) {
+        public synchronized Session setMaxInactiveInterval(Duration duration) {
             if (duration != null) {
 
                 if (!isNew()) {
                     this.modifications.add(Modification.ADDITION);
+                    this.maxInactiveIntervalModified = true;
                 }
                 if (writeMode == RedisHttpSessionConfiguration.WriteMode.BACKGROUND) {
                     byte[] intervalBytes = String.valueOf(getMaxInactiveInterval().getSeconds()).getBytes();
@@ -581,7 +679,7 @@ public class RedisSessionStore extends RedisPubSubAdapter<String, String> implem
         }
 
         @Override
-        public MutableConvertibleValues<Object> put(CharSequence key, Object value) {
+        public synchronized MutableConvertibleValues<Object> put(CharSequence key, Object value) {
             if (value == null) {
                 return remove(key);
             } else {
@@ -601,7 +699,7 @@ public class RedisSessionStore extends RedisPubSubAdapter<String, String> implem
         }
 
         @Override
-        public MutableConvertibleValues<Object> remove(CharSequence key) {
+        public synchronized MutableConvertibleValues<Object> remove(CharSequence key) {
             if (key != null && !isNew()) {
                 this.modifications.add(Modification.REMOVAL);
                 String attr = key.toString();
@@ -620,7 +718,7 @@ public class RedisSessionStore extends RedisPubSubAdapter<String, String> implem
         }
 
         @Override
-        public MutableConvertibleValues<Object> clear() {
+        public synchronized MutableConvertibleValues<Object> clear() {
             if (!isNew()) {
 
                 this.modifications.add(Modification.CLEARED);
@@ -646,41 +744,70 @@ public class RedisSessionStore extends RedisPubSubAdapter<String, String> implem
         }
 
         /**
-         * @param charset The charset to evaluate
-         * @return Produces a modification delta with the changes necessary to save the session
+         * Takes the changes made to the session since it was last saved, so that further changes are tracked separately
+         * while the taken changes are written.
+         *
+         * @return The changes necessary to save the session or null if the session is unmodified
          */
-        Map<byte[], byte[]> delta(Charset charset) {
+        synchronized SessionDelta takeDelta() {
             if (modifications.isEmpty()) {
-                return Collections.emptyMap();
-            } else {
-                Map<byte[], byte[]> delta = new LinkedHashMap<>();
-                if (isNew()) {
-                    byte[] creationTimeBytes = String.valueOf(getCreationTime().toEpochMilli()).getBytes();
-                    delta.put(ATTR_CREATION_TIME.getBytes(charset), creationTimeBytes);
-                    Instant lastAccessedTime = getLastAccessedTime();
-                    byte[] lastAccessedTimeBytes = String.valueOf(lastAccessedTime.toEpochMilli()).getBytes();
-
-                    delta.put(ATTR_LAST_ACCESSED.getBytes(charset), lastAccessedTimeBytes);
-                    delta.put(ATTR_MAX_INACTIVE_INTERVAL.getBytes(charset), String.valueOf(getMaxInactiveInterval().getSeconds()).getBytes());
-                    for (CharSequence key : attributeMap.keySet()) {
-                        convertAttribute(key, delta, charset);
-                    }
-                } else {
-                    delta.put(ATTR_LAST_ACCESSED.getBytes(charset), String.valueOf(getLastAccessedTime().toEpochMilli()).getBytes());
-                    delta.put(ATTR_MAX_INACTIVE_INTERVAL.getBytes(charset), String.valueOf(getMaxInactiveInterval().getSeconds()).getBytes());
-                    for (CharSequence modifiedKey : modifiedKeys) {
-                        convertAttribute(modifiedKey, delta, charset);
-                    }
-                }
-
-                return delta;
+                return null;
             }
+            SessionDelta delta = new SessionDelta(
+                    getId(),
+                    delta(),
+                    new HashSet<>(removedKeys),
+                    getMaxInactiveInterval(),
+                    EnumSet.copyOf(modifications),
+                    new HashSet<>(modifiedKeys),
+                    maxInactiveIntervalModified
+            );
+            clearModifications();
+            return delta;
+        }
+
+        /**
+         * Tracks the changes of a delta that could not be written again, in addition to the changes made since.
+         *
+         * @param delta The delta that was not written
+         */
+        synchronized void restoreModifications(SessionDelta delta) {
+            modifications.addAll(delta.modifications);
+            removedKeys.addAll(delta.removedKeys);
+            modifiedKeys.addAll(delta.modifiedKeys);
+            maxInactiveIntervalModified |= delta.maxInactiveIntervalModified;
         }
 
         /**
-         * Clear member attributes.
+         * @return Produces a modification delta with the changes necessary to save the session
          */
-        void clearModifications() {
+        private Map<String, byte[]> delta() {
+            Map<String, byte[]> delta = new LinkedHashMap<>();
+            if (isNew()) {
+                byte[] creationTimeBytes = String.valueOf(getCreationTime().toEpochMilli()).getBytes();
+                delta.put(ATTR_CREATION_TIME, creationTimeBytes);
+                Instant lastAccessedTime = getLastAccessedTime();
+                byte[] lastAccessedTimeBytes = String.valueOf(lastAccessedTime.toEpochMilli()).getBytes();
+
+                delta.put(ATTR_LAST_ACCESSED, lastAccessedTimeBytes);
+                delta.put(ATTR_MAX_INACTIVE_INTERVAL, String.valueOf(getMaxInactiveInterval().getSeconds()).getBytes());
+                for (CharSequence key : attributeMap.keySet()) {
+                    convertAttribute(key, delta);
+                }
+            } else {
+                delta.put(ATTR_LAST_ACCESSED, String.valueOf(getLastAccessedTime().toEpochMilli()).getBytes());
+                if (maxInactiveIntervalModified) {
+                    delta.put(ATTR_MAX_INACTIVE_INTERVAL, String.valueOf(getMaxInactiveInterval().getSeconds()).getBytes());
+                }
+                for (CharSequence modifiedKey : modifiedKeys) {
+                    convertAttribute(modifiedKey, delta);
+                }
+            }
+            return delta;
+        }
+
+        private void clearModifications() {
+            maxInactiveIntervalModified = false;
             modifications.clear();
             removedKeys.clear();
             modifiedKeys.clear();
@@ -700,9 +827,9 @@ public class RedisSessionStore extends RedisPubSubAdapter<String, String> implem
                     .exceptionally(attributeErrorHandler(attr));
         }
 
-        private void convertAttribute(CharSequence key, Map<byte[], byte[]> delta, Charset charset) {
+        private void convertAttribute(CharSequence key, Map<String, byte[]> delta) {
             Object rawValue = attributeMap.get(key);
-            byte[] attributeKey = getAttributeKey(key.toString());
+            String attributeKey = ATTR_PREFIX + key;
             if (rawValue instanceof byte[]) {
                 delta.put(attributeKey, (byte[]) rawValue);
             } else if (rawValue != null) {
@@ -712,4 +839,92 @@ public class RedisSessionStore extends RedisPubSubAdapter<String, String> implem
         }
 
     }
+
+    /**
+     * The changes of a session that are written to Redis in a single save. A delta is immutable once created so it can
+     * be queued for writing while the session it was taken from is modified further.
+     */
+    static final class SessionDelta {
+        final String id;
+        final Map<String, byte[]> changes;
+        final Set<String> removedKeys;
+        final Duration maxInactiveInterval;
+        final Set<Modification> modifications;
+        final Set<String> modifiedKeys;
+        final boolean maxInactiveIntervalModified;
+        final boolean created;
+
+        /**
+         * @param id                          The session id
+         * @param changes                     The hash fields to write
+         * @param removedKeys                 The names of the removed attributes
+         * @param maxInactiveInterval         The max inactive interval of the session
+         * @param modifications               The modifications made to the session
+         * @param modifiedKeys                The names of the modified attributes
+         * @param maxInactiveIntervalModified Whether the max inactive interval was modified
+         */
+        SessionDelta(
+                String id,
+                Map<String, byte[]> changes,
+                Set<String> removedKeys,
+                Duration maxInactiveInterval,
+                Set<Modification> modifications,
+                Set<String> modifiedKeys,
+                boolean maxInactiveIntervalModified) {
+            this.id = id;
+            this.changes = changes;
+            this.removedKeys = removedKeys;
+            this.maxInactiveInterval = maxInactiveInterval;
+            this.modifications = modifications;
+            this.modifiedKeys = modifiedKeys;
+            this.maxInactiveIntervalModified = maxInactiveIntervalModified;
+            this.created = modifications.contains(Modification.CREATED);
+        }
+
+        /**
+         * Combines this delta with the changes of a later save of the same session.
+         *
+         * @param newer The later delta
+         * @return A new delta with the changes of both
+         */
+        SessionDelta merge(SessionDelta newer) {
+            Map<String, byte[]> mergedChanges = new LinkedHashMap<>(changes);
+            Set<String> mergedRemovedKeys = new HashSet<>(removedKeys);
+            for (String removedKey : newer.removedKeys) {
+                mergedChanges.remove(ATTR_PREFIX + removedKey);
+                mergedRemovedKeys.add(removedKey);
+            }
+            for (String key : newer.changes.keySet()) {
+                if (key.startsWith(ATTR_PREFIX)) {
+                    mergedRemovedKeys.remove(key.substring(ATTR_PREFIX.length()));
+                }
+            }
+            mergedChanges.putAll(newer.changes);
+            Set<Modification> mergedModifications = EnumSet.copyOf(modifications);
+            mergedModifications.addAll(newer.modifications);
+            Set<String> mergedModifiedKeys = new HashSet<>(modifiedKeys);
+            mergedModifiedKeys.addAll(newer.modifiedKeys);
+            return new SessionDelta(
+                    id,
+                    mergedChanges,
+                    mergedRemovedKeys,
+                    newer.maxInactiveInterval,
+                    mergedModifications,
+                    mergedModifiedKeys,
+                    maxInactiveIntervalModified || newer.maxInactiveIntervalModified
+            );
+        }
+
+        /**
+         * Applies the changes to the hash fields of a session read from Redis.
+         *
+         * @param data The hash fields
+         */
+        void applyTo(Map<String, byte[]> data) {
+            for (String removedKey : removedKeys) {
+                data.remove(ATTR_PREFIX + removedKey);
+            }
+            data.putAll(changes);
+        }
+    }
 }
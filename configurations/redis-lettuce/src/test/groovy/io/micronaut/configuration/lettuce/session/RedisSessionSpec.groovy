@@ -16,6 +16,8 @@
 
 package io.micronaut.configuration.lettuce.session
 
+import io.lettuce.core.api.StatefulRedisConnection
+import io.lettuce.core.api.sync.RedisCommands
 import io.micronaut.jackson.serialize.JacksonObjectSerializer
 import io.micronaut.context.ApplicationContext
 import io.micronaut.context.event.ApplicationEventListener
@@ -195,6 +197,95 @@ class RedisSessionSpec extends Specification {
         applicationContext.stop()
     }
 
+    void "test redis session write behind interval"() {
+        given:
+        ApplicationContext applicationContext = ApplicationContext.run(
+                'redis.type':'embedded',
+                'micronaut.session.http.redis.enabled':'true',
+                'micronaut.session.http.redis.writeMode':'write-behind',
+                'micronaut.session.http.redis.writeBehindInterval':'500ms'
+        )
+        RedisSessionStore sessionStore = applicationContext.getBean(RedisSessionStore)
+        RedisCommands<String, String> commands = applicationContext.getBean(StatefulRedisConnection).sync()
+        TestListener listener = applicationContext.getBean(TestListener)
+        def conditions = new PollingConditions(timeout: 10)
+        long writesBefore = commandCalls(commands, "hmset")
+
+        when:"A new session is saved several times"
+        Session session = sessionStore.newSession()
+        session.put("username", "fred")
+        sessionStore.save(session).get()
+        session.put("foo", new Foo(name: "Fred", age: 10))
+        sessionStore.save(session).get()
+        session.put("username", "barney")
+        Session saved = sessionStore.save(session).get()
+        Session found = sessionStore.findSession(session.id).get().get()
+
+        then:"The pending changes are found in a separate instance before they are written"
+        saved.is(session)
+        !found.is(session)
+        found.get("username", String).get() == 'barney'
+        found.get("foo", Foo).get().name == 'Fred'
+
+        and:"The saves are coalesced into a single write"
+        conditions.eventually {
+            assert commands.hget("micronaut:session:sessions:" + session.id, "attr:foo") != null
+            assert commands.exists("micronaut:session:expiry:" + session.id) == 1
+            assert listener.events.size() == 1
+            assert listener.events[0] instanceof SessionCreatedEvent
+        }
+        commandCalls(commands, "hmset") == writesBefore + 1
+
+        when:"The found session is updated and saved"
+        found.put("username", "bob")
+        found.remove("foo")
+        sessionStore.save(found).get()
+
+        then:"Only the changes are written"
+        conditions.eventually {
+            Map<String, String> data = commands.hgetall("micronaut:session:sessions:" + session.id)
+            assert !data.containsKey("attr:foo")
+            assert data.containsKey("attr:username")
+            assert sessionStore.findSession(session.id).get().get().get("username", String).get() == 'bob'
+        }
+        commandCalls(commands, "hmset") == writesBefore + 2
+
+        cleanup:
+        applicationContext.stop()
+    }
+
+    void "test changes that failed to be written are written by the next save"() {
+        given:
+        ApplicationContext applicationContext = ApplicationContext.run(
+                'redis.type':'embedded',
+                'micronaut.session.http.redis.enabled':'true'
+        )
+        RedisSessionStore sessionStore = applicationContext.getBean(RedisSessionStore)
+
+        when:"The changes of a new session are taken for a write that fails"
+        RedisSessionStore.RedisSession session = sessionStore.newSession()
+        session.put("username", "fred")
+        RedisSessionStore.SessionDelta failed = session.takeDelta()
+        session.restoreModifications(failed)
+        session.put("foo", new Foo(name: "Fred", age: 10))
+        sessionStore.save(session).get()
+        Session found = sessionStore.findSession(session.id).get().get()
+
+        then:"The session is written in full"
+        failed.created
+        found.get("username", String).get() == 'fred'
+        found.get("foo", Foo).get().name == 'Fred'
+        session.takeDelta() == null
+
+        cleanup:
+        applicationContext.stop()
+    }
+
+    private static long commandCalls(RedisCommands<String, String> commands, String command) {
+        String line = commands.info("commandstats").readLines().find { it.startsWith("cmdstat_${command}:") }
+        line ? Long.valueOf(line.find(/calls=(\d+)/) { match, calls -> calls }) : 0L
+    }
+
     void "test redis JSON sessions"() {
         given:
         ApplicationContext applicationContext = ApplicationContext.run(
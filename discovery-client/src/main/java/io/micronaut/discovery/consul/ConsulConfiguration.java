@@ -55,6 +55,7 @@ public class ConsulConfiguration extends DiscoveryClientConfiguration {
     private ConsulRegistrationConfiguration registration = new ConsulRegistrationConfiguration();
     private ConsulDiscoveryConfiguration discovery = new ConsulDiscoveryConfiguration();
     private ConsulConfigDiscoveryConfiguration configuration = new ConsulConfigDiscoveryConfiguration();
+    private ConsulWatchConfiguration watch = new ConsulWatchConfiguration();
 
     /**
      * Default Consult configuration.
@@ -89,6 +90,23 @@ public class ConsulConfiguration extends DiscoveryClientConfiguration {
         }
     }
 
+    /**
+     * @return The configuration of the blocking query watches
+     */
+    public ConsulWatchConfiguration getWatch() {
+        return watch;
+    }
+
+    /**
+     * @param watch The {@link ConsulWatchConfiguration}
+     */
+    @Inject
+    public void setWatch(ConsulWatchConfiguration watch) {
+        if (watch != null) {
+            this.watch = watch;
+        }
+    }
+
     /**
      * @return The token to include in all requests as the {@code X-Consul-Token} header
      */
@@ -153,9 +171,92 @@ public class ConsulConfiguration extends DiscoveryClientConfiguration {
             "aslToken='" + aslToken + '\'' +
             ", registration=" + registration +
             ", discovery=" + discovery +
+            ", watch=" + watch +
             "} " + super.toString();
     }
 
+    /**
+     * Configuration class for the Consul blocking query watches. When enabled the service instances and the
+     * distributed configuration are watched for changes using blocking queries instead of being polled.
+     * See https://www.consul.io/api/index.html#blocking-queries.
+     */
+    @ConfigurationProperties("watch")
+    public static class ConsulWatchConfiguration implements Toggleable {
+
+        /**
+         * The full prefix for this configuration.
+         */
+        public static final String PREFIX = ConsulConfiguration.PREFIX + ".watch";
+
+        /**
+         * The setting that enables the watches.
+         */
+        public static final String ENABLED = PREFIX + ".enabled";
+
+        private boolean enabled = false;
+        private Duration wait = Duration.ofMinutes(5);
+        private Duration retryDelay = Duration.ofSeconds(1);
+
+        /**
+         * @return Whether the watches are enabled (defaults to false)
+         */
+        @Override
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * @param enabled Whether the watches are enabled
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * The maximum time a blocking query waits for a change. The wait is capped below the read timeout of the
+         * Consul client, so the read timeout should be increased to benefit from longer waits.
+         *
+         * @return The wait time (defaults to 5 minutes)
+         */
+        public Duration getWait() {
+            return wait;
+        }
+
+        /**
+         * @param wait The maximum time a blocking query waits for a change
+         */
+        public void setWait(Duration wait) {
+            if (wait != null) {
+                this.wait = wait;
+            }
+        }
+
+        /**
+         * @return The delay before a failed blocking query, or one that did not block, is retried (defaults to 1 second)
+         */
+        public Duration getRetryDelay() {
+            return retryDelay;
+        }
+
+        /**
+         * @param retryDelay The delay before a failed blocking query, or one that did not block, is retried
+         */
+        public void setRetryDelay(Duration retryDelay) {
+            if (retryDelay != null) {
+                this.retryDelay = retryDelay;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "ConsulWatchConfiguration{" +
+                "enabled=" + enabled +
+                ", wait=" + wait +
+                ", retryDelay=" + retryDelay +
+                '}';
+        }
+    }
+
     /**
      * Configuration class for Consul client config.
      */
@@ -16,12 +16,18 @@
 
 package io.micronaut.discovery.consul.client.v1;
 
+import io.micronaut.context.annotation.Parameter;
 import io.micronaut.core.async.publisher.Publishers;
 import io.micronaut.discovery.DiscoveryClient;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.annotation.Get;
 import org.reactivestreams.Publisher;
 
+import javax.annotation.Nullable;
+import javax.validation.constraints.NotNull;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * A non-blocking HTTP client for consul.
@@ -36,6 +42,51 @@ public interface ConsulClient extends ConsulOperations, DiscoveryClient {
      */
     String SERVICE_ID = "consul";
 
+    /**
+     * The header Consul uses to return the index of a blocking query.
+     */
+    String CONSUL_INDEX_HEADER = "X-Consul-Index";
+
+    /**
+     * Gets the healthy services using a blocking query. See https://www.consul.io/api/index.html#blocking-queries.
+     * The request blocks until the services change past the given index or the wait time elapses. The index to use
+     * for the next query is returned in the {@link #CONSUL_INDEX_HEADER} header of the response.
+     *
+     * @param service The service
+     * @param passing Whether only services passing health checks should be returned
+     * @param tag     The tag
+     * @param dc      The dc
+     * @param index   The index returned by the previous query or {@code null} to return immediately
+     * @param wait    The maximum time to wait for a change (for example {@code 5m})
+     * @return The response containing the {@link HealthEntry} instances
+     */
+    @Get("/health/service/{service}?passing={passing}{&tag}{&dc}{&index}{&wait}")
+    Publisher<HttpResponse<List<HealthEntry>>> watchHealthyServices(
+        @NotNull String service,
+        boolean passing,
+        Optional<String> tag,
+        Optional<String> dc,
+        @Nullable Long index,
+        @Nullable String wait);
+
+    /**
+     * Reads the keys under the given key using a blocking query. See https://www.consul.io/api/index.html#blocking-queries.
+     * The request blocks until the keys change past the given index or the wait time elapses. The index to use
+     * for the next query is returned in the {@link #CONSUL_INDEX_HEADER} header of the response.
+     *
+     * @param key        The key
+     * @param datacenter The data center
+     * @param index      The index returned by the previous query or {@code null} to return immediately
+     * @param wait       The maximum time to wait for a change (for example {@code 5m})
+     * @return The response containing the list of {@link KeyValue}
+     */
+    @Get("/kv/{key}?recurse=true{&dc}{&index}{&wait}")
+    Publisher<HttpResponse<List<KeyValue>>> watchValues(
+        String key,
+        @Nullable @Parameter("dc") String datacenter,
+        @Nullable Long index,
+        @Nullable String wait);
+
     @Override
     default Publisher<List<String>> getServiceIds() {
         return Publishers.map(getServiceNames(), services -> new ArrayList<>(services.keySet()));
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.discovery.consul.watch;
+
+import io.micronaut.discovery.consul.ConsulConfiguration;
+import io.micronaut.discovery.consul.client.v1.ConsulClient;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.reactivex.Flowable;
+import io.reactivex.disposables.Disposable;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repeatedly executes a Consul blocking query, passing the index returned by each response to the next query so
+ * that the query only returns once the watched data changes. See https://www.consul.io/api/index.html#blocking-queries.
+ *
+ * <p>When a response carries no usable index, or the index goes backwards, the index is reset to 1 as recommended by
+ * Consul and the next query is delayed by the retry delay, as it is after a failed query, so that a query that does
+ * not block can never spin against Consul.</p>
+ *
+ * @param <T> The type of the watched data
+ * @author agent
+ * @since 1.0
+ */
+abstract class BlockingQueryWatch<T> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BlockingQueryWatch.class);
+
+    private final String description;
+    private final String wait;
+    private final Duration retryDelay;
+    private volatile long index;
+    private volatile boolean backoff;
+    private volatile Disposable subscription;
+
+    /**
+     * @param description   The description of the watched data used for logging
+     * @param configuration The Consul configuration
+     */
+    BlockingQueryWatch(String description, ConsulConfiguration configuration) {
+        ConsulConfiguration.ConsulWatchConfiguration watchConfiguration = configuration.getWatch();
+        this.description = description;
+        this.wait = waitParameter(watchConfiguration.getWait(), configuration.getReadTimeout().orElse(null));
+        this.retryDelay = watchConfiguration.getRetryDelay();
+    }
+
+    /**
+     * Executes the blocking query.
+     *
+     * @param index The index of the previous response or {@code null} for the first query
+     * @param wait  The maximum time to wait
+     * @return The response
+     */
+    protected abstract Publisher<HttpResponse<T>> query(@Nullable Long index, String wait);
+
+    /**
+     * Invoked each time the index of the watched data changes.
+     *
+     * @param result The watched data, or {@code null} if it does not exist
+     */
+    protected abstract void onChange(@Nullable T result);
+
+    /**
+     * Starts the watch if it is not already running.
+     */
+    synchronized void start() {
+        if (subscription == null) {
+            subscription = Flowable.defer(() -> Flowable.fromPublisher(query(index > 0 ? index : null, wait))
+                .onErrorResumeNext(this::resumeNotFound))
+                .doOnNext(this::onResponse)
+                .repeatWhen(completions -> completions.concatMap(completion -> backoff
+                    ? Flowable.timer(retryDelay.toMillis(), TimeUnit.MILLISECONDS)
+                    : Flowable.just(completion)))
+                .retryWhen(errors -> errors.flatMap(error -> {
+                    if (LOG.isWarnEnabled()) {
+                        LOG.warn("Error watching " + description + " in Consul, retrying in " + retryDelay + ": " + error.getMessage(), error);
+                    }
+                    index = 1;
+                    return Flowable.timer(retryDelay.toMillis(), TimeUnit.MILLISECONDS);
+                }))
+                .subscribe();
+        }
+    }
+
+    /**
+     * Stops the watch.
+     */
+    synchronized void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+            subscription = null;
+        }
+    }
+
+    /**
+     * @return The index of the last response
+     */
+    long getIndex() {
+        return index;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Publisher<HttpResponse<T>> resumeNotFound(Throwable error) {
+        if (error instanceof HttpClientResponseException) {
+            HttpResponse<?> response = ((HttpClientResponseException) error).getResponse();
+            if (response.getStatus() == HttpStatus.NOT_FOUND) {
+                // keys that do not exist still carry an index to block on
+                return Flowable.just((HttpResponse<T>) response);
+            }
+        }
+        return Flowable.error(error);
+    }
+
+    private void onResponse(HttpResponse<T> response) {
+        long previous = index;
+        long current = response.getHeaders().get(ConsulClient.CONSUL_INDEX_HEADER, Long.class).orElse(0L);
+        // a missing index cannot be blocked on and an index that goes backwards means the Consul state was reset
+        backoff = current <= 0 || current < previous;
+        index = backoff ? 1 : current;
+        if (current != previous) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Index of {} in Consul changed from {} to {}", description, previous, current);
+            }
+            try {
+                onChange(response.getStatus() == HttpStatus.NOT_FOUND ? null : response.getBody().orElse(null));
+            } catch (Exception e) {
+                if (LOG.isErrorEnabled()) {
+                    LOG.error("Error processing change of " + description + " in Consul: " + e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Consul adds up to 1/16 of the wait time as jitter, so the wait is capped below the read timeout of the client
+     * to prevent blocking queries from timing out.
+     *
+     * @param wait        The configured wait
+     * @param readTimeout The read timeout of the client
+     * @return The value of the wait parameter
+     */
+    @SuppressWarnings("MagicNumber")
+    static String waitParameter(Duration wait, @Nullable Duration readTimeout) {
+        long millis = wait.toMillis();
+        if (readTimeout != null) {
+            millis = Math.min(millis, readTimeout.toMillis() * 3 / 4);
+        }
+        return Math.max(millis, 1L) + "ms";
+    }
+}
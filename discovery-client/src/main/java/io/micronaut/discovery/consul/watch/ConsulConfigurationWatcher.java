@@ -0,0 +1,187 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.discovery.consul.watch;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.env.Environment;
+import io.micronaut.context.event.ApplicationEventListener;
+import io.micronaut.context.event.ApplicationEventPublisher;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.discovery.config.ConfigDiscoveryConfiguration;
+import io.micronaut.discovery.config.ConfigurationClient;
+import io.micronaut.discovery.consul.ConsulConfiguration;
+import io.micronaut.discovery.consul.client.v1.ConsulClient;
+import io.micronaut.discovery.consul.client.v1.KeyValue;
+import io.micronaut.discovery.consul.condition.RequiresConsul;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.runtime.context.scope.refresh.RefreshEvent;
+import io.micronaut.scheduling.TaskExecutors;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import javax.annotation.PreDestroy;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Watches the keys of the distributed configuration in Consul with blocking queries. When the content of the keys
+ * changes the {@link Environment} is refreshed and a {@link RefreshEvent} is published with the properties that
+ * changed, if any.
+ *
+ * @author agent
+ * @since 1.0
+ */
+@Singleton
+@RequiresConsul
+@Requires(beans = ConsulClient.class)
+@Requires(property = ConfigurationClient.ENABLED, value = "true", defaultValue = "false")
+@Requires(property = ConsulConfiguration.ConsulWatchConfiguration.ENABLED, value = "true", defaultValue = "false")
+public class ConsulConfigurationWatcher implements ApplicationEventListener<StartupEvent>, Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConsulConfigurationWatcher.class);
+
+    private final ConsulClient consulClient;
+    private final ConsulConfiguration consulConfiguration;
+    private final Environment environment;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ExecutorService executorService;
+    private final List<KeyWatch> watches = new ArrayList<>();
+
+    /**
+     * @param consulClient        The Consul client
+     * @param consulConfiguration The Consul configuration
+     * @param environment         The environment
+     * @param eventPublisher      The event publisher
+     * @param executorService     The executor service used to refresh the environment
+     */
+    public ConsulConfigurationWatcher(
+        ConsulClient consulClient,
+        ConsulConfiguration consulConfiguration,
+        Environment environment,
+        ApplicationEventPublisher eventPublisher,
+        @Named(TaskExecutors.IO) ExecutorService executorService) {
+        this.consulClient = consulClient;
+        this.consulConfiguration = consulConfiguration;
+        this.environment = environment;
+        this.eventPublisher = eventPublisher;
+        this.executorService = executorService;
+    }
+
+    @Override
+    public synchronized void onApplicationEvent(StartupEvent event) {
+        ConsulConfiguration.ConsulConfigDiscoveryConfiguration configuration = consulConfiguration.getConfiguration();
+        if (!configuration.isEnabled() || !watches.isEmpty()) {
+            return;
+        }
+        String path = configuration.getPath().orElse(ConfigDiscoveryConfiguration.DEFAULT_PATH);
+        if (!path.endsWith("/")) {
+            path += "/";
+        }
+        watches.add(new KeyWatch(path + Environment.DEFAULT_NAME));
+        Optional<String> serviceId = consulConfiguration.getServiceId();
+        if (serviceId.isPresent()) {
+            watches.add(new KeyWatch(path + serviceId.get()));
+        }
+        for (KeyWatch watch : watches) {
+            watch.start();
+        }
+    }
+
+    /**
+     * Stops the watches.
+     */
+    @PreDestroy
+    @Override
+    public synchronized void close() {
+        for (KeyWatch watch : watches) {
+            watch.stop();
+        }
+        watches.clear();
+    }
+
+    /**
+     * Refreshes the environment and publishes a {@link RefreshEvent} for the properties that changed.
+     */
+    protected void refresh() {
+        // refreshing reads the distributed configuration with a blocking call, so it cannot run on the event loop
+        executorService.submit(() -> {
+            try {
+                Map<String, Object> changes;
+                synchronized (this) {
+                    changes = environment.refreshAndDiff();
+                }
+                if (!changes.isEmpty()) {
+                    if (LOG.isInfoEnabled()) {
+                        LOG.info("Distributed configuration in Consul changed, refreshing properties: {}", changes.keySet());
+                    }
+                    eventPublisher.publishEvent(new RefreshEvent(changes));
+                }
+            } catch (Exception e) {
+                if (LOG.isErrorEnabled()) {
+                    LOG.error("Error refreshing distributed configuration from Consul: " + e.getMessage(), e);
+                }
+            }
+        });
+    }
+
+    /**
+     * The watch of the keys under a configuration path.
+     */
+    private final class KeyWatch extends BlockingQueryWatch<List<KeyValue>> {
+
+        private final String key;
+        private Map<String, String> values;
+
+        KeyWatch(String key) {
+            super("configuration [" + key + "]", consulConfiguration);
+            this.key = key;
+        }
+
+        @Override
+        protected Publisher<HttpResponse<List<KeyValue>>> query(@Nullable Long index, String wait) {
+            String dc = consulConfiguration.getConfiguration().getDatacenter().orElse(null);
+            return consulClient.watchValues(key, dc, index, wait);
+        }
+
+        @Override
+        protected void onChange(@Nullable List<KeyValue> keyValues) {
+            Map<String, String> newValues = Collections.emptyMap();
+            if (keyValues != null) {
+                newValues = new HashMap<>(keyValues.size());
+                for (KeyValue keyValue : keyValues) {
+                    newValues.put(keyValue.getKey(), keyValue.getValue());
+                }
+            }
+            Map<String, String> previous = values;
+            values = newValues;
+            // the first result is the state the environment was started with
+            if (previous != null && !previous.equals(newValues)) {
+                refresh();
+            }
+        }
+    }
+}
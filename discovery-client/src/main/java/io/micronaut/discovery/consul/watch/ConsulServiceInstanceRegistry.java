@@ -0,0 +1,167 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.discovery.consul.watch;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.naming.NameUtils;
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.discovery.ServiceInstanceRegistry;
+import io.micronaut.discovery.consul.ConsulConfiguration;
+import io.micronaut.discovery.consul.ConsulServiceInstance;
+import io.micronaut.discovery.consul.client.v1.ConsulClient;
+import io.micronaut.discovery.consul.client.v1.HealthEntry;
+import io.micronaut.discovery.consul.condition.RequiresConsul;
+import io.micronaut.http.HttpResponse;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import javax.annotation.PreDestroy;
+import javax.inject.Singleton;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * A {@link ServiceInstanceRegistry} that watches the healthy instances of each service requested from it with
+ * Consul blocking queries and notifies the listeners only when the instances actually change.
+ *
+ * @author agent
+ * @since 1.0
+ */
+@Singleton
+@RequiresConsul
+@Requires(beans = ConsulClient.class)
+@Requires(property = ConsulConfiguration.ConsulWatchConfiguration.ENABLED, value = "true", defaultValue = "false")
+public class ConsulServiceInstanceRegistry implements ServiceInstanceRegistry, Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConsulServiceInstanceRegistry.class);
+
+    private final ConsulClient consulClient;
+    private final ConsulConfiguration consulConfiguration;
+    private final Map<String, ServiceWatch> watches = new ConcurrentHashMap<>();
+
+    /**
+     * @param consulClient        The Consul client
+     * @param consulConfiguration The Consul configuration
+     */
+    public ConsulServiceInstanceRegistry(ConsulClient consulClient, ConsulConfiguration consulConfiguration) {
+        this.consulClient = consulClient;
+        this.consulConfiguration = consulConfiguration;
+    }
+
+    @Override
+    public Optional<List<ServiceInstance>> getInstances(String serviceId) {
+        ServiceWatch watch = watches.get(NameUtils.hyphenate(serviceId));
+        return watch != null ? Optional.ofNullable(watch.instances) : Optional.empty();
+    }
+
+    @Override
+    public void addListener(String serviceId, Consumer<List<ServiceInstance>> listener) {
+        serviceId = NameUtils.hyphenate(serviceId);
+        if (ConsulClient.SERVICE_ID.equals(serviceId)) {
+            // the Consul agent itself is resolved from configuration
+            return;
+        }
+        ServiceWatch watch = watches.computeIfAbsent(serviceId, ServiceWatch::new);
+        watch.addListener(listener);
+        watch.start();
+    }
+
+    /**
+     * Stops all the watches.
+     */
+    @PreDestroy
+    @Override
+    public void close() {
+        for (ServiceWatch watch : watches.values()) {
+            watch.stop();
+        }
+        watches.clear();
+    }
+
+    /**
+     * The watch of the instances of a single service.
+     */
+    private final class ServiceWatch extends BlockingQueryWatch<List<HealthEntry>> {
+
+        private final String serviceId;
+        private final List<Consumer<List<ServiceInstance>>> listeners = new CopyOnWriteArrayList<>();
+        private volatile List<ServiceInstance> instances;
+        private List<String> signature;
+
+        ServiceWatch(String serviceId) {
+            super("instances of service [" + serviceId + "]", consulConfiguration);
+            this.serviceId = serviceId;
+        }
+
+        void addListener(Consumer<List<ServiceInstance>> listener) {
+            listeners.add(listener);
+            List<ServiceInstance> current = instances;
+            if (current != null) {
+                listener.accept(current);
+            }
+        }
+
+        @Override
+        protected Publisher<HttpResponse<List<HealthEntry>>> query(@Nullable Long index, String wait) {
+            ConsulConfiguration.ConsulDiscoveryConfiguration discovery = consulConfiguration.getDiscovery();
+            return consulClient.watchHealthyServices(
+                serviceId,
+                discovery.isPassing(),
+                Optional.ofNullable(discovery.getTags().get(serviceId)),
+                Optional.ofNullable(discovery.getDatacenters().get(serviceId)),
+                index,
+                wait
+            );
+        }
+
+        @Override
+        protected void onChange(@Nullable List<HealthEntry> healthEntries) {
+            String scheme = consulConfiguration.getDiscovery().getSchemes().getOrDefault(serviceId, "http");
+            List<ServiceInstance> serviceInstances = new ArrayList<>();
+            List<String> newSignature = new ArrayList<>();
+            if (healthEntries != null) {
+                for (HealthEntry healthEntry : healthEntries) {
+                    ServiceInstance instance = new ConsulServiceInstance(healthEntry, scheme);
+                    serviceInstances.add(instance);
+                    newSignature.add(instance.getId() + '@' + instance.getURI() + '#' + instance.getHealthStatus().getName());
+                }
+            }
+            // the index also changes when unrelated details such as the output of a check change
+            if (newSignature.equals(signature)) {
+                return;
+            }
+            signature = newSignature;
+            List<ServiceInstance> current = Collections.unmodifiableList(serviceInstances);
+            instances = current;
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Instances of service [{}] changed: {}", serviceId, newSignature);
+            }
+            for (Consumer<List<ServiceInstance>> listener : listeners) {
+                listener.accept(current);
+            }
+        }
+    }
+}
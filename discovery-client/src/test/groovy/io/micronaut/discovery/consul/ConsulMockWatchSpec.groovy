@@ -0,0 +1,184 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.consul
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.context.event.ApplicationEventListener
+import io.micronaut.discovery.ServiceInstance
+import io.micronaut.discovery.ServiceInstanceRegistry
+import io.micronaut.discovery.config.ConfigurationClient
+import io.micronaut.discovery.consul.client.v1.ConsulClient
+import io.micronaut.discovery.consul.client.v1.NewServiceEntry
+import io.micronaut.discovery.consul.watch.ConsulServiceInstanceRegistry
+import io.micronaut.http.client.loadbalance.DiscoveryClientLoadBalancerFactory
+import io.micronaut.runtime.context.scope.refresh.RefreshEvent
+import io.micronaut.runtime.server.EmbeddedServer
+import io.reactivex.Flowable
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import javax.inject.Singleton
+import java.util.concurrent.CopyOnWriteArrayList
+
+/**
+ * @author agent
+ * @since 1.0
+ */
+class ConsulMockWatchSpec extends Specification {
+
+    @AutoCleanup
+    @Shared
+    EmbeddedServer consulServer = ApplicationContext.run(EmbeddedServer, [
+            (MockConsulServer.ENABLED): true
+    ])
+
+    @AutoCleanup
+    @Shared
+    ApplicationContext clientContext = ApplicationContext.run(
+            'consul.client.host': 'localhost',
+            'consul.client.port': consulServer.port
+    )
+
+    @Shared
+    ConsulClient client = clientContext.getBean(ConsulClient)
+
+    @Shared
+    MockConsulBlockingQueries blockingQueries = consulServer.applicationContext.getBean(MockConsulBlockingQueries)
+
+    void "test the service instance registry is not present unless watches are enabled"() {
+        expect:
+        !clientContext.containsBean(ServiceInstanceRegistry)
+        clientContext.getBean(DiscoveryClientLoadBalancerFactory).serviceInstanceRegistry == null
+    }
+
+    void "test service instance changes are pushed by blocking queries"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(
+                'consul.client.host': 'localhost',
+                'consul.client.port': consulServer.port,
+                'consul.client.read-timeout': '2s',
+                'consul.client.watch.enabled': true
+        )
+        ServiceInstanceRegistry registry = context.getBean(ServiceInstanceRegistry)
+        List<List<ServiceInstance>> updates = new CopyOnWriteArrayList<>()
+        PollingConditions conditions = new PollingConditions(timeout: 10)
+
+        expect:
+        registry instanceof ConsulServiceInstanceRegistry
+        context.getBean(DiscoveryClientLoadBalancerFactory).serviceInstanceRegistry.is(registry)
+
+        when:"a listener is added for a service"
+        registry.addListener('watched-service', { List<ServiceInstance> instances -> updates.add(instances) })
+
+        then:"the current instances are pushed and the watch blocks"
+        conditions.eventually {
+            updates.size() == 1
+            updates[0].isEmpty()
+            blockingQueries.blockingQueries.get() == 1
+        }
+        registry.getInstances('watched-service').get().isEmpty()
+
+        when:"an unrelated change occurs"
+        Flowable.fromPublisher(client.register(new NewServiceEntry("other-service").address("localhost").port(8081))).blockingFirst()
+
+        then:"the listener is not notified"
+        conditions.eventually {
+            blockingQueries.blockingQueries.get() == 1
+        }
+        updates.size() == 1
+
+        when:"the service is registered"
+        Flowable.fromPublisher(client.register(new NewServiceEntry("watched-service").address("localhost").port(8080))).blockingFirst()
+
+        then:"the new instance is pushed"
+        conditions.eventually {
+            updates.size() == 2
+            updates[1].size() == 1
+            updates[1][0].URI.port == 8080
+        }
+
+        when:"the load balancer selects an instance"
+        ServiceInstance selected = Flowable.fromPublisher(
+                context.getBean(DiscoveryClientLoadBalancerFactory).create('watched-service').select(null)
+        ).blockingFirst()
+
+        then:"the pushed instance is used"
+        selected.URI.port == 8080
+
+        when:"the service is deregistered"
+        Flowable.fromPublisher(client.deregister("watched-service")).blockingFirst()
+
+        then:"the removal is pushed"
+        conditions.eventually {
+            updates.size() == 3
+            updates[2].isEmpty()
+        }
+
+        cleanup:
+        Flowable.fromPublisher(client.deregister("other-service")).blockingFirst()
+        context.close()
+    }
+
+    void "test a refresh event is published when the distributed configuration changes"() {
+        given:
+        Flowable.fromPublisher(client.putValue("/config/application/watched.first", "one")).blockingFirst()
+        ApplicationContext context = ApplicationContext.run(
+                'spec.name': 'ConsulMockWatchSpec',
+                (ConfigurationClient.ENABLED): true,
+                'consul.client.host': 'localhost',
+                'consul.client.port': consulServer.port,
+                'consul.client.read-timeout': '2s',
+                'consul.client.watch.enabled': true
+        )
+        RefreshListener listener = context.getBean(RefreshListener)
+        PollingConditions conditions = new PollingConditions(timeout: 10)
+
+        expect:
+        context.environment.getProperty('watched.first', String).get() == 'one'
+        conditions.eventually {
+            blockingQueries.blockingQueries.get() == 1
+        }
+        listener.events.isEmpty()
+
+        when:"the configuration changes"
+        Flowable.fromPublisher(client.putValue("/config/application/watched.second", "two")).blockingFirst()
+
+        then:"the environment is refreshed and the changed properties are published"
+        conditions.eventually {
+            listener.events.size() == 1
+            listener.events[0].source.containsKey('watched.second')
+            !listener.events[0].source.containsKey('watched.first')
+        }
+        context.environment.getProperty('watched.second', String).get() == 'two'
+
+        cleanup:
+        context.close()
+    }
+
+    @Singleton
+    @Requires(property = 'spec.name', value = 'ConsulMockWatchSpec')
+    static class RefreshListener implements ApplicationEventListener<RefreshEvent> {
+        List<RefreshEvent> events = new CopyOnWriteArrayList<>()
+
+        @Override
+        void onApplicationEvent(RefreshEvent event) {
+            events.add(event)
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.consul
+
+import io.micronaut.context.annotation.Requires
+import io.micronaut.core.async.publisher.Publishers
+import io.micronaut.discovery.consul.client.v1.ConsulClient
+import io.micronaut.http.HttpMethod
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.MutableHttpResponse
+import io.micronaut.http.annotation.Filter
+import io.micronaut.http.filter.HttpServerFilter
+import io.micronaut.http.filter.ServerFilterChain
+import io.reactivex.Flowable
+import org.reactivestreams.Publisher
+
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.regex.Matcher
+
+/**
+ * Implements Consul blocking queries for the {@link MockConsulServer}. A GET request with an {@code index}
+ * parameter that is not behind the index of the mock state is held until the state changes or the wait elapses.
+ *
+ * @author agent
+ * @since 1.0
+ */
+@Filter('/v1/**')
+@Requires(property = MockConsulServer.ENABLED)
+class MockConsulBlockingQueries implements HttpServerFilter {
+
+    final MockConsulServer consulServer
+    final AtomicInteger blockingQueries = new AtomicInteger()
+
+    MockConsulBlockingQueries(MockConsulServer consulServer) {
+        this.consulServer = consulServer
+    }
+
+    @Override
+    Publisher<MutableHttpResponse<?>> doFilter(HttpRequest<?> request, ServerFilterChain chain) {
+        Optional<Long> index = request.parameters.getFirst('index', Long)
+        if (request.method == HttpMethod.GET && index.isPresent() && consulServer.index.get() <= index.get()) {
+            long waitMillis = parseWait(request.parameters.getFirst('wait').orElse('5m'))
+            return consulServer.indexChanges
+                    .filter({ Long current -> current > index.get() })
+                    .take(1)
+                    .timeout(waitMillis, TimeUnit.MILLISECONDS, Flowable.just(index.get()))
+                    .doOnSubscribe({ blockingQueries.incrementAndGet() })
+                    .doFinally({ blockingQueries.decrementAndGet() })
+                    .switchMap({ Long current -> Flowable.fromPublisher(proceed(request, chain)) })
+        }
+        return proceed(request, chain)
+    }
+
+    private Publisher<MutableHttpResponse<?>> proceed(HttpRequest<?> request, ServerFilterChain chain) {
+        return Publishers.map(chain.proceed(request), { MutableHttpResponse<?> response ->
+            response.header(ConsulClient.CONSUL_INDEX_HEADER, String.valueOf(consulServer.index.get()))
+        })
+    }
+
+    private static long parseWait(String wait) {
+        Matcher matcher = wait =~ /(\d+)(ms|s|m)/
+        if (!matcher.matches()) {
+            return TimeUnit.MINUTES.toMillis(5)
+        }
+        long value = matcher.group(1).toLong()
+        switch (matcher.group(2)) {
+            case 'ms': return value
+            case 's': return TimeUnit.SECONDS.toMillis(value)
+            default: return TimeUnit.MINUTES.toMillis(value)
+        }
+    }
+}
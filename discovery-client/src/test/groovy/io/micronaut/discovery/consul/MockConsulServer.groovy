@@ -26,12 +26,14 @@ import io.micronaut.http.annotation.Controller
 import io.micronaut.http.annotation.Get
 import io.micronaut.runtime.server.EmbeddedServer
 import io.reactivex.Flowable
+import io.reactivex.processors.BehaviorProcessor
 import org.reactivestreams.Publisher
 import reactor.core.publisher.Mono
 
 import javax.annotation.Nullable
 import javax.validation.constraints.NotNull
 import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
 import java.util.stream.Collectors
 
 /**
@@ -52,6 +54,12 @@ class MockConsulServer implements ConsulOperations {
 
     final CatalogEntry nodeEntry
 
+    /**
+     * The index of the mock state, incremented on every write and used to answer blocking queries
+     */
+    final AtomicLong index = new AtomicLong(1)
+    final BehaviorProcessor<Long> indexChanges = BehaviorProcessor.createDefault(1L)
+
     static NewServiceEntry lastNewEntry
     static List<String> passingReports = []
 
@@ -73,6 +81,7 @@ class MockConsulServer implements ConsulOperations {
             }
             List<KeyValue> list = keyvalues.computeIfAbsent(folder, { String k -> []})
             list.add(new KeyValue(key.substring(1), Base64.getEncoder().encodeToString(value.bytes)))
+            incrementIndex()
         }
         return Flowable.just(true)
     }
@@ -112,6 +121,7 @@ class MockConsulServer implements ConsulOperations {
         passingReports.add(checkId)
         String service = nameFromCheck(checkId)
         checks.get(service)?.setStatus(Check.Status.PASSING.name().toLowerCase())
+        incrementIndex()
 
         return Publishers.just(HttpStatus.OK)
     }
@@ -125,9 +135,14 @@ class MockConsulServer implements ConsulOperations {
     Publisher<HttpStatus> fail(String checkId, @Nullable String  note) {
         String service = nameFromCheck(checkId)
         checks.get(service)?.setStatus(Check.Status.CRITICAL.name().toLowerCase())
+        incrementIndex()
         return Publishers.just(HttpStatus.OK)
     }
 
+    private void incrementIndex() {
+        indexChanges.onNext(index.incrementAndGet())
+    }
+
     private String nameFromCheck(String checkId) {
         String service = checkId.substring("service:".length())
         service = service.substring(0, service.indexOf(':'))
@@ -155,6 +170,7 @@ class MockConsulServer implements ConsulOperations {
         def service = entry.getName()
         services.put(service, new ServiceEntry(entry))
         checks.computeIfAbsent(service, { String key -> new MockCheckEntry(service)})
+        incrementIndex()
         return Publishers.just(HttpStatus.OK)
     }
 
@@ -168,6 +184,7 @@ class MockConsulServer implements ConsulOperations {
         else {
             services.remove(service)
         }
+        incrementIndex()
         return Publishers.just(HttpStatus.OK)
     }
 
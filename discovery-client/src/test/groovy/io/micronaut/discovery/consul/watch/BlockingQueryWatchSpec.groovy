@@ -0,0 +1,123 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.consul.watch
+
+import io.micronaut.discovery.consul.ConsulConfiguration
+import io.micronaut.discovery.consul.client.v1.ConsulClient
+import io.micronaut.http.HttpResponse
+import io.reactivex.Flowable
+import org.reactivestreams.Publisher
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.CopyOnWriteArrayList
+
+class BlockingQueryWatchSpec extends Specification {
+
+    void "test queries that return without an index are rate limited"() {
+        given:
+        TestWatch watch = new TestWatch(configuration(Duration.ofMillis(200))) {
+            @Override
+            protected Publisher<HttpResponse<String>> query(Long index, String wait) {
+                super.query(index, wait)
+                Flowable.just(HttpResponse.ok("value"))
+            }
+        }
+
+        when:
+        watch.start()
+        sleep(1000)
+        watch.stop()
+
+        then:"the index is reset to 1 and the queries are spaced by the retry delay"
+        watch.indexes.size() >= 2
+        watch.indexes.size() <= 7
+        watch.indexes[0] == null
+        watch.indexes[1..-1].every { it == 1L }
+    }
+
+    void "test queries are rate limited when the index goes backwards"() {
+        given:
+        TestWatch watch = new TestWatch(configuration(Duration.ofMillis(200))) {
+            @Override
+            protected Publisher<HttpResponse<String>> query(Long index, String wait) {
+                super.query(index, wait)
+                // every query reports a lower index than the previous one
+                Flowable.just(HttpResponse.ok("value").header(ConsulClient.CONSUL_INDEX_HEADER, String.valueOf(100 - indexes.size())))
+            }
+        }
+
+        when:
+        watch.start()
+        sleep(1000)
+        watch.stop()
+
+        then:"every reset is followed by the retry delay"
+        watch.indexes.size() <= 12
+        watch.indexes[0] == null
+        watch.indexes[1] == 99L
+        watch.indexes[2] == 1L
+    }
+
+    void "test failed queries are retried after the retry delay with the index reset to 1"() {
+        given:
+        TestWatch watch = new TestWatch(configuration(Duration.ofMillis(200))) {
+            @Override
+            protected Publisher<HttpResponse<String>> query(Long index, String wait) {
+                super.query(index, wait)
+                if (indexes.size() == 1) {
+                    return Flowable.just(HttpResponse.ok("value").header(ConsulClient.CONSUL_INDEX_HEADER, "10"))
+                }
+                Flowable.error(new IOException("unavailable"))
+            }
+        }
+
+        when:
+        watch.start()
+        sleep(1000)
+        watch.stop()
+
+        then:
+        watch.indexes.size() <= 7
+        watch.indexes[0] == null
+        watch.indexes[1] == 10L
+        watch.indexes[2] == 1L
+    }
+
+    private static ConsulConfiguration configuration(Duration retryDelay) {
+        ConsulConfiguration configuration = new ConsulConfiguration()
+        configuration.watch.retryDelay = retryDelay
+        configuration
+    }
+
+    static class TestWatch extends BlockingQueryWatch<String> {
+        List<Long> indexes = new CopyOnWriteArrayList<>()
+
+        TestWatch(ConsulConfiguration configuration) {
+            super("test", configuration)
+        }
+
+        @Override
+        protected Publisher<HttpResponse<String>> query(Long index, String wait) {
+            indexes.add(index)
+            Flowable.empty()
+        }
+
+        @Override
+        protected void onChange(String result) {
+        }
+    }
+}
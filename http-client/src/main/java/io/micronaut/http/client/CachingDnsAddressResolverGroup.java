@@ -0,0 +1,140 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.client;
+
+import io.micronaut.context.exceptions.ConfigurationException;
+import io.netty.channel.ChannelFactory;
+import io.netty.channel.EventLoop;
+import io.netty.channel.socket.DatagramChannel;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.resolver.AddressResolver;
+import io.netty.resolver.NameResolver;
+import io.netty.resolver.RoundRobinInetAddressResolver;
+import io.netty.resolver.dns.DefaultDnsCache;
+import io.netty.resolver.dns.DnsAddressResolverGroup;
+import io.netty.resolver.dns.DnsCache;
+import io.netty.resolver.dns.DnsNameResolverBuilder;
+import io.netty.resolver.dns.DnsServerAddressStreamProvider;
+import io.netty.resolver.dns.DnsServerAddressStreamProviders;
+import io.netty.resolver.dns.SequentialDnsServerAddressStreamProvider;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link DnsAddressResolverGroup} that resolves host names asynchronously on the event loops of a client. The
+ * resolvers of all event loops share a cache of the resolved addresses and of the failed resolutions, that honours
+ * the TTL of the DNS records within the configured bounds.
+ *
+ * @author agent
+ * @since 1.0
+ */
+class CachingDnsAddressResolverGroup extends DnsAddressResolverGroup {
+
+    private static final int DNS_PORT = 53;
+
+    private final HttpClientConfiguration.DnsConfiguration configuration;
+    private final DnsCache cache;
+
+    /**
+     * @param configuration The DNS configuration
+     */
+    CachingDnsAddressResolverGroup(HttpClientConfiguration.DnsConfiguration configuration) {
+        super(NioDatagramChannel.class, nameServerProvider(configuration.getNameServers()));
+        this.configuration = configuration;
+        this.cache = new DefaultDnsCache(
+                seconds(configuration.getMinTtl()),
+                configuration.getMaxTtl().map(CachingDnsAddressResolverGroup::seconds).orElse(Integer.MAX_VALUE),
+                seconds(configuration.getNegativeTtl())
+        );
+    }
+
+    /**
+     * Removes all cached resolutions.
+     */
+    void clearCache() {
+        cache.clear();
+    }
+
+    @Override
+    protected NameResolver<InetAddress> newNameResolver(
+            EventLoop eventLoop,
+            ChannelFactory<? extends DatagramChannel> channelFactory,
+            DnsServerAddressStreamProvider nameServerProvider) {
+        DnsNameResolverBuilder builder = new DnsNameResolverBuilder(eventLoop)
+                .channelFactory(channelFactory)
+                .nameServerProvider(nameServerProvider)
+                .resolveCache(cache)
+                .queryTimeoutMillis(configuration.getQueryTimeout().toMillis());
+        configuration.getAddressTypes().ifPresent(builder::resolvedAddressTypes);
+        return builder.build();
+    }
+
+    @Override
+    protected AddressResolver<InetSocketAddress> newAddressResolver(EventLoop eventLoop, NameResolver<InetAddress> resolver) throws Exception {
+        if (configuration.isRoundRobin()) {
+            return new RoundRobinInetAddressResolver(eventLoop, resolver).asAddressResolver();
+        }
+        return super.newAddressResolver(eventLoop, resolver);
+    }
+
+    private static DnsServerAddressStreamProvider nameServerProvider(List<String> nameServers) {
+        if (nameServers.isEmpty()) {
+            return DnsServerAddressStreamProviders.platformDefault();
+        }
+        List<InetSocketAddress> addresses = new ArrayList<>(nameServers.size());
+        for (String nameServer : nameServers) {
+            addresses.add(parseAddress(nameServer.trim()));
+        }
+        return new SequentialDnsServerAddressStreamProvider(addresses);
+    }
+
+    private static InetSocketAddress parseAddress(String nameServer) {
+        String host = nameServer;
+        int port = DNS_PORT;
+        int portSeparator = nameServer.lastIndexOf(':');
+        if (nameServer.startsWith("[")) {
+            int end = nameServer.indexOf(']');
+            if (end == -1) {
+                throw new ConfigurationException("Invalid name server address: " + nameServer);
+            }
+            host = nameServer.substring(1, end);
+            if (portSeparator > end) {
+                port = parsePort(nameServer, portSeparator);
+            }
+        } else if (portSeparator > -1 && portSeparator == nameServer.indexOf(':')) {
+            host = nameServer.substring(0, portSeparator);
+            port = parsePort(nameServer, portSeparator);
+        }
+        return new InetSocketAddress(host, port);
+    }
+
+    private static int parsePort(String nameServer, int portSeparator) {
+        try {
+            return Integer.parseInt(nameServer.substring(portSeparator + 1));
+        } catch (NumberFormatException e) {
+            throw new ConfigurationException("Invalid name server address: " + nameServer);
+        }
+    }
+
+    private static int seconds(Duration duration) {
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(0, duration.getSeconds()));
+    }
+}
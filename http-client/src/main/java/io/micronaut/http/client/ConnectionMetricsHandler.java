@@ -0,0 +1,136 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.client;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufHolder;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.ssl.SslHandler;
+
+import java.net.SocketAddress;
+import java.util.List;
+
+/**
+ * A handler placed at the head of the client pipeline that notifies the {@link HttpClientConnectionListener} instances
+ * of the connection level events of a channel.
+ *
+ * @author agent
+ * @since 1.0
+ */
+class ConnectionMetricsHandler extends ChannelDuplexHandler {
+
+    private final List<HttpClientConnectionListener> listeners;
+    private final SslHandler sslHandler;
+    private SocketAddress remoteAddress;
+    private boolean active;
+
+    /**
+     * @param listeners The listeners
+     * @param sslHandler The SSL handler of the channel or null
+     */
+    ConnectionMetricsHandler(List<HttpClientConnectionListener> listeners, SslHandler sslHandler) {
+        this.listeners = listeners;
+        this.sslHandler = sslHandler;
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        for (HttpClientConnectionListener listener : listeners) {
+            listener.onChannelOpened();
+        }
+        ctx.channel().closeFuture().addListener(future -> {
+            for (HttpClientConnectionListener listener : listeners) {
+                listener.onChannelClosed();
+            }
+        });
+    }
+
+    @Override
+    public void connect(ChannelHandlerContext ctx, SocketAddress remoteAddress, SocketAddress localAddress, ChannelPromise promise) throws Exception {
+        this.remoteAddress = remoteAddress;
+        long start = System.nanoTime();
+        promise.addListener(future -> {
+            long duration = System.nanoTime() - start;
+            for (HttpClientConnectionListener listener : listeners) {
+                listener.onConnected(remoteAddress, duration, future.cause());
+            }
+        });
+        super.connect(ctx, remoteAddress, localAddress, promise);
+    }
+
+    @Override
+    public void channelActive(ChannelHandlerContext ctx) throws Exception {
+        active = true;
+        for (HttpClientConnectionListener listener : listeners) {
+            listener.onChannelActive();
+        }
+        if (sslHandler != null) {
+            long start = System.nanoTime();
+            sslHandler.handshakeFuture().addListener(future -> {
+                long duration = System.nanoTime() - start;
+                for (HttpClientConnectionListener listener : listeners) {
+                    listener.onHandshakeCompleted(remoteAddress, duration, future.cause());
+                }
+            });
+        }
+        super.channelActive(ctx);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        if (active) {
+            active = false;
+            for (HttpClientConnectionListener listener : listeners) {
+                listener.onChannelInactive();
+            }
+        }
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        int bytes = readableBytes(msg);
+        if (bytes > 0) {
+            for (HttpClientConnectionListener listener : listeners) {
+                listener.onBytesRead(bytes);
+            }
+        }
+        super.channelRead(ctx, msg);
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        int bytes = readableBytes(msg);
+        if (bytes > 0) {
+            for (HttpClientConnectionListener listener : listeners) {
+                listener.onBytesWritten(bytes);
+            }
+        }
+        super.write(ctx, msg, promise);
+    }
+
+    private static int readableBytes(Object msg) {
+        if (msg instanceof ByteBuf) {
+            return ((ByteBuf) msg).readableBytes();
+        } else if (msg instanceof ByteBufHolder) {
+            return ((ByteBufHolder) msg).content().readableBytes();
+        }
+        return 0;
+    }
+}
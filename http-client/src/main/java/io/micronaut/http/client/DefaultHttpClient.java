@@ -31,9 +31,11 @@ import io.micronaut.core.order.OrderUtil;
 import io.micronaut.core.reflect.InstantiationUtils;
 import io.micronaut.core.type.Argument;
 import io.micronaut.core.util.ArrayUtils;
+import io.micronaut.core.util.CollectionUtils;
 import io.micronaut.core.util.PathMatcher;
 import io.micronaut.core.util.StringUtils;
 import io.micronaut.core.util.Toggleable;
+import io.micronaut.discovery.ServiceInstance;
 import io.micronaut.http.HttpStatus;
 import io.micronaut.http.MediaType;
 import io.micronaut.http.MutableHttpRequest;
@@ -42,6 +44,7 @@ import io.micronaut.http.client.exceptions.ContentLengthExceededException;
 import io.micronaut.http.client.exceptions.HttpClientException;
 import io.micronaut.http.client.exceptions.HttpClientResponseException;
 import io.micronaut.http.client.exceptions.ReadTimeoutException;
+import io.micronaut.http.client.loadbalance.StatsAwareLoadBalancer;
 import io.micronaut.http.client.multipart.MultipartBody;
 import io.micronaut.http.client.sse.RxSseClient;
 import io.micronaut.http.client.ssl.NettyClientSslBuilder;
@@ -78,6 +81,8 @@ import io.netty.handler.proxy.HttpProxyHandler;
 import io.netty.handler.proxy.Socks5ProxyHandler;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslHandler;
+import io.netty.resolver.AddressResolverGroup;
+import io.netty.resolver.DefaultAddressResolverGroup;
 import io.netty.handler.stream.ChunkedWriteHandler;
 import io.netty.handler.timeout.IdleStateEvent;
 import io.netty.handler.timeout.IdleStateHandler;
@@ -101,6 +106,7 @@ import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Named;
 import java.io.Closeable;
+import java.net.InetSocketAddress;
 import java.net.Proxy.Type;
 import java.net.SocketAddress;
 import java.net.URI;
@@ -129,6 +135,8 @@ public class DefaultHttpClient implements RxHttpClient, RxStreamingHttpClient, R
     protected static final String HANDLER_CHUNK = "chunk-writer";
     protected static final String HANDLER_STREAM = "stream-handler";
     protected static final String HANDLER_DECODER = "http-decoder";
+    protected static final String HANDLER_CONNECTION_METRICS = "connection-metrics";
+    protected static final String HANDLER_REQUEST_COMPRESSOR = "request-compressor";
 
     private static final Logger LOG = LoggerFactory.getLogger(DefaultHttpClient.class);
     private static final int DEFAULT_HTTP_PORT = 80;
@@ -148,8 +156,11 @@ public class DefaultHttpClient implements RxHttpClient, RxStreamingHttpClient, R
 
     private final HttpClientFilter[] filters;
     private final Charset defaultCharset;
+    private final HedgingPolicy hedgingPolicy;
+    private final CachingDnsAddressResolverGroup dnsResolverGroup;
 
     private Set<String> clientIdentifiers = Collections.emptySet();
+    private List<HttpClientConnectionListener> connectionListeners = Collections.emptyList();
 
     /**
      * Construct a client for the given arguments.
@@ -199,6 +210,15 @@ public class DefaultHttpClient implements RxHttpClient, RxStreamingHttpClient, R
         this.mediaTypeCodecRegistry = codecRegistry;
         this.filters = filters;
         this.annotationMetadataResolver = annotationMetadataResolver != null ? annotationMetadataResolver : AnnotationMetadataResolver.DEFAULT;
+        HttpClientConfiguration.HedgingConfiguration hedgingConfiguration = configuration.getHedgingConfiguration();
+        this.hedgingPolicy = hedgingConfiguration.isEnabled() ? new HedgingPolicy(hedgingConfiguration) : null;
+        HttpClientConfiguration.DnsConfiguration dnsConfiguration = configuration.getDnsConfiguration();
+        if (dnsConfiguration.isEnabled()) {
+            this.dnsResolverGroup = new CachingDnsAddressResolverGroup(dnsConfiguration);
+            this.bootstrap.resolver(dnsResolverGroup);
+        } else {
+            this.dnsResolverGroup = null;
+        }
     }
 
     /**
@@ -274,6 +294,9 @@ public class DefaultHttpClient implements RxHttpClient, RxStreamingHttpClient, R
     @PreDestroy
     public HttpClient stop() {
         if (isRunning()) {
+            if (dnsResolverGroup != null) {
+                dnsResolverGroup.close();
+            }
             Duration shutdownTimeout = configuration.getShutdownTimeout().orElse(Duration.ofMillis(100));
             Future<?> future = this.group.shutdownGracefully(
                     1,
@@ -317,6 +340,24 @@ public class DefaultHttpClient implements RxHttpClient, RxStreamingHttpClient, R
         }
     }
 
+    /**
+     * Sets the listeners notified of the connection level events of this client, such as name resolution, connection
+     * establishment, TLS handshakes and the bytes transferred.
+     *
+     * @param connectionListeners The connection listeners
+     */
+    @Inject
+    public void setConnectionListeners(@Nullable Collection<HttpClientConnectionListener> connectionListeners) {
+        if (CollectionUtils.isNotEmpty(connectionListeners)) {
+            this.connectionListeners = new ArrayList<>(connectionListeners);
+            AddressResolverGroup<InetSocketAddress> resolverGroup = dnsResolverGroup != null ? dnsResolverGroup : DefaultAddressResolverGroup.INSTANCE;
+            this.bootstrap.resolver(new TimedAddressResolverGroup(resolverGroup, this.connectionListeners));
+            for (HttpClientConnectionListener listener : this.connectionListeners) {
+                listener.onClientRegistered(group);
+            }
+        }
+    }
+
     /**
      * @return The {@link MediaTypeCodecRegistry} used by this client
      */
@@ -346,7 +387,6 @@ public class DefaultHttpClient implements RxHttpClient, RxStreamingHttpClient, R
         };
     }
 
-    @SuppressWarnings("SubscriberImplementation")
     @Override
     public <I> Flowable<Event<ByteBuffer<?>>> eventStream(io.micronaut.http.HttpRequest<I> request) {
 
@@ -354,17 +394,73 @@ public class DefaultHttpClient implements RxHttpClient, RxStreamingHttpClient, R
             ((MutableHttpRequest) request).accept(MediaType.TEXT_EVENT_STREAM_TYPE);
         }
 
-        Flowable<Event<ByteBuffer<?>>> eventFlowable = Flowable.create(emitter ->
+        HttpClientConfiguration.EventStreamConfiguration eventStreamConfiguration = configuration.getEventStreamConfiguration();
+        int maxEventSize = eventStreamConfiguration.getMaxEventSize().orElse(configuration.getMaxContentLength());
+        if (!eventStreamConfiguration.isReconnect()) {
+            return Flowable.defer(() ->
+                buildEventStreamPublisher(request, new EventStreamParser(byteBufferFactory, maxEventSize))
+            );
+        }
+
+        return Flowable.defer(() -> {
+            // the parser outlives each connection so that the last event id and retry interval are retained
+            EventStreamParser parser = new EventStreamParser(byteBufferFactory, maxEventSize);
+            AtomicInteger attempts = new AtomicInteger();
+            int maxAttempts = eventStreamConfiguration.getMaxReconnectAttempts();
+            Flowable<Event<ByteBuffer<?>>> connection = Flowable.defer(() -> {
+                Optional<String> lastEventId = parser.getLastEventId();
+                if (lastEventId.isPresent() && request instanceof MutableHttpRequest) {
+                    ((MutableHttpRequest) request).header(io.micronaut.http.HttpHeaders.LAST_EVENT_ID, lastEventId.get());
+                }
+                return buildEventStreamPublisher(request, parser);
+            }).doOnNext(event -> attempts.set(0));
+
+            Flowable<Long> reconnectDelay = Flowable.defer(() -> Flowable.timer(
+                parser.getRetry().orElse(eventStreamConfiguration.getReconnectDelay()).toMillis(),
+                TimeUnit.MILLISECONDS,
+                scheduler
+            ));
+            return connection
+                .repeatWhen(completions -> completions
+                    .takeWhile(completion -> maxAttempts < 0 || attempts.incrementAndGet() <= maxAttempts)
+                    .concatMap(completion -> reconnectDelay))
+                .retryWhen(errors -> errors.concatMap(error -> {
+                    boolean reconnectable = !(error instanceof HttpClientResponseException) &&
+                        !(error instanceof ContentLengthExceededException) &&
+                        !(error instanceof CodecException);
+                    if (reconnectable && (maxAttempts < 0 || attempts.incrementAndGet() <= maxAttempts)) {
+                        if (LOG.isDebugEnabled()) {
+                            LOG.debug("Reconnecting event stream {} after error: {}", request.getUri(), error.getMessage());
+                        }
+                        return reconnectDelay;
+                    }
+                    return Flowable.error(error);
+                }));
+        });
+    }
+
+    /**
+     * Builds a publisher that consumes a single connection to an event stream.
+     *
+     * @param request The request
+     * @param parser  The parser of the event stream
+     * @param <I>     The request body type
+     * @return The events received on the connection
+     */
+    @SuppressWarnings("SubscriberImplementation")
+    private <I> Flowable<Event<ByteBuffer<?>>> buildEventStreamPublisher(io.micronaut.http.HttpRequest<I> request, EventStreamParser parser) {
+        return Flowable.create(emitter ->
             dataStream(request).subscribe(new Subscriber<ByteBuffer<?>>() {
                 private Subscription dataSubscription;
-                private CurrentEvent currentEvent = new CurrentEvent(
-                        byteBufferFactory.getNativeAllocator().compositeBuffer(10)
-                );
 
                 @Override
                 public void onSubscribe(Subscription s) {
                     this.dataSubscription = s;
-                    Cancellable cancellable = () -> dataSubscription.cancel();
+                    parser.reset();
+                    Cancellable cancellable = () -> {
+                        dataSubscription.cancel();
+                        parser.reset();
+                    };
                     emitter.setCancellable(cancellable);
                     if (!emitter.isCancelled() && emitter.requested() > 0) {
                         // request the first chunk
@@ -374,70 +470,12 @@ public class DefaultHttpClient implements RxHttpClient, RxStreamingHttpClient, R
 
                 @Override
                 public void onNext(ByteBuffer<?> buffer) {
-
+                    ByteBuf line = (ByteBuf) buffer.asNativeBuffer();
                     try {
-                        int len = buffer.readableBytes();
-
-                        // a length of zero indicates the start of a new event
-                        // emit the current event
-                        if (len == 0) {
-                            try {
-                                Event event = Event.of(byteBufferFactory.wrap(currentEvent.data))
-                                                                    .name(currentEvent.name)
-                                                                    .retry(currentEvent.retry)
-                                                                    .id(currentEvent.id);
-                                emitter.onNext(
-                                        event
-                                );
-                            } finally {
-                                currentEvent.data.release();
-                                currentEvent = new CurrentEvent(
-                                        byteBufferFactory.getNativeAllocator().compositeBuffer(10)
-                                );
-                            }
-                        } else {
-                            int colonIndex = buffer.indexOf((byte) ':');
-                            // SSE comments start with colon, so skip
-                            if (colonIndex > 0) {
-                                // obtain the type
-                                String type = buffer.slice(0, colonIndex).toString(StandardCharsets.UTF_8).trim();
-                                int fromIndex = colonIndex + 1;
-                                // skip the white space before the actual data
-                                if (buffer.getByte(fromIndex) == ((byte) ' ')) {
-                                    fromIndex++;
-                                }
-                                if (fromIndex < len) {
-                                    int toIndex = len - fromIndex;
-                                    switch (type) {
-                                        case "data":
-                                            ByteBuffer content = buffer.slice(fromIndex, toIndex);
-                                            ByteBuf nativeBuffer = (ByteBuf) content.asNativeBuffer();
-                                            currentEvent.data.addComponent(true, nativeBuffer);
-                                            break;
-                                        case "id":
-                                            ByteBuffer id = buffer.slice(fromIndex, toIndex);
-                                            currentEvent.id = id.toString(StandardCharsets.UTF_8).trim();
-
-                                            break;
-                                        case "event":
-                                            ByteBuffer event = buffer.slice(fromIndex, toIndex);
-                                            currentEvent.name = event.toString(StandardCharsets.UTF_8).trim();
-                                            break;
-                                        case "retry":
-                                            ByteBuffer retry = buffer.slice(fromIndex, toIndex);
-                                            String text = retry.toString(StandardCharsets.UTF_8);
-                                            if (!StringUtils.isEmpty(text)) {
-
-                                                Long millis = Long.valueOf(text);
-                                                currentEvent.retry = Duration.ofMillis(millis);
-                                            }
-                                            break;
-                                        default:
-                                            // ignore message
-                                            break;
-                                    }
-                                }
-                            }
+                        // a line of length zero completes the current event
+                        Event<ByteBuffer<?>> event = parser.parseLine(line);
+                        if (event != null) {
+                            emitter.onNext(event);
                         }
 
                         if (emitter.requested() > 0 && !emitter.isCancelled()) {
@@ -445,12 +483,15 @@ public class DefaultHttpClient implements RxHttpClient, RxStreamingHttpClient, R
                         }
                     } catch (Throwable e) {
                         onError(e);
+                    } finally {
+                        line.release();
                     }
                 }
 
                 @Override
                 public void onError(Throwable t) {
                     dataSubscription.cancel();
+                    parser.reset();
                     if (t instanceof HttpClientException) {
                         emitter.onError(t);
                     } else {
@@ -460,11 +501,10 @@ public class DefaultHttpClient implements RxHttpClient, RxStreamingHttpClient, R
 
                 @Override
                 public void onComplete() {
+                    parser.reset();
                     emitter.onComplete();
                 }
         }), BackpressureStrategy.BUFFER);
-
-        return eventFlowable;
     }
 
     @Override
@@ -491,6 +531,9 @@ public class DefaultHttpClient implements RxHttpClient, RxStreamingHttpClient, R
     @SuppressWarnings("unchecked")
     @Override
     public <I> Flowable<ByteBuffer<?>> dataStream(io.micronaut.http.HttpRequest<I> request) {
+        if (isStatsAware(request)) {
+            return executeWithStats(request, buildDataStreamPublisher(request));
+        }
         return Flowable.fromPublisher(resolveRequestURI(request))
             .flatMap(buildDataStreamPublisher(request));
 
@@ -498,12 +541,18 @@ public class DefaultHttpClient implements RxHttpClient, RxStreamingHttpClient, R
 
     @Override
     public <I> Flowable<io.micronaut.http.HttpResponse<ByteBuffer<?>>> exchangeStream(io.micronaut.http.HttpRequest<I> request) {
+        if (isStatsAware(request)) {
+            return executeWithStats(request, buildExchangeStreamPublisher(request));
+        }
         return Flowable.fromPublisher(resolveRequestURI(request))
             .flatMap(buildExchangeStreamPublisher(request));
     }
 
     @Override
     public <I, O> Flowable<O> jsonStream(io.micronaut.http.HttpRequest<I> request, io.micronaut.core.type.Argument<O> type) {
+        if (isStatsAware(request)) {
+            return executeWithStats(request, buildJsonStreamPublisher(request, type));
+        }
         return Flowable.fromPublisher(resolveRequestURI(request))
             .flatMap(buildJsonStreamPublisher(request, type));
     }
@@ -522,6 +571,12 @@ public class DefaultHttpClient implements RxHttpClient, RxStreamingHttpClient, R
 
     @Override
     public <I, O> Flowable<io.micronaut.http.HttpResponse<O>> exchange(io.micronaut.http.HttpRequest<I> request, io.micronaut.core.type.Argument<O> bodyType) {
+        if (hedgingPolicy != null && request.getUri().getScheme() == null && hedgingPolicy.isHedgeable(request)) {
+            return executeHedged(request, bodyType);
+        }
+        if (isStatsAware(request)) {
+            return executeWithStats(request, buildExchangePublisher(request, bodyType));
+        }
         Publisher<URI> uriPublisher = resolveRequestURI(request);
         return Flowable.fromPublisher(uriPublisher)
             .switchMap(buildExchangePublisher(request, bodyType));
@@ -766,6 +821,14 @@ public class DefaultHttpClient implements RxHttpClient, RxStreamingHttpClient, R
                 SslContext sslContext = buildSslContext(requestURI);
 
                 ChannelFuture connectionFuture = doConnect(request, requestURI, sslContext, false);
+                emitter.setCancellable(() -> {
+                    if (!connectionFuture.cancel(false)) {
+                        Channel channel = connectionFuture.channel();
+                        if (channel.isOpen()) {
+                            channel.close();
+                        }
+                    }
+                });
                 connectionFuture.addListener(future -> {
                     if (future.isSuccess()) {
                         try {
@@ -860,16 +923,106 @@ public class DefaultHttpClient implements RxHttpClient, RxStreamingHttpClient, R
             return Publishers.just(requestURI);
         } else {
 
-            return Publishers.map(loadBalancer.select(getLoadBalancerDiscriminator()), server -> {
-                    Optional<String> authInfo = server.getMetadata().get(io.micronaut.http.HttpHeaders.AUTHORIZATION_INFO, String.class);
-                    if (authInfo.isPresent() && request instanceof MutableHttpRequest) {
-                        ((MutableHttpRequest) request).getHeaders().auth(authInfo.get());
-                    }
-                    return server.resolve(requestURI);
-                }
+            return Publishers.map(loadBalancer.select(getLoadBalancerDiscriminator()), server -> resolveServerURI(request, server));
+        }
+    }
 
-            );
+    private <I> URI resolveServerURI(io.micronaut.http.HttpRequest<I> request, ServiceInstance server) {
+        Optional<String> authInfo = server.getMetadata().get(io.micronaut.http.HttpHeaders.AUTHORIZATION_INFO, String.class);
+        if (authInfo.isPresent() && request instanceof MutableHttpRequest) {
+            ((MutableHttpRequest) request).getHeaders().auth(authInfo.get());
+        }
+        return server.resolve(request.getUri());
+    }
+
+    private boolean isStatsAware(io.micronaut.http.HttpRequest<?> request) {
+        return loadBalancer instanceof StatsAwareLoadBalancer && request.getUri().getScheme() == null;
+    }
+
+    /**
+     * Executes a request against the instance selected by a {@link StatsAwareLoadBalancer}, notifying the load
+     * balancer when the request starts and when it produces its first item, fails or is cancelled.
+     */
+    private <I, O> Flowable<O> executeWithStats(io.micronaut.http.HttpRequest<I> request, Function<URI, ? extends Publisher<? extends O>> requestPublisher) {
+        return Flowable.fromPublisher(loadBalancer.select(getLoadBalancerDiscriminator()))
+            .switchMap(server -> executeOn(request, server, requestPublisher));
+    }
+
+    /**
+     * Executes a request against the given instance, notifying the load balancer if it is a
+     * {@link StatsAwareLoadBalancer}.
+     */
+    private <I, O> Flowable<O> executeOn(io.micronaut.http.HttpRequest<I> request, ServiceInstance server, Function<URI, ? extends Publisher<? extends O>> requestPublisher) {
+        if (!(loadBalancer instanceof StatsAwareLoadBalancer)) {
+            return Flowable.defer(() -> requestPublisher.apply(resolveServerURI(request, server)));
         }
+        StatsAwareLoadBalancer statsAwareLoadBalancer = (StatsAwareLoadBalancer) loadBalancer;
+        return Flowable.defer(() -> {
+            Flowable<O> publisher = Flowable.fromPublisher(requestPublisher.apply(resolveServerURI(request, server)));
+            long start = System.nanoTime();
+            AtomicBoolean recorded = new AtomicBoolean();
+            statsAwareLoadBalancer.requestStarted(server);
+            return publisher
+                .doOnNext(item -> {
+                    if (recorded.compareAndSet(false, true)) {
+                        statsAwareLoadBalancer.requestCompleted(server, System.nanoTime() - start, null);
+                    }
+                })
+                .doOnError(error -> {
+                    if (recorded.compareAndSet(false, true)) {
+                        statsAwareLoadBalancer.requestCompleted(server, System.nanoTime() - start, error);
+                    }
+                })
+                .doOnComplete(() -> {
+                    if (recorded.compareAndSet(false, true)) {
+                        statsAwareLoadBalancer.requestCompleted(server, System.nanoTime() - start, null);
+                    }
+                })
+                .doOnCancel(() -> {
+                    if (recorded.compareAndSet(false, true)) {
+                        statsAwareLoadBalancer.requestCancelled(server);
+                    }
+                });
+        });
+    }
+
+    /**
+     * Executes an idempotent request against the selected instance and, if it has not produced a response after
+     * the hedging delay and the hedging budget allows it, sends the request to a different instance as well. The
+     * first response wins and the other attempt is cancelled. A failed hedge is ignored in favour of the first
+     * attempt.
+     */
+    private <I, O> Flowable<io.micronaut.http.HttpResponse<O>> executeHedged(io.micronaut.http.HttpRequest<I> request, io.micronaut.core.type.Argument<O> bodyType) {
+        Object discriminator = getLoadBalancerDiscriminator();
+        hedgingPolicy.onRequest();
+        return Flowable.fromPublisher(loadBalancer.select(discriminator)).switchMap(server -> {
+            Flowable<io.micronaut.http.HttpResponse<O>> attempt = executeHedgeAttempt(request, bodyType, server);
+            long delay = hedgingPolicy.getDelayNanos();
+            if (delay < 0) {
+                return attempt;
+            }
+            Flowable<io.micronaut.http.HttpResponse<O>> hedge = Flowable.timer(delay, TimeUnit.NANOSECONDS, scheduler)
+                .switchMap(tick -> Flowable.fromPublisher(loadBalancer.select(discriminator)))
+                .switchMap(other -> {
+                    if (other.getURI().equals(server.getURI()) || !hedgingPolicy.tryAcquire()) {
+                        return Flowable.<io.micronaut.http.HttpResponse<O>>never();
+                    }
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug("Hedging HTTP Request {} {} to: {}", request.getMethod(), request.getUri(), other.getURI());
+                    }
+                    return executeHedgeAttempt(request, bodyType, other);
+                })
+                .onErrorResumeNext(Flowable.never());
+            return Flowable.ambArray(attempt, hedge);
+        });
+    }
+
+    private <I, O> Flowable<io.micronaut.http.HttpResponse<O>> executeHedgeAttempt(io.micronaut.http.HttpRequest<I> request, io.micronaut.core.type.Argument<O> bodyType, ServiceInstance server) {
+        Flowable<io.micronaut.http.HttpResponse<O>> attempt = executeOn(request, server, buildExchangePublisher(request, bodyType));
+        return Flowable.defer(() -> {
+            long start = System.nanoTime();
+            return attempt.doOnNext(response -> hedgingPolicy.recordLatency(System.nanoTime() - start));
+        });
     }
 
     /**
@@ -969,6 +1122,15 @@ public class DefaultHttpClient implements RxHttpClient, RxStreamingHttpClient, R
      * @return The ChannelFuture
      */
     protected ChannelFuture doConnect(Bootstrap bootstrap, String host, int port) {
+        HttpClientConfiguration.DnsConfiguration dnsConfiguration = configuration.getDnsConfiguration();
+        if (dnsResolverGroup != null && dnsConfiguration.isHappyEyeballs() && !configuration.getProxyAddress().isPresent()) {
+            return HappyEyeballsConnector.connect(
+                    bootstrap,
+                    host,
+                    port,
+                    dnsConfiguration.getConnectionAttemptDelay()
+            );
+        }
         return bootstrap.connect(host, port);
     }
 
@@ -1193,6 +1355,10 @@ public class DefaultHttpClient implements RxHttpClient, RxStreamingHttpClient, R
                         return new NettyRequestWriter(nettyRequest, null);
                     } else if (bodyValue instanceof CharSequence) {
                         bodyContent = charSequenceToByteBuf((CharSequence) bodyValue, requestContentType);
+                    } else if (bodyValue instanceof ByteBuf) {
+                        // already encoded. Netty releases what it writes and the same request may be written again
+                        // when it is retried, hedged or reconnected, so the caller keeps its own reference
+                        bodyContent = ((ByteBuf) bodyValue).retainedDuplicate();
                     } else if (mediaTypeCodecRegistry != null) {
                         Optional<MediaTypeCodec> registeredCodec = mediaTypeCodecRegistry.findCodec(requestContentType);
                         bodyContent = registeredCodec.map(codec -> (ByteBuf) codec.encode(bodyValue, byteBufferFactory).asNativeBuffer())
@@ -1225,6 +1391,9 @@ public class DefaultHttpClient implements RxHttpClient, RxStreamingHttpClient, R
         HttpHeaders headers = nettyRequest.headers();
         headers.set(HttpHeaderNames.HOST, requestURI.getHost());
         headers.set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
+        if (configuration.getCompressionConfiguration().isAcceptEncoding() && !headers.contains(HttpHeaderNames.ACCEPT_ENCODING)) {
+            headers.set(HttpHeaderNames.ACCEPT_ENCODING, HttpHeaderValues.GZIP_DEFLATE);
+        }
 
         if (permitsBody) {
             Optional<I> body = request.getBody();
@@ -1528,8 +1697,9 @@ public class DefaultHttpClient implements RxHttpClient, RxStreamingHttpClient, R
                 ch.config().setAutoRead(false);
             }
 
+            SslHandler sslHandler = null;
             if (sslContext != null) {
-                SslHandler sslHandler = sslContext.newHandler(
+                sslHandler = sslContext.newHandler(
                         ch.alloc(),
                         host,
                         port
@@ -1537,6 +1707,11 @@ public class DefaultHttpClient implements RxHttpClient, RxStreamingHttpClient, R
                 p.addFirst("ssl-handler", sslHandler);
             }
 
+            if (!connectionListeners.isEmpty()) {
+                // placed at the head of the pipeline to observe the connection and the bytes on the wire
+                p.addFirst(HANDLER_CONNECTION_METRICS, new ConnectionMetricsHandler(connectionListeners, sslHandler));
+            }
+
             Optional<SocketAddress> proxy = configuration.getProxyAddress();
             if (proxy.isPresent()) {
                 Type proxyType = configuration.getProxyType();
@@ -1563,7 +1738,16 @@ public class DefaultHttpClient implements RxHttpClient, RxStreamingHttpClient, R
             }
             p.addLast("http-client-codec", new HttpClientCodec());
 
-            p.addLast(HANDLER_DECODER, new HttpContentDecompressor());
+            HttpClientConfiguration.CompressionConfiguration compressionConfiguration = configuration.getCompressionConfiguration();
+            if (compressionConfiguration.isRequestCompression()) {
+                p.addLast(HANDLER_REQUEST_COMPRESSOR, new RequestCompressionHandler(compressionConfiguration, connectionListeners));
+            }
+
+            if (connectionListeners.isEmpty()) {
+                p.addLast(HANDLER_DECODER, new HttpContentDecompressor());
+            } else {
+                p.addLast(HANDLER_DECODER, new MeteredHttpContentDecompressor(connectionListeners));
+            }
 
             int maxContentLength = configuration.getMaxContentLength();
 
@@ -1583,10 +1767,11 @@ public class DefaultHttpClient implements RxHttpClient, RxStreamingHttpClient, R
             // if the content type is a SSE event stream we add a decoder
             // to delimit the content by lines
             if (acceptsEventStream()) {
-                p.addLast(new SimpleChannelInboundHandler<HttpContent>() {
+                // the decoder takes ownership of the content, each line it produces is owned by the subscriber
+                p.addLast(new SimpleChannelInboundHandler<HttpContent>(false) {
 
                     LineBasedFrameDecoder decoder = new LineBasedFrameDecoder(
-                            configuration.getMaxContentLength(),
+                            configuration.getEventStreamConfiguration().getMaxEventSize().orElse(configuration.getMaxContentLength()),
                             true,
                             true
                     );
@@ -1693,18 +1878,4 @@ public class DefaultHttpClient implements RxHttpClient, RxStreamingHttpClient, R
             return nettyRequest;
         }
     }
-
-    /**
-     * Used as a holder for the current SSE event.
-     */
-    private class CurrentEvent {
-        final CompositeByteBuf data;
-        String id;
-        String name;
-        Duration retry;
-
-        CurrentEvent(CompositeByteBuf data) {
-            this.data = data;
-        }
-    }
 }
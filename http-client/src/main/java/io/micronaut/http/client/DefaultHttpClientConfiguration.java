@@ -64,4 +64,80 @@ public class DefaultHttpClientConfiguration extends HttpClientConfiguration {
             super.setSslConfiguration(sslConfiguration);
         }
     }
+
+    /**
+     * Uses the default hedging configuration.
+     *
+     * @param hedgingConfiguration The hedging configuration
+     */
+    @Inject
+    public void setClientHedgingConfiguration(@Nullable DefaultHedgingConfiguration hedgingConfiguration) {
+        if (hedgingConfiguration != null) {
+            super.setHedgingConfiguration(hedgingConfiguration);
+        }
+    }
+
+    /**
+     * Uses the default event stream configuration.
+     *
+     * @param eventStreamConfiguration The event stream configuration
+     */
+    @Inject
+    public void setClientEventStreamConfiguration(@Nullable DefaultEventStreamConfiguration eventStreamConfiguration) {
+        if (eventStreamConfiguration != null) {
+            super.setEventStreamConfiguration(eventStreamConfiguration);
+        }
+    }
+
+    /**
+     * Uses the default compression configuration.
+     *
+     * @param compressionConfiguration The compression configuration
+     */
+    @Inject
+    public void setClientCompressionConfiguration(@Nullable DefaultCompressionConfiguration compressionConfiguration) {
+        if (compressionConfiguration != null) {
+            super.setCompressionConfiguration(compressionConfiguration);
+        }
+    }
+
+    /**
+     * Uses the default DNS configuration.
+     *
+     * @param dnsConfiguration The DNS configuration
+     */
+    @Inject
+    public void setClientDnsConfiguration(@Nullable DefaultDnsConfiguration dnsConfiguration) {
+        if (dnsConfiguration != null) {
+            super.setDnsConfiguration(dnsConfiguration);
+        }
+    }
+
+    /**
+     * The default hedging configuration.
+     */
+    @ConfigurationProperties("hedging")
+    public static class DefaultHedgingConfiguration extends HedgingConfiguration {
+    }
+
+    /**
+     * The default event stream configuration.
+     */
+    @ConfigurationProperties("event-stream")
+    public static class DefaultEventStreamConfiguration extends EventStreamConfiguration {
+    }
+
+    /**
+     * The default compression configuration.
+     */
+    @ConfigurationProperties("compression")
+    public static class DefaultCompressionConfiguration extends CompressionConfiguration {
+    }
+
+    /**
+     * The default DNS configuration.
+     */
+    @ConfigurationProperties("dns")
+    public static class DefaultDnsConfiguration extends DnsConfiguration {
+    }
 }
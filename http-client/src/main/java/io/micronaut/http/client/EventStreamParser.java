@@ -0,0 +1,206 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.client;
+
+import io.micronaut.core.io.buffer.ByteBuffer;
+import io.micronaut.core.io.buffer.ByteBufferFactory;
+import io.micronaut.http.client.exceptions.ContentLengthExceededException;
+import io.micronaut.http.sse.Event;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Incrementally parses the lines of a Server Sent Event stream into events. Field names are matched against the
+ * bytes of each line and data lines are retained as slices of the received buffers until the event is complete,
+ * so no strings are created for the event data. The id and retry interval of the last events received are kept
+ * across connections so that a stream can be resumed.
+ *
+ * @author agent
+ * @since 1.0
+ */
+final class EventStreamParser {
+
+    private static final byte[] DATA = "data".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ID = "id".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] EVENT = "event".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] RETRY = "retry".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NEWLINE = "\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final ByteBufferFactory<ByteBufAllocator, ByteBuf> byteBufferFactory;
+    private final int maxEventSize;
+
+    private CompositeByteBuf data;
+    private String id;
+    private String name;
+    private Duration retry;
+    private String lastEventId;
+    private Duration lastRetry;
+
+    /**
+     * @param byteBufferFactory The factory used to allocate and wrap buffers
+     * @param maxEventSize      The maximum number of data bytes buffered for a single event
+     */
+    EventStreamParser(ByteBufferFactory<ByteBufAllocator, ByteBuf> byteBufferFactory, int maxEventSize) {
+        this.byteBufferFactory = byteBufferFactory;
+        this.maxEventSize = maxEventSize;
+    }
+
+    /**
+     * Parses a single line of the stream, without its line terminator. The line is not released.
+     *
+     * @param line The line
+     * @return The event completed by the line or null if the line does not complete an event
+     */
+    Event<ByteBuffer<?>> parseLine(ByteBuf line) {
+        int start = line.readerIndex();
+        int end = line.writerIndex();
+        if (start == end) {
+            return dispatch();
+        }
+        int colonIndex = line.indexOf(start, end, (byte) ':');
+        if (colonIndex == start) {
+            // SSE comments start with colon, so skip
+            return null;
+        }
+        int nameEnd = colonIndex < 0 ? end : colonIndex;
+        int valueStart = colonIndex < 0 ? end : colonIndex + 1;
+        // skip the white space before the actual value
+        if (valueStart < end && line.getByte(valueStart) == ' ') {
+            valueStart++;
+        }
+        int valueLength = end - valueStart;
+
+        if (isField(line, start, nameEnd, DATA)) {
+            appendData(line, valueStart, valueLength);
+        } else if (isField(line, start, nameEnd, ID)) {
+            String value = line.toString(valueStart, valueLength, StandardCharsets.UTF_8);
+            if (value.indexOf('\0') < 0) {
+                id = value;
+                lastEventId = value;
+            }
+        } else if (isField(line, start, nameEnd, EVENT)) {
+            name = line.toString(valueStart, valueLength, StandardCharsets.UTF_8);
+        } else if (isField(line, start, nameEnd, RETRY)) {
+            long millis = parseMillis(line, valueStart, end);
+            if (millis >= 0) {
+                retry = Duration.ofMillis(millis);
+                lastRetry = retry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return The id of the last event received on any connection
+     */
+    Optional<String> getLastEventId() {
+        return Optional.ofNullable(lastEventId);
+    }
+
+    /**
+     * @return The last retry interval sent by the server
+     */
+    Optional<Duration> getRetry() {
+        return Optional.ofNullable(lastRetry);
+    }
+
+    /**
+     * Discards an incomplete event, for example because the connection it was received on has ended.
+     */
+    void reset() {
+        releaseData();
+        id = null;
+        name = null;
+        retry = null;
+    }
+
+    private Event<ByteBuffer<?>> dispatch() {
+        try {
+            if (data == null) {
+                // an event without data is not dispatched, but its id and retry interval are retained
+                return null;
+            }
+            // the event is copied out of the received buffers so they can be returned to the pool
+            // straight away and the event stays valid however long the subscriber holds on to it
+            byte[] bytes = new byte[data.readableBytes()];
+            data.readBytes(bytes);
+            return Event.<ByteBuffer<?>>of(byteBufferFactory.wrap(Unpooled.wrappedBuffer(bytes)))
+                .id(id)
+                .name(name)
+                .retry(retry);
+        } finally {
+            reset();
+        }
+    }
+
+    private void appendData(ByteBuf line, int index, int length) {
+        int size = data == null ? length : data.readableBytes() + NEWLINE.length + length;
+        if (size > maxEventSize) {
+            reset();
+            throw new ContentLengthExceededException(maxEventSize, size);
+        }
+        if (data == null) {
+            data = byteBufferFactory.getNativeAllocator().compositeBuffer();
+        } else {
+            data.addComponent(true, Unpooled.wrappedBuffer(NEWLINE));
+        }
+        if (length > 0) {
+            data.addComponent(true, line.retainedSlice(index, length));
+        }
+    }
+
+    private void releaseData() {
+        if (data != null) {
+            data.release();
+            data = null;
+        }
+    }
+
+    private static boolean isField(ByteBuf line, int start, int end, byte[] field) {
+        if (end - start != field.length) {
+            return false;
+        }
+        for (int i = 0; i < field.length; i++) {
+            if (line.getByte(start + i) != field[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("MagicNumber")
+    private static long parseMillis(ByteBuf line, int start, int end) {
+        if (start == end || end - start > 18) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            byte b = line.getByte(i);
+            if (b < '0' || b > '9') {
+                return -1;
+            }
+            value = value * 10 + (b - '0');
+        }
+        return value;
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.client;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.DefaultChannelPromise;
+import io.netty.channel.EventLoop;
+import io.netty.resolver.AddressResolver;
+import io.netty.resolver.AddressResolverGroup;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.ScheduledFuture;
+
+import java.net.Inet6Address;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Connects to a host that resolves to several addresses by racing connection attempts, as described by
+ * <a href="https://tools.ietf.org/html/rfc8305">RFC 8305</a>. The addresses are tried alternating between IPv6 and
+ * IPv4, starting with the family of the first resolved address, and the next attempt starts as soon as the previous
+ * one fails or once it has not completed within the connection attempt delay. The first established connection wins
+ * and the other attempts are closed.
+ *
+ * <p>All attempts run on the event loop of the first channel, so the state of a race is not shared between
+ * threads.</p>
+ *
+ * @author agent
+ * @since 1.0
+ */
+final class HappyEyeballsConnector {
+
+    private final Bootstrap bootstrap;
+    private final long attemptDelayNanos;
+    private final Channel primary;
+    private final EventLoop eventLoop;
+    private final ChannelPromise promise;
+    private final List<Channel> attempts = new ArrayList<>(2);
+    private List<InetSocketAddress> addresses;
+    private int next;
+    private int pending;
+    private Channel winner;
+    private Throwable lastFailure;
+    private ScheduledFuture<?> nextAttempt;
+
+    private HappyEyeballsConnector(Bootstrap bootstrap, Channel primary, Duration attemptDelay) {
+        this.bootstrap = bootstrap;
+        this.primary = primary;
+        this.eventLoop = primary.eventLoop();
+        this.attemptDelayNanos = attemptDelay.toNanos();
+        this.promise = new DefaultChannelPromise(primary, eventLoop) {
+            @Override
+            public Channel channel() {
+                Channel channel = winner;
+                return channel != null ? channel : super.channel();
+            }
+        };
+    }
+
+    /**
+     * Resolves the given host and races connections to its addresses.
+     *
+     * @param bootstrap The bootstrap, configured with the resolver and the handler of the channels
+     * @param host The host
+     * @param port The port
+     * @param attemptDelay The delay before the next connection attempt starts
+     * @return A future completed with the winning channel
+     */
+    static ChannelFuture connect(Bootstrap bootstrap, String host, int port, Duration attemptDelay) {
+        ChannelFuture registration = bootstrap.register();
+        if (registration.isDone() && !registration.isSuccess()) {
+            return registration;
+        }
+        HappyEyeballsConnector connector = new HappyEyeballsConnector(bootstrap, registration.channel(), attemptDelay);
+        registration.addListener(future -> {
+            if (future.isSuccess()) {
+                connector.resolve(host, port);
+            } else {
+                connector.promise.tryFailure(future.cause());
+            }
+        });
+        connector.promise.addListener(future -> {
+            if (future.isCancelled()) {
+                connector.closeAttempts(null);
+            }
+        });
+        return connector.promise;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void resolve(String host, int port) {
+        AddressResolverGroup<SocketAddress> resolverGroup = (AddressResolverGroup<SocketAddress>) bootstrap.config().resolver();
+        AddressResolver<SocketAddress> resolver = resolverGroup.getResolver(eventLoop);
+        Future<List<SocketAddress>> resolution = resolver.resolveAll(InetSocketAddress.createUnresolved(host, port));
+        resolution.addListener(future -> {
+            if (!future.isSuccess()) {
+                primary.close();
+                promise.tryFailure(future.cause());
+            } else if (!promise.isDone()) {
+                addresses = order((List<SocketAddress>) future.getNow());
+                if (addresses.isEmpty()) {
+                    primary.close();
+                    promise.tryFailure(new IllegalStateException("No addresses resolved for host: " + host));
+                } else {
+                    attempt();
+                }
+            }
+        });
+    }
+
+    private void attempt() {
+        if (promise.isDone() || next >= addresses.size()) {
+            return;
+        }
+        InetSocketAddress address = addresses.get(next);
+        ChannelFuture connect;
+        if (next == 0) {
+            connect = primary.connect(address);
+        } else {
+            connect = bootstrap.clone(eventLoop).connect(address);
+        }
+        next++;
+        pending++;
+        attempts.add(connect.channel());
+        connect.addListener(future -> onAttemptCompleted(connect));
+        if (next < addresses.size()) {
+            nextAttempt = eventLoop.schedule(this::attempt, attemptDelayNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void onAttemptCompleted(ChannelFuture connect) {
+        pending--;
+        Channel channel = connect.channel();
+        if (connect.isSuccess()) {
+            if (promise.isDone()) {
+                channel.close();
+            } else {
+                winner = channel;
+                closeAttempts(channel);
+                promise.trySuccess();
+            }
+        } else {
+            channel.close();
+            lastFailure = connect.cause();
+            if (promise.isDone()) {
+                return;
+            }
+            if (next < addresses.size()) {
+                // start the next attempt at once instead of waiting for the delay
+                cancelNextAttempt();
+                attempt();
+            } else if (pending == 0) {
+                promise.tryFailure(lastFailure);
+            }
+        }
+    }
+
+    private void closeAttempts(Channel keep) {
+        cancelNextAttempt();
+        for (Channel channel : attempts) {
+            if (channel != keep) {
+                channel.close();
+            }
+        }
+        if (keep == null && attempts.isEmpty()) {
+            primary.close();
+        }
+    }
+
+    private void cancelNextAttempt() {
+        if (nextAttempt != null) {
+            nextAttempt.cancel(false);
+            nextAttempt = null;
+        }
+    }
+
+    private static List<InetSocketAddress> order(List<SocketAddress> resolved) {
+        List<InetSocketAddress> ipv6 = new ArrayList<>(resolved.size());
+        List<InetSocketAddress> ipv4 = new ArrayList<>(resolved.size());
+        for (SocketAddress address : resolved) {
+            InetSocketAddress inetAddress = (InetSocketAddress) address;
+            if (inetAddress.getAddress() instanceof Inet6Address) {
+                ipv6.add(inetAddress);
+            } else {
+                ipv4.add(inetAddress);
+            }
+        }
+        boolean ipv6First = !resolved.isEmpty() && ((InetSocketAddress) resolved.get(0)).getAddress() instanceof Inet6Address;
+        List<InetSocketAddress> first = ipv6First ? ipv6 : ipv4;
+        List<InetSocketAddress> second = ipv6First ? ipv4 : ipv6;
+        List<InetSocketAddress> ordered = new ArrayList<>(resolved.size());
+        for (int i = 0; i < Math.max(first.size(), second.size()); i++) {
+            if (i < first.size()) {
+                ordered.add(first.get(i));
+            }
+            if (i < second.size()) {
+                ordered.add(second.get(i));
+            }
+        }
+        return ordered;
+    }
+}
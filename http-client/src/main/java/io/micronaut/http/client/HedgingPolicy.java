@@ -0,0 +1,133 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.client;
+
+import io.micronaut.http.HttpAttributes;
+import io.micronaut.http.HttpMethod;
+import io.micronaut.http.HttpRequest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decides whether and when a request is hedged. The delay is either fixed or a percentile of the latencies of the
+ * most recent responses, and hedges are paid for from a token budget that each request tops up by the configured
+ * percentage so that hedging can never more than add that percentage to the load of the remote service.
+ *
+ * @author agent
+ * @since 1.0
+ */
+final class HedgingPolicy {
+
+    private static final int WINDOW_SIZE = 256;
+    private static final int MIN_SAMPLES = 32;
+    private static final int RECOMPUTE_INTERVAL = 16;
+    private static final int TOKENS_PER_HEDGE = 100;
+    private static final int MAX_TOKENS = 10 * TOKENS_PER_HEDGE;
+
+    private final long fixedDelayNanos;
+    private final double percentile;
+    private final int tokensPerRequest;
+    private final AtomicInteger tokens = new AtomicInteger();
+    private final long[] samples = new long[WINDOW_SIZE];
+    private long sampleCount;
+    private volatile long percentileNanos = -1;
+
+    /**
+     * @param configuration The hedging configuration
+     */
+    HedgingPolicy(HttpClientConfiguration.HedgingConfiguration configuration) {
+        this.fixedDelayNanos = configuration.getDelay().map(Duration::toNanos).orElse(-1L);
+        this.percentile = configuration.getPercentile();
+        this.tokensPerRequest = Math.min(configuration.getBudgetPercent(), TOKENS_PER_HEDGE);
+    }
+
+    /**
+     * @param request The request
+     * @return Whether the request may be sent more than once
+     */
+    boolean isHedgeable(HttpRequest<?> request) {
+        HttpMethod method = request.getMethod();
+        if (method == HttpMethod.GET || method == HttpMethod.HEAD || method == HttpMethod.OPTIONS) {
+            return true;
+        }
+        Optional<Boolean> idempotent = request.getAttribute(HttpAttributes.IDEMPOTENT, Boolean.class);
+        return idempotent.orElse(false);
+    }
+
+    /**
+     * Adds the share of a hedge that a request earns to the budget.
+     */
+    void onRequest() {
+        while (true) {
+            int current = tokens.get();
+            int next = Math.min(current + tokensPerRequest, MAX_TOKENS);
+            if (current == next || tokens.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Takes a hedge from the budget.
+     *
+     * @return Whether the budget allows another hedge
+     */
+    boolean tryAcquire() {
+        while (true) {
+            int current = tokens.get();
+            if (current < TOKENS_PER_HEDGE) {
+                return false;
+            }
+            if (tokens.compareAndSet(current, current - TOKENS_PER_HEDGE)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @return The delay in nanoseconds after which a request is hedged or -1 if not enough latencies were observed
+     */
+    long getDelayNanos() {
+        return fixedDelayNanos > -1 ? fixedDelayNanos : percentileNanos;
+    }
+
+    /**
+     * Records the time a request took to produce a response.
+     *
+     * @param latencyNanos The latency in nanoseconds
+     */
+    void recordLatency(long latencyNanos) {
+        if (fixedDelayNanos > -1) {
+            return;
+        }
+        long[] sorted = null;
+        synchronized (samples) {
+            samples[(int) (sampleCount++ % WINDOW_SIZE)] = latencyNanos;
+            if (sampleCount >= MIN_SAMPLES && sampleCount % RECOMPUTE_INTERVAL == 0) {
+                sorted = Arrays.copyOf(samples, (int) Math.min(sampleCount, WINDOW_SIZE));
+            }
+        }
+        if (sorted != null) {
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+            percentileNanos = sorted[Math.max(index, 0)];
+        }
+    }
+}
@@ -17,10 +17,12 @@
 package io.micronaut.http.client;
 
 import io.micronaut.core.convert.format.ReadableBytes;
+import io.micronaut.core.util.Toggleable;
 import io.micronaut.http.ssl.ClientSslConfiguration;
 import io.micronaut.http.ssl.SslConfiguration;
 import io.micronaut.runtime.ApplicationConfiguration;
 import io.netty.channel.ChannelOption;
+import io.netty.resolver.ResolvedAddressTypes;
 
 import javax.annotation.Nullable;
 import java.net.Proxy;
@@ -30,6 +32,7 @@ import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalInt;
@@ -76,6 +79,14 @@ public abstract class HttpClientConfiguration {
 
     private SslConfiguration sslConfiguration = new ClientSslConfiguration();
 
+    private HedgingConfiguration hedgingConfiguration = new HedgingConfiguration();
+
+    private EventStreamConfiguration eventStreamConfiguration = new EventStreamConfiguration();
+
+    private CompressionConfiguration compressionConfiguration = new CompressionConfiguration();
+
+    private DnsConfiguration dnsConfiguration = new DnsConfiguration();
+
     /**
      * Default constructor.
      */
@@ -107,6 +118,78 @@ public abstract class HttpClientConfiguration {
         this.sslConfiguration = sslConfiguration;
     }
 
+    /**
+     * @return The hedging configuration for the client
+     */
+    public HedgingConfiguration getHedgingConfiguration() {
+        return hedgingConfiguration;
+    }
+
+    /**
+     * Sets the hedging configuration for the client.
+     *
+     * @param hedgingConfiguration The hedging configuration
+     */
+    public void setHedgingConfiguration(HedgingConfiguration hedgingConfiguration) {
+        if (hedgingConfiguration != null) {
+            this.hedgingConfiguration = hedgingConfiguration;
+        }
+    }
+
+    /**
+     * @return The configuration for consuming Server Sent Event streams
+     */
+    public EventStreamConfiguration getEventStreamConfiguration() {
+        return eventStreamConfiguration;
+    }
+
+    /**
+     * Sets the configuration for consuming Server Sent Event streams.
+     *
+     * @param eventStreamConfiguration The event stream configuration
+     */
+    public void setEventStreamConfiguration(EventStreamConfiguration eventStreamConfiguration) {
+        if (eventStreamConfiguration != null) {
+            this.eventStreamConfiguration = eventStreamConfiguration;
+        }
+    }
+
+    /**
+     * @return The configuration for compressing request bodies and negotiating compressed responses
+     */
+    public CompressionConfiguration getCompressionConfiguration() {
+        return compressionConfiguration;
+    }
+
+    /**
+     * Sets the configuration for compressing request bodies and negotiating compressed responses.
+     *
+     * @param compressionConfiguration The compression configuration
+     */
+    public void setCompressionConfiguration(CompressionConfiguration compressionConfiguration) {
+        if (compressionConfiguration != null) {
+            this.compressionConfiguration = compressionConfiguration;
+        }
+    }
+
+    /**
+     * @return The configuration of the asynchronous DNS resolver
+     */
+    public DnsConfiguration getDnsConfiguration() {
+        return dnsConfiguration;
+    }
+
+    /**
+     * Sets the configuration of the asynchronous DNS resolver.
+     *
+     * @param dnsConfiguration The DNS configuration
+     */
+    public void setDnsConfiguration(DnsConfiguration dnsConfiguration) {
+        if (dnsConfiguration != null) {
+            this.dnsConfiguration = dnsConfiguration;
+        }
+    }
+
     /**
      * @return Whether redirects should be followed
      */
@@ -346,4 +429,536 @@ public abstract class HttpClientConfiguration {
     public void setProxyPassword(String proxyPassword) {
         this.proxyPassword = proxyPassword;
     }
+
+    /**
+     * Configuration for hedging idempotent requests. When a request sent to a load balanced service has not
+     * produced a response after the hedging delay, a second attempt is sent to a different instance, the first
+     * response wins and the other attempt is cancelled. The number of hedged requests is limited by a budget
+     * that is a percentage of the requests sent by the client.
+     */
+    public static class HedgingConfiguration implements Toggleable {
+
+        /**
+         * The default percentile of observed latencies used as the hedging delay.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final double DEFAULT_PERCENTILE = 95;
+
+        /**
+         * The default percentage of requests that may be hedged.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final int DEFAULT_BUDGET_PERCENT = 10;
+
+        private boolean enabled = false;
+        private Duration delay;
+        private double percentile = DEFAULT_PERCENTILE;
+        private int budgetPercent = DEFAULT_BUDGET_PERCENT;
+
+        /**
+         * @return Whether requests are hedged
+         */
+        @Override
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Sets whether idempotent requests are hedged. Defaults to false.
+         *
+         * @param enabled True if requests should be hedged
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * @return The fixed hedging delay
+         */
+        public Optional<Duration> getDelay() {
+            return Optional.ofNullable(delay);
+        }
+
+        /**
+         * Sets a fixed delay after which a request is hedged. When not set the delay is the configured
+         * {@link #getPercentile() percentile} of the latencies observed by the client.
+         *
+         * @param delay The hedging delay
+         */
+        public void setDelay(@Nullable Duration delay) {
+            this.delay = delay;
+        }
+
+        /**
+         * @return The percentile of observed latencies used as the hedging delay
+         */
+        public double getPercentile() {
+            return percentile;
+        }
+
+        /**
+         * Sets the percentile of observed latencies used as the hedging delay when no fixed delay is set.
+         * Defaults to {@value #DEFAULT_PERCENTILE}.
+         *
+         * @param percentile The percentile, between 0 and 100
+         */
+        public void setPercentile(double percentile) {
+            if (percentile > 0 && percentile <= 100) {
+                this.percentile = percentile;
+            }
+        }
+
+        /**
+         * @return The percentage of requests that may be hedged
+         */
+        public int getBudgetPercent() {
+            return budgetPercent;
+        }
+
+        /**
+         * Sets the percentage of requests that may be hedged, which bounds the additional load hedging puts on
+         * the remote service. Defaults to {@value #DEFAULT_BUDGET_PERCENT}.
+         *
+         * @param budgetPercent The percentage of requests that may be hedged
+         */
+        public void setBudgetPercent(int budgetPercent) {
+            this.budgetPercent = Math.max(budgetPercent, 0);
+        }
+    }
+
+    /**
+     * Configuration for consuming Server Sent Event streams. When reconnection is enabled a stream that ends or
+     * fails with a connection error is requested again, sending the id of the last event received in the
+     * {@code Last-Event-ID} header, after the retry interval sent by the server or the configured delay.
+     */
+    public static class EventStreamConfiguration {
+
+        /**
+         * The default delay before reconnecting when the server has not sent a retry interval.
+         */
+        public static final Duration DEFAULT_RECONNECT_DELAY = Duration.ofSeconds(3);
+
+        private boolean reconnect = false;
+        private Duration reconnectDelay = DEFAULT_RECONNECT_DELAY;
+        private int maxReconnectAttempts = -1;
+        private Integer maxEventSize;
+
+        /**
+         * @return Whether event streams are reconnected when they end
+         */
+        public boolean isReconnect() {
+            return reconnect;
+        }
+
+        /**
+         * Sets whether event streams are reconnected when they end or fail with a connection error. Defaults to false.
+         *
+         * @param reconnect True if event streams should be reconnected
+         */
+        public void setReconnect(boolean reconnect) {
+            this.reconnect = reconnect;
+        }
+
+        /**
+         * @return The delay before reconnecting when the server has not sent a retry interval
+         */
+        public Duration getReconnectDelay() {
+            return reconnectDelay;
+        }
+
+        /**
+         * Sets the delay before reconnecting when the server has not sent a retry interval. Defaults to 3 seconds.
+         *
+         * @param reconnectDelay The reconnect delay
+         */
+        public void setReconnectDelay(Duration reconnectDelay) {
+            if (reconnectDelay != null) {
+                this.reconnectDelay = reconnectDelay;
+            }
+        }
+
+        /**
+         * @return The maximum number of consecutive reconnection attempts, negative if unlimited
+         */
+        public int getMaxReconnectAttempts() {
+            return maxReconnectAttempts;
+        }
+
+        /**
+         * Sets the maximum number of consecutive reconnection attempts that receive no event before the stream
+         * fails. Defaults to unlimited.
+         *
+         * @param maxReconnectAttempts The maximum number of attempts, negative if unlimited
+         */
+        public void setMaxReconnectAttempts(int maxReconnectAttempts) {
+            this.maxReconnectAttempts = maxReconnectAttempts;
+        }
+
+        /**
+         * @return The maximum number of bytes buffered for a single event
+         */
+        public OptionalInt getMaxEventSize() {
+            if (maxEventSize != null) {
+                return OptionalInt.of(maxEventSize);
+            }
+            return OptionalInt.empty();
+        }
+
+        /**
+         * Sets the maximum number of bytes buffered for a single event, after which the stream fails. Defaults to
+         * the maximum content length of the client.
+         *
+         * @param maxEventSize The maximum event size
+         */
+        public void setMaxEventSize(@ReadableBytes @Nullable Integer maxEventSize) {
+            this.maxEventSize = maxEventSize;
+        }
+    }
+
+    /**
+     * Configuration for compressing request bodies and negotiating compressed responses.
+     */
+    public static class CompressionConfiguration {
+
+        /**
+         * The default size in bytes above which request bodies are compressed.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final int DEFAULT_REQUEST_THRESHOLD = 1024;
+
+        /**
+         * The default compression level.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final int DEFAULT_LEVEL = 6;
+
+        private boolean acceptEncoding = true;
+        private boolean requestCompression = false;
+        private int requestThreshold = DEFAULT_REQUEST_THRESHOLD;
+        private Encoding requestEncoding = Encoding.GZIP;
+        private int level = DEFAULT_LEVEL;
+
+        /**
+         * @return Whether the client asks for compressed responses
+         */
+        public boolean isAcceptEncoding() {
+            return acceptEncoding;
+        }
+
+        /**
+         * Sets whether an {@code Accept-Encoding} header listing the supported encodings is sent with requests that
+         * do not specify one. Compressed responses are decoded either way. Defaults to true.
+         *
+         * @param acceptEncoding True if compressed responses should be requested
+         */
+        public void setAcceptEncoding(boolean acceptEncoding) {
+            this.acceptEncoding = acceptEncoding;
+        }
+
+        /**
+         * @return Whether request bodies are compressed
+         */
+        public boolean isRequestCompression() {
+            return requestCompression;
+        }
+
+        /**
+         * Sets whether request bodies larger than the request threshold are compressed. The server must support
+         * the request encoding. Defaults to false.
+         *
+         * @param requestCompression True if request bodies should be compressed
+         */
+        public void setRequestCompression(boolean requestCompression) {
+            this.requestCompression = requestCompression;
+        }
+
+        /**
+         * @return The size in bytes above which request bodies are compressed
+         */
+        public int getRequestThreshold() {
+            return requestThreshold;
+        }
+
+        /**
+         * Sets the size in bytes above which request bodies are compressed. Streamed bodies without a content
+         * length are always compressed. Defaults to 1KB.
+         *
+         * @param requestThreshold The request threshold
+         */
+        public void setRequestThreshold(@ReadableBytes int requestThreshold) {
+            this.requestThreshold = requestThreshold;
+        }
+
+        /**
+         * @return The encoding used to compress request bodies
+         */
+        public Encoding getRequestEncoding() {
+            return requestEncoding;
+        }
+
+        /**
+         * Sets the encoding used to compress request bodies. Defaults to {@link Encoding#GZIP}.
+         *
+         * @param requestEncoding The request encoding
+         */
+        public void setRequestEncoding(Encoding requestEncoding) {
+            if (requestEncoding != null) {
+                this.requestEncoding = requestEncoding;
+            }
+        }
+
+        /**
+         * @return The compression level
+         */
+        public int getLevel() {
+            return level;
+        }
+
+        /**
+         * Sets the compression level of request bodies, from 1 which is the fastest to 9 which compresses best.
+         * Defaults to 6.
+         *
+         * @param level The compression level
+         */
+        public void setLevel(int level) {
+            this.level = Math.max(1, Math.min(level, 9));
+        }
+
+        /**
+         * The encodings that request bodies can be compressed with.
+         */
+        public enum Encoding {
+            GZIP("gzip"),
+            DEFLATE("deflate");
+
+            private final String value;
+
+            /**
+             * @param value The value of the {@code Content-Encoding} header
+             */
+            Encoding(String value) {
+                this.value = value;
+            }
+
+            /**
+             * @return The value of the {@code Content-Encoding} header
+             */
+            public String getValue() {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Configuration of the asynchronous DNS resolver. When disabled host names are resolved with the blocking
+     * resolver of the JVM.
+     */
+    public static class DnsConfiguration implements Toggleable {
+
+        /**
+         * The default time that failed resolutions are cached for.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final Duration DEFAULT_NEGATIVE_TTL = Duration.ofSeconds(10);
+
+        /**
+         * The default timeout of a DNS query.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final Duration DEFAULT_QUERY_TIMEOUT = Duration.ofSeconds(5);
+
+        /**
+         * The default delay before a connection attempt to the next resolved address starts.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final Duration DEFAULT_CONNECTION_ATTEMPT_DELAY = Duration.ofMillis(250);
+
+        private boolean enabled = false;
+        private List<String> nameServers = Collections.emptyList();
+        private Duration minTtl = Duration.ZERO;
+        private Duration maxTtl;
+        private Duration negativeTtl = DEFAULT_NEGATIVE_TTL;
+        private Duration queryTimeout = DEFAULT_QUERY_TIMEOUT;
+        private ResolvedAddressTypes addressTypes;
+        private boolean roundRobin = true;
+        private boolean happyEyeballs = true;
+        private Duration connectionAttemptDelay = DEFAULT_CONNECTION_ATTEMPT_DELAY;
+
+        /**
+         * @return Whether the asynchronous DNS resolver is used
+         */
+        @Override
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Sets whether host names are resolved with the asynchronous DNS resolver instead of the blocking resolver
+         * of the JVM. Defaults to false.
+         *
+         * @param enabled True if the asynchronous resolver should be used
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * @return The name servers, as host or host:port pairs
+         */
+        public List<String> getNameServers() {
+            return nameServers;
+        }
+
+        /**
+         * Sets the name servers to query, as host or host:port pairs. Defaults to the name servers of the system.
+         *
+         * @param nameServers The name servers
+         */
+        public void setNameServers(List<String> nameServers) {
+            this.nameServers = nameServers != null ? nameServers : Collections.emptyList();
+        }
+
+        /**
+         * @return The minimum time resolved addresses are cached for
+         */
+        public Duration getMinTtl() {
+            return minTtl;
+        }
+
+        /**
+         * Sets the minimum time resolved addresses are cached for, regardless of the TTL of the DNS records.
+         * Defaults to zero.
+         *
+         * @param minTtl The minimum TTL
+         */
+        public void setMinTtl(Duration minTtl) {
+            if (minTtl != null) {
+                this.minTtl = minTtl;
+            }
+        }
+
+        /**
+         * @return The maximum time resolved addresses are cached for
+         */
+        public Optional<Duration> getMaxTtl() {
+            return Optional.ofNullable(maxTtl);
+        }
+
+        /**
+         * Sets the maximum time resolved addresses are cached for, regardless of the TTL of the DNS records.
+         * Defaults to the TTL of the records.
+         *
+         * @param maxTtl The maximum TTL
+         */
+        public void setMaxTtl(@Nullable Duration maxTtl) {
+            this.maxTtl = maxTtl;
+        }
+
+        /**
+         * @return The time failed resolutions are cached for
+         */
+        public Duration getNegativeTtl() {
+            return negativeTtl;
+        }
+
+        /**
+         * Sets the time failed resolutions are cached for. Defaults to 10 seconds.
+         *
+         * @param negativeTtl The negative TTL
+         */
+        public void setNegativeTtl(Duration negativeTtl) {
+            if (negativeTtl != null) {
+                this.negativeTtl = negativeTtl;
+            }
+        }
+
+        /**
+         * @return The timeout of a DNS query
+         */
+        public Duration getQueryTimeout() {
+            return queryTimeout;
+        }
+
+        /**
+         * Sets the timeout of a DNS query. Defaults to 5 seconds.
+         *
+         * @param queryTimeout The query timeout
+         */
+        public void setQueryTimeout(Duration queryTimeout) {
+            if (queryTimeout != null) {
+                this.queryTimeout = queryTimeout;
+            }
+        }
+
+        /**
+         * @return The types of addresses that are resolved
+         */
+        public Optional<ResolvedAddressTypes> getAddressTypes() {
+            return Optional.ofNullable(addressTypes);
+        }
+
+        /**
+         * Sets the types of addresses that are resolved and which of them are preferred, for example
+         * {@code IPV6_PREFERRED}. Defaults to the preference of the JVM.
+         *
+         * @param addressTypes The address types
+         */
+        public void setAddressTypes(@Nullable ResolvedAddressTypes addressTypes) {
+            this.addressTypes = addressTypes;
+        }
+
+        /**
+         * @return Whether connections are spread over the resolved addresses
+         */
+        public boolean isRoundRobin() {
+            return roundRobin;
+        }
+
+        /**
+         * Sets whether connections are spread over the addresses of a host that resolves to several addresses.
+         * Defaults to true.
+         *
+         * @param roundRobin True if connections should be spread over the resolved addresses
+         */
+        public void setRoundRobin(boolean roundRobin) {
+            this.roundRobin = roundRobin;
+        }
+
+        /**
+         * @return Whether connection attempts to the resolved addresses are raced
+         */
+        public boolean isHappyEyeballs() {
+            return happyEyeballs;
+        }
+
+        /**
+         * Sets whether connection attempts to the resolved addresses of a host are raced, alternating between IPv6
+         * and IPv4 addresses and starting the next attempt when the previous one has not completed within the
+         * connection attempt delay. Defaults to true.
+         *
+         * @param happyEyeballs True if connection attempts should be raced
+         */
+        public void setHappyEyeballs(boolean happyEyeballs) {
+            this.happyEyeballs = happyEyeballs;
+        }
+
+        /**
+         * @return The delay before a connection attempt to the next resolved address starts
+         */
+        public Duration getConnectionAttemptDelay() {
+            return connectionAttemptDelay;
+        }
+
+        /**
+         * Sets the delay before a connection attempt to the next resolved address starts. Defaults to 250
+         * milliseconds.
+         *
+         * @param connectionAttemptDelay The connection attempt delay
+         */
+        public void setConnectionAttemptDelay(Duration connectionAttemptDelay) {
+            if (connectionAttemptDelay != null) {
+                this.connectionAttemptDelay = connectionAttemptDelay;
+            }
+        }
+    }
 }
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.client;
+
+import io.netty.channel.EventLoopGroup;
+
+import javax.annotation.Nullable;
+import java.net.SocketAddress;
+
+/**
+ * A listener notified of the connection level events of a {@link DefaultHttpClient}, such as name resolution,
+ * connection establishment, TLS handshakes and the bytes transferred. Any bean of this type is registered with the
+ * clients created by the application context.
+ *
+ * <p>The methods are invoked on the event loop of the client and must not block.</p>
+ *
+ * @author agent
+ * @since 1.0
+ */
+public interface HttpClientConnectionListener {
+
+    /**
+     * Invoked when a client is registered with the listener.
+     *
+     * @param eventLoopGroup The event loop group of the client
+     */
+    default void onClientRegistered(EventLoopGroup eventLoopGroup) {
+    }
+
+    /**
+     * Invoked once the host name of a remote address was resolved.
+     *
+     * @param host The host name
+     * @param durationNanos The time taken to resolve the host name
+     * @param failure The cause of the failure or null if the host name was resolved
+     */
+    default void onResolved(String host, long durationNanos, @Nullable Throwable failure) {
+    }
+
+    /**
+     * Invoked once a connection attempt completes.
+     *
+     * @param remoteAddress The remote address
+     * @param durationNanos The time taken to connect, excluding name resolution
+     * @param failure The cause of the failure or null if the connection was established
+     */
+    default void onConnected(SocketAddress remoteAddress, long durationNanos, @Nullable Throwable failure) {
+    }
+
+    /**
+     * Invoked once a TLS handshake completes.
+     *
+     * @param remoteAddress The remote address
+     * @param durationNanos The time taken by the handshake
+     * @param failure The cause of the failure or null if the handshake succeeded
+     */
+    default void onHandshakeCompleted(SocketAddress remoteAddress, long durationNanos, @Nullable Throwable failure) {
+    }
+
+    /**
+     * Invoked when a channel is opened, before it connects.
+     */
+    default void onChannelOpened() {
+    }
+
+    /**
+     * Invoked when a channel is closed.
+     */
+    default void onChannelClosed() {
+    }
+
+    /**
+     * Invoked when a channel becomes active, that is when it connected.
+     */
+    default void onChannelActive() {
+    }
+
+    /**
+     * Invoked when an active channel becomes inactive.
+     */
+    default void onChannelInactive() {
+    }
+
+    /**
+     * Invoked when bytes are read from a channel.
+     *
+     * @param bytes The number of bytes read
+     */
+    default void onBytesRead(int bytes) {
+    }
+
+    /**
+     * Invoked when bytes are written to a channel.
+     *
+     * @param bytes The number of bytes written
+     */
+    default void onBytesWritten(int bytes) {
+    }
+
+    /**
+     * Invoked once the body of a request was compressed.
+     *
+     * @param uncompressedBytes The size of the body before compression
+     * @param compressedBytes The size of the compressed body
+     */
+    default void onRequestCompressed(long uncompressedBytes, long compressedBytes) {
+    }
+
+    /**
+     * Invoked once the compressed body of a response was decompressed.
+     *
+     * @param compressedBytes The size of the compressed body
+     * @param decompressedBytes The size of the body after decompression
+     */
+    default void onResponseDecompressed(long compressedBytes, long decompressedBytes) {
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.client;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a declarative client method, or all the methods of a client, as safe to send more than once. Requests
+ * for {@code GET}, {@code HEAD} and {@code OPTIONS} methods are always considered idempotent, other requests
+ * are only hedged when they are marked with this annotation.
+ *
+ * @author agent
+ * @since 1.0
+ * @see HttpClientConfiguration.HedgingConfiguration
+ */
+@Documented
+@Retention(RUNTIME)
+@Target({METHOD, TYPE})
+public @interface Idempotent {
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.client;
+
+import io.netty.buffer.ByteBufHolder;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.HttpContentDecompressor;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpObject;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.LastHttpContent;
+
+import java.util.List;
+
+/**
+ * A {@link HttpContentDecompressor} that notifies the {@link HttpClientConnectionListener} instances of the
+ * compressed and decompressed size of each compressed response body.
+ *
+ * @author agent
+ * @since 1.0
+ */
+class MeteredHttpContentDecompressor extends HttpContentDecompressor {
+
+    private final List<HttpClientConnectionListener> listeners;
+    private boolean compressed;
+    private long compressedBytes;
+    private long decompressedBytes;
+
+    /**
+     * @param listeners The listeners
+     */
+    MeteredHttpContentDecompressor(List<HttpClientConnectionListener> listeners) {
+        this.listeners = listeners;
+    }
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, HttpObject msg, List<Object> out) throws Exception {
+        if (msg instanceof HttpResponse) {
+            String encoding = ((HttpResponse) msg).headers().get(HttpHeaderNames.CONTENT_ENCODING);
+            compressed = encoding != null && !HttpHeaderValues.IDENTITY.contentEqualsIgnoreCase(encoding);
+            compressedBytes = 0;
+            decompressedBytes = 0;
+        }
+        if (!compressed) {
+            super.decode(ctx, msg, out);
+            return;
+        }
+        if (msg instanceof ByteBufHolder) {
+            compressedBytes += ((ByteBufHolder) msg).content().readableBytes();
+        }
+        int size = out.size();
+        super.decode(ctx, msg, out);
+        for (int i = size; i < out.size(); i++) {
+            Object decoded = out.get(i);
+            if (decoded instanceof ByteBufHolder) {
+                decompressedBytes += ((ByteBufHolder) decoded).content().readableBytes();
+            }
+        }
+        if (msg instanceof LastHttpContent) {
+            compressed = false;
+            for (HttpClientConnectionListener listener : listeners) {
+                listener.onResponseDecompressed(compressedBytes, decompressedBytes);
+            }
+        }
+    }
+}
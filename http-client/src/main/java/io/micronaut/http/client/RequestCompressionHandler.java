@@ -0,0 +1,163 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.client;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.compression.ZlibCodecFactory;
+import io.netty.handler.codec.compression.ZlibWrapper;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.util.ReferenceCountUtil;
+
+import java.util.List;
+
+/**
+ * An outbound handler that compresses the bodies of requests larger than the configured threshold. Aggregated
+ * bodies are compressed at once and sent with their compressed length, streamed bodies are compressed chunk by
+ * chunk as they are written and sent with chunked transfer encoding.
+ *
+ * @author agent
+ * @since 1.0
+ */
+class RequestCompressionHandler extends ChannelOutboundHandlerAdapter {
+
+    private final HttpClientConfiguration.CompressionConfiguration configuration;
+    private final List<HttpClientConnectionListener> listeners;
+    private EmbeddedChannel encoder;
+    private long uncompressedBytes;
+    private long compressedBytes;
+
+    /**
+     * @param configuration The compression configuration
+     * @param listeners The listeners notified of the compressed sizes
+     */
+    RequestCompressionHandler(HttpClientConfiguration.CompressionConfiguration configuration, List<HttpClientConnectionListener> listeners) {
+        this.configuration = configuration;
+        this.listeners = listeners;
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        if (msg instanceof FullHttpRequest) {
+            FullHttpRequest request = (FullHttpRequest) msg;
+            ByteBuf content = request.content();
+            if (content.isReadable() && content.readableBytes() >= configuration.getRequestThreshold() && isIdentity(request.headers())) {
+                encoder = newEncoder();
+                uncompressedBytes = content.readableBytes();
+                ByteBuf compressed = encode(ctx, content.retain(), true);
+                FullHttpRequest compressedRequest = request.replace(compressed);
+                ReferenceCountUtil.release(request);
+                compressedRequest.headers()
+                        .set(HttpHeaderNames.CONTENT_ENCODING, configuration.getRequestEncoding().getValue())
+                        .set(HttpHeaderNames.CONTENT_LENGTH, compressed.readableBytes());
+                complete();
+                ctx.write(compressedRequest, promise);
+            } else {
+                ctx.write(msg, promise);
+            }
+        } else if (msg instanceof HttpRequest) {
+            HttpRequest request = (HttpRequest) msg;
+            HttpHeaders headers = request.headers();
+            long contentLength = HttpUtil.getContentLength(request, -1L);
+            boolean hasBody = contentLength > 0 || HttpUtil.isTransferEncodingChunked(request);
+            if (hasBody && (contentLength < 0 || contentLength >= configuration.getRequestThreshold()) && isIdentity(headers)) {
+                encoder = newEncoder();
+                headers.set(HttpHeaderNames.CONTENT_ENCODING, configuration.getRequestEncoding().getValue());
+                headers.remove(HttpHeaderNames.CONTENT_LENGTH);
+                headers.set(HttpHeaderNames.TRANSFER_ENCODING, HttpHeaderValues.CHUNKED);
+            }
+            ctx.write(msg, promise);
+        } else if (msg instanceof HttpContent && encoder != null) {
+            HttpContent content = (HttpContent) msg;
+            ByteBuf data = content.content();
+            uncompressedBytes += data.readableBytes();
+            boolean last = content instanceof LastHttpContent;
+            ByteBuf compressed = encode(ctx, data.retain(), last);
+            if (last) {
+                LastHttpContent lastContent = new DefaultLastHttpContent(compressed);
+                lastContent.trailingHeaders().set(((LastHttpContent) content).trailingHeaders());
+                ReferenceCountUtil.release(content);
+                complete();
+                ctx.write(lastContent, promise);
+            } else {
+                ReferenceCountUtil.release(content);
+                ctx.write(new DefaultHttpContent(compressed), promise);
+            }
+        } else {
+            ctx.write(msg, promise);
+        }
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        if (encoder != null) {
+            encoder.finishAndReleaseAll();
+            encoder = null;
+        }
+    }
+
+    private EmbeddedChannel newEncoder() {
+        ZlibWrapper wrapper = configuration.getRequestEncoding() == HttpClientConfiguration.CompressionConfiguration.Encoding.DEFLATE ?
+                ZlibWrapper.ZLIB : ZlibWrapper.GZIP;
+        uncompressedBytes = 0;
+        compressedBytes = 0;
+        return new EmbeddedChannel(ZlibCodecFactory.newZlibEncoder(wrapper, configuration.getLevel()));
+    }
+
+    private ByteBuf encode(ChannelHandlerContext ctx, ByteBuf data, boolean finish) {
+        encoder.writeOutbound(data);
+        if (finish) {
+            encoder.finish();
+        }
+        CompositeByteBuf compressed = ctx.alloc().compositeBuffer();
+        ByteBuf buf;
+        while ((buf = encoder.readOutbound()) != null) {
+            if (buf.isReadable()) {
+                compressed.addComponent(true, buf);
+            } else {
+                buf.release();
+            }
+        }
+        compressedBytes += compressed.readableBytes();
+        return compressed;
+    }
+
+    private void complete() {
+        encoder = null;
+        for (HttpClientConnectionListener listener : listeners) {
+            listener.onRequestCompressed(uncompressedBytes, compressedBytes);
+        }
+    }
+
+    private static boolean isIdentity(HttpHeaders headers) {
+        String encoding = headers.get(HttpHeaderNames.CONTENT_ENCODING);
+        return encoding == null || HttpHeaderValues.IDENTITY.contentEqualsIgnoreCase(encoding);
+    }
+}
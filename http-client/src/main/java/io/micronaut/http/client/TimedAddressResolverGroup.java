@@ -0,0 +1,116 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.client;
+
+import io.netty.resolver.AddressResolver;
+import io.netty.resolver.AddressResolverGroup;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.List;
+
+/**
+ * An {@link AddressResolverGroup} that times the name resolutions of another group and reports them to the
+ * {@link HttpClientConnectionListener} instances.
+ *
+ * @author agent
+ * @since 1.0
+ */
+class TimedAddressResolverGroup extends AddressResolverGroup<InetSocketAddress> {
+
+    private final AddressResolverGroup<InetSocketAddress> delegate;
+    private final List<HttpClientConnectionListener> listeners;
+
+    /**
+     * @param delegate The group performing the resolutions
+     * @param listeners The listeners
+     */
+    TimedAddressResolverGroup(AddressResolverGroup<InetSocketAddress> delegate, List<HttpClientConnectionListener> listeners) {
+        this.delegate = delegate;
+        this.listeners = listeners;
+    }
+
+    @Override
+    protected AddressResolver<InetSocketAddress> newResolver(EventExecutor executor) {
+        return new TimedAddressResolver(delegate.getResolver(executor));
+    }
+
+    /**
+     * Times the resolutions of a resolver. Closing it leaves the resolver of the delegate group open, since that
+     * group owns it.
+     */
+    private final class TimedAddressResolver implements AddressResolver<InetSocketAddress> {
+        private final AddressResolver<InetSocketAddress> resolver;
+
+        TimedAddressResolver(AddressResolver<InetSocketAddress> resolver) {
+            this.resolver = resolver;
+        }
+
+        @Override
+        public boolean isSupported(SocketAddress address) {
+            return resolver.isSupported(address);
+        }
+
+        @Override
+        public boolean isResolved(SocketAddress address) {
+            return resolver.isResolved(address);
+        }
+
+        @Override
+        public Future<InetSocketAddress> resolve(SocketAddress address) {
+            long start = System.nanoTime();
+            return timed(address, start, resolver.resolve(address));
+        }
+
+        @Override
+        public Future<InetSocketAddress> resolve(SocketAddress address, Promise<InetSocketAddress> promise) {
+            long start = System.nanoTime();
+            return timed(address, start, resolver.resolve(address, promise));
+        }
+
+        @Override
+        public Future<List<InetSocketAddress>> resolveAll(SocketAddress address) {
+            long start = System.nanoTime();
+            return timed(address, start, resolver.resolveAll(address));
+        }
+
+        @Override
+        public Future<List<InetSocketAddress>> resolveAll(SocketAddress address, Promise<List<InetSocketAddress>> promise) {
+            long start = System.nanoTime();
+            return timed(address, start, resolver.resolveAll(address, promise));
+        }
+
+        @Override
+        public void close() {
+            // the delegate group closes its resolvers
+        }
+
+        private <T> Future<T> timed(SocketAddress address, long start, Future<T> future) {
+            String host = address instanceof InetSocketAddress ? ((InetSocketAddress) address).getHostString() : address.toString();
+            future.addListener(f -> {
+                long duration = System.nanoTime() - start;
+                for (HttpClientConnectionListener listener : listeners) {
+                    listener.onResolved(host, duration, f.cause());
+                }
+            });
+            return future;
+        }
+    }
+}
@@ -0,0 +1,394 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.client.interceptor;
+
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.context.annotation.Parameter;
+import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.core.beans.BeanMap;
+import io.micronaut.core.convert.ConversionService;
+import io.micronaut.core.naming.NameUtils;
+import io.micronaut.core.type.Argument;
+import io.micronaut.core.type.ReturnType;
+import io.micronaut.core.util.ArrayUtils;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.http.HttpAttributes;
+import io.micronaut.http.HttpMethod;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.MutableHttpRequest;
+import io.micronaut.http.annotation.Body;
+import io.micronaut.http.annotation.Consumes;
+import io.micronaut.http.annotation.CookieValue;
+import io.micronaut.http.annotation.Header;
+import io.micronaut.http.annotation.Headers;
+import io.micronaut.http.annotation.HttpMethodMapping;
+import io.micronaut.http.annotation.Produces;
+import io.micronaut.http.client.Client;
+import io.micronaut.http.client.Idempotent;
+import io.micronaut.http.netty.cookies.NettyCookie;
+import io.micronaut.http.uri.UriMatchTemplate;
+
+import javax.annotation.Nullable;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The request template of a declarative client method. The annotations of the method and its arguments are read once
+ * when the template is created: the HTTP method, the URI template, the static headers, the content and accept types,
+ * the way each argument binds to the request and the shape of the return type. Each invocation only fills in the
+ * argument values.
+ *
+ * @author agent
+ * @since 1.0
+ */
+final class ClientRequestTemplate {
+
+    /**
+     * The default Accept-Types.
+     */
+    private static final MediaType[] DEFAULT_ACCEPT_TYPES = {MediaType.APPLICATION_JSON_TYPE};
+
+    final HttpClientIntroductionAdvice.ClientRegistration registration;
+    final HttpMethod httpMethod;
+    final ReturnType<Object> returnType;
+    final Class<?> javaReturnType;
+    final boolean future;
+    final boolean reactive;
+    final boolean single;
+    final Argument<?> publisherArgument;
+    final MediaType contentType;
+    final MediaType[] acceptTypes;
+    final boolean eventStream;
+
+    private final UriMatchTemplate uriTemplate;
+    private final String templateAttribute;
+    private final String serviceId;
+    private final Map<String, String> headers;
+    private final String[] argumentNames;
+    private final boolean[] nullable;
+    private final Binding[] bindings;
+    private final boolean variablesSatisfied;
+    private final boolean idempotent;
+
+    /**
+     * Creates the template of a method that is not handled by the advice.
+     */
+    private ClientRequestTemplate() {
+        this.registration = null;
+        this.httpMethod = null;
+        this.returnType = null;
+        this.javaReturnType = null;
+        this.future = false;
+        this.reactive = false;
+        this.single = false;
+        this.publisherArgument = null;
+        this.contentType = null;
+        this.acceptTypes = null;
+        this.eventStream = false;
+        this.uriTemplate = null;
+        this.templateAttribute = null;
+        this.serviceId = null;
+        this.headers = null;
+        this.argumentNames = null;
+        this.nullable = null;
+        this.bindings = null;
+        this.variablesSatisfied = false;
+        this.idempotent = false;
+    }
+
+    private ClientRequestTemplate(
+            MethodInvocationContext<Object, Object> context,
+            Client clientAnnotation,
+            HttpClientIntroductionAdvice.ClientRegistration registration,
+            Class<? extends Annotation> httpMethodMapping) {
+        this.registration = registration;
+        this.httpMethod = HttpMethod.valueOf(httpMethodMapping.getSimpleName().toUpperCase());
+
+        String uri = context.getValue(HttpMethodMapping.class, String.class).orElse("");
+        if (StringUtils.isEmpty(uri)) {
+            uri = "/" + context.getMethodName();
+        }
+        String contextPath = registration.contextPath;
+        UriMatchTemplate template = UriMatchTemplate.of(contextPath != null ? contextPath : "/");
+        if (!(uri.length() == 1 && uri.charAt(0) == '/')) {
+            template = template.nest(uri);
+        }
+        this.uriTemplate = template;
+        this.templateAttribute = resolveTemplate(clientAnnotation, template.toString());
+        this.serviceId = clientAnnotation.value()[0];
+
+        Map<String, String> staticHeaders = new LinkedHashMap<>();
+        Headers headersAnnotation = context.getAnnotation(Headers.class);
+        if (headersAnnotation != null) {
+            for (Header header : headersAnnotation.value()) {
+                staticHeaders.put(header.name(), header.value());
+            }
+        }
+        Header headerAnnotation = context.getAnnotation(Header.class);
+        if (headerAnnotation != null) {
+            staticHeaders.put(headerAnnotation.name(), headerAnnotation.value());
+        }
+        this.headers = Collections.unmodifiableMap(staticHeaders);
+
+        Argument[] arguments = context.getArguments();
+        List<String> uriVariables = template.getVariables();
+        this.argumentNames = new String[arguments.length];
+        this.nullable = new boolean[arguments.length];
+        List<Binding> bindingList = new ArrayList<>(arguments.length);
+        boolean bodyBound = false;
+        for (int i = 0; i < arguments.length; i++) {
+            Argument argument = arguments[i];
+            String argumentName = argument.getName();
+            argumentNames[i] = argumentName;
+            nullable[i] = argument.isAnnotationPresent(Nullable.class);
+            if (bodyBound) {
+                continue;
+            }
+            if (argument.isAnnotationPresent(Body.class)) {
+                bindingList.add(new Binding(BindingType.BODY, i, argumentName));
+                bodyBound = true;
+            } else if (argument.isAnnotationPresent(Header.class)) {
+                String headerName = argument.getAnnotation(Header.class).value();
+                if (StringUtils.isEmpty(headerName)) {
+                    headerName = NameUtils.hyphenate(argumentName);
+                }
+                bindingList.add(new Binding(BindingType.HEADER, i, headerName));
+            } else if (argument.isAnnotationPresent(CookieValue.class)) {
+                String cookieName = argument.getAnnotation(CookieValue.class).value();
+                if (StringUtils.isEmpty(cookieName)) {
+                    cookieName = argumentName;
+                }
+                bindingList.add(new Binding(BindingType.COOKIE, i, cookieName));
+            } else if (argument.isAnnotationPresent(Parameter.class)) {
+                String parameterName = argument.getAnnotation(Parameter.class).value();
+                if (!StringUtils.isEmpty(parameterName)) {
+                    bindingList.add(new Binding(BindingType.PARAMETER, i, parameterName));
+                }
+            } else if (!uriVariables.contains(argumentName)) {
+                bindingList.add(new Binding(BindingType.BODY_PROPERTY, i, argumentName));
+            }
+        }
+        this.bindings = bindingList.toArray(new Binding[0]);
+        this.variablesSatisfied = uriVariables.isEmpty() || uriVariables.containsAll(Arrays.asList(argumentNames));
+
+        this.returnType = context.getReturnType();
+        this.javaReturnType = returnType.getType();
+        this.future = CompletableFuture.class.isAssignableFrom(javaReturnType);
+        this.reactive = future || Publishers.isConvertibleToPublisher(javaReturnType);
+        this.publisherArgument = returnType.asArgument().getFirstTypeVariable().orElse(Argument.OBJECT_ARGUMENT);
+        Class<?> argumentType = publisherArgument.getType();
+        this.single = Publishers.isSingle(javaReturnType) || future ||
+            context.getValue(Produces.class, "single", Boolean.class).orElse(false) ||
+            HttpResponse.class.isAssignableFrom(argumentType) || HttpStatus.class.isAssignableFrom(argumentType);
+
+        MediaType[] contentTypes = context.getValue(Consumes.class, MediaType[].class).orElse(DEFAULT_ACCEPT_TYPES);
+        this.contentType = ArrayUtils.isNotEmpty(contentTypes) && HttpMethod.permitsRequestBody(httpMethod) ? contentTypes[0] : null;
+        this.acceptTypes = context.getValue(Produces.class, MediaType[].class).orElse(DEFAULT_ACCEPT_TYPES);
+        this.eventStream = Arrays.asList(acceptTypes).contains(MediaType.TEXT_EVENT_STREAM_TYPE);
+        this.idempotent = context.hasAnnotation(Idempotent.class);
+    }
+
+    /**
+     * Compiles the template of a client method.
+     *
+     * @param context          The invocation context
+     * @param clientAnnotation The client annotation
+     * @param registration     The client registration, null if the client has no identifier
+     * @return The template
+     */
+    static ClientRequestTemplate of(
+            MethodInvocationContext<Object, Object> context,
+            Client clientAnnotation,
+            @Nullable HttpClientIntroductionAdvice.ClientRegistration registration) {
+        Optional<Class<? extends Annotation>> httpMethodMapping = context.getAnnotationTypeByStereotype(HttpMethodMapping.class);
+        if (httpMethodMapping.isPresent() && registration != null) {
+            return new ClientRequestTemplate(context, clientAnnotation, registration, httpMethodMapping.get());
+        }
+        return new ClientRequestTemplate();
+    }
+
+    /**
+     * @return Whether the method is handled by the client advice, false to proceed with other introduction advice
+     */
+    boolean isClientMethod() {
+        return httpMethod != null;
+    }
+
+    /**
+     * Verifies that only {@link Nullable} arguments are null.
+     *
+     * @param context The invocation context
+     * @param values  The argument values
+     */
+    void validate(MethodInvocationContext<Object, Object> context, Object[] values) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == null && !nullable[i]) {
+                throw new IllegalArgumentException(
+                    String.format("Null values are not allowed to be passed to client methods (%s). Add @javax.validation.Nullable if that is the desired behavior", context.getTargetMethod().toString())
+                );
+            }
+        }
+    }
+
+    /**
+     * Creates the request for the given argument values.
+     *
+     * @param values The argument values, in the order of the method arguments
+     * @return The request
+     */
+    MutableHttpRequest<Object> createRequest(Object[] values) {
+        Map<String, Object> paramMap = new LinkedHashMap<>(argumentNames.length + 2);
+        for (int i = 0; i < argumentNames.length; i++) {
+            paramMap.put(argumentNames[i], values[i]);
+        }
+        Map<String, String> requestHeaders = headers;
+        List<NettyCookie> cookies = null;
+        Map<String, Object> bodyMap = null;
+        Object body = null;
+        for (Binding binding : bindings) {
+            Object value = values[binding.index];
+            switch (binding.type) {
+                case BODY:
+                    body = value;
+                    break;
+                case HEADER:
+                    Optional<String> header = ConversionService.SHARED.convert(value, String.class);
+                    if (header.isPresent()) {
+                        if (requestHeaders == headers) {
+                            requestHeaders = new LinkedHashMap<>(headers);
+                        }
+                        requestHeaders.put(binding.name, header.get());
+                    }
+                    break;
+                case COOKIE:
+                    Optional<String> cookie = ConversionService.SHARED.convert(value, String.class);
+                    if (cookie.isPresent()) {
+                        if (cookies == null) {
+                            cookies = new ArrayList<>(2);
+                        }
+                        cookies.add(new NettyCookie(binding.name, cookie.get()));
+                    }
+                    break;
+                case PARAMETER:
+                    ConversionService.SHARED.convert(value, String.class)
+                        .ifPresent(o -> paramMap.put(binding.name, o));
+                    break;
+                case BODY_PROPERTY:
+                default:
+                    if (bodyMap == null) {
+                        bodyMap = new LinkedHashMap<>();
+                    }
+                    bodyMap.put(binding.name, value);
+            }
+        }
+
+        if (HttpMethod.permitsRequestBody(httpMethod)) {
+            if (body == null && bodyMap != null) {
+                body = bodyMap;
+            }
+            if (body != null && !variablesSatisfied) {
+                if (body instanceof Map) {
+                    paramMap.putAll((Map) body);
+                } else {
+                    BeanMap<Object> beanMap = BeanMap.of(body);
+                    for (Map.Entry<String, Object> entry : beanMap.entrySet()) {
+                        Object v = entry.getValue();
+                        if (v != null) {
+                            paramMap.put(entry.getKey(), v);
+                        }
+                    }
+                }
+            }
+        } else {
+            body = null;
+        }
+
+        MutableHttpRequest<Object> request = HttpRequest.create(httpMethod, uriTemplate.expand(paramMap));
+        if (body != null) {
+            request.body(body);
+        }
+
+        // Set the URI template used to make the request for tracing purposes
+        request.setAttribute(HttpAttributes.URI_TEMPLATE, templateAttribute);
+        request.setAttribute(HttpAttributes.SERVICE_ID, serviceId);
+        if (idempotent) {
+            request.setAttribute(HttpAttributes.IDEMPOTENT, true);
+        }
+
+        for (Map.Entry<String, String> entry : requestHeaders.entrySet()) {
+            request.header(entry.getKey(), entry.getValue());
+        }
+        if (cookies != null) {
+            cookies.forEach(request::cookie);
+        }
+        return request;
+    }
+
+    /**
+     * Resolve the template for the client annotation.
+     *
+     * @param clientAnnotation client annotation reference
+     * @param templateString   template to be applied
+     * @return resolved template contents
+     */
+    private static String resolveTemplate(Client clientAnnotation, String templateString) {
+        String path = clientAnnotation.path();
+        if (StringUtils.isNotEmpty(path)) {
+            return path + templateString;
+        } else {
+            String[] value = clientAnnotation.value();
+            if (ArrayUtils.isNotEmpty(value)) {
+                if (value[0].startsWith("/")) {
+                    return value[0] + templateString;
+                }
+            }
+            return templateString;
+        }
+    }
+
+    /**
+     * How an argument binds to the request.
+     */
+    private enum BindingType {
+        BODY, HEADER, COOKIE, PARAMETER, BODY_PROPERTY
+    }
+
+    /**
+     * The binding of an argument to the request.
+     */
+    private static final class Binding {
+        final BindingType type;
+        final int index;
+        final String name;
+
+        Binding(BindingType type, int index, String name) {
+            this.type = type;
+            this.index = index;
+            this.name = name;
+        }
+    }
+}
@@ -22,31 +22,16 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import io.micronaut.aop.MethodInterceptor;
 import io.micronaut.aop.MethodInvocationContext;
 import io.micronaut.context.BeanContext;
-import io.micronaut.context.annotation.Parameter;
-import io.micronaut.core.async.publisher.Publishers;
 import io.micronaut.core.async.subscriber.CompletionAwareSubscriber;
-import io.micronaut.core.beans.BeanMap;
 import io.micronaut.core.convert.ConversionService;
-import io.micronaut.core.naming.NameUtils;
 import io.micronaut.core.type.Argument;
-import io.micronaut.core.type.MutableArgumentValue;
 import io.micronaut.core.type.ReturnType;
 import io.micronaut.core.util.ArrayUtils;
 import io.micronaut.core.util.StringUtils;
-import io.micronaut.http.HttpAttributes;
-import io.micronaut.http.HttpMethod;
-import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.HttpStatus;
 import io.micronaut.http.MediaType;
 import io.micronaut.http.MutableHttpRequest;
-import io.micronaut.http.annotation.Body;
-import io.micronaut.http.annotation.Consumes;
-import io.micronaut.http.annotation.CookieValue;
-import io.micronaut.http.annotation.Header;
-import io.micronaut.http.annotation.Headers;
-import io.micronaut.http.annotation.HttpMethodMapping;
-import io.micronaut.http.annotation.Produces;
 import io.micronaut.http.client.*;
 import io.micronaut.http.client.exceptions.HttpClientException;
 import io.micronaut.http.client.exceptions.HttpClientResponseException;
@@ -54,9 +39,7 @@ import io.micronaut.http.client.loadbalance.FixedLoadBalancer;
 import io.micronaut.http.client.sse.SseClient;
 import io.micronaut.http.codec.MediaTypeCodec;
 import io.micronaut.http.codec.MediaTypeCodecRegistry;
-import io.micronaut.http.netty.cookies.NettyCookie;
 import io.micronaut.http.sse.Event;
-import io.micronaut.http.uri.UriMatchTemplate;
 import io.micronaut.inject.qualifiers.Qualifiers;
 import io.micronaut.jackson.ObjectMapperFactory;
 import io.micronaut.jackson.annotation.JacksonFeatures;
@@ -68,16 +51,11 @@ import org.reactivestreams.Subscription;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javax.annotation.Nullable;
 import javax.annotation.PreDestroy;
 import javax.inject.Singleton;
 import java.io.Closeable;
 import java.io.IOException;
-import java.lang.annotation.Annotation;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.LinkedHashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -95,14 +73,9 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
 
     private static final Logger LOG = LoggerFactory.getLogger(DefaultHttpClient.class);
 
-    /**
-     * The default Accept-Types.
-     */
-    private static final MediaType[] DEFAULT_ACCEPT_TYPES = {MediaType.APPLICATION_JSON_TYPE};
-
-    private final int HEADERS_INITIAL_CAPACITY = 3;
     private final BeanContext beanContext;
     private final Map<Integer, ClientRegistration> clients = new ConcurrentHashMap<>();
+    private final Map<MethodKey, ClientRequestTemplate> templates = new ConcurrentHashMap<>();
     private final ReactiveClientResultTransformer[] transformers;
     private final LoadBalancerResolver loadBalancerResolver;
 
@@ -131,192 +104,43 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
      */
     @Override
     public Object intercept(MethodInvocationContext<Object, Object> context) {
-        Client clientAnnotation = context.getAnnotation(Client.class);
-        if (clientAnnotation == null) {
-            throw new IllegalStateException("Client advice called from type that is not annotated with @Client: " + context);
-        }
-
-        for (MutableArgumentValue<?> argumentValue : context.getParameters().values()) {
-            if (argumentValue.getValue() == null && !argumentValue.isAnnotationPresent(Nullable.class)) {
-                throw new IllegalArgumentException(
-                    String.format("Null values are not allowed to be passed to client methods (%s). Add @javax.validation.Nullable if that is the desired behavior", context.getTargetMethod().toString())
-                );
+        ClientRequestTemplate template = templates.get(new MethodKey(context));
+        if (template == null) {
+            Client clientAnnotation = context.getAnnotation(Client.class);
+            if (clientAnnotation == null) {
+                throw new IllegalStateException("Client advice called from type that is not annotated with @Client: " + context);
             }
+            template = templates.computeIfAbsent(new MethodKey(context), key ->
+                ClientRequestTemplate.of(context, clientAnnotation, getClient(context, clientAnnotation))
+            );
         }
 
-        ClientRegistration reg = getClient(context, clientAnnotation);
-        Optional<Class<? extends Annotation>> httpMethodMapping = context.getAnnotationTypeByStereotype(HttpMethodMapping.class);
-        if (httpMethodMapping.isPresent() && reg != null) {
-            String uri = context.getValue(HttpMethodMapping.class, String.class).orElse("");
-            if (StringUtils.isEmpty(uri)) {
-                uri = "/" + context.getMethodName();
-            }
-
-            Class<? extends Annotation> annotationType = httpMethodMapping.get();
-
-            HttpMethod httpMethod = HttpMethod.valueOf(annotationType.getSimpleName().toUpperCase());
-
-            ReturnType returnType = context.getReturnType();
-            Class<?> javaReturnType = returnType.getType();
-
-            String contextPath = reg.contextPath;
-            UriMatchTemplate uriTemplate = UriMatchTemplate.of(contextPath != null ? contextPath : "/");
-            if (!(uri.length() == 1 && uri.charAt(0) == '/')) {
-                uriTemplate = uriTemplate.nest(uri);
-            }
-
-            Map<String, Object> paramMap = context.getParameterValueMap();
-            List<String> uriVariables = uriTemplate.getVariables();
-
-            boolean variableSatisfied = uriVariables.isEmpty() || uriVariables.containsAll(paramMap.keySet());
-            MutableHttpRequest<Object> request;
-            Object body = null;
-            Map<String, MutableArgumentValue<?>> parameters = context.getParameters();
-            Argument[] arguments = context.getArguments();
-
-
-            Map<String, String> headers = new LinkedHashMap<>(HEADERS_INITIAL_CAPACITY);
-
-            Headers headersAnnotation = context.getAnnotation(Headers.class);
-            if (headersAnnotation != null) {
-                Header[] headerArray = headersAnnotation.value();
-                for (Header header : headerArray) {
-                    String headerName = header.name();
-                    String headerValue = header.value();
-                    headers.put(headerName, headerValue);
-                }
-            }
-
-            Header headerAnnotation = context.getAnnotation(Header.class);
-            if (headerAnnotation != null) {
-                headers.put(headerAnnotation.name(), headerAnnotation.value());
-            }
-
-            List<NettyCookie> cookies = new ArrayList<>();
-            List<Argument> bodyArguments = new ArrayList<>();
-            for (Argument argument : arguments) {
-                String argumentName = argument.getName();
-                if (argument.isAnnotationPresent(Body.class)) {
-                    body = parameters.get(argumentName).getValue();
-                    break;
-                } else if (argument.isAnnotationPresent(Header.class)) {
-
-                    String headerName = argument.getAnnotation(Header.class).value();
-                    if (StringUtils.isEmpty(headerName)) {
-                        headerName = NameUtils.hyphenate(argumentName);
-                    }
-                    MutableArgumentValue<?> value = parameters.get(argumentName);
-                    String finalHeaderName = headerName;
-                    ConversionService.SHARED.convert(value.getValue(), String.class)
-                        .ifPresent(o -> headers.put(finalHeaderName, o));
-                } else if (argument.isAnnotationPresent(CookieValue.class)) {
-                    Object cookieValue = parameters.get(argumentName).getValue();
-                    String cookieName = argument.getAnnotation(CookieValue.class).value();
-                    if (StringUtils.isEmpty(cookieName)) {
-                        cookieName = argumentName;
-                    }
-                    String finalCookieName = cookieName;
+        if (template.isClientMethod()) {
+            Object[] values = context.getParameterValues();
+            template.validate(context, values);
+            MutableHttpRequest<Object> request = template.createRequest(values);
 
-                    ConversionService.SHARED.convert(cookieValue, String.class)
-                        .ifPresent(o -> cookies.add(new NettyCookie(finalCookieName, o)));
+            ReturnType returnType = template.returnType;
+            Class<?> javaReturnType = template.javaReturnType;
+            HttpClient httpClient = template.registration.httpClient;
 
-                } else if (argument.isAnnotationPresent(Parameter.class)) {
-                    String parameterName = argument.getAnnotation(Parameter.class).value();
-                    if (!StringUtils.isEmpty(parameterName)) {
-                        MutableArgumentValue<?> value = parameters.get(argumentName);
-                        ConversionService.SHARED.convert(value.getValue(), String.class)
-                            .ifPresent(o -> paramMap.put(parameterName, o));
-                    }
-                } else if (!uriVariables.contains(argumentName)) {
-                    bodyArguments.add(argument);
-                }
-            }
-            if (HttpMethod.permitsRequestBody(httpMethod)) {
-                if (body == null && !bodyArguments.isEmpty()) {
-                    Map<String, Object> bodyMap = new LinkedHashMap<>();
-
-                    for (Argument bodyArgument : bodyArguments) {
-                        String argumentName = bodyArgument.getName();
-                        MutableArgumentValue<?> value = parameters.get(argumentName);
-                        bodyMap.put(argumentName, value.getValue());
-                    }
-                    body = bodyMap;
-                }
-
-                if (body != null) {
-                    if (!variableSatisfied) {
-
-                        if (body instanceof Map) {
-                            paramMap.putAll((Map) body);
-                            uri = uriTemplate.expand(paramMap);
-                            request = HttpRequest.create(httpMethod, uri);
-                        } else {
-                            BeanMap<Object> beanMap = BeanMap.of(body);
-                            for (Map.Entry<String, Object> entry : beanMap.entrySet()) {
-                                String k = entry.getKey();
-                                Object v = entry.getValue();
-                                if (v != null) {
-                                    paramMap.put(k, v);
-                                }
-                            }
-                            uri = uriTemplate.expand(paramMap);
-                            request = HttpRequest.create(httpMethod, uri);
-                        }
-                    } else {
-                        uri = uriTemplate.expand(paramMap);
-                        request = HttpRequest.create(httpMethod, uri);
-                    }
-                    request.body(body);
-                } else {
-                    uri = uriTemplate.expand(paramMap);
-                    request = HttpRequest.create(httpMethod, uri);
-                }
-            } else {
-                uri = uriTemplate.expand(paramMap);
-                request = HttpRequest.create(httpMethod, uri);
-            }
-
-            // Set the URI template used to make the request for tracing purposes
-            request.setAttribute(HttpAttributes.URI_TEMPLATE, resolveTemplate(clientAnnotation, uriTemplate.toString()));
-            String serviceId = clientAnnotation.value()[0];
-            request.setAttribute(HttpAttributes.SERVICE_ID, serviceId);
-
-
-            if (!headers.isEmpty()) {
-                for (Map.Entry<String, String> entry : headers.entrySet()) {
-                    request.header(entry.getKey(), entry.getValue());
-                }
-            }
-
-            cookies.forEach(request::cookie);
-
-            HttpClient httpClient = reg.httpClient;
-
-            boolean isFuture = CompletableFuture.class.isAssignableFrom(javaReturnType);
+            boolean isFuture = template.future;
             final Class<Object> methodDeclaringType = context.getDeclaringType();
-            if (Publishers.isConvertibleToPublisher(javaReturnType) || isFuture) {
-                boolean isSingle = Publishers.isSingle(javaReturnType) || isFuture || context.getValue(Produces.class, "single", Boolean.class).orElse(false);
-                Argument<?> publisherArgument = returnType.asArgument().getFirstTypeVariable().orElse(Argument.OBJECT_ARGUMENT);
-
-
+            if (template.reactive) {
+                boolean isSingle = template.single;
+                Argument<?> publisherArgument = template.publisherArgument;
                 Class<?> argumentType = publisherArgument.getType();
 
-                if (HttpResponse.class.isAssignableFrom(argumentType) || HttpStatus.class.isAssignableFrom(argumentType)) {
-                    isSingle = true;
-                }
-
-
                 Publisher<?> publisher;
 
-                MediaType[] contentTypes = context.getValue(Consumes.class, MediaType[].class).orElse(DEFAULT_ACCEPT_TYPES);
-                if (ArrayUtils.isNotEmpty(contentTypes) && HttpMethod.permitsRequestBody(request.getMethod())) {
-                    request.contentType(contentTypes[0]);
+                if (template.contentType != null) {
+                    request.contentType(template.contentType);
                 }
 
                 if (!isSingle && httpClient instanceof StreamingHttpClient) {
                     StreamingHttpClient streamingHttpClient = (StreamingHttpClient) httpClient;
                     if (HttpResponse.class.isAssignableFrom(argumentType)) {
-                        request.accept(context.getValue(Produces.class, MediaType[].class).orElse(DEFAULT_ACCEPT_TYPES));
+                        request.accept(template.acceptTypes);
                         publisher = streamingHttpClient.exchangeStream(
                                 request
                         );
@@ -325,12 +149,9 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
                                 request
                         );
                     } else {
-                        MediaType[] acceptTypes = context.getValue(Produces.class, MediaType[].class).orElse(DEFAULT_ACCEPT_TYPES);
-                        request.accept(acceptTypes);
+                        request.accept(template.acceptTypes);
 
-                        boolean isEventStream = Arrays.stream(acceptTypes).anyMatch(mediaType -> mediaType.equals(MediaType.TEXT_EVENT_STREAM_TYPE));
-
-                        if (isEventStream && streamingHttpClient instanceof SseClient) {
+                        if (template.eventStream && streamingHttpClient instanceof SseClient) {
                             SseClient sseClient = (SseClient) streamingHttpClient;
                             if (publisherArgument.getType() == Event.class) {
                                 publisher = sseClient.eventStream(
@@ -351,7 +172,7 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
                 } else {
 
                     if (HttpResponse.class.isAssignableFrom(argumentType)) {
-                        request.accept(context.getValue(Produces.class, MediaType[].class).orElse(DEFAULT_ACCEPT_TYPES));
+                        request.accept(template.acceptTypes);
                         publisher = httpClient.exchange(
                                 request, publisherArgument
                         );
@@ -360,8 +181,7 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
                                 request
                         );
                     } else {
-                        MediaType[] acceptTypes = context.getValue(Produces.class, MediaType[].class).orElse(DEFAULT_ACCEPT_TYPES);
-                        request.accept(acceptTypes);
+                        request.accept(template.acceptTypes);
 
                         publisher = httpClient.retrieve(
                                 request, publisherArgument
@@ -448,28 +268,6 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
         return context.proceed();
     }
 
-    /**
-     * Resolve the template for the client annotation.
-     *
-     * @param clientAnnotation client annotation reference
-     * @param templateString   template to be applied
-     * @return resolved template contents
-     */
-    private String resolveTemplate(Client clientAnnotation, String templateString) {
-        String path = clientAnnotation.path();
-        if (StringUtils.isNotEmpty(path)) {
-            return path + templateString;
-        } else {
-            String[] value = clientAnnotation.value();
-            if (ArrayUtils.isNotEmpty(value)) {
-                if (value[0].startsWith("/")) {
-                    return value[0] + templateString;
-                }
-            }
-            return templateString;
-        }
-    }
-
     /**
      * Gets the client registration for the http request.
      *
@@ -582,4 +380,41 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
             this.contextPath = contextPath;
         }
     }
+
+    /**
+     * Identifies a client method by the generated client type, so methods inherited from a common interface get a
+     * template for each client.
+     */
+    private static final class MethodKey {
+        private final Class<?> clientType;
+        private final String methodName;
+        private final Class[] argumentTypes;
+        private final int hashCode;
+
+        MethodKey(MethodInvocationContext<Object, Object> context) {
+            this.clientType = context.getTarget().getClass();
+            this.methodName = context.getMethodName();
+            this.argumentTypes = context.getArgumentTypes();
+            this.hashCode = 31 * (31 * clientType.hashCode() + methodName.hashCode()) + Arrays.hashCode(argumentTypes);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MethodKey)) {
+                return false;
+            }
+            MethodKey that = (MethodKey) o;
+            return clientType == that.clientType &&
+                methodName.equals(that.methodName) &&
+                Arrays.equals(argumentTypes, that.argumentTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
 }
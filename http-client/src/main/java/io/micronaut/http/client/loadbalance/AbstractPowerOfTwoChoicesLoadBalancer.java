@@ -0,0 +1,213 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.discovery.exceptions.NoAvailableServiceException;
+import io.micronaut.health.HealthStatus;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * <p>A {@link StatsAwareLoadBalancer} that picks two random candidate instances and selects the one with the lowest
+ * cost as computed by {@link #getCost(ServiceInstanceStats, long)}. Sampling two instances rather than comparing all
+ * of them avoids every client sending its requests to the same instance whilst its statistics are stale.</p>
+ *
+ * <p>Only instances that are {@link HealthStatus#UP} are candidates. Instances that fail a number of consecutive
+ * requests with a 5xx response or a connection error are ejected for a period, unless more than the maximum
+ * percentage of instances are ejected. When a zone is configured, instances in that zone are preferred whenever
+ * any of them are available.</p>
+ *
+ * @author agent
+ * @since 1.0
+ */
+public abstract class AbstractPowerOfTwoChoicesLoadBalancer implements StatsAwareLoadBalancer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AbstractPowerOfTwoChoicesLoadBalancer.class);
+
+    protected final LoadBalancerConfiguration configuration;
+
+    private final String serviceID;
+    private final Supplier<Publisher<List<ServiceInstance>>> serviceInstances;
+    private final Map<URI, ServiceInstanceStats> stats = new ConcurrentHashMap<>();
+    private volatile List<ServiceInstance> lastInstances;
+
+    /**
+     * @param serviceID        The service ID
+     * @param serviceInstances Supplies the instances of the service
+     * @param configuration    The load balancer configuration
+     */
+    protected AbstractPowerOfTwoChoicesLoadBalancer(String serviceID, Supplier<Publisher<List<ServiceInstance>>> serviceInstances, LoadBalancerConfiguration configuration) {
+        this.serviceID = serviceID;
+        this.serviceInstances = serviceInstances;
+        this.configuration = configuration;
+    }
+
+    /**
+     * @return The service ID
+     */
+    public String getServiceID() {
+        return serviceID;
+    }
+
+    /**
+     * @return The statistics of the instances that have been selected
+     */
+    public Collection<ServiceInstanceStats> getStats() {
+        return stats.values();
+    }
+
+    @Override
+    public Publisher<ServiceInstance> select(@Nullable Object discriminator) {
+        return Publishers.map(serviceInstances.get(), this::getNextAvailable);
+    }
+
+    @Override
+    public void requestStarted(ServiceInstance instance) {
+        getStats(instance).ifPresent(ServiceInstanceStats::started);
+    }
+
+    @Override
+    public void requestCompleted(ServiceInstance instance, long durationNanos, @Nullable Throwable error) {
+        Optional<ServiceInstanceStats> instanceStats = getStats(instance);
+        if (instanceStats.isPresent()) {
+            boolean ejected = instanceStats.get().completed(durationNanos, isFailure(error), System.nanoTime(), configuration);
+            if (ejected && LOG.isWarnEnabled()) {
+                LOG.warn("Ejecting instance [{}] of service [{}] after {} consecutive failures: {}", instance.getURI(), serviceID, configuration.getConsecutiveFailures(), error != null ? error.getMessage() : null);
+            }
+        }
+    }
+
+    @Override
+    public void requestCancelled(ServiceInstance instance) {
+        getStats(instance).ifPresent(ServiceInstanceStats::cancelled);
+    }
+
+    /**
+     * Computes the cost of sending a request to an instance. The candidate with the lower cost is selected.
+     *
+     * @param stats The statistics of the instance
+     * @param now   The current value of {@link System#nanoTime()}
+     * @return The cost
+     */
+    protected abstract double getCost(ServiceInstanceStats stats, long now);
+
+    /**
+     * Whether the outcome of a request counts as a failure towards the ejection of the instance. By default
+     * responses with a 5xx status and errors that did not produce a response are failures.
+     *
+     * @param error The error or {@code null} if the request succeeded
+     * @return True if the request failed
+     */
+    protected boolean isFailure(@Nullable Throwable error) {
+        if (error == null) {
+            return false;
+        }
+        if (error instanceof HttpClientResponseException) {
+            return ((HttpClientResponseException) error).getStatus().getCode() >= 500;
+        }
+        return true;
+    }
+
+    /**
+     * @param serviceInstances A list of service instances
+     * @return The selected instance or a {@link NoAvailableServiceException} if none
+     */
+    protected ServiceInstance getNextAvailable(List<ServiceInstance> serviceInstances) {
+        if (serviceInstances != lastInstances) {
+            retainStats(serviceInstances);
+        }
+        long now = System.nanoTime();
+        List<ServiceInstanceStats> healthy = new ArrayList<>(serviceInstances.size());
+        List<ServiceInstanceStats> available = new ArrayList<>(serviceInstances.size());
+        for (ServiceInstance instance : serviceInstances) {
+            if (instance.getHealthStatus().equals(HealthStatus.UP)) {
+                ServiceInstanceStats instanceStats = stats.computeIfAbsent(instance.getURI(), uri -> new ServiceInstanceStats(instance));
+                instanceStats.setInstance(instance);
+                healthy.add(instanceStats);
+                if (!instanceStats.isEjected(now)) {
+                    available.add(instanceStats);
+                }
+            }
+        }
+        if (healthy.isEmpty()) {
+            throw new NoAvailableServiceException(serviceID);
+        }
+        int ejected = healthy.size() - available.size();
+        if (available.isEmpty() || ejected * 100 > configuration.getMaxEjectionPercent() * healthy.size()) {
+            available = healthy;
+        }
+        Optional<String> zone = configuration.getZone();
+        if (zone.isPresent()) {
+            List<ServiceInstanceStats> inZone = new ArrayList<>(available.size());
+            for (ServiceInstanceStats instanceStats : available) {
+                if (instanceStats.getInstance().getZone().map(zone.get()::equals).orElse(false)) {
+                    inZone.add(instanceStats);
+                }
+            }
+            if (!inZone.isEmpty()) {
+                available = inZone;
+            }
+        }
+        return choose(available, now).getInstance();
+    }
+
+    private ServiceInstanceStats choose(List<ServiceInstanceStats> candidates, long now) {
+        int size = candidates.size();
+        if (size == 1) {
+            return candidates.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstanceStats a = candidates.get(first);
+        ServiceInstanceStats b = candidates.get(second);
+        return getCost(a, now) <= getCost(b, now) ? a : b;
+    }
+
+    private void retainStats(List<ServiceInstance> serviceInstances) {
+        Set<URI> uris = new HashSet<>(serviceInstances.size());
+        for (ServiceInstance instance : serviceInstances) {
+            uris.add(instance.getURI());
+        }
+        stats.keySet().retainAll(uris);
+        lastInstances = serviceInstances;
+    }
+
+    private Optional<ServiceInstanceStats> getStats(ServiceInstance instance) {
+        return Optional.ofNullable(stats.get(instance.getURI()));
+    }
+}
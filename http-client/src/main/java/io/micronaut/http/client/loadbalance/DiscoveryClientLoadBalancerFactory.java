@@ -17,8 +17,11 @@
 package io.micronaut.http.client.loadbalance;
 
 import io.micronaut.discovery.DiscoveryClient;
+import io.micronaut.discovery.ServiceInstanceRegistry;
 import io.micronaut.http.client.LoadBalancer;
 
+import javax.annotation.Nullable;
+import javax.inject.Inject;
 import javax.inject.Singleton;
 
 /**
@@ -32,22 +35,51 @@ import javax.inject.Singleton;
 public class DiscoveryClientLoadBalancerFactory {
 
     private final DiscoveryClient discoveryClient;
+    private final ServiceInstanceRegistry serviceInstanceRegistry;
+    private final LoadBalancerConfiguration loadBalancerConfiguration;
 
     /**
      * @param discoveryClient The discover client
      */
     public DiscoveryClientLoadBalancerFactory(DiscoveryClient discoveryClient) {
+        this(discoveryClient, null);
+    }
+
+    /**
+     * @param discoveryClient         The discover client
+     * @param serviceInstanceRegistry The registry that pushes changes to service instances, if any
+     */
+    public DiscoveryClientLoadBalancerFactory(DiscoveryClient discoveryClient, @Nullable ServiceInstanceRegistry serviceInstanceRegistry) {
+        this(discoveryClient, serviceInstanceRegistry, new LoadBalancerConfiguration());
+    }
+
+    /**
+     * @param discoveryClient           The discover client
+     * @param serviceInstanceRegistry   The registry that pushes changes to service instances, if any
+     * @param loadBalancerConfiguration The load balancer configuration
+     */
+    @Inject
+    public DiscoveryClientLoadBalancerFactory(DiscoveryClient discoveryClient, @Nullable ServiceInstanceRegistry serviceInstanceRegistry, LoadBalancerConfiguration loadBalancerConfiguration) {
         this.discoveryClient = discoveryClient;
+        this.serviceInstanceRegistry = serviceInstanceRegistry;
+        this.loadBalancerConfiguration = loadBalancerConfiguration;
     }
 
     /**
-     * Creates a {@link LoadBalancer} for the given service ID.
+     * Creates a {@link LoadBalancer} for the given service ID using the configured {@link LoadBalancerStrategy}.
      *
      * @param serviceID The service ID
      * @return The {@link LoadBalancer}
      */
     public LoadBalancer create(String serviceID) {
-        return new DiscoveryClientRoundRobinLoadBalancer(serviceID, discoveryClient);
+        switch (loadBalancerConfiguration.getStrategy()) {
+            case LEAST_OUTSTANDING:
+                return new LeastOutstandingLoadBalancer(serviceID, new DiscoveryClientServiceInstances(serviceID, discoveryClient, serviceInstanceRegistry), loadBalancerConfiguration);
+            case PEAK_EWMA:
+                return new PeakEwmaLoadBalancer(serviceID, new DiscoveryClientServiceInstances(serviceID, discoveryClient, serviceInstanceRegistry), loadBalancerConfiguration);
+            default:
+                return new DiscoveryClientRoundRobinLoadBalancer(serviceID, discoveryClient, serviceInstanceRegistry);
+        }
     }
 
     /**
@@ -56,4 +88,19 @@ public class DiscoveryClientLoadBalancerFactory {
     public DiscoveryClient getDiscoveryClient() {
         return discoveryClient;
     }
+
+    /**
+     * @return The {@link ServiceInstanceRegistry} being used or {@code null} if there is none
+     */
+    @Nullable
+    public ServiceInstanceRegistry getServiceInstanceRegistry() {
+        return serviceInstanceRegistry;
+    }
+
+    /**
+     * @return The {@link LoadBalancerConfiguration} being used
+     */
+    public LoadBalancerConfiguration getLoadBalancerConfiguration() {
+        return loadBalancerConfiguration;
+    }
 }
@@ -19,14 +19,19 @@ package io.micronaut.http.client.loadbalance;
 import io.micronaut.core.async.publisher.Publishers;
 import io.micronaut.discovery.DiscoveryClient;
 import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.discovery.ServiceInstanceRegistry;
 import org.reactivestreams.Publisher;
 
+import javax.annotation.Nullable;
+
 /**
  * <p>A {@link io.micronaut.http.client.LoadBalancer} that uses the {@link DiscoveryClient} and a
  * {@link ServiceInstance} ID to automatically load balance between discovered clients in a non-blocking manner.</p>
  * <p>
  * <p>Note that the when {@link DiscoveryClient} caching is enabled then this load balancer may not always have the
- * latest server list from the {@link DiscoveryClient} (the default TTL is 30 seconds)</p>
+ * latest server list from the {@link DiscoveryClient} (the default TTL is 30 seconds). If a
+ * {@link ServiceInstanceRegistry} is present changes to the server list are instead pushed to this load balancer as
+ * they happen.</p>
  *
  * @author Graeme Rocher
  * @since 1.0
@@ -34,15 +39,24 @@ import org.reactivestreams.Publisher;
 public class DiscoveryClientRoundRobinLoadBalancer extends AbstractRoundRobinLoadBalancer {
 
     private final String serviceID;
-    private final DiscoveryClient discoveryClient;
+    private final DiscoveryClientServiceInstances serviceInstances;
 
     /**
      * @param serviceID       The service ID
      * @param discoveryClient The discovery client
      */
     public DiscoveryClientRoundRobinLoadBalancer(String serviceID, DiscoveryClient discoveryClient) {
+        this(serviceID, discoveryClient, null);
+    }
+
+    /**
+     * @param serviceID               The service ID
+     * @param discoveryClient         The discovery client
+     * @param serviceInstanceRegistry The registry that pushes changes to the instances of the service
+     */
+    public DiscoveryClientRoundRobinLoadBalancer(String serviceID, DiscoveryClient discoveryClient, @Nullable ServiceInstanceRegistry serviceInstanceRegistry) {
         this.serviceID = serviceID;
-        this.discoveryClient = discoveryClient;
+        this.serviceInstances = new DiscoveryClientServiceInstances(serviceID, discoveryClient, serviceInstanceRegistry);
     }
 
     /**
@@ -55,6 +69,6 @@ public class DiscoveryClientRoundRobinLoadBalancer extends AbstractRoundRobinLoa
 
     @Override
     public Publisher<ServiceInstance> select(Object discriminator) {
-        return Publishers.map(discoveryClient.getInstances(serviceID), this::getNextAvailable);
+        return Publishers.map(serviceInstances.get(), this::getNextAvailable);
     }
 }
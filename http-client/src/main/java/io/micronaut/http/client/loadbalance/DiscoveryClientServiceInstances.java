@@ -0,0 +1,63 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.discovery.DiscoveryClient;
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.discovery.ServiceInstanceRegistry;
+import org.reactivestreams.Publisher;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Supplies the instances of a service from the {@link DiscoveryClient}, or from the last list pushed by a
+ * {@link ServiceInstanceRegistry} if one is present.
+ *
+ * @author agent
+ * @since 1.0
+ */
+class DiscoveryClientServiceInstances implements Supplier<Publisher<List<ServiceInstance>>> {
+
+    private final String serviceID;
+    private final DiscoveryClient discoveryClient;
+    private volatile List<ServiceInstance> watchedInstances;
+
+    /**
+     * @param serviceID               The service ID
+     * @param discoveryClient         The discovery client
+     * @param serviceInstanceRegistry The registry that pushes changes to the instances of the service
+     */
+    DiscoveryClientServiceInstances(String serviceID, DiscoveryClient discoveryClient, @Nullable ServiceInstanceRegistry serviceInstanceRegistry) {
+        this.serviceID = serviceID;
+        this.discoveryClient = discoveryClient;
+        if (serviceInstanceRegistry != null) {
+            serviceInstanceRegistry.addListener(serviceID, instances -> this.watchedInstances = instances);
+        }
+    }
+
+    @Override
+    public Publisher<List<ServiceInstance>> get() {
+        List<ServiceInstance> instances = this.watchedInstances;
+        if (instances != null) {
+            return Publishers.just(instances);
+        }
+        return discoveryClient.getInstances(serviceID);
+    }
+}
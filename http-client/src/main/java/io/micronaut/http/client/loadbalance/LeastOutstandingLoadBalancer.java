@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.discovery.ServiceInstance;
+import org.reactivestreams.Publisher;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * A {@link StatsAwareLoadBalancer} that selects the instance with the fewest outstanding requests out of two random
+ * instances.
+ *
+ * @author agent
+ * @since 1.0
+ * @see LoadBalancerStrategy#LEAST_OUTSTANDING
+ */
+public class LeastOutstandingLoadBalancer extends AbstractPowerOfTwoChoicesLoadBalancer {
+
+    /**
+     * @param serviceID        The service ID
+     * @param serviceInstances Supplies the instances of the service
+     * @param configuration    The load balancer configuration
+     */
+    public LeastOutstandingLoadBalancer(String serviceID, Supplier<Publisher<List<ServiceInstance>>> serviceInstances, LoadBalancerConfiguration configuration) {
+        super(serviceID, serviceInstances, configuration);
+    }
+
+    @Override
+    protected double getCost(ServiceInstanceStats stats, long now) {
+        return stats.getOutstandingRequests();
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.http.client.DefaultHttpClientConfiguration;
+import io.micronaut.runtime.ApplicationConfiguration;
+
+import javax.inject.Inject;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Configuration for the {@link io.micronaut.http.client.LoadBalancer} instances created for discovered services.
+ *
+ * @author agent
+ * @since 1.0
+ */
+@ConfigurationProperties(LoadBalancerConfiguration.PREFIX)
+public class LoadBalancerConfiguration {
+
+    /**
+     * Prefix for load balancer settings.
+     */
+    public static final String PREFIX = DefaultHttpClientConfiguration.PREFIX + ".load-balancer";
+
+    private LoadBalancerStrategy strategy = LoadBalancerStrategy.ROUND_ROBIN;
+    private String zone;
+    private Duration decayTime = Duration.ofSeconds(10);
+    private int consecutiveFailures = 5;
+    private Duration ejectionTime = Duration.ofSeconds(30);
+    private Duration maxEjectionTime = Duration.ofMinutes(5);
+    private int maxEjectionPercent = 50;
+
+    /**
+     * Default constructor.
+     */
+    public LoadBalancerConfiguration() {
+    }
+
+    /**
+     * @param applicationConfiguration The application configuration used to default the zone
+     */
+    @Inject
+    public LoadBalancerConfiguration(ApplicationConfiguration applicationConfiguration) {
+        if (applicationConfiguration != null) {
+            this.zone = applicationConfiguration.getInstance().getZone().orElse(null);
+        }
+    }
+
+    /**
+     * @return The load balancing strategy
+     */
+    public LoadBalancerStrategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Sets the load balancing strategy. Defaults to {@link LoadBalancerStrategy#ROUND_ROBIN}.
+     *
+     * @param strategy The load balancing strategy
+     */
+    public void setStrategy(LoadBalancerStrategy strategy) {
+        if (strategy != null) {
+            this.strategy = strategy;
+        }
+    }
+
+    /**
+     * @return The zone whose instances are preferred
+     */
+    public Optional<String> getZone() {
+        return Optional.ofNullable(zone);
+    }
+
+    /**
+     * Sets the zone whose instances are preferred when any of them are available. Defaults to the zone of the
+     * application instance.
+     *
+     * @param zone The zone
+     */
+    public void setZone(String zone) {
+        this.zone = zone;
+    }
+
+    /**
+     * @return The time over which latency samples decay
+     */
+    public Duration getDecayTime() {
+        return decayTime;
+    }
+
+    /**
+     * Sets the time over which latency samples decay for the {@link LoadBalancerStrategy#PEAK_EWMA} strategy.
+     * Defaults to 10 seconds.
+     *
+     * @param decayTime The decay time
+     */
+    public void setDecayTime(Duration decayTime) {
+        if (decayTime != null && !decayTime.isNegative() && !decayTime.isZero()) {
+            this.decayTime = decayTime;
+        }
+    }
+
+    /**
+     * @return The number of consecutive failures after which an instance is ejected
+     */
+    public int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    /**
+     * Sets the number of consecutive 5xx responses or connection failures after which an instance is ejected.
+     * Defaults to 5. A value of zero disables ejection.
+     *
+     * @param consecutiveFailures The number of consecutive failures
+     */
+    public void setConsecutiveFailures(int consecutiveFailures) {
+        this.consecutiveFailures = consecutiveFailures;
+    }
+
+    /**
+     * @return The time an instance is ejected for
+     */
+    public Duration getEjectionTime() {
+        return ejectionTime;
+    }
+
+    /**
+     * Sets the time an instance is ejected for. The time is multiplied by the number of times the instance
+     * was ejected in a row. Defaults to 30 seconds.
+     *
+     * @param ejectionTime The ejection time
+     */
+    public void setEjectionTime(Duration ejectionTime) {
+        if (ejectionTime != null) {
+            this.ejectionTime = ejectionTime;
+        }
+    }
+
+    /**
+     * @return The maximum time an instance is ejected for
+     */
+    public Duration getMaxEjectionTime() {
+        return maxEjectionTime;
+    }
+
+    /**
+     * Sets the maximum time an instance is ejected for. Defaults to 5 minutes.
+     *
+     * @param maxEjectionTime The maximum ejection time
+     */
+    public void setMaxEjectionTime(Duration maxEjectionTime) {
+        if (maxEjectionTime != null) {
+            this.maxEjectionTime = maxEjectionTime;
+        }
+    }
+
+    /**
+     * @return The maximum percentage of instances that can be ejected
+     */
+    public int getMaxEjectionPercent() {
+        return maxEjectionPercent;
+    }
+
+    /**
+     * Sets the maximum percentage of available instances that can be ejected. When more instances are ejected
+     * all the available instances are used. Defaults to 50.
+     *
+     * @param maxEjectionPercent The maximum percentage
+     */
+    public void setMaxEjectionPercent(int maxEjectionPercent) {
+        this.maxEjectionPercent = maxEjectionPercent;
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.client.loadbalance;
+
+/**
+ * The strategies used to select between the instances of a service.
+ *
+ * @author agent
+ * @since 1.0
+ */
+public enum LoadBalancerStrategy {
+
+    /**
+     * Selects the available instances in turn.
+     */
+    ROUND_ROBIN,
+
+    /**
+     * Selects the instance with the fewest outstanding requests out of two random instances.
+     */
+    LEAST_OUTSTANDING,
+
+    /**
+     * Selects the instance with the lowest peak exponentially weighted moving average latency, weighted by the
+     * outstanding requests, out of two random instances.
+     */
+    PEAK_EWMA
+}
@@ -16,10 +16,16 @@
 
 package io.micronaut.http.client.loadbalance;
 
+import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.discovery.ServiceInstance;
 import io.micronaut.discovery.ServiceInstanceList;
 import io.micronaut.http.client.LoadBalancer;
+import org.reactivestreams.Publisher;
 
+import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * The default {@link LoadBalancer} factory for creating {@link LoadBalancer} instances from
@@ -31,6 +37,23 @@ import javax.inject.Singleton;
 @Singleton
 public class ServiceInstanceListLoadBalancerFactory {
 
+    private final LoadBalancerConfiguration loadBalancerConfiguration;
+
+    /**
+     * Default constructor.
+     */
+    public ServiceInstanceListLoadBalancerFactory() {
+        this(new LoadBalancerConfiguration());
+    }
+
+    /**
+     * @param loadBalancerConfiguration The load balancer configuration
+     */
+    @Inject
+    public ServiceInstanceListLoadBalancerFactory(LoadBalancerConfiguration loadBalancerConfiguration) {
+        this.loadBalancerConfiguration = loadBalancerConfiguration;
+    }
+
     /**
      * Creates a {@link LoadBalancer} from the given {@link ServiceInstanceList}.
      *
@@ -38,6 +61,14 @@ public class ServiceInstanceListLoadBalancerFactory {
      * @return The {@link LoadBalancer}
      */
     public LoadBalancer create(ServiceInstanceList serviceInstanceList) {
-        return new ServiceInstanceListRoundRobinLoadBalancer(serviceInstanceList);
+        Supplier<Publisher<List<ServiceInstance>>> serviceInstances = () -> Publishers.just(serviceInstanceList.getInstances());
+        switch (loadBalancerConfiguration.getStrategy()) {
+            case LEAST_OUTSTANDING:
+                return new LeastOutstandingLoadBalancer(serviceInstanceList.getID(), serviceInstances, loadBalancerConfiguration);
+            case PEAK_EWMA:
+                return new PeakEwmaLoadBalancer(serviceInstanceList.getID(), serviceInstances, loadBalancerConfiguration);
+            default:
+                return new ServiceInstanceListRoundRobinLoadBalancer(serviceInstanceList);
+        }
     }
 }
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.discovery.ServiceInstance;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * The statistics gathered by a {@link StatsAwareLoadBalancer} for a single {@link ServiceInstance}: the outstanding
+ * requests, a peak exponentially weighted moving average of the latency and the consecutive failures used to eject
+ * outliers.
+ *
+ * @author agent
+ * @since 1.0
+ */
+public class ServiceInstanceStats {
+
+    /**
+     * The cost of an instance that has outstanding requests but has not produced a latency sample yet.
+     */
+    private static final double PENALTY = Long.MAX_VALUE >> 16;
+
+    /**
+     * Decrements without going negative, since the statistics of an instance may be reset whilst requests are in flight.
+     */
+    private static final IntUnaryOperator DECREMENT = value -> value > 0 ? value - 1 : 0;
+
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicInteger ejections = new AtomicInteger();
+    private volatile ServiceInstance instance;
+    private volatile long ejectedUntil;
+    private volatile boolean ejected;
+    private double latency;
+    private long lastSample;
+
+    /**
+     * @param instance The instance
+     */
+    ServiceInstanceStats(ServiceInstance instance) {
+        this.instance = instance;
+    }
+
+    /**
+     * @return The instance
+     */
+    public ServiceInstance getInstance() {
+        return instance;
+    }
+
+    /**
+     * @return The number of requests to the instance that have not completed
+     */
+    public int getOutstandingRequests() {
+        return outstanding.get();
+    }
+
+    /**
+     * @return The number of consecutive failed requests
+     */
+    public int getConsecutiveFailures() {
+        return consecutiveFailures.get();
+    }
+
+    /**
+     * @return The peak exponentially weighted moving average of the latency in nanoseconds
+     */
+    public synchronized double getLatency() {
+        return latency;
+    }
+
+    /**
+     * @param now The current value of {@link System#nanoTime()}
+     * @return Whether the instance is currently ejected
+     */
+    public boolean isEjected(long now) {
+        return ejected && now - ejectedUntil < 0;
+    }
+
+    /**
+     * @param instance The latest version of the instance
+     */
+    void setInstance(ServiceInstance instance) {
+        this.instance = instance;
+    }
+
+    /**
+     * Records the start of a request.
+     */
+    void started() {
+        outstanding.incrementAndGet();
+    }
+
+    /**
+     * Records the cancellation of a request.
+     */
+    void cancelled() {
+        outstanding.updateAndGet(DECREMENT);
+    }
+
+    /**
+     * Records the outcome of a request. A latency sample above the current average replaces it, otherwise the
+     * sample is weighted against the average by the time elapsed since the previous sample.
+     *
+     * @param durationNanos The time the request took
+     * @param failure       Whether the request failed
+     * @param now           The current value of {@link System#nanoTime()}
+     * @param configuration The load balancer configuration
+     * @return Whether the instance was ejected as a result of the failure
+     */
+    boolean completed(long durationNanos, boolean failure, long now, LoadBalancerConfiguration configuration) {
+        outstanding.updateAndGet(DECREMENT);
+        synchronized (this) {
+            if (durationNanos > latency) {
+                latency = durationNanos;
+            } else {
+                double weight = Math.exp(-Math.max(now - lastSample, 0) / (double) configuration.getDecayTime().toNanos());
+                latency = latency * weight + durationNanos * (1 - weight);
+            }
+            lastSample = now;
+        }
+        if (!failure) {
+            consecutiveFailures.set(0);
+            if (!isEjected(now)) {
+                ejections.set(0);
+            }
+            return false;
+        }
+        int threshold = configuration.getConsecutiveFailures();
+        if (threshold > 0 && consecutiveFailures.incrementAndGet() >= threshold && !isEjected(now)) {
+            consecutiveFailures.set(0);
+            long ejectionTime = configuration.getEjectionTime().toNanos() * ejections.incrementAndGet();
+            ejectedUntil = now + Math.min(ejectionTime, configuration.getMaxEjectionTime().toNanos());
+            ejected = true;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * The cost of the instance for the {@link LoadBalancerStrategy#PEAK_EWMA} strategy. The latency decays
+     * towards zero whilst no samples are recorded so that slow instances are eventually retried.
+     *
+     * @param now           The current value of {@link System#nanoTime()}
+     * @param decayTimeNanos The decay time in nanoseconds
+     * @return The cost
+     */
+    double getCost(long now, long decayTimeNanos) {
+        double decayed;
+        synchronized (this) {
+            decayed = latency * Math.exp(-Math.max(now - lastSample, 0) / (double) decayTimeNanos);
+        }
+        int pending = outstanding.get();
+        if (decayed == 0 && pending != 0) {
+            return PENALTY + pending;
+        }
+        return decayed * (pending + 1);
+    }
+}
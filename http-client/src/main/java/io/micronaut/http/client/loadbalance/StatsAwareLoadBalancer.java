@@ -0,0 +1,56 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.http.client.LoadBalancer;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link LoadBalancer} that selects instances based on statistics gathered from the requests executed against them.
+ * The {@link io.micronaut.http.client.DefaultHttpClient} notifies the load balancer as requests to the selected
+ * instances start and complete.
+ *
+ * @author agent
+ * @since 1.0
+ */
+public interface StatsAwareLoadBalancer extends LoadBalancer {
+
+    /**
+     * Invoked when a request to the given instance is started.
+     *
+     * @param instance The instance that was selected
+     */
+    void requestStarted(ServiceInstance instance);
+
+    /**
+     * Invoked when a request to the given instance has produced a response or failed.
+     *
+     * @param instance      The instance that was selected
+     * @param durationNanos The time taken in nanoseconds
+     * @param error         The error if the request failed, otherwise {@code null}
+     */
+    void requestCompleted(ServiceInstance instance, long durationNanos, @Nullable Throwable error);
+
+    /**
+     * Invoked when a request to the given instance is cancelled before it produced a response.
+     *
+     * @param instance The instance that was selected
+     */
+    void requestCancelled(ServiceInstance instance);
+}
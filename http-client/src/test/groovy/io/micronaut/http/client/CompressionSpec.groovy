@@ -0,0 +1,171 @@
+package io.micronaut.http.client
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.http.HttpHeaders
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.MediaType
+import io.micronaut.http.annotation.Body
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.annotation.Header
+import io.micronaut.http.annotation.Post
+import io.micronaut.runtime.server.EmbeddedServer
+import io.reactivex.Flowable
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import javax.annotation.Nullable
+import javax.inject.Singleton
+import java.nio.charset.StandardCharsets
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.zip.GZIPInputStream
+import java.util.zip.InflaterInputStream
+
+class CompressionSpec extends Specification {
+
+    @Shared @AutoCleanup EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+            'spec.name': 'CompressionSpec',
+            'micronaut.http.client.compression.request-compression': true,
+            'micronaut.http.client.compression.request-threshold': '2KB',
+            'micronaut.http.client.compression.level': 9
+    ])
+    @Shared @AutoCleanup RxHttpClient client = embeddedServer.applicationContext.createBean(RxHttpClient, embeddedServer.URL)
+
+    void setup() {
+        embeddedServer.applicationContext.getBean(CompressionListener).with {
+            requests.clear()
+            responses.clear()
+        }
+    }
+
+    void "test the compression configuration is bound"() {
+        when:
+        HttpClientConfiguration.CompressionConfiguration configuration = embeddedServer.applicationContext.getBean(HttpClientConfiguration).compressionConfiguration
+
+        then:
+        configuration.requestCompression
+        configuration.acceptEncoding
+        configuration.requestThreshold == 2048
+        configuration.requestEncoding == HttpClientConfiguration.CompressionConfiguration.Encoding.GZIP
+        configuration.level == 9
+    }
+
+    void "test request bodies above the threshold are compressed"() {
+        given:
+        CompressionListener listener = embeddedServer.applicationContext.getBean(CompressionListener)
+        String body = 'compressible ' * 1000
+
+        when:
+        String echoed = client.retrieve(HttpRequest.POST('/compression/echo', body).contentType(MediaType.TEXT_PLAIN_TYPE)).blockingFirst()
+
+        then:
+        echoed == body
+        listener.requests.size() == 1
+        listener.requests[0][0] == body.length()
+        listener.requests[0][1] < body.length() / 10
+    }
+
+    void "test request bodies below the threshold are not compressed"() {
+        given:
+        CompressionListener listener = embeddedServer.applicationContext.getBean(CompressionListener)
+
+        when:
+        String echoed = client.retrieve(HttpRequest.POST('/compression/echo', 'small').contentType(MediaType.TEXT_PLAIN_TYPE)).blockingFirst()
+
+        then:
+        echoed == 'small'
+        listener.requests.isEmpty()
+    }
+
+    void "test streamed request bodies are compressed"() {
+        given:
+        CompressionListener listener = embeddedServer.applicationContext.getBean(CompressionListener)
+        List<String> chunks = (1..50).collect { "chunk $it ".padRight(100, 'x') }
+
+        when:
+        String echoed = client.retrieve(HttpRequest.POST('/compression/echo-stream', Flowable.fromIterable(chunks))
+                .contentType(MediaType.TEXT_PLAIN_TYPE)).blockingFirst()
+
+        then:
+        echoed == chunks.join('')
+        listener.requests.size() == 1
+        listener.requests[0][0] == 5000
+        listener.requests[0][1] < 5000
+    }
+
+    void "test compressed responses are requested and decoded"() {
+        given:
+        CompressionListener listener = embeddedServer.applicationContext.getBean(CompressionListener)
+
+        when:
+        String response = client.retrieve(HttpRequest.GET('/compression/large')).blockingFirst()
+
+        then:
+        response == 'a' * 10000
+        listener.responses.size() == 1
+        listener.responses[0][0] < 1000
+        listener.responses[0][1] == 10000
+
+        when:
+        String acceptEncoding = client.retrieve(HttpRequest.GET('/compression/accept-encoding')).blockingFirst()
+
+        then:
+        acceptEncoding == 'gzip,deflate'
+    }
+
+    @Controller('/compression')
+    @Requires(property = 'spec.name', value = 'CompressionSpec')
+    static class CompressionController {
+
+        @Post(uri = '/echo', consumes = MediaType.TEXT_PLAIN, produces = MediaType.TEXT_PLAIN)
+        String echo(@Body byte[] body, @Nullable @Header(HttpHeaders.CONTENT_ENCODING) String contentEncoding) {
+            decode(body, contentEncoding)
+        }
+
+        @Post(uri = '/echo-stream', consumes = MediaType.TEXT_PLAIN, produces = MediaType.TEXT_PLAIN)
+        String echoStream(@Body byte[] body, @Nullable @Header(HttpHeaders.CONTENT_ENCODING) String contentEncoding) {
+            decode(body, contentEncoding)
+        }
+
+        @Get(uri = '/large', produces = MediaType.TEXT_PLAIN)
+        String large() {
+            'a' * 10000
+        }
+
+        @Get(uri = '/accept-encoding', produces = MediaType.TEXT_PLAIN)
+        String acceptEncoding(@Nullable @Header(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding) {
+            acceptEncoding
+        }
+
+        private static String decode(byte[] body, String contentEncoding) {
+            // the server does not decode request bodies, so the compressed body is inflated here
+            InputStream input = new ByteArrayInputStream(body)
+            if (contentEncoding == 'gzip') {
+                input = new GZIPInputStream(input)
+            } else if (contentEncoding == 'deflate') {
+                input = new InflaterInputStream(input)
+            }
+            new String(input.bytes, StandardCharsets.UTF_8)
+        }
+    }
+
+    @Singleton
+    @Requires(property = 'spec.name', value = 'CompressionSpec')
+    static class CompressionListener implements HttpClientConnectionListener {
+
+        final List<List<Long>> requests = new CopyOnWriteArrayList<>()
+        final List<List<Long>> responses = new CopyOnWriteArrayList<>()
+
+        @Override
+        void onRequestCompressed(long uncompressedBytes, long compressedBytes) {
+            requests.add([uncompressedBytes, compressedBytes])
+        }
+
+        @Override
+        void onResponseDecompressed(long compressedBytes, long decompressedBytes) {
+            responses.add([compressedBytes, decompressedBytes])
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package io.micronaut.http.client
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.client.exceptions.HttpClientException
+import io.micronaut.runtime.server.EmbeddedServer
+import io.netty.bootstrap.Bootstrap
+import io.netty.buffer.Unpooled
+import io.netty.channel.Channel
+import io.netty.channel.ChannelHandlerContext
+import io.netty.channel.ChannelInitializer
+import io.netty.channel.SimpleChannelInboundHandler
+import io.netty.channel.nio.NioEventLoopGroup
+import io.netty.channel.socket.nio.NioDatagramChannel
+import io.netty.handler.codec.dns.DatagramDnsQuery
+import io.netty.handler.codec.dns.DatagramDnsQueryDecoder
+import io.netty.handler.codec.dns.DatagramDnsResponse
+import io.netty.handler.codec.dns.DatagramDnsResponseEncoder
+import io.netty.handler.codec.dns.DefaultDnsRawRecord
+import io.netty.handler.codec.dns.DnsQuestion
+import io.netty.handler.codec.dns.DnsRecordType
+import io.netty.handler.codec.dns.DnsResponseCode
+import io.netty.handler.codec.dns.DnsSection
+import io.netty.resolver.ResolvedAddressTypes
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
+
+class DnsResolverSpec extends Specification {
+
+    @Shared @AutoCleanup FakeDnsServer dnsServer = new FakeDnsServer()
+    @Shared @AutoCleanup EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+            'spec.name': 'DnsResolverSpec',
+            'micronaut.http.client.connect-timeout': '10s',
+            'micronaut.http.client.dns.enabled': true,
+            'micronaut.http.client.dns.name-servers': ["127.0.0.1:${dnsServer.port}".toString()],
+            'micronaut.http.client.dns.address-types': 'ipv4_only',
+            'micronaut.http.client.dns.negative-ttl': '1m',
+            'micronaut.http.client.dns.query-timeout': '1s',
+            'micronaut.http.client.dns.connection-attempt-delay': '100ms'
+    ])
+
+    void setup() {
+        dnsServer.records.clear()
+        dnsServer.queries.set(0)
+    }
+
+    void "test the dns configuration is bound"() {
+        when:
+        HttpClientConfiguration.DnsConfiguration configuration = embeddedServer.applicationContext.getBean(HttpClientConfiguration).dnsConfiguration
+
+        then:
+        configuration.enabled
+        configuration.nameServers == ["127.0.0.1:${dnsServer.port}".toString()]
+        configuration.addressTypes.get() == ResolvedAddressTypes.IPV4_ONLY
+        configuration.negativeTtl == Duration.ofMinutes(1)
+        configuration.queryTimeout == Duration.ofSeconds(1)
+        configuration.connectionAttemptDelay == Duration.ofMillis(100)
+        configuration.minTtl == Duration.ZERO
+        !configuration.maxTtl.isPresent()
+        configuration.roundRobin
+        configuration.happyEyeballs
+        !new HttpClientConfiguration.DnsConfiguration().enabled
+    }
+
+    void "test host names are resolved by the configured name server and cached"() {
+        given:
+        dnsServer.records.put('cached.micronaut.test', ['127.0.0.1'])
+        RxHttpClient client = embeddedServer.applicationContext.createBean(RxHttpClient, new URL("http://cached.micronaut.test:${embeddedServer.port}"))
+
+        when:
+        String first = client.retrieve('/dns/hello').blockingFirst()
+        int queries = dnsServer.queries.get()
+        String second = client.retrieve('/dns/hello').blockingFirst()
+
+        then:
+        first == 'hello'
+        second == 'hello'
+        queries > 0
+        dnsServer.queries.get() == queries
+
+        cleanup:
+        client.close()
+    }
+
+    void "test failed resolutions are cached for the negative ttl"() {
+        given:
+        RxHttpClient client = embeddedServer.applicationContext.createBean(RxHttpClient, new URL("http://missing.micronaut.test:${embeddedServer.port}"))
+
+        when:
+        client.retrieve('/dns/hello').blockingFirst()
+
+        then:
+        thrown(HttpClientException)
+
+        when:
+        int queries = dnsServer.queries.get()
+        client.retrieve('/dns/hello').blockingFirst()
+
+        then:
+        thrown(HttpClientException)
+        queries > 0
+        dnsServer.queries.get() == queries
+
+        cleanup:
+        client.close()
+    }
+
+    void "test a connection is raced to the next address when the first one does not answer"() {
+        given:"the first address is in a documentation range that is never routed"
+        dnsServer.records.put('racing.micronaut.test', ['192.0.2.1', '127.0.0.1'])
+        HttpClientConfiguration configuration = embeddedServer.applicationContext.getBean(HttpClientConfiguration)
+        configuration.dnsConfiguration.roundRobin = false
+        RxHttpClient client = embeddedServer.applicationContext.createBean(RxHttpClient, new URL("http://racing.micronaut.test:${embeddedServer.port}"))
+
+        when:
+        long start = System.currentTimeMillis()
+        String result = client.retrieve('/dns/hello').blockingFirst()
+
+        then:
+        result == 'hello'
+        System.currentTimeMillis() - start < 5000
+
+        cleanup:
+        configuration.dnsConfiguration.roundRobin = true
+        client.close()
+    }
+
+    @Controller('/dns')
+    @Requires(property = 'spec.name', value = 'DnsResolverSpec')
+    static class DnsController {
+
+        @Get(uri = '/hello')
+        String hello() {
+            'hello'
+        }
+    }
+
+    /**
+     * A DNS server that answers A queries for the registered names and responds with NXDOMAIN otherwise.
+     */
+    static class FakeDnsServer implements Closeable {
+
+        final Map<String, List<String>> records = new ConcurrentHashMap<>()
+        final AtomicInteger queries = new AtomicInteger()
+        private final NioEventLoopGroup group = new NioEventLoopGroup(1)
+        private final Channel channel
+
+        FakeDnsServer() {
+            channel = new Bootstrap()
+                    .group(group)
+                    .channel(NioDatagramChannel)
+                    .handler(new ChannelInitializer<NioDatagramChannel>() {
+                        @Override
+                        protected void initChannel(NioDatagramChannel ch) {
+                            ch.pipeline().addLast(new DatagramDnsQueryDecoder(), new DatagramDnsResponseEncoder(), new SimpleChannelInboundHandler<DatagramDnsQuery>() {
+                                @Override
+                                protected void channelRead0(ChannelHandlerContext ctx, DatagramDnsQuery query) {
+                                    ctx.writeAndFlush(answer(query))
+                                }
+                            })
+                        }
+                    })
+                    .bind('127.0.0.1', 0)
+                    .sync()
+                    .channel()
+        }
+
+        int getPort() {
+            ((InetSocketAddress) channel.localAddress()).port
+        }
+
+        private DatagramDnsResponse answer(DatagramDnsQuery query) {
+            queries.incrementAndGet()
+            DnsQuestion question = query.recordAt(DnsSection.QUESTION)
+            String name = question.name().endsWith('.') ? question.name()[0..-2] : question.name()
+            DatagramDnsResponse response = new DatagramDnsResponse(query.recipient(), query.sender(), query.id())
+            response.setRecursionAvailable(true)
+            response.addRecord(DnsSection.QUESTION, question)
+            List<String> addresses = records.get(name)
+            if (addresses == null) {
+                response.setCode(DnsResponseCode.NXDOMAIN)
+            } else if (question.type() == DnsRecordType.A) {
+                for (String address in addresses) {
+                    response.addRecord(DnsSection.ANSWER, new DefaultDnsRawRecord(
+                            question.name(), DnsRecordType.A, 60, Unpooled.wrappedBuffer(InetAddress.getByName(address).address)
+                    ))
+                }
+            }
+            response
+        }
+
+        @Override
+        void close() {
+            channel.close().sync()
+            group.shutdownGracefully().sync()
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package io.micronaut.http.client
+
+import io.micronaut.core.io.buffer.ByteBuffer
+import io.micronaut.http.client.exceptions.ContentLengthExceededException
+import io.micronaut.http.netty.buffer.NettyByteBufferFactory
+import io.micronaut.http.sse.Event
+import io.netty.buffer.ByteBuf
+import io.netty.buffer.Unpooled
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+import java.time.Duration
+
+class EventStreamParserSpec extends Specification {
+
+    void "test multi line events are joined and fields are parsed"() {
+        given:
+        EventStreamParser parser = new EventStreamParser(new NettyByteBufferFactory(), 1024)
+
+        when:
+        List<Event<ByteBuffer<?>>> events = parse(parser, [
+                ': a comment',
+                'id: 7',
+                'event: update',
+                'retry: 250',
+                'data: first',
+                'data:second',
+                '',
+                'data: next',
+                ''
+        ])
+
+        then:
+        events.size() == 2
+        events[0].data.toString(StandardCharsets.UTF_8) == 'first\nsecond'
+        events[0].id == '7'
+        events[0].name == 'update'
+        events[0].retry == Duration.ofMillis(250)
+        events[1].data.toString(StandardCharsets.UTF_8) == 'next'
+        events[1].id == null
+        events[1].name == null
+        parser.lastEventId.get() == '7'
+    }
+
+    void "test frames without data are not dispatched but update the id and retry interval"() {
+        given:
+        EventStreamParser parser = new EventStreamParser(new NettyByteBufferFactory(), 1024)
+
+        when:
+        List<Event<ByteBuffer<?>>> events = parse(parser, ['retry: 100', 'id: 3', '', 'retry: invalid', ''])
+
+        then:
+        events.isEmpty()
+        parser.lastEventId.get() == '3'
+        parser.retry.get() == Duration.ofMillis(100)
+    }
+
+    void "test an event larger than the maximum event size fails"() {
+        given:
+        EventStreamParser parser = new EventStreamParser(new NettyByteBufferFactory(), 8)
+
+        when:
+        parse(parser, ['data: 1234', 'data: 5678'])
+
+        then:
+        thrown(ContentLengthExceededException)
+    }
+
+    void "test received lines are released once an event is dispatched"() {
+        given:
+        EventStreamParser parser = new EventStreamParser(new NettyByteBufferFactory(), 1024)
+        ByteBuf line = Unpooled.copiedBuffer('data: value', StandardCharsets.UTF_8)
+
+        when:
+        parser.parseLine(line)
+        line.release()
+
+        then:"the pending event retains the line"
+        line.refCnt() == 1
+
+        when:
+        Event<ByteBuffer<?>> event = parser.parseLine(Unpooled.EMPTY_BUFFER)
+
+        then:
+        line.refCnt() == 0
+        event.data.toString(StandardCharsets.UTF_8) == 'value'
+    }
+
+    private static List<Event<ByteBuffer<?>>> parse(EventStreamParser parser, List<String> lines) {
+        List<Event<ByteBuffer<?>>> events = []
+        for (String text in lines) {
+            ByteBuf line = Unpooled.copiedBuffer(text, StandardCharsets.UTF_8)
+            try {
+                Event<ByteBuffer<?>> event = parser.parseLine(line)
+                if (event != null) {
+                    events.add(event)
+                }
+            } finally {
+                line.release()
+            }
+        }
+        return events
+    }
+}
@@ -0,0 +1,132 @@
+package io.micronaut.http.client
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.context.annotation.Value
+import io.micronaut.core.async.publisher.Publishers
+import io.micronaut.discovery.ServiceInstance
+import io.micronaut.http.HttpAttributes
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.MediaType
+import io.micronaut.http.annotation.Body
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.annotation.Post
+import io.micronaut.runtime.server.EmbeddedServer
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.atomic.AtomicInteger
+
+class HedgingSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    EmbeddedServer slowServer = ApplicationContext.run(EmbeddedServer, ['hedging.test.name': 'slow', 'hedging.test.delay': 1000])
+
+    @Shared
+    @AutoCleanup
+    EmbeddedServer fastServer = ApplicationContext.run(EmbeddedServer, ['hedging.test.name': 'fast', 'hedging.test.delay': 0])
+
+    void "test a slow request is hedged to another instance"() {
+        given:
+        DefaultHttpClient client = new DefaultHttpClient(slowFirst(), hedging(100, Duration.ofMillis(100)))
+
+        when:
+        long start = System.currentTimeMillis()
+        String body = client.toBlocking().retrieve("/hedging/name")
+
+        then:
+        body == 'fast'
+        System.currentTimeMillis() - start < 900
+
+        cleanup:
+        client.close()
+    }
+
+    void "test requests that are not idempotent are not hedged"() {
+        given:
+        DefaultHttpClient client = new DefaultHttpClient(slowFirst(), hedging(100, Duration.ofMillis(100)))
+
+        expect:
+        client.toBlocking().retrieve(HttpRequest.POST("/hedging/name", "body").contentType(MediaType.TEXT_PLAIN_TYPE)) == 'slow'
+        client.toBlocking().retrieve(HttpRequest.POST("/hedging/name", "body")
+                .contentType(MediaType.TEXT_PLAIN_TYPE)
+                .setAttribute(HttpAttributes.IDEMPOTENT, true)) == 'fast'
+
+        cleanup:
+        client.close()
+    }
+
+    void "test hedging is limited by the budget"() {
+        given:
+        DefaultHttpClient client = new DefaultHttpClient(slowFirst(), hedging(0, Duration.ofMillis(100)))
+
+        expect:
+        client.toBlocking().retrieve("/hedging/name") == 'slow'
+
+        cleanup:
+        client.close()
+    }
+
+    void "test hedging is configurable"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(
+                'micronaut.http.client.hedging.enabled': true,
+                'micronaut.http.client.hedging.delay': '50ms',
+                'micronaut.http.client.hedging.budget-percent': 5
+        )
+        HttpClientConfiguration.HedgingConfiguration configuration = context.getBean(DefaultHttpClientConfiguration).hedgingConfiguration
+
+        expect:
+        configuration.enabled
+        configuration.delay.get() == Duration.ofMillis(50)
+        configuration.budgetPercent == 5
+        configuration.percentile == 95
+
+        cleanup:
+        context.close()
+    }
+
+    private LoadBalancer slowFirst() {
+        List<ServiceInstance> instances = [
+                ServiceInstance.of("hedging", slowServer.URL),
+                ServiceInstance.of("hedging", fastServer.URL)
+        ]
+        AtomicInteger counter = new AtomicInteger()
+        return { discriminator -> Publishers.just(instances[counter.getAndIncrement() % 2]) } as LoadBalancer
+    }
+
+    private HttpClientConfiguration hedging(int budgetPercent, Duration delay) {
+        DefaultHttpClientConfiguration configuration = new DefaultHttpClientConfiguration()
+        configuration.hedgingConfiguration.enabled = true
+        configuration.hedgingConfiguration.budgetPercent = budgetPercent
+        configuration.hedgingConfiguration.delay = delay
+        return configuration
+    }
+
+    @Requires(property = 'hedging.test.name')
+    @Controller('/hedging')
+    static class NameController {
+
+        @Value('${hedging.test.name}')
+        String name
+
+        @Value('${hedging.test.delay}')
+        long delay
+
+        @Get(value = '/name', produces = MediaType.TEXT_PLAIN)
+        String name() {
+            Thread.sleep(delay)
+            return name
+        }
+
+        @Post(value = '/name', consumes = MediaType.TEXT_PLAIN, produces = MediaType.TEXT_PLAIN)
+        String post(@Body String body) {
+            Thread.sleep(delay)
+            return name
+        }
+    }
+}
@@ -16,12 +16,15 @@
 package io.micronaut.http.client
 
 import groovy.transform.EqualsAndHashCode
+import io.netty.buffer.ByteBuf
+import io.netty.buffer.Unpooled
 import io.reactivex.Flowable
 import io.micronaut.context.ApplicationContext
 import io.micronaut.http.HttpRequest
 import io.micronaut.http.HttpResponse
 import io.micronaut.http.HttpStatus
 import io.micronaut.http.MediaType
+import io.micronaut.http.MutableHttpRequest
 import io.micronaut.http.annotation.Body
 import io.micronaut.http.annotation.Controller
 import io.micronaut.http.annotation.Header
@@ -32,6 +35,8 @@ import spock.lang.AutoCleanup
 import spock.lang.Shared
 import spock.lang.Specification
 
+import java.nio.charset.StandardCharsets
+
 /**
  * @author Graeme Rocher
  * @since 1.0
@@ -182,6 +187,26 @@ class HttpPostSpec extends Specification {
         book == toSend
     }
 
+    void "test a request with a buffer body can be sent more than once"() {
+        given:
+        ByteBuf body = Unpooled.copiedBuffer('{"title":"The Stand","pages":1000}', StandardCharsets.UTF_8)
+        MutableHttpRequest<ByteBuf> request = HttpRequest.POST("/post/simple", body)
+                .accept(MediaType.APPLICATION_JSON_TYPE)
+                .header("X-My-Header", "Foo")
+
+        when:
+        Book first = client.toBlocking().retrieve(request, Book)
+        Book second = client.toBlocking().retrieve(request, Book)
+
+        then:"the client writes its own reference to the buffer so the caller still owns it"
+        first == new Book(title: "The Stand", pages: 1000)
+        second == first
+        body.refCnt() == 1
+
+        cleanup:
+        body.release()
+    }
+
 
     @Controller('/post')
     static class PostController {
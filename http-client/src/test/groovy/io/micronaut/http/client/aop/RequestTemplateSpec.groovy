@@ -0,0 +1,67 @@
+package io.micronaut.http.client.aop
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.annotation.Header
+import io.micronaut.http.client.Client
+import io.micronaut.runtime.server.EmbeddedServer
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+/**
+ * @author agent
+ * @since 1.0
+ */
+class RequestTemplateSpec extends Specification {
+    @Shared
+    @AutoCleanup
+    ApplicationContext context = ApplicationContext.run()
+
+    @Shared
+    @AutoCleanup
+    EmbeddedServer embeddedServer = context.getBean(EmbeddedServer).start()
+
+    void "test clients sharing an inherited method are bound to their own template"() {
+        given:
+        FirstClient first = context.getBean(FirstClient)
+        SecondClient second = context.getBean(SecondClient)
+
+        expect:
+        first.greet("Fred") == "first Fred"
+        second.greet("Bob") == "second Bob"
+        first.greet("Joe") == "first Joe"
+        second.greet("Ann") == "second Ann"
+    }
+
+    @Client('/template-first')
+    static interface FirstClient extends GreetingApi {
+    }
+
+    @Client('/template-second')
+    static interface SecondClient extends GreetingApi {
+    }
+
+    @Controller('/template-first')
+    static class FirstController implements GreetingApi {
+        @Override
+        String greet(@Header('X-Name') String name) {
+            return "first $name"
+        }
+    }
+
+    @Controller('/template-second')
+    static class SecondController implements GreetingApi {
+        @Override
+        String greet(@Header('X-Name') String name) {
+            return "second $name"
+        }
+    }
+
+    static interface GreetingApi {
+
+        @Get('/greet')
+        String greet(@Header('X-Name') String name)
+    }
+}
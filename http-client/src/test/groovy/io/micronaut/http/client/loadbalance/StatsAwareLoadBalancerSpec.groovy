@@ -0,0 +1,224 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.core.async.publisher.Publishers
+import io.micronaut.discovery.ServiceInstance
+import io.micronaut.discovery.ServiceInstanceList
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.client.DefaultHttpClient
+import io.micronaut.http.client.LoadBalancer
+import io.micronaut.http.client.exceptions.HttpClientResponseException
+import io.micronaut.runtime.server.EmbeddedServer
+import io.reactivex.Flowable
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.time.Duration
+
+class StatsAwareLoadBalancerSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer)
+
+    ServiceInstance first = ServiceInstance.of("test", new URI("http://one:8080"))
+    ServiceInstance second = ServiceInstance.of("test", new URI("http://two:8080"))
+
+    void "test the least outstanding load balancer avoids busy instances"() {
+        given:
+        LeastOutstandingLoadBalancer loadBalancer = new LeastOutstandingLoadBalancer("test", { Publishers.just([first, second]) }, new LoadBalancerConfiguration())
+        select(loadBalancer)
+        loadBalancer.requestStarted(first)
+        loadBalancer.requestStarted(first)
+
+        expect:
+        (1..20).collect { select(loadBalancer) }.every { it.is(second) }
+
+        when:
+        loadBalancer.requestCompleted(first, 1000, null)
+        loadBalancer.requestCancelled(first)
+        loadBalancer.requestStarted(second)
+
+        then:
+        (1..20).collect { select(loadBalancer) }.every { it.is(first) }
+    }
+
+    void "test the peak EWMA load balancer avoids slow instances"() {
+        given:
+        PeakEwmaLoadBalancer loadBalancer = new PeakEwmaLoadBalancer("test", { Publishers.just([first, second]) }, new LoadBalancerConfiguration())
+        select(loadBalancer)
+        record(loadBalancer, first, Duration.ofMillis(500).toNanos(), null)
+        record(loadBalancer, second, Duration.ofMillis(5).toNanos(), null)
+
+        expect:
+        (1..20).collect { select(loadBalancer) }.every { it.is(second) }
+        loadBalancer.stats.find { it.instance.is(first) }.latency == Duration.ofMillis(500).toNanos()
+
+        when:"the fast instance has a latency spike"
+        record(loadBalancer, second, Duration.ofSeconds(1).toNanos(), null)
+
+        then:"the spike is taken into account immediately"
+        (1..20).collect { select(loadBalancer) }.every { it.is(first) }
+    }
+
+    void "test instances are ejected after consecutive failures"() {
+        given:
+        LoadBalancerConfiguration configuration = new LoadBalancerConfiguration()
+        configuration.consecutiveFailures = 3
+        configuration.ejectionTime = Duration.ofMillis(200)
+        LeastOutstandingLoadBalancer loadBalancer = new LeastOutstandingLoadBalancer("test", { Publishers.just([first, second]) }, configuration)
+        select(loadBalancer)
+
+        when:"client errors are recorded"
+        3.times { record(loadBalancer, first, 1000, new HttpClientResponseException("Not Found", HttpResponse.notFound())) }
+
+        then:"the instance is not ejected"
+        (1..20).collect { select(loadBalancer) }.toSet().size() == 2
+
+        when:"server errors and connection failures are recorded"
+        2.times { record(loadBalancer, first, 1000, new HttpClientResponseException("Error", HttpResponse.serverError())) }
+        record(loadBalancer, first, 1000, new ConnectException("Connection refused"))
+
+        then:"the instance is ejected"
+        (1..20).collect { select(loadBalancer) }.every { it.is(second) }
+
+        when:"the ejection time elapses"
+        Thread.sleep(300)
+
+        then:"the instance is available again"
+        (1..50).collect { select(loadBalancer) }.toSet().size() == 2
+    }
+
+    void "test no more than the maximum percentage of instances are ejected"() {
+        given:
+        LoadBalancerConfiguration configuration = new LoadBalancerConfiguration()
+        configuration.consecutiveFailures = 1
+        LeastOutstandingLoadBalancer loadBalancer = new LeastOutstandingLoadBalancer("test", { Publishers.just([first, second]) }, configuration)
+        select(loadBalancer)
+
+        when:
+        record(loadBalancer, first, 1000, new ConnectException("Connection refused"))
+        record(loadBalancer, second, 1000, new ConnectException("Connection refused"))
+
+        then:
+        (1..50).collect { select(loadBalancer) }.toSet().size() == 2
+    }
+
+    void "test instances in the local zone are preferred"() {
+        given:
+        ServiceInstance local = ServiceInstance.builder("test", new URI("http://one:8080")).zone("us-east-1a").build()
+        ServiceInstance remote = ServiceInstance.builder("test", new URI("http://two:8080")).zone("us-east-1b").build()
+        LoadBalancerConfiguration configuration = new LoadBalancerConfiguration()
+        configuration.zone = "us-east-1a"
+        configuration.consecutiveFailures = 1
+        List<ServiceInstance> instances = [local, remote]
+        LeastOutstandingLoadBalancer loadBalancer = new LeastOutstandingLoadBalancer("test", { Publishers.just(instances) }, configuration)
+
+        expect:
+        (1..20).collect { select(loadBalancer) }.every { it.is(local) }
+
+        when:"the local instance is ejected"
+        record(loadBalancer, local, 1000, new ConnectException("Connection refused"))
+
+        then:"the remote instance is used"
+        (1..20).collect { select(loadBalancer) }.every { it.is(remote) }
+    }
+
+    void "test the strategy is configurable"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(
+                'micronaut.http.client.load-balancer.strategy': 'peak-ewma',
+                'micronaut.application.instance.zone': 'us-east-1a'
+        )
+
+        ServiceInstanceList serviceInstanceList = [getID: { "test" }, getInstances: { [first] }] as ServiceInstanceList
+
+        expect:
+        context.getBean(ServiceInstanceListLoadBalancerFactory).create(serviceInstanceList) instanceof PeakEwmaLoadBalancer
+        context.getBean(LoadBalancerConfiguration).zone.get() == 'us-east-1a'
+
+        cleanup:
+        context.close()
+    }
+
+    void "test the HTTP client records request statistics"() {
+        given:
+        ServiceInstance instance = ServiceInstance.of("test", embeddedServer.URL)
+        LoadBalancerConfiguration configuration = new LoadBalancerConfiguration()
+        configuration.consecutiveFailures = 2
+        LeastOutstandingLoadBalancer loadBalancer = new LeastOutstandingLoadBalancer("test", { Publishers.just([instance]) }, configuration)
+        DefaultHttpClient client = new DefaultHttpClient(loadBalancer)
+
+        when:
+        String body = client.toBlocking().retrieve("/stats-aware/ok")
+        ServiceInstanceStats stats = loadBalancer.stats.first()
+
+        then:
+        body == "ok"
+        stats.outstandingRequests == 0
+        stats.latency > 0
+        stats.consecutiveFailures == 0
+
+        when:
+        client.toBlocking().retrieve("/stats-aware/error")
+
+        then:
+        thrown(HttpClientResponseException)
+        stats.outstandingRequests == 0
+        stats.consecutiveFailures == 1
+
+        when:
+        HttpResponse response = Flowable.fromPublisher(client.exchangeStream(HttpRequest.GET("/stats-aware/ok"))).blockingFirst()
+
+        then:
+        response.status() == HttpStatus.OK
+        stats.outstandingRequests == 0
+        stats.consecutiveFailures == 0
+
+        cleanup:
+        client.close()
+    }
+
+    private static ServiceInstance select(LoadBalancer loadBalancer) {
+        Flowable.fromPublisher(loadBalancer.select(null)).blockingFirst()
+    }
+
+    private static void record(StatsAwareLoadBalancer loadBalancer, ServiceInstance instance, long duration, Throwable error) {
+        loadBalancer.requestStarted(instance)
+        loadBalancer.requestCompleted(instance, duration, error)
+    }
+
+    @Controller("/stats-aware")
+    static class StatsAwareController {
+
+        @Get(uri = "/ok", produces = "text/plain")
+        String ok() {
+            "ok"
+        }
+
+        @Get("/error")
+        HttpResponse error() {
+            HttpResponse.serverError()
+        }
+    }
+}
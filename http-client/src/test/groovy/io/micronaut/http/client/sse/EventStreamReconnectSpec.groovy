@@ -0,0 +1,126 @@
+package io.micronaut.http.client.sse
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.http.HttpHeaders
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.MediaType
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.client.HttpClientConfiguration
+import io.micronaut.http.client.exceptions.HttpClientResponseException
+import io.micronaut.http.sse.Event
+import io.micronaut.runtime.server.EmbeddedServer
+import io.reactivex.Flowable
+import org.reactivestreams.Publisher
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.TimeUnit
+
+class EventStreamReconnectSpec extends Specification {
+
+    @Shared @AutoCleanup EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+            'spec.name': 'EventStreamReconnectSpec',
+            'micronaut.http.client.event-stream.reconnect': true,
+            'micronaut.http.client.event-stream.reconnect-delay': '10s',
+            'micronaut.http.client.event-stream.max-reconnect-attempts': 2
+    ])
+    @Shared @AutoCleanup RxSseClient sseClient = embeddedServer.applicationContext.createBean(RxSseClient, embeddedServer.getURL())
+
+    void setup() {
+        embeddedServer.applicationContext.getBean(ResumableController).lastEventIds.clear()
+    }
+
+    void "test the event stream configuration is bound"() {
+        when:
+        HttpClientConfiguration.EventStreamConfiguration configuration = embeddedServer.applicationContext.getBean(HttpClientConfiguration).eventStreamConfiguration
+
+        then:
+        configuration.reconnect
+        configuration.reconnectDelay == Duration.ofSeconds(10)
+        configuration.maxReconnectAttempts == 2
+        !configuration.maxEventSize.isPresent()
+    }
+
+    void "test a completed stream is resumed from the last event id after the server retry interval"() {
+        given:
+        ResumableController controller = embeddedServer.applicationContext.getBean(ResumableController)
+
+        when:"the server retry interval overrides the ten second reconnect delay"
+        List<Event<String>> events = sseClient.eventStream(HttpRequest.GET('/reconnect/resumable'), String)
+                .take(4)
+                .toList()
+                .timeout(5, TimeUnit.SECONDS)
+                .blockingGet()
+
+        then:
+        events*.data == ['one', 'two', 'three', 'four']
+        events*.id == ['1', '2', '3', '4']
+        controller.lastEventIds == ['', '2']
+    }
+
+    void "test the stream completes once the reconnect attempts are exhausted"() {
+        given:
+        ResumableController controller = embeddedServer.applicationContext.getBean(ResumableController)
+
+        when:
+        List<Event<String>> events = sseClient.eventStream(HttpRequest.GET('/reconnect/resumable'), String)
+                .toList()
+                .timeout(5, TimeUnit.SECONDS)
+                .blockingGet()
+
+        then:"the connections after the last event receive no events so they count as attempts"
+        events*.data == ['one', 'two', 'three', 'four']
+        controller.lastEventIds == ['', '2', '4', '4']
+    }
+
+    void "test error responses are not reconnected"() {
+        when:
+        sseClient.eventStream(HttpRequest.GET('/reconnect/missing'), String)
+                .toList()
+                .timeout(5, TimeUnit.SECONDS)
+                .blockingGet()
+
+        then:
+        HttpClientResponseException e = thrown()
+        e.status == HttpStatus.NOT_FOUND
+    }
+
+    @Controller('/reconnect')
+    @Requires(property = 'spec.name', value = 'EventStreamReconnectSpec')
+    static class ResumableController {
+
+        final List<String> lastEventIds = new CopyOnWriteArrayList<>()
+
+        @Get(uri = '/resumable', produces = MediaType.TEXT_EVENT_STREAM)
+        Publisher<Event<String>> resumable(HttpRequest<?> request) {
+            String lastEventId = request.headers.get(HttpHeaders.LAST_EVENT_ID) ?: ''
+            lastEventIds.add(lastEventId)
+            switch (lastEventId) {
+                case '':
+                    return Flowable.just(
+                            Event.of('one').id('1').retry(Duration.ofMillis(50)),
+                            Event.of('two').id('2')
+                    )
+                case '2':
+                    return Flowable.just(
+                            Event.of('three').id('3'),
+                            Event.of('four').id('4')
+                    )
+                default:
+                    return Flowable.empty()
+            }
+        }
+
+        @Get(uri = '/missing', produces = MediaType.TEXT_EVENT_STREAM)
+        HttpResponse missing() {
+            HttpResponse.notFound()
+        }
+    }
+}
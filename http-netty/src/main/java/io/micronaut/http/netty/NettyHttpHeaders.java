@@ -18,15 +18,28 @@ package io.micronaut.http.netty;
 
 import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.convert.ArgumentConversionContext;
+import io.micronaut.core.convert.ConversionContext;
 import io.micronaut.core.convert.ConversionService;
+import io.micronaut.core.type.Argument;
+import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.MutableHttpHeaders;
 import io.netty.handler.codec.http.DefaultHttpHeaders;
-
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.util.AsciiString;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.Set;
 
 /**
@@ -38,6 +51,23 @@ import java.util.Set;
 @Internal
 public class NettyHttpHeaders implements MutableHttpHeaders {
 
+    private static final ZoneId GMT = ZoneId.of("GMT");
+    private static final Map<String, AsciiString> HEADER_NAMES = new HashMap<>();
+
+    static {
+        // Netty hashes header names on every lookup unless they are AsciiString instances, which cache their hash
+        for (Field field : HttpHeaders.class.getFields()) {
+            if (Modifier.isStatic(field.getModifiers()) && field.getType() == String.class) {
+                try {
+                    String name = (String) field.get(null);
+                    HEADER_NAMES.put(name, AsciiString.cached(name));
+                } catch (IllegalAccessException e) {
+                    // ignore, the name is looked up as is
+                }
+            }
+        }
+    }
+
     final io.netty.handler.codec.http.HttpHeaders nettyHeaders;
     final ConversionService<?> conversionService;
 
@@ -67,17 +97,99 @@ public class NettyHttpHeaders implements MutableHttpHeaders {
 
     @Override
     public <T> Optional<T> get(CharSequence name, ArgumentConversionContext<T> conversionContext) {
-        String value = nettyHeaders.get(name);
+        String value = nettyHeaders.get(headerName(name));
         if (value != null) {
+            if (conversionContext.getArgument().getType() == String.class) {
+                //noinspection unchecked
+                return (Optional<T>) Optional.of(value);
+            }
             return conversionService.convert(value, conversionContext);
         }
         return Optional.empty();
 
     }
 
+    @Override
+    public <T> Optional<T> getFirst(CharSequence name, Argument<T> requiredType) {
+        String value = nettyHeaders.get(headerName(name));
+        if (value != null) {
+            if (requiredType.getType() == String.class) {
+                //noinspection unchecked
+                return (Optional<T>) Optional.of(value);
+            }
+            return conversionService.convert(value, ConversionContext.of(requiredType));
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<String> findFirst(CharSequence name) {
+        return Optional.ofNullable(nettyHeaders.get(headerName(name)));
+    }
+
+    @Override
+    public boolean contains(String name) {
+        return nettyHeaders.contains(headerName(name));
+    }
+
+    @Override
+    public Optional<ZonedDateTime> findDate(CharSequence name) {
+        try {
+            long millis = nettyHeaders.getTimeMillis(headerName(name), -1);
+            if (millis == -1) {
+                return Optional.empty();
+            }
+            return Optional.of(ZonedDateTime.ofInstant(Instant.ofEpochMilli(millis), GMT));
+        } catch (Exception e) {
+            // Netty rethrows the ParseException of an invalid date unchecked
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public OptionalLong contentLength() {
+        long contentLength = getLong(HttpHeaders.CONTENT_LENGTH, -1);
+        return contentLength > -1 ? OptionalLong.of(contentLength) : OptionalLong.empty();
+    }
+
+    @Override
+    public boolean isKeepAlive() {
+        return nettyHeaders.containsValue(headerName(HttpHeaders.CONNECTION), HttpHeaderValues.KEEP_ALIVE, true);
+    }
+
+    /**
+     * Obtain an integer header without boxing the value.
+     *
+     * @param name         The header name
+     * @param defaultValue The value to return if the header is not present or is not a number
+     * @return The value of the header or the default value
+     */
+    public int getInt(CharSequence name, int defaultValue) {
+        return nettyHeaders.getInt(headerName(name), defaultValue);
+    }
+
+    /**
+     * Obtain a long header without boxing the value.
+     *
+     * @param name         The header name
+     * @param defaultValue The value to return if the header is not present or is not a number
+     * @return The value of the header or the default value
+     */
+    public long getLong(CharSequence name, long defaultValue) {
+        String value = nettyHeaders.get(headerName(name));
+        if (value != null) {
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                return defaultValue;
+            }
+        }
+        return defaultValue;
+    }
+
     @Override
     public List<String> getAll(CharSequence name) {
-        return nettyHeaders.getAll(name);
+        return nettyHeaders.getAll(headerName(name));
     }
 
     @Override
@@ -97,17 +209,33 @@ public class NettyHttpHeaders implements MutableHttpHeaders {
 
     @Override
     public String get(CharSequence name) {
-        return nettyHeaders.get(name);
+        return nettyHeaders.get(headerName(name));
     }
 
     @Override
     public MutableHttpHeaders add(CharSequence header, CharSequence value) {
-        nettyHeaders.add(header, value);
+        nettyHeaders.add(headerName(header), value);
         return this;
     }
 
     @Override
     public void remove(CharSequence header) {
-        nettyHeaders.remove(header);
+        nettyHeaders.remove(headerName(header));
+    }
+
+    /**
+     * Resolves the interned {@link AsciiString} instance of a well known header name.
+     *
+     * @param name The header name
+     * @return The interned name or the given name if it is not a well known header
+     */
+    static CharSequence headerName(CharSequence name) {
+        if (name instanceof String) {
+            AsciiString interned = HEADER_NAMES.get(name);
+            if (interned != null) {
+                return interned;
+            }
+        }
+        return name;
     }
 }
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.netty.channel;
+
+import io.netty.channel.EventLoopGroup;
+
+/**
+ * Listener notified of the lifecycle of the Netty {@link EventLoopGroup} instances created by Micronaut. Beans of this
+ * type can be used to monitor the event loops, for example to publish metrics or detect blocking calls.
+ *
+ * @author agent
+ * @since 1.0
+ */
+public interface EventLoopGroupListener {
+
+    /**
+     * The name of the server worker event loop group.
+     */
+    String SERVER_WORKER = "server-worker";
+
+    /**
+     * The name of the server parent event loop group.
+     */
+    String SERVER_PARENT = "server-parent";
+
+    /**
+     * Invoked once the event loop group is created and before it accepts channels.
+     *
+     * @param name           The name of the event loop group
+     * @param eventLoopGroup The event loop group
+     */
+    default void onStarted(String name, EventLoopGroup eventLoopGroup) {
+    }
+
+    /**
+     * Invoked when the event loop group is shut down.
+     *
+     * @param name           The name of the event loop group
+     * @param eventLoopGroup The event loop group
+     */
+    default void onStopped(String name, EventLoopGroup eventLoopGroup) {
+    }
+}
@@ -26,6 +26,7 @@ import io.netty.handler.codec.http.cookie.ServerCookieDecoder;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -33,15 +34,19 @@ import java.util.Optional;
 import java.util.Set;
 
 /**
- * Delegates to {@link Cookie}.
+ * Delegates to {@link Cookie}. The {@code Cookie} header is decoded lazily, looking up a cookie by name only
+ * decodes the matching cookie and the remaining cookies are decoded the first time all cookies are requested.
  *
  * @author Graeme Rocher
  * @since 1.0
  */
 public class NettyCookies implements Cookies {
 
+    private final String path;
+    private final String header;
     private final ConversionService<?> conversionService;
-    private final Map<CharSequence, Cookie> cookies;
+    private Map<CharSequence, Cookie> decoded;
+    private Map<CharSequence, Cookie> cookies;
 
     /**
      * @param path              The path
@@ -49,35 +54,33 @@ public class NettyCookies implements Cookies {
      * @param conversionService The conversion service
      */
     public NettyCookies(String path, HttpHeaders nettyHeaders, ConversionService conversionService) {
+        this.path = path;
         this.conversionService = conversionService;
-        String value = nettyHeaders.get(HttpHeaderNames.COOKIE);
-        if (value != null) {
-            cookies = new LinkedHashMap<>();
-            Set<io.netty.handler.codec.http.cookie.Cookie> nettyCookies = ServerCookieDecoder.LAX.decode(value);
-            for (io.netty.handler.codec.http.cookie.Cookie nettyCookie : nettyCookies) {
-                String cookiePath = nettyCookie.path();
-                if (cookiePath != null) {
-                    if (path.startsWith(cookiePath)) {
-                        cookies.put(nettyCookie.name(), new NettyCookie(nettyCookie));
-                    }
-                } else {
-                    cookies.put(nettyCookie.name(), new NettyCookie(nettyCookie));
-                }
-            }
-        } else {
-            cookies = Collections.emptyMap();
-        }
+        this.header = nettyHeaders.get(HttpHeaderNames.COOKIE);
     }
 
     @Override
     public Set<Cookie> getAll() {
-        return new HashSet<>(cookies.values());
+        return new HashSet<>(cookies().values());
     }
 
     @Override
     public Optional<Cookie> findCookie(CharSequence name) {
-        Cookie cookie = cookies.get(name);
-        return cookie != null ? Optional.of(cookie) : Optional.empty();
+        if (cookies != null) {
+            return Optional.ofNullable(cookies.get(name));
+        }
+        if (header == null) {
+            return Optional.empty();
+        }
+        if (decoded != null && decoded.containsKey(name)) {
+            return Optional.ofNullable(decoded.get(name));
+        }
+        Cookie cookie = decode(name);
+        if (decoded == null) {
+            decoded = new HashMap<>(4);
+        }
+        decoded.put(name, cookie);
+        return Optional.ofNullable(cookie);
     }
 
     @Override
@@ -97,6 +100,69 @@ public class NettyCookies implements Cookies {
 
     @Override
     public Collection<Cookie> values() {
-        return Collections.unmodifiableCollection(cookies.values());
+        return Collections.unmodifiableCollection(cookies().values());
+    }
+
+    /**
+     * Decodes the first cookie with the given name, skipping over the other cookies in the header.
+     *
+     * @param name The cookie name
+     * @return The cookie or null if the header does not contain it
+     */
+    private Cookie decode(CharSequence name) {
+        String cookieName = name.toString();
+        int length = header.length();
+        int start = 0;
+        while (start < length) {
+            int end = header.indexOf(';', start);
+            if (end == -1) {
+                end = length;
+            }
+            int nameStart = start;
+            while (nameStart < end && Character.isWhitespace(header.charAt(nameStart))) {
+                nameStart++;
+            }
+            int nameEnd = nameStart + cookieName.length();
+            if (nameEnd <= end && header.startsWith(cookieName, nameStart)) {
+                int i = nameEnd;
+                while (i < end && Character.isWhitespace(header.charAt(i))) {
+                    i++;
+                }
+                if (i == end || header.charAt(i) == '=') {
+                    for (io.netty.handler.codec.http.cookie.Cookie nettyCookie : ServerCookieDecoder.LAX.decode(header.substring(nameStart, end))) {
+                        if (isOnPath(nettyCookie)) {
+                            return new NettyCookie(nettyCookie);
+                        }
+                    }
+                }
+            }
+            start = end + 1;
+        }
+        return null;
+    }
+
+    private Map<CharSequence, Cookie> cookies() {
+        Map<CharSequence, Cookie> cookies = this.cookies;
+        if (cookies == null) {
+            if (header != null) {
+                cookies = new LinkedHashMap<>();
+                Set<io.netty.handler.codec.http.cookie.Cookie> nettyCookies = ServerCookieDecoder.LAX.decode(header);
+                for (io.netty.handler.codec.http.cookie.Cookie nettyCookie : nettyCookies) {
+                    if (isOnPath(nettyCookie)) {
+                        cookies.put(nettyCookie.name(), new NettyCookie(nettyCookie));
+                    }
+                }
+            } else {
+                cookies = Collections.emptyMap();
+            }
+            this.cookies = cookies;
+            this.decoded = null;
+        }
+        return cookies;
+    }
+
+    private boolean isOnPath(io.netty.handler.codec.http.cookie.Cookie nettyCookie) {
+        String cookiePath = nettyCookie.path();
+        return cookiePath == null || path.startsWith(cookiePath);
     }
 }
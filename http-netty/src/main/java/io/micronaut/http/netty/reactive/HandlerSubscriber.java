@@ -294,7 +294,9 @@ public class HandlerSubscriber<T> extends ChannelDuplexHandler implements Subscr
     }
 
     private void maybeRequestMore() {
-        if (outstandingDemand <= demandLowWatermark && ctx.channel().isWritable()) {
+        // demand is only signalled while the outbound buffer of the channel is below its high water mark, once it
+        // drains below the low water mark channelWritabilityChanged is fired and demand resumes
+        if (state == RUNNING && outstandingDemand <= demandLowWatermark && ctx.channel().isWritable()) {
             long toRequest = demandHighWatermark - outstandingDemand;
 
             outstandingDemand = demandHighWatermark;
@@ -0,0 +1,263 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.server.netty;
+
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpStatusClass;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.util.ReferenceCountUtil;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the {@link AdmissionController} to the requests of a connection. The handler sits directly behind the HTTP
+ * codec so rejected requests are answered with a {@code 503} response before their body is decompressed or decoded,
+ * and their content is discarded. The permit of an admitted request is released when the last content of its response
+ * is written.
+ *
+ * <p>While a request waits for a permit reading from the connection is suspended. Pipelined requests are answered in
+ * order, so a request rejected while earlier responses are still pending is answered after them and the connection is
+ * closed.</p>
+ *
+ * @author agent
+ * @since 1.0
+ */
+class AdmissionControlHandler extends ChannelDuplexHandler {
+
+    static final String ID = "admission-control";
+
+    private static final long NO_PERMIT = -1;
+
+    private final AdmissionController controller;
+    private final ArrayDeque<Long> inflight = new ArrayDeque<>();
+    private List<Object> buffered = new ArrayList<>();
+    private PendingRequest pending;
+    private boolean rejectionDeferred;
+    private boolean discarding;
+    private boolean readRequested;
+    private boolean autoRead;
+
+    /**
+     * @param controller The admission controller
+     */
+    AdmissionControlHandler(AdmissionController controller) {
+        this.controller = controller;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        if (pending != null) {
+            buffered.add(msg);
+        } else if (discarding || rejectionDeferred) {
+            if (msg instanceof LastHttpContent) {
+                discarding = false;
+            }
+            ReferenceCountUtil.release(msg);
+        } else if (msg instanceof HttpRequest) {
+            admit(ctx, (HttpRequest) msg);
+        } else {
+            ctx.fireChannelRead(msg);
+        }
+    }
+
+    @Override
+    public void read(ChannelHandlerContext ctx) {
+        if (pending != null || rejectionDeferred) {
+            readRequested = true;
+        } else {
+            ctx.read();
+        }
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+        ctx.write(msg, promise);
+        if (msg instanceof LastHttpContent && !isInformational(msg)) {
+            Long start = inflight.poll();
+            if (start != null && start != NO_PERMIT) {
+                controller.release(System.nanoTime() - start, false);
+            }
+            if (inflight.isEmpty() && rejectionDeferred) {
+                writeRejection(ctx, false);
+            }
+        }
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        if (pending != null) {
+            if (!controller.cancel(pending)) {
+                // admitted but not yet resumed on the event loop
+                controller.cancelPermit();
+            }
+            pending.cancelTimeout();
+            pending = null;
+        }
+        Long start;
+        while ((start = inflight.poll()) != null) {
+            if (start != NO_PERMIT) {
+                controller.release(System.nanoTime() - start, true);
+            }
+        }
+        for (Object msg : buffered) {
+            ReferenceCountUtil.release(msg);
+        }
+        buffered.clear();
+        super.channelInactive(ctx);
+    }
+
+    private void admit(ChannelHandlerContext ctx, HttpRequest request) {
+        AdmissionController.Priority priority = controller.priorityOf(path(request.uri()));
+        if (priority == AdmissionController.Priority.CRITICAL) {
+            inflight.add(NO_PERMIT);
+            ctx.fireChannelRead(request);
+        } else if (controller.tryAcquire(priority)) {
+            inflight.add(System.nanoTime());
+            ctx.fireChannelRead(request);
+        } else if (priority == AdmissionController.Priority.NORMAL) {
+            PendingRequest waiter = new PendingRequest(ctx, request);
+            pending = waiter;
+            autoRead = ctx.channel().config().isAutoRead();
+            ctx.channel().config().setAutoRead(false);
+            if (controller.offer(waiter)) {
+                waiter.timeout = ctx.executor().schedule(() -> expire(ctx, waiter), controller.getQueueTimeoutNanos(), TimeUnit.NANOSECONDS);
+            } else {
+                pending = null;
+                reject(ctx, request);
+                resume(ctx);
+            }
+        } else {
+            reject(ctx, request);
+        }
+    }
+
+    private void admitted(ChannelHandlerContext ctx, PendingRequest waiter) {
+        if (pending != waiter) {
+            // the connection was closed while the request was admitted
+            return;
+        }
+        waiter.cancelTimeout();
+        pending = null;
+        inflight.add(System.nanoTime());
+        ctx.fireChannelRead(waiter.request);
+        resume(ctx);
+    }
+
+    private void expire(ChannelHandlerContext ctx, PendingRequest waiter) {
+        if (pending == waiter && controller.cancel(waiter)) {
+            pending = null;
+            reject(ctx, waiter.request);
+            resume(ctx);
+        }
+    }
+
+    private void resume(ChannelHandlerContext ctx) {
+        List<Object> messages = buffered;
+        buffered = new ArrayList<>();
+        for (Object msg : messages) {
+            channelRead(ctx, msg);
+        }
+        if (pending == null && !rejectionDeferred) {
+            if (autoRead) {
+                ctx.channel().config().setAutoRead(true);
+            }
+            if (readRequested) {
+                readRequested = false;
+                ctx.read();
+            }
+        }
+    }
+
+    private void reject(ChannelHandlerContext ctx, HttpRequest request) {
+        controller.rejected();
+        discarding = !(request instanceof LastHttpContent);
+        if (inflight.isEmpty()) {
+            writeRejection(ctx, HttpUtil.isKeepAlive(request));
+        } else {
+            // answer in order once the responses of the earlier requests are written
+            rejectionDeferred = true;
+            ctx.channel().config().setAutoRead(false);
+        }
+        ReferenceCountUtil.release(request);
+    }
+
+    private void writeRejection(ChannelHandlerContext ctx, boolean keepAlive) {
+        FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.SERVICE_UNAVAILABLE);
+        response.headers()
+            .set(HttpHeaderNames.CONTENT_LENGTH, 0)
+            .set(HttpHeaderNames.RETRY_AFTER, controller.getRetryAfterSeconds());
+        if (!keepAlive) {
+            response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
+        }
+        ChannelFuture future = ctx.writeAndFlush(response);
+        if (!keepAlive) {
+            future.addListener(ChannelFutureListener.CLOSE);
+        }
+    }
+
+    private static boolean isInformational(Object msg) {
+        return msg instanceof HttpResponse && ((HttpResponse) msg).status().codeClass() == HttpStatusClass.INFORMATIONAL;
+    }
+
+    private static String path(String uri) {
+        int i = uri.indexOf('?');
+        return i > -1 ? uri.substring(0, i) : uri;
+    }
+
+    /**
+     * A request of this connection waiting for a permit.
+     */
+    private final class PendingRequest extends AdmissionController.Waiter {
+
+        private final ChannelHandlerContext ctx;
+        private final HttpRequest request;
+        private ScheduledFuture<?> timeout;
+
+        PendingRequest(ChannelHandlerContext ctx, HttpRequest request) {
+            this.ctx = ctx;
+            this.request = request;
+        }
+
+        @Override
+        void admitted() {
+            ctx.executor().execute(() -> AdmissionControlHandler.this.admitted(ctx, this));
+        }
+
+        private void cancelTimeout() {
+            if (timeout != null) {
+                timeout.cancel(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.server.netty;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.util.PathMatcher;
+import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration;
+import io.micronaut.retry.limit.ConcurrencyLimiter;
+
+import javax.inject.Singleton;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits the number of requests processed concurrently by the {@link NettyHttpServer}. The limit is either fixed or
+ * adapted from the latency of the requests by one of the {@link io.micronaut.retry.limit.LimitAlgorithm} algorithms.
+ * Requests over the limit wait in a bounded queue or are rejected straight away with a {@code 503} response, before
+ * their body is decoded.
+ *
+ * <p>Critical requests, such as health checks, are never rejected and are not counted against the limit, while low
+ * priority requests are only admitted while the number of requests in flight is below a share of the limit.</p>
+ *
+ * @author agent
+ * @since 1.0
+ */
+@Singleton
+@Requires(property = NettyHttpServerConfiguration.AdmissionControl.PREFIX + ".enabled", value = "true")
+public class AdmissionController {
+
+    private final ConcurrencyLimiter limiter;
+    private final int maxQueued;
+    private final long queueTimeoutNanos;
+    private final long retryAfterSeconds;
+    private final double lowPriorityShare;
+    private final List<String> criticalPaths;
+    private final List<String> lowPriorityPaths;
+    private final Deque<Waiter> queue = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder queuedTotal = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param configuration The admission control configuration
+     */
+    public AdmissionController(NettyHttpServerConfiguration.AdmissionControl configuration) {
+        int maxConcurrency = configuration.getMaxConcurrency();
+        int minConcurrency = Math.min(configuration.getMinConcurrency(), maxConcurrency);
+        this.limiter = new ConcurrencyLimiter(configuration.getAlgorithm().newLimit(minConcurrency, maxConcurrency), 0);
+        this.maxQueued = Math.max(configuration.getMaxQueued(), 0);
+        this.queueTimeoutNanos = configuration.getQueueTimeout().toNanos();
+        this.retryAfterSeconds = Math.max(1, configuration.getRetryAfter().getSeconds());
+        this.lowPriorityShare = configuration.getLowPriorityShare();
+        this.criticalPaths = configuration.getCriticalPaths();
+        this.lowPriorityPaths = configuration.getLowPriorityPaths();
+    }
+
+    /**
+     * @return The current concurrency limit
+     */
+    public int getLimit() {
+        return limiter.getLimit();
+    }
+
+    /**
+     * @return The number of requests in flight, excluding critical requests
+     */
+    public int getInflight() {
+        return limiter.getInflight();
+    }
+
+    /**
+     * @return The number of requests waiting for the limit
+     */
+    public int getQueued() {
+        return queued.get();
+    }
+
+    /**
+     * @return The number of requests that had to wait for the limit so far
+     */
+    public long getQueuedTotal() {
+        return queuedTotal.sum();
+    }
+
+    /**
+     * @return The number of requests rejected so far
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * @return The number of seconds sent in the {@code Retry-After} header of rejected requests
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    /**
+     * @return The time a request may wait for the limit in nanoseconds
+     */
+    long getQueueTimeoutNanos() {
+        return queueTimeoutNanos;
+    }
+
+    /**
+     * Resolves the priority of a request.
+     *
+     * @param path The request path
+     * @return The priority
+     */
+    Priority priorityOf(String path) {
+        for (String pattern : criticalPaths) {
+            if (PathMatcher.ANT.matches(pattern, path)) {
+                return Priority.CRITICAL;
+            }
+        }
+        for (String pattern : lowPriorityPaths) {
+            if (PathMatcher.ANT.matches(pattern, path)) {
+                return Priority.LOW;
+            }
+        }
+        return Priority.NORMAL;
+    }
+
+    /**
+     * Acquires a permit for a request without waiting.
+     *
+     * @param priority The priority of the request
+     * @return Whether the permit was acquired
+     */
+    boolean tryAcquire(Priority priority) {
+        if (priority == Priority.LOW && limiter.getInflight() >= limiter.getLimit() * lowPriorityShare) {
+            return false;
+        }
+        if (priority == Priority.NORMAL && queued.get() > 0) {
+            // requests that are already waiting go first
+            return false;
+        }
+        return limiter.tryAcquire();
+    }
+
+    /**
+     * Queues a request until a permit is available. The waiter is admitted from the thread that releases the
+     * permit.
+     *
+     * @param waiter The waiter
+     * @return Whether the request was queued, false if the queue is full
+     */
+    boolean offer(Waiter waiter) {
+        while (true) {
+            int current = queued.get();
+            if (current >= maxQueued) {
+                return false;
+            }
+            if (queued.compareAndSet(current, current + 1)) {
+                break;
+            }
+        }
+        queuedTotal.increment();
+        queue.offerLast(waiter);
+        drain();
+        return true;
+    }
+
+    /**
+     * Removes a waiter whose queue timeout elapsed or whose connection closed.
+     *
+     * @param waiter The waiter
+     * @return Whether the waiter was still waiting, false if it was admitted in the meantime
+     */
+    boolean cancel(Waiter waiter) {
+        if (waiter.complete()) {
+            queued.decrementAndGet();
+            queue.remove(waiter);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Releases the permit of a completed request and admits the next waiting request.
+     *
+     * @param rttNanos The time the request took in nanoseconds
+     * @param dropped  Whether the request was abandoned before a response was written
+     */
+    void release(long rttNanos, boolean dropped) {
+        limiter.release(rttNanos, dropped);
+        drain();
+    }
+
+    /**
+     * Returns the permit of a request that was admitted but never processed, because its connection closed, and
+     * admits the next waiting request.
+     */
+    void cancelPermit() {
+        limiter.cancel();
+        drain();
+    }
+
+    /**
+     * Records a rejected request.
+     */
+    void rejected() {
+        rejected.increment();
+    }
+
+    private void drain() {
+        while (!queue.isEmpty()) {
+            if (!limiter.tryAcquire()) {
+                return;
+            }
+            Waiter waiter;
+            do {
+                waiter = queue.pollFirst();
+            } while (waiter != null && !waiter.complete());
+            if (waiter == null) {
+                limiter.cancel();
+                return;
+            }
+            queued.decrementAndGet();
+            waiter.admitted();
+        }
+    }
+
+    /**
+     * The priority of a request.
+     */
+    enum Priority {
+        LOW, NORMAL, CRITICAL
+    }
+
+    /**
+     * A request waiting for a permit.
+     */
+    abstract static class Waiter {
+
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        /**
+         * Invoked with the permit held once the request is admitted.
+         */
+        abstract void admitted();
+
+        private boolean complete() {
+            return done.compareAndSet(false, true);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.server.netty;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.netty.channel.EventLoopGroupListener;
+import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration;
+import io.micronaut.scheduling.TaskScheduler;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.EventExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import javax.annotation.PreDestroy;
+import javax.inject.Singleton;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Detects event loop threads that are blocked, typically by blocking I/O performed in a reactive handler. At each
+ * check interval a probe task is submitted to every event loop. When a probe has not run after the configured
+ * threshold a warning is logged together with the stack trace of the event loop thread, which points to the blocking
+ * code.
+ *
+ * @author agent
+ * @since 1.0
+ */
+@Singleton
+@Requires(property = NettyHttpServerConfiguration.BlockedThreadDetection.PREFIX + ".enabled", value = "true")
+public class BlockedEventLoopDetector implements EventLoopGroupListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BlockedEventLoopDetector.class);
+
+    private final TaskScheduler taskScheduler;
+    private final long thresholdNanos;
+    private final Duration interval;
+    private final List<Probe> probes = new CopyOnWriteArrayList<>();
+    private ScheduledFuture<?> checkTask;
+
+    /**
+     * @param configuration The blocked thread detection configuration
+     * @param taskScheduler The task scheduler used to check the event loops
+     */
+    public BlockedEventLoopDetector(NettyHttpServerConfiguration.BlockedThreadDetection configuration, TaskScheduler taskScheduler) {
+        this.taskScheduler = taskScheduler;
+        this.thresholdNanos = configuration.getThreshold().toNanos();
+        this.interval = configuration.getInterval();
+    }
+
+    @Override
+    public synchronized void onStarted(String name, EventLoopGroup eventLoopGroup) {
+        for (EventExecutor executor : eventLoopGroup) {
+            probes.add(new Probe(name, executor));
+        }
+        if (checkTask == null) {
+            checkTask = taskScheduler.scheduleAtFixedRate(interval, interval, this::check);
+        }
+    }
+
+    @Override
+    public synchronized void onStopped(String name, EventLoopGroup eventLoopGroup) {
+        List<Probe> stopped = new ArrayList<>();
+        for (EventExecutor executor : eventLoopGroup) {
+            for (Probe probe : probes) {
+                if (probe.executor == executor) {
+                    stopped.add(probe);
+                }
+            }
+        }
+        probes.removeAll(stopped);
+        if (probes.isEmpty()) {
+            close();
+        }
+    }
+
+    /**
+     * Stops checking the event loops.
+     */
+    @PreDestroy
+    public synchronized void close() {
+        if (checkTask != null) {
+            checkTask.cancel(false);
+            checkTask = null;
+        }
+    }
+
+    /**
+     * Invoked once an event loop thread has been blocked for longer than the threshold. Logs a warning with the
+     * stack trace of the blocked thread.
+     *
+     * @param groupName     The name of the event loop group
+     * @param thread        The blocked thread or null if the event loop has not run a probe yet
+     * @param blockedMillis The time the thread has been blocked for in milliseconds
+     */
+    protected void onBlocked(String groupName, @Nullable Thread thread, long blockedMillis) {
+        if (LOG.isWarnEnabled()) {
+            String threadName = thread != null ? thread.getName() : "unknown";
+            String message = "Event loop thread [" + threadName + "] of group [" + groupName + "] has been blocked for " + blockedMillis + "ms";
+            if (thread != null) {
+                BlockedThreadException stackTrace = new BlockedThreadException(message);
+                stackTrace.setStackTrace(thread.getStackTrace());
+                LOG.warn(message, stackTrace);
+            } else {
+                LOG.warn(message);
+            }
+        }
+    }
+
+    private void check() {
+        long now = System.nanoTime();
+        for (Probe probe : probes) {
+            probe.check(now);
+        }
+    }
+
+    /**
+     * Tracks the probe task submitted to a single event loop.
+     */
+    private final class Probe implements Runnable {
+
+        private static final long IDLE = Long.MIN_VALUE;
+
+        private final String groupName;
+        private final EventExecutor executor;
+        private volatile long submittedAt = IDLE;
+        private volatile Thread thread;
+        private boolean reported;
+
+        Probe(String groupName, EventExecutor executor) {
+            this.groupName = groupName;
+            this.executor = executor;
+        }
+
+        @Override
+        public void run() {
+            thread = Thread.currentThread();
+            submittedAt = IDLE;
+        }
+
+        void check(long now) {
+            long submitted = submittedAt;
+            if (submitted == IDLE) {
+                if (executor.isShuttingDown()) {
+                    return;
+                }
+                reported = false;
+                submittedAt = now;
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    submittedAt = IDLE;
+                }
+            } else if (!reported && now - submitted > thresholdNanos) {
+                reported = true;
+                onBlocked(groupName, thread, TimeUnit.NANOSECONDS.toMillis(now - submitted));
+            }
+        }
+    }
+
+    /**
+     * Carries the stack trace of a blocked thread.
+     */
+    private static final class BlockedThreadException extends Exception {
+        BlockedThreadException(String message) {
+            super(message, null, false, true);
+        }
+    }
+}
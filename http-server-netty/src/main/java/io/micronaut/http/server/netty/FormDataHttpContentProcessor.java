@@ -17,18 +17,21 @@
 package io.micronaut.http.server.netty;
 
 import io.micronaut.http.MediaType;
+import io.micronaut.http.server.netty.multipart.MultipartDataFactory;
 import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration;
 import io.netty.buffer.ByteBufHolder;
 import io.netty.handler.codec.http.HttpContent;
 import io.netty.handler.codec.http.multipart.Attribute;
-import io.netty.handler.codec.http.multipart.DefaultHttpDataFactory;
 import io.netty.handler.codec.http.multipart.FileUpload;
 import io.netty.handler.codec.http.multipart.HttpData;
+import io.netty.handler.codec.http.multipart.HttpDataFactory;
 import io.netty.handler.codec.http.multipart.HttpPostRequestDecoder;
 import io.netty.handler.codec.http.multipart.InterfaceHttpData;
 import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
 
 import java.nio.charset.Charset;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * <p>Decodes {@link MediaType#MULTIPART_FORM_DATA} in a non-blocking manner.</p>
@@ -42,16 +45,24 @@ public class FormDataHttpContentProcessor extends AbstractHttpContentProcessor<H
 
     private final HttpPostRequestDecoder decoder;
     private final boolean enabled;
+    private final AtomicBoolean destroyed = new AtomicBoolean(false);
 
     /**
      * @param nettyHttpRequest The {@link NettyHttpRequest}
      * @param configuration    The {@link NettyHttpServerConfiguration}
      */
     public FormDataHttpContentProcessor(NettyHttpRequest<?> nettyHttpRequest, NettyHttpServerConfiguration configuration) {
+        this(nettyHttpRequest, configuration, createFactory(nettyHttpRequest, configuration));
+    }
+
+    /**
+     * @param nettyHttpRequest The {@link NettyHttpRequest}
+     * @param configuration    The {@link NettyHttpServerConfiguration}
+     * @param factory          The factory used to store the decoded data, which may be shared between requests
+     */
+    public FormDataHttpContentProcessor(NettyHttpRequest<?> nettyHttpRequest, NettyHttpServerConfiguration configuration, HttpDataFactory factory) {
         super(nettyHttpRequest, configuration);
         Charset characterEncoding = nettyHttpRequest.getCharacterEncoding();
-        DefaultHttpDataFactory factory = new DefaultHttpDataFactory(configuration.getMultipart().isDisk(), characterEncoding);
-        factory.setMaxLimit(configuration.getMultipart().getMaxFileSize());
         this.decoder = new HttpPostRequestDecoder(factory, nettyHttpRequest.getNativeRequest(), characterEncoding);
         this.enabled = nettyHttpRequest.getContentType().map(type -> type.equals(MediaType.APPLICATION_FORM_URLENCODED_TYPE)).orElse(false) ||
             configuration.getMultipart().isEnabled();
@@ -107,14 +118,46 @@ public class FormDataHttpContentProcessor extends AbstractHttpContentProcessor<H
         }
     }
 
+    @Override
+    protected void doOnSubscribe(Subscription subscription, Subscriber<? super HttpData> subscriber) {
+        subscriber.onSubscribe(new Subscription() {
+            @Override
+            public void request(long n) {
+                subscription.request(n);
+            }
+
+            @Override
+            public void cancel() {
+                try {
+                    subscription.cancel();
+                } finally {
+                    destroy();
+                }
+            }
+        });
+    }
+
     @Override
     protected void doAfterOnError(Throwable throwable) {
-        decoder.destroy();
+        destroy();
     }
 
     @Override
     protected void doAfterComplete() {
-        decoder.destroy();
+        destroy();
+    }
+
+    private void destroy() {
+        // the factory may be shared, so the data of the request must be cleaned exactly once
+        if (destroyed.compareAndSet(false, true)) {
+            decoder.destroy();
+        }
+    }
+
+    private static HttpDataFactory createFactory(NettyHttpRequest<?> nettyHttpRequest, NettyHttpServerConfiguration configuration) {
+        MultipartDataFactory factory = new MultipartDataFactory(configuration.getMultipart(), nettyHttpRequest.getCharacterEncoding());
+        factory.setMaxLimit(configuration.getMultipart().getMaxFileSize());
+        return factory;
     }
 
 }
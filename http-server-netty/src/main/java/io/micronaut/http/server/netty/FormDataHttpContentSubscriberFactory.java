@@ -19,6 +19,7 @@ package io.micronaut.http.server.netty;
 import io.micronaut.http.MediaType;
 import io.micronaut.http.annotation.Consumes;
 import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration;
+import io.micronaut.http.server.netty.multipart.MultipartDataFactory;
 
 import javax.inject.Singleton;
 
@@ -33,16 +34,19 @@ import javax.inject.Singleton;
 public class FormDataHttpContentSubscriberFactory implements HttpContentSubscriberFactory {
 
     private final NettyHttpServerConfiguration configuration;
+    private final MultipartDataFactory dataFactory;
 
     /**
      * @param configuration The {@link NettyHttpServerConfiguration}
      */
     public FormDataHttpContentSubscriberFactory(NettyHttpServerConfiguration configuration) {
         this.configuration = configuration;
+        this.dataFactory = new MultipartDataFactory(configuration.getMultipart(), configuration.getDefaultCharset());
+        this.dataFactory.setMaxLimit(configuration.getMultipart().getMaxFileSize());
     }
 
     @Override
     public HttpContentProcessor build(NettyHttpRequest request) {
-        return new FormDataHttpContentProcessor(request, configuration);
+        return new FormDataHttpContentProcessor(request, configuration, dataFactory);
     }
 }
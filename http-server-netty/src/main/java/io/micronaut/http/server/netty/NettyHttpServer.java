@@ -29,6 +29,7 @@ import io.micronaut.core.reflect.ReflectionUtils;
 import io.micronaut.discovery.event.ServiceShutdownEvent;
 import io.micronaut.discovery.event.ServiceStartedEvent;
 import io.micronaut.http.codec.MediaTypeCodecRegistry;
+import io.micronaut.http.netty.channel.EventLoopGroupListener;
 import io.micronaut.http.netty.channel.NettyThreadFactory;
 import io.micronaut.http.server.binding.RequestBinderRegistry;
 import io.micronaut.http.server.exceptions.ServerStartupException;
@@ -54,6 +55,7 @@ import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelOutboundHandler;
 import io.netty.channel.ChannelPipeline;
+import io.netty.channel.WriteBufferWaterMark;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.codec.http.HttpServerCodec;
@@ -67,6 +69,7 @@ import io.netty.util.concurrent.Future;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.io.File;
@@ -76,6 +79,10 @@ import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
@@ -120,6 +127,8 @@ public class NettyHttpServer implements EmbeddedServer {
     private NioEventLoopGroup workerGroup;
     private NioEventLoopGroup parentGroup;
     private EmbeddedServerInstance serviceInstance;
+    private List<EventLoopGroupListener> eventLoopGroupListeners = Collections.emptyList();
+    private AdmissionController admissionController;
 
     /**
      * @param serverConfiguration                     The Netty HTTP server configuration
@@ -173,6 +182,28 @@ public class NettyHttpServer implements EmbeddedServer {
         this.threadFactory = threadFactory;
     }
 
+    /**
+     * Sets the listeners notified when the event loop groups of the server are started and stopped.
+     *
+     * @param eventLoopGroupListeners The event loop group listeners
+     */
+    @Inject
+    public void setEventLoopGroupListeners(@Nullable Collection<EventLoopGroupListener> eventLoopGroupListeners) {
+        if (eventLoopGroupListeners != null) {
+            this.eventLoopGroupListeners = new ArrayList<>(eventLoopGroupListeners);
+        }
+    }
+
+    /**
+     * Sets the controller that limits the number of requests processed concurrently.
+     *
+     * @param admissionController The admission controller, null if admission control is disabled
+     */
+    @Inject
+    public void setAdmissionController(@Nullable AdmissionController admissionController) {
+        this.admissionController = admissionController;
+    }
+
     /**
      * @return The configuration for the server
      */
@@ -190,8 +221,16 @@ public class NettyHttpServer implements EmbeddedServer {
         if (!isRunning()) {
             workerGroup = createWorkerEventLoopGroup();
             parentGroup = createParentEventLoopGroup();
+            for (EventLoopGroupListener listener : eventLoopGroupListeners) {
+                listener.onStarted(EventLoopGroupListener.SERVER_WORKER, workerGroup);
+                listener.onStarted(EventLoopGroupListener.SERVER_PARENT, parentGroup);
+            }
             ServerBootstrap serverBootstrap = createServerBootstrap();
 
+            serverBootstrap.childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(
+                serverConfiguration.getWriteBufferLowWaterMark(),
+                serverConfiguration.getWriteBufferHighWaterMark()
+            ));
             processOptions(serverConfiguration.getOptions(), serverBootstrap::option);
             processOptions(serverConfiguration.getChildOptions(), serverBootstrap::childOption);
 
@@ -219,6 +258,9 @@ public class NettyHttpServer implements EmbeddedServer {
                                 serverConfiguration.isValidateHeaders(),
                                 serverConfiguration.getInitialBufferSize()
                         ));
+                        if (admissionController != null) {
+                            pipeline.addLast(AdmissionControlHandler.ID, new AdmissionControlHandler(admissionController));
+                        }
                         pipeline.addLast(new FlowControlHandler());
                         pipeline.addLast(new HttpServerKeepAliveHandler());
                         pipeline.addLast(HTTP_COMPRESSOR, new SmartHttpContentCompressor());
@@ -299,6 +341,10 @@ public class NettyHttpServer implements EmbeddedServer {
                         .addListener(this::logShutdownErrorIfNecessary);
                     parentGroup.shutdownGracefully()
                         .addListener(this::logShutdownErrorIfNecessary);
+                    for (EventLoopGroupListener listener : eventLoopGroupListeners) {
+                        listener.onStopped(EventLoopGroupListener.SERVER_WORKER, workerGroup);
+                        listener.onStopped(EventLoopGroupListener.SERVER_PARENT, parentGroup);
+                    }
                     applicationContext.publishEvent(new ServerShutdownEvent(this));
                     if (serviceInstance != null) {
                         applicationContext.publishEvent(new ServiceShutdownEvent(serviceInstance));
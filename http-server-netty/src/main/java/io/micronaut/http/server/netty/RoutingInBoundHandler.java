@@ -35,6 +35,7 @@ import io.micronaut.http.annotation.Produces;
 import io.micronaut.http.annotation.Status;
 import io.micronaut.http.codec.MediaTypeCodec;
 import io.micronaut.http.codec.MediaTypeCodecRegistry;
+import io.micronaut.http.context.ServerRequestContext;
 import io.micronaut.http.filter.HttpFilter;
 import io.micronaut.http.filter.HttpServerFilter;
 import io.micronaut.http.filter.ServerFilterChain;
@@ -93,11 +94,14 @@ import java.io.File;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
@@ -116,6 +120,7 @@ import java.util.stream.Collectors;
 class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.http.HttpRequest<?>> {
 
     private static final Logger LOG = LoggerFactory.getLogger(RoutingInBoundHandler.class);
+    private static final byte[] SSE_HEARTBEAT = ":\n".getBytes(StandardCharsets.UTF_8);
 
     private final Router router;
     private final ExecutorSelector executorSelector;
@@ -309,6 +314,15 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
 
     @Override
     protected void channelRead0(ChannelHandlerContext ctx, io.micronaut.http.HttpRequest<?> request) {
+        io.micronaut.http.HttpRequest<?> existing = ServerRequestContext.set(request);
+        try {
+            handleRequest(ctx, request);
+        } finally {
+            ServerRequestContext.set(existing);
+        }
+    }
+
+    private void handleRequest(ChannelHandlerContext ctx, io.micronaut.http.HttpRequest<?> request) {
         ctx.channel().config().setAutoRead(false);
         io.micronaut.http.HttpMethod httpMethod = request.getMethod();
         String requestPath = request.getPath();
@@ -754,11 +768,14 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
 
             private void executeRoute() {
                 if (executed.compareAndSet(false, true)) {
+                    io.micronaut.http.HttpRequest<?> existing = ServerRequestContext.set(request);
                     try {
                         routeMatch = prepareRouteForExecution(routeMatch, request);
                         routeMatch.execute();
                     } catch (Exception e) {
                         context.pipeline().fireExceptionCaught(e);
+                    } finally {
+                        ServerRequestContext.set(existing);
                     }
                 }
             }
@@ -1268,6 +1285,19 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
         }
 
         if (mediaType.equals(MediaType.TEXT_EVENT_STREAM_TYPE)) {
+            Optional<Duration> heartbeatInterval = serverConfiguration.getSseHeartbeatInterval();
+            if (heartbeatInterval.isPresent()) {
+                long interval = heartbeatInterval.get().toMillis();
+                // heartbeats are merged with a prefetch of one so that the demand of the channel is still what
+                // drives the event publisher and heartbeats are dropped rather than queued while it is not writable
+                httpContentPublisher = Flowable.fromPublisher(httpContentPublisher).publish(events -> Flowable.mergeArray(2, 1,
+                    events,
+                    Flowable.interval(interval, interval, TimeUnit.MILLISECONDS, Schedulers.from(context.channel().eventLoop()))
+                        .onBackpressureDrop()
+                        .map(tick -> (HttpContent) new DefaultHttpContent(Unpooled.wrappedBuffer(SSE_HEARTBEAT)))
+                        .takeUntil(events.ignoreElements().toFlowable())
+                ), 1);
+            }
             httpContentPublisher = Publishers.onComplete(httpContentPublisher, () -> {
                 CompletableFuture<Void> future = new CompletableFuture<>();
                 if (request == null || !request.getHeaders().isKeepAlive()) {
@@ -18,13 +18,17 @@ package io.micronaut.http.server.netty.configuration;
 
 import io.micronaut.context.annotation.ConfigurationProperties;
 import io.micronaut.core.convert.format.ReadableBytes;
+import io.micronaut.core.util.Toggleable;
 import io.micronaut.http.server.HttpServerConfiguration;
+import io.micronaut.retry.limit.LimitAlgorithm;
 import io.micronaut.runtime.ApplicationConfiguration;
 import io.netty.channel.ChannelOption;
 import io.netty.handler.logging.LogLevel;
 
 import javax.inject.Inject;
+import java.time.Duration;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalInt;
@@ -38,6 +42,16 @@ import java.util.OptionalInt;
 @ConfigurationProperties("netty")
 public class NettyHttpServerConfiguration extends HttpServerConfiguration {
 
+    /**
+     * The default high water mark of the outbound buffer of a connection.
+     */
+    public static final int DEFAULT_WRITE_BUFFER_HIGH_WATER_MARK = 64 * 1024;
+
+    /**
+     * The default low water mark of the outbound buffer of a connection.
+     */
+    public static final int DEFAULT_WRITE_BUFFER_LOW_WATER_MARK = 32 * 1024;
+
     protected Map<ChannelOption, Object> childOptions = Collections.emptyMap();
     protected Map<ChannelOption, Object> options = Collections.emptyMap();
     protected Worker worker;
@@ -52,6 +66,11 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
     protected boolean validateHeaders = true;
     protected int initialBufferSize = 128;
     protected LogLevel logLevel;
+    @ReadableBytes
+    protected int writeBufferHighWaterMark = DEFAULT_WRITE_BUFFER_HIGH_WATER_MARK;
+    @ReadableBytes
+    protected int writeBufferLowWaterMark = DEFAULT_WRITE_BUFFER_LOW_WATER_MARK;
+    protected Duration sseHeartbeatInterval;
 
     /**
      * Default empty constructor.
@@ -130,6 +149,36 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
         return initialBufferSize;
     }
 
+    /**
+     * The number of bytes that may be queued for writing to a connection before it is marked as not writable,
+     * at which point streamed responses stop requesting further items from their publisher. Defaults to 64KB.
+     *
+     * @return The high water mark of the outbound buffer
+     */
+    public int getWriteBufferHighWaterMark() {
+        return writeBufferHighWaterMark;
+    }
+
+    /**
+     * The number of bytes the outbound buffer of a connection must drain to before it is marked as writable again
+     * and streamed responses resume. Defaults to 32KB.
+     *
+     * @return The low water mark of the outbound buffer
+     */
+    public int getWriteBufferLowWaterMark() {
+        return writeBufferLowWaterMark;
+    }
+
+    /**
+     * The interval at which a comment is written to Server Sent Event streams that have not completed, so that
+     * proxies and clients do not consider idle streams dead. Disabled by default.
+     *
+     * @return The interval of the heartbeat comments
+     */
+    public Optional<Duration> getSseHeartbeatInterval() {
+        return Optional.ofNullable(sseHeartbeatInterval);
+    }
+
     /**
      * @return The Netty child channel options.
      * @see io.netty.bootstrap.ServerBootstrap#childOptions()
@@ -160,6 +209,140 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
         return parent;
     }
 
+    /**
+     * Configuration for the detection of event loop threads blocked by long running tasks.
+     */
+    @ConfigurationProperties("blocked-thread-detection")
+    public static class BlockedThreadDetection implements Toggleable {
+
+        /**
+         * The prefix of the blocked thread detection configuration.
+         */
+        public static final String PREFIX = "micronaut.server.netty.blocked-thread-detection";
+
+        protected boolean enabled = false;
+        protected Duration threshold = Duration.ofSeconds(1);
+        protected Duration interval = Duration.ofMillis(500);
+
+        /**
+         * @return Whether the detection of blocked event loop threads is enabled. Defaults to false.
+         */
+        @Override
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * @return The time an event loop may remain blocked before it is reported. Defaults to 1 second.
+         */
+        public Duration getThreshold() {
+            return threshold;
+        }
+
+        /**
+         * @return The interval at which the event loops are checked. Defaults to 500 milliseconds.
+         */
+        public Duration getInterval() {
+            return interval;
+        }
+    }
+
+    /**
+     * Configuration for the admission control that sheds requests when the server is overloaded.
+     */
+    @ConfigurationProperties("admission-control")
+    public static class AdmissionControl implements Toggleable {
+
+        /**
+         * The prefix of the admission control configuration.
+         */
+        public static final String PREFIX = "micronaut.server.netty.admission-control";
+
+        protected boolean enabled = false;
+        protected LimitAlgorithm algorithm = LimitAlgorithm.FIXED;
+        protected int maxConcurrency = 1000;
+        protected int minConcurrency = 10;
+        protected int maxQueued = 0;
+        protected Duration queueTimeout = Duration.ofSeconds(1);
+        protected Duration retryAfter = Duration.ofSeconds(1);
+        protected double lowPriorityShare = 0.8;
+        protected List<String> criticalPaths = Collections.emptyList();
+        protected List<String> lowPriorityPaths = Collections.emptyList();
+
+        /**
+         * @return Whether admission control is enabled. Defaults to false.
+         */
+        @Override
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * @return The algorithm used to compute the concurrency limit. Defaults to {@link LimitAlgorithm#FIXED}.
+         */
+        public LimitAlgorithm getAlgorithm() {
+            return algorithm;
+        }
+
+        /**
+         * @return The maximum number of requests processed concurrently, which is also the initial limit of the
+         * adaptive algorithms. Defaults to 1000.
+         */
+        public int getMaxConcurrency() {
+            return maxConcurrency;
+        }
+
+        /**
+         * @return The minimum concurrency limit of the adaptive algorithms. Defaults to 10.
+         */
+        public int getMinConcurrency() {
+            return minConcurrency;
+        }
+
+        /**
+         * @return The maximum number of requests that wait for the limit before further requests are rejected.
+         * Defaults to 0.
+         */
+        public int getMaxQueued() {
+            return maxQueued;
+        }
+
+        /**
+         * @return The time a request may wait for the limit before it is rejected. Defaults to 1 second.
+         */
+        public Duration getQueueTimeout() {
+            return queueTimeout;
+        }
+
+        /**
+         * @return The value of the {@code Retry-After} header sent with rejected requests. Defaults to 1 second.
+         */
+        public Duration getRetryAfter() {
+            return retryAfter;
+        }
+
+        /**
+         * @return The share of the limit available to low priority requests. Defaults to 0.8.
+         */
+        public double getLowPriorityShare() {
+            return lowPriorityShare;
+        }
+
+        /**
+         * @return The path patterns of requests that are never rejected, such as health checks
+         */
+        public List<String> getCriticalPaths() {
+            return criticalPaths;
+        }
+
+        /**
+         * @return The path patterns of requests that are rejected first and never queued
+         */
+        public List<String> getLowPriorityPaths() {
+            return lowPriorityPaths;
+        }
+    }
+
     /**
      * Configuration for Netty worker.
      */
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.server.netty.multipart;
+
+import io.micronaut.http.server.HttpServerConfiguration;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.multipart.Attribute;
+import io.netty.handler.codec.http.multipart.DefaultHttpDataFactory;
+import io.netty.handler.codec.http.multipart.DiskAttribute;
+import io.netty.handler.codec.http.multipart.DiskFileUpload;
+import io.netty.handler.codec.http.multipart.FileUpload;
+import io.netty.handler.codec.http.multipart.HttpData;
+import io.netty.handler.codec.http.multipart.HttpDataFactory;
+import io.netty.handler.codec.http.multipart.InterfaceHttpData;
+import io.netty.handler.codec.http.multipart.MemoryAttribute;
+import io.netty.handler.codec.http.multipart.MemoryFileUpload;
+import io.netty.handler.codec.http.multipart.MixedAttribute;
+import io.netty.handler.codec.http.multipart.MixedFileUpload;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link HttpDataFactory} shared by all requests that stores uploads in memory, on disk or in memory until they
+ * exceed the configured threshold depending on the {@link HttpServerConfiguration.MultipartConfiguration}.
+ *
+ * <p>Each file upload that is kept in memory reserves the most memory it can use, which is the threshold in mixed
+ * mode and the maximum file size otherwise. Once the reservations of a request or of all requests would exceed the
+ * configured limits further uploads are written straight to disk, so concurrent large uploads cannot exhaust the
+ * heap. The reservations are returned when the data of the request is cleaned.</p>
+ *
+ * <p>Unlike the {@link DefaultHttpDataFactory} the data is not deleted when the request is cleaned, which happens once
+ * the body has been decoded, since the route may still be reading or transferring it. Like any other
+ * {@link HttpData} it is deleted once it has been released.</p>
+ *
+ * @author agent
+ * @since 1.0
+ */
+public class MultipartDataFactory implements HttpDataFactory {
+
+    private final boolean disk;
+    private final boolean mixed;
+    private final long threshold;
+    private final long maxFileSize;
+    private final long maxRequestMemory;
+    private final long maxMemory;
+    private final Charset defaultCharset;
+    private final AtomicLong memory = new AtomicLong();
+    private final Map<HttpRequest, RequestData> requestData = Collections.synchronizedMap(new IdentityHashMap<>());
+    private volatile long maxLimit = DefaultHttpDataFactory.MAXSIZE;
+
+    /**
+     * @param configuration  The multipart configuration
+     * @param defaultCharset The charset to use for attributes when the request does not specify one
+     */
+    public MultipartDataFactory(HttpServerConfiguration.MultipartConfiguration configuration, Charset defaultCharset) {
+        this.disk = configuration.isDisk();
+        this.mixed = !disk && configuration.isMixed();
+        this.threshold = configuration.getThreshold();
+        this.maxFileSize = configuration.getMaxFileSize();
+        this.maxRequestMemory = configuration.getMaxRequestMemory();
+        this.maxMemory = configuration.getMaxMemory();
+        this.defaultCharset = defaultCharset != null ? defaultCharset : StandardCharsets.UTF_8;
+    }
+
+    /**
+     * @return The amount of memory reserved by the uploads of all requests
+     */
+    public long getMemory() {
+        return memory.get();
+    }
+
+    @Override
+    public void setMaxLimit(long maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    @Override
+    public Attribute createAttribute(HttpRequest request, String name) {
+        Charset charset = HttpUtil.getCharset(request, defaultCharset);
+        if (disk) {
+            return limit(new DiskAttribute(name, charset));
+        } else if (mixed) {
+            return limit(new MixedAttribute(name, threshold, charset));
+        }
+        return limit(new MemoryAttribute(name, charset));
+    }
+
+    @Override
+    public Attribute createAttribute(HttpRequest request, String name, long definedSize) {
+        Charset charset = HttpUtil.getCharset(request, defaultCharset);
+        if (disk) {
+            return limit(new DiskAttribute(name, definedSize, charset));
+        } else if (mixed) {
+            return limit(new MixedAttribute(name, definedSize, threshold, charset));
+        }
+        return limit(new MemoryAttribute(name, definedSize, charset));
+    }
+
+    @Override
+    public Attribute createAttribute(HttpRequest request, String name, String value) {
+        Charset charset = HttpUtil.getCharset(request, defaultCharset);
+        try {
+            Attribute attribute;
+            if (disk) {
+                attribute = limit(new DiskAttribute(name, value, charset));
+            } else if (mixed) {
+                attribute = limit(new MixedAttribute(name, value, threshold, charset));
+            } else {
+                attribute = limit(new MemoryAttribute(name, value, charset));
+            }
+            attribute.checkSize(attribute.length());
+            return attribute;
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    @Override
+    public FileUpload createFileUpload(HttpRequest request, String name, String filename, String contentType, String contentTransferEncoding, Charset charset, long size) {
+        if (!disk) {
+            long limit = mixed ? threshold : maxFileSize;
+            long reservation = size > 0 ? Math.min(size, limit) : limit;
+            if (reserve(request, reservation)) {
+                if (mixed) {
+                    return limit(new MixedFileUpload(name, filename, contentType, contentTransferEncoding, charset, size, threshold));
+                }
+                return limit(new MemoryFileUpload(name, filename, contentType, contentTransferEncoding, charset, size));
+            }
+        }
+        return limit(new DiskFileUpload(name, filename, contentType, contentTransferEncoding, charset, size));
+    }
+
+    @Override
+    public void removeHttpDataFromClean(HttpRequest request, InterfaceHttpData data) {
+        // no-op, data is deleted when it is released
+    }
+
+    @Override
+    public void cleanRequestHttpData(HttpRequest request) {
+        RequestData removed = requestData.remove(request);
+        if (removed != null) {
+            clean(removed);
+        }
+    }
+
+    @Override
+    public void cleanAllHttpData() {
+        List<RequestData> all;
+        synchronized (requestData) {
+            all = new ArrayList<>(requestData.values());
+            requestData.clear();
+        }
+        all.forEach(this::clean);
+    }
+
+    @Override
+    public void cleanRequestHttpDatas(HttpRequest request) {
+        cleanRequestHttpData(request);
+    }
+
+    @Override
+    public void cleanAllHttpDatas() {
+        cleanAllHttpData();
+    }
+
+    private boolean reserve(HttpRequest request, long reservation) {
+        RequestData current = requestData.computeIfAbsent(request, key -> new RequestData());
+        synchronized (current) {
+            if (maxRequestMemory > -1 && current.reserved + reservation > maxRequestMemory) {
+                return false;
+            }
+            while (true) {
+                long used = memory.get();
+                if (maxMemory > -1 && used + reservation > maxMemory) {
+                    return false;
+                }
+                if (memory.compareAndSet(used, used + reservation)) {
+                    current.reserved += reservation;
+                    return true;
+                }
+            }
+        }
+    }
+
+    private void clean(RequestData removed) {
+        synchronized (removed) {
+            memory.addAndGet(-removed.reserved);
+            removed.reserved = 0;
+        }
+    }
+
+    private <T extends HttpData> T limit(T data) {
+        data.setMaxSize(maxLimit);
+        return data;
+    }
+
+    /**
+     * The memory reserved by a request.
+     */
+    private static final class RequestData {
+        private long reserved;
+    }
+}
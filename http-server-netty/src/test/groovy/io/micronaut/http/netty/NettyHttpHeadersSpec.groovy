@@ -0,0 +1,57 @@
+package io.micronaut.http.netty
+
+import io.micronaut.core.convert.ConversionService
+import io.micronaut.http.HttpHeaders
+import io.micronaut.http.MediaType
+import io.micronaut.http.cookie.Cookie
+import io.micronaut.http.netty.cookies.NettyCookies
+import io.netty.handler.codec.http.DefaultHttpHeaders
+import spock.lang.Specification
+
+import java.time.ZonedDateTime
+
+class NettyHttpHeadersSpec extends Specification {
+
+    void "test typed header accessors"() {
+        given:
+        NettyHttpHeaders headers = new NettyHttpHeaders()
+        headers.add(HttpHeaders.CONTENT_LENGTH, '1024')
+        headers.add(HttpHeaders.CONTENT_TYPE, 'application/json;charset=utf-8')
+        headers.add(HttpHeaders.ACCEPT, 'text/html, application/json;q=0.9')
+        headers.add(HttpHeaders.CONNECTION, 'Keep-Alive')
+        headers.add(HttpHeaders.IF_MODIFIED_SINCE, 'Wed, 21 Oct 2015 07:28:00 GMT')
+        headers.add('X-Custom', '10')
+
+        expect:
+        headers.contentLength().asLong == 1024
+        headers.getLong(HttpHeaders.CONTENT_LENGTH, -1) == 1024
+        headers.getInt('x-custom', -1) == 10
+        headers.getInt('X-Missing', -1) == -1
+        headers.findInt('X-Custom').get() == 10
+        headers.findFirst('content-type').get() == 'application/json;charset=utf-8'
+        headers.contentType().get() == MediaType.APPLICATION_JSON_TYPE
+        headers.accept() == [MediaType.TEXT_HTML_TYPE, MediaType.APPLICATION_JSON_TYPE]
+        headers.isKeepAlive()
+        headers.contains(HttpHeaders.CONTENT_TYPE)
+        headers.findDate(HttpHeaders.IF_MODIFIED_SINCE).get() == ZonedDateTime.parse('2015-10-21T07:28:00Z[GMT]')
+        !headers.findDate('X-Custom').isPresent()
+        !new NettyHttpHeaders().contentLength().isPresent()
+    }
+
+    void "test cookies are decoded by name"() {
+        given:
+        DefaultHttpHeaders nettyHeaders = new DefaultHttpHeaders()
+        nettyHeaders.add(HttpHeaders.COOKIE, 'session=abc; sessionId=def;theme="dark"')
+        NettyCookies cookies = new NettyCookies('/', nettyHeaders, ConversionService.SHARED)
+
+        expect:
+        cookies.findCookie('sessionId').get().value == 'def'
+        cookies.findCookie('session').get().value == 'abc'
+        cookies.findCookie('theme').get().value == 'dark'
+        !cookies.findCookie('missing').isPresent()
+        cookies.get('session', String).get() == 'abc'
+        cookies.all*.name.toSet() == ['session', 'sessionId', 'theme'] as Set
+        cookies.findCookie('session').get().value == 'abc'
+        new NettyCookies('/', new DefaultHttpHeaders(), ConversionService.SHARED).all.isEmpty()
+    }
+}
@@ -0,0 +1,142 @@
+package io.micronaut.http.server.netty
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.MediaType
+import io.micronaut.http.annotation.Body
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.annotation.Post
+import io.micronaut.http.client.RxHttpClient
+import io.micronaut.http.client.exceptions.HttpClientResponseException
+import io.micronaut.runtime.server.EmbeddedServer
+import io.reactivex.Single
+import spock.lang.Specification
+
+import java.util.concurrent.TimeUnit
+
+class AdmissionControlSpec extends Specification {
+
+    void "test admission control is disabled by default"() {
+        given:
+        ApplicationContext context = ApplicationContext.run()
+
+        expect:
+        !context.containsBean(AdmissionController)
+
+        cleanup:
+        context.close()
+    }
+
+    void "test requests over the limit are rejected with a retry after header"() {
+        given:
+        EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+                'spec.name': 'AdmissionControlSpec',
+                'micronaut.server.netty.admission-control.enabled': true,
+                'micronaut.server.netty.admission-control.max-concurrency': 1,
+                'micronaut.server.netty.admission-control.min-concurrency': 1,
+                'micronaut.server.netty.admission-control.retry-after': '5s',
+                'micronaut.server.netty.admission-control.critical-paths': ['/admission/critical'],
+        ])
+        AdmissionController controller = embeddedServer.applicationContext.getBean(AdmissionController)
+        RxHttpClient client = embeddedServer.applicationContext.createBean(RxHttpClient, embeddedServer.getURL())
+        RxHttpClient other = embeddedServer.applicationContext.createBean(RxHttpClient, embeddedServer.getURL())
+
+        when:"a slow request holds the only permit"
+        def slow = client.retrieve("/admission/slow").toList().toFuture()
+        waitForInflight(controller, 1)
+        other.toBlocking().exchange(HttpRequest.POST("/admission/slow", "payload"), String)
+
+        then:
+        HttpClientResponseException e = thrown()
+        e.status == HttpStatus.SERVICE_UNAVAILABLE
+        e.response.header("Retry-After") == "5"
+        controller.rejected == 1
+
+        when:"a critical request is sent"
+        HttpResponse<String> critical = other.toBlocking().exchange(HttpRequest.GET("/admission/critical"), String)
+
+        then:
+        critical.body() == "critical"
+
+        when:"the slow request completes"
+        List<String> result = slow.get(5, TimeUnit.SECONDS)
+
+        then:"the permit is released"
+        result == ["slow"]
+        controller.inflight == 0
+        other.toBlocking().retrieve("/admission/fast") == "fast"
+
+        cleanup:
+        client.close()
+        other.close()
+        embeddedServer.close()
+    }
+
+    void "test requests over the limit wait in the queue"() {
+        given:
+        EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+                'spec.name': 'AdmissionControlSpec',
+                'micronaut.server.netty.admission-control.enabled': true,
+                'micronaut.server.netty.admission-control.max-concurrency': 1,
+                'micronaut.server.netty.admission-control.min-concurrency': 1,
+                'micronaut.server.netty.admission-control.max-queued': 1,
+                'micronaut.server.netty.admission-control.queue-timeout': '5s',
+        ])
+        AdmissionController controller = embeddedServer.applicationContext.getBean(AdmissionController)
+        RxHttpClient client = embeddedServer.applicationContext.createBean(RxHttpClient, embeddedServer.getURL())
+        RxHttpClient other = embeddedServer.applicationContext.createBean(RxHttpClient, embeddedServer.getURL())
+
+        when:
+        def slow = client.retrieve("/admission/slow").toList().toFuture()
+        waitForInflight(controller, 1)
+        String body = other.toBlocking().retrieve(HttpRequest.POST("/admission/echo", "payload").contentType(MediaType.TEXT_PLAIN_TYPE))
+
+        then:
+        body == "payload"
+        slow.get(5, TimeUnit.SECONDS) == ["slow"]
+        controller.queuedTotal == 1
+        controller.queued == 0
+        controller.rejected == 0
+
+        cleanup:
+        client.close()
+        other.close()
+        embeddedServer.close()
+    }
+
+    private static void waitForInflight(AdmissionController controller, int expected) {
+        long deadline = System.currentTimeMillis() + 5000
+        while (controller.inflight < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10)
+        }
+    }
+
+    @Requires(property = "spec.name", value = "AdmissionControlSpec")
+    @Controller("/admission")
+    static class AdmissionTestController {
+
+        @Get("/slow")
+        Single<String> slow() {
+            Single.timer(1, TimeUnit.SECONDS).map { "slow" }
+        }
+
+        @Get("/fast")
+        String fast() {
+            "fast"
+        }
+
+        @Get("/critical")
+        String critical() {
+            "critical"
+        }
+
+        @Post(uri = "/echo", consumes = MediaType.TEXT_PLAIN)
+        String echo(@Body String body) {
+            body
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package io.micronaut.http.server.netty
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Replaces
+import io.micronaut.context.annotation.Requires
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.client.RxHttpClient
+import io.micronaut.http.netty.channel.EventLoopGroupListener
+import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration
+import io.micronaut.runtime.server.EmbeddedServer
+import io.micronaut.scheduling.TaskScheduler
+import io.reactivex.Single
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import javax.inject.Singleton
+import java.util.concurrent.CopyOnWriteArrayList
+
+class BlockedEventLoopDetectorSpec extends Specification {
+
+    void "test the detector is disabled by default"() {
+        given:
+        ApplicationContext context = ApplicationContext.run()
+
+        expect:
+        !context.containsBean(BlockedEventLoopDetector)
+
+        cleanup:
+        context.close()
+    }
+
+    void "test a blocked event loop thread is reported"() {
+        given:
+        EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+                'spec.name': 'BlockedEventLoopDetectorSpec',
+                'micronaut.server.netty.blocked-thread-detection.enabled': true,
+                'micronaut.server.netty.blocked-thread-detection.threshold': '200ms',
+                'micronaut.server.netty.blocked-thread-detection.interval': '50ms',
+        ])
+        RecordingDetector detector = embeddedServer.applicationContext.getBean(RecordingDetector)
+        RxHttpClient client = embeddedServer.applicationContext.createBean(RxHttpClient, embeddedServer.getURL())
+        PollingConditions conditions = new PollingConditions(timeout: 5)
+
+        when:"the event loops are idle"
+        Thread.sleep(400)
+
+        then:
+        detector.blocked.isEmpty()
+
+        when:
+        client.toBlocking().retrieve("/blocking")
+
+        then:
+        conditions.eventually {
+            detector.blocked.any { it.group == EventLoopGroupListener.SERVER_WORKER && it.thread != null }
+        }
+
+        cleanup:
+        client.close()
+        embeddedServer.close()
+    }
+
+    @Requires(property = "spec.name", value = "BlockedEventLoopDetectorSpec")
+    @Replaces(BlockedEventLoopDetector)
+    @Singleton
+    static class RecordingDetector extends BlockedEventLoopDetector {
+
+        final List<Map> blocked = new CopyOnWriteArrayList<>()
+
+        RecordingDetector(NettyHttpServerConfiguration.BlockedThreadDetection configuration, TaskScheduler taskScheduler) {
+            super(configuration, taskScheduler)
+        }
+
+        @Override
+        protected void onBlocked(String groupName, Thread thread, long blockedMillis) {
+            blocked.add([group: groupName, thread: thread, millis: blockedMillis])
+        }
+    }
+
+    @Requires(property = "spec.name", value = "BlockedEventLoopDetectorSpec")
+    @Controller("/blocking")
+    static class BlockingController {
+
+        @Get("/")
+        Single<String> block() {
+            Single.fromCallable {
+                Thread.sleep(600)
+                "done"
+            }
+        }
+    }
+}
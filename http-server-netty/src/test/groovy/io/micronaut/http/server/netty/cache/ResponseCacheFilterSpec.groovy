@@ -0,0 +1,176 @@
+package io.micronaut.http.server.netty.cache
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.http.HttpHeaders
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.annotation.Body
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.annotation.Header
+import io.micronaut.http.annotation.Put
+import io.micronaut.http.client.RxHttpClient
+import io.micronaut.http.client.exceptions.HttpClientResponseException
+import io.micronaut.http.server.cache.ResponseCache
+import io.micronaut.http.server.cache.ResponseCacheFilter
+import io.micronaut.http.server.cache.ResponseCacheInvalidate
+import io.micronaut.runtime.server.EmbeddedServer
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
+
+class ResponseCacheFilterSpec extends Specification {
+
+    @Shared @AutoCleanup EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+            'spec.name': 'ResponseCacheFilterSpec',
+            'micronaut.caches.http-responses.maximum-size': 100
+    ])
+    @Shared @AutoCleanup RxHttpClient client = embeddedServer.applicationContext.createBean(RxHttpClient, embeddedServer.URL)
+
+    void setup() {
+        embeddedServer.applicationContext.getBean(ResponseCacheFilter).invalidateAll()
+        embeddedServer.applicationContext.getBean(BookController).invocations.set(0)
+        embeddedServer.applicationContext.getBean(GreetingController).invocations.set(0)
+    }
+
+    void "test a cached response is served without invoking the route"() {
+        given:
+        BookController controller = embeddedServer.applicationContext.getBean(BookController)
+
+        when:
+        HttpResponse<Map> first = client.exchange(HttpRequest.GET('/cached-books/1'), Map).blockingFirst()
+        HttpResponse<Map> second = client.exchange(HttpRequest.GET('/cached-books/1'), Map).blockingFirst()
+
+        then:
+        first.body() == [title: 'The Stand']
+        second.body() == [title: 'The Stand']
+        first.header(HttpHeaders.ETAG) != null
+        first.header(HttpHeaders.ETAG) == second.header(HttpHeaders.ETAG)
+        first.header(HttpHeaders.LAST_MODIFIED) == second.header(HttpHeaders.LAST_MODIFIED)
+        second.header('X-Book') == '1'
+        controller.invocations.get() == 1
+    }
+
+    void "test conditional requests receive not modified"() {
+        given:
+        BookController controller = embeddedServer.applicationContext.getBean(BookController)
+        HttpResponse<Map> response = client.exchange(HttpRequest.GET('/cached-books/1'), Map).blockingFirst()
+
+        when:
+        HttpResponse<?> notModified = client.exchange(HttpRequest.GET('/cached-books/1')
+                .header(HttpHeaders.IF_NONE_MATCH, response.header(HttpHeaders.ETAG))).blockingFirst()
+
+        then:
+        notModified.status == HttpStatus.NOT_MODIFIED
+        notModified.header(HttpHeaders.ETAG) == response.header(HttpHeaders.ETAG)
+
+        when:
+        notModified = client.exchange(HttpRequest.GET('/cached-books/1')
+                .header(HttpHeaders.IF_MODIFIED_SINCE, response.header(HttpHeaders.LAST_MODIFIED))).blockingFirst()
+
+        then:
+        notModified.status == HttpStatus.NOT_MODIFIED
+        controller.invocations.get() == 1
+
+        when:"the first request for another book is conditional"
+        notModified = client.exchange(HttpRequest.GET('/cached-books/2')
+                .header(HttpHeaders.IF_NONE_MATCH, '*')).blockingFirst()
+
+        then:
+        notModified.status == HttpStatus.NOT_MODIFIED
+        controller.invocations.get() == 2
+    }
+
+    void "test a successful update invalidates the cached responses of the route"() {
+        given:
+        BookController controller = embeddedServer.applicationContext.getBean(BookController)
+        client.exchange(HttpRequest.GET('/cached-books/1'), Map).blockingFirst()
+
+        when:
+        client.exchange(HttpRequest.PUT('/cached-books/1', [title: 'It']), Map).blockingFirst()
+        HttpResponse<Map> response = client.exchange(HttpRequest.GET('/cached-books/1'), Map).blockingFirst()
+
+        then:
+        response.body() == [title: 'It']
+        controller.invocations.get() == 2
+    }
+
+    void "test responses are cached per value of the vary headers"() {
+        given:
+        GreetingController controller = embeddedServer.applicationContext.getBean(GreetingController)
+
+        when:
+        String english = client.retrieve(HttpRequest.GET('/cached-greetings/hello').header(HttpHeaders.ACCEPT_LANGUAGE, 'en')).blockingFirst()
+        String french = client.retrieve(HttpRequest.GET('/cached-greetings/hello').header(HttpHeaders.ACCEPT_LANGUAGE, 'fr')).blockingFirst()
+        String englishAgain = client.retrieve(HttpRequest.GET('/cached-greetings/hello').header(HttpHeaders.ACCEPT_LANGUAGE, 'en')).blockingFirst()
+
+        then:
+        english == 'Hello en'
+        french == 'Hello fr'
+        englishAgain == 'Hello en'
+        controller.invocations.get() == 2
+    }
+
+    void "test error responses are not cached"() {
+        given:
+        BookController controller = embeddedServer.applicationContext.getBean(BookController)
+
+        when:
+        client.exchange(HttpRequest.GET('/cached-books/404')).blockingFirst()
+
+        then:
+        thrown(HttpClientResponseException)
+
+        when:
+        client.exchange(HttpRequest.GET('/cached-books/404')).blockingFirst()
+
+        then:
+        thrown(HttpClientResponseException)
+        controller.invocations.get() == 2
+    }
+
+    @Controller('/cached-books')
+    @Requires(property = 'spec.name', value = 'ResponseCacheFilterSpec')
+    static class BookController {
+
+        final AtomicInteger invocations = new AtomicInteger()
+        final Map<String, String> titles = new ConcurrentHashMap<>([1: 'The Stand', 2: 'Carrie'].collectEntries { k, v -> [k.toString(), v] })
+
+        @Get('/{id}')
+        @ResponseCache
+        HttpResponse<Map> show(String id) {
+            invocations.incrementAndGet()
+            String title = titles.get(id)
+            if (title == null) {
+                return HttpResponse.notFound()
+            }
+            return HttpResponse.ok([title: title]).header('X-Book', id)
+        }
+
+        @Put('/{id}')
+        @ResponseCacheInvalidate('/cached-books/{id}')
+        Map update(String id, @Body Map book) {
+            titles.put(id, book.title)
+            return book
+        }
+    }
+
+    @Controller('/cached-greetings')
+    @Requires(property = 'spec.name', value = 'ResponseCacheFilterSpec')
+    @ResponseCache(vary = HttpHeaders.ACCEPT_LANGUAGE)
+    static class GreetingController {
+
+        final AtomicInteger invocations = new AtomicInteger()
+
+        @Get(uri = '/hello', produces = 'text/plain')
+        String greet(@Header(HttpHeaders.ACCEPT_LANGUAGE) String language) {
+            invocations.incrementAndGet()
+            return "Hello $language"
+        }
+    }
+}
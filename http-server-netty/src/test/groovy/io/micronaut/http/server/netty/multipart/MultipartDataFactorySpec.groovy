@@ -0,0 +1,154 @@
+package io.micronaut.http.server.netty.multipart
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.MediaType
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Post
+import io.micronaut.http.client.HttpClient
+import io.micronaut.http.client.multipart.MultipartBody
+import io.micronaut.http.multipart.CompletedFileUpload
+import io.micronaut.http.multipart.StreamingFileUpload
+import io.micronaut.http.server.HttpServerConfiguration
+import io.micronaut.http.server.netty.FormDataHttpContentSubscriberFactory
+import io.micronaut.runtime.server.EmbeddedServer
+import io.netty.handler.codec.http.DefaultHttpRequest
+import io.netty.handler.codec.http.HttpMethod
+import io.netty.handler.codec.http.HttpVersion
+import io.netty.handler.codec.http.multipart.DiskFileUpload
+import io.netty.handler.codec.http.multipart.FileUpload
+import io.netty.handler.codec.http.multipart.MixedFileUpload
+import io.reactivex.Flowable
+import org.reactivestreams.Publisher
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.nio.charset.StandardCharsets
+
+class MultipartDataFactorySpec extends Specification {
+
+    void "test uploads are written to disk once the memory limits are reached"() {
+        given:
+        HttpServerConfiguration.MultipartConfiguration configuration = new HttpServerConfiguration.MultipartConfiguration()
+        configuration.mixed = true
+        configuration.threshold = 10
+        configuration.maxRequestMemory = 15
+        configuration.maxMemory = 25
+        MultipartDataFactory factory = new MultipartDataFactory(configuration, StandardCharsets.UTF_8)
+        def first = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/")
+        def second = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/")
+        def third = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/")
+
+        when:
+        FileUpload a = upload(factory, first)
+        FileUpload b = upload(factory, first)
+        FileUpload c = upload(factory, second)
+        FileUpload d = upload(factory, third)
+
+        then:"each request may keep one upload in memory until the global limit is reached"
+        a instanceof MixedFileUpload
+        b instanceof DiskFileUpload
+        c instanceof MixedFileUpload
+        d instanceof DiskFileUpload
+        factory.memory == 20
+
+        when:
+        factory.cleanRequestHttpData(first)
+        FileUpload e = upload(factory, third)
+
+        then:"the memory of a request is returned when it is cleaned"
+        e instanceof MixedFileUpload
+        factory.memory == 20
+
+        when:
+        factory.cleanAllHttpData()
+
+        then:
+        factory.memory == 0
+    }
+
+    void "test uploads of known size reserve their size"() {
+        given:
+        HttpServerConfiguration.MultipartConfiguration configuration = new HttpServerConfiguration.MultipartConfiguration()
+        configuration.maxMemory = 100
+        MultipartDataFactory factory = new MultipartDataFactory(configuration, StandardCharsets.UTF_8)
+        def request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/")
+
+        when:
+        FileUpload small = factory.createFileUpload(request, "file", "a.txt", "text/plain", null, StandardCharsets.UTF_8, 60)
+        FileUpload large = factory.createFileUpload(request, "file", "b.txt", "text/plain", null, StandardCharsets.UTF_8, 60)
+
+        then:
+        small.inMemory
+        large instanceof DiskFileUpload
+        factory.memory == 60
+
+        cleanup:
+        factory.cleanAllHttpData()
+    }
+
+    void "test large uploads in mixed mode"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(
+                'spec.name': MultipartDataFactorySpec.simpleName,
+                'micronaut.server.multipart.mixed': true,
+                'micronaut.server.multipart.threshold': '16KB',
+                'micronaut.server.multipart.max-file-size': '2MB',
+                'micronaut.server.multipart.max-memory': '64KB'
+        )
+        EmbeddedServer server = context.getBean(EmbeddedServer).start()
+        HttpClient client = context.createBean(HttpClient, server.URL)
+        byte[] data = new byte[1024 * 1024]
+        new Random(42).nextBytes(data)
+        File destination = File.createTempFile("upload", ".bin")
+        UploadController.destination = destination
+
+        when:
+        String completed = Flowable.fromPublisher(client.retrieve(HttpRequest.POST("/multipart-data/completed", MultipartBody.builder()
+                .addPart("data", "data.bin", MediaType.APPLICATION_OCTET_STREAM_TYPE, data)
+                .build()).contentType(MediaType.MULTIPART_FORM_DATA_TYPE))).blockingFirst()
+
+        then:
+        completed == "data.bin: ${data.length}"
+
+        when:
+        HttpResponse response = Flowable.fromPublisher(client.exchange(HttpRequest.POST("/multipart-data/streaming", MultipartBody.builder()
+                .addPart("data", "data.bin", MediaType.APPLICATION_OCTET_STREAM_TYPE, data)
+                .build()).contentType(MediaType.MULTIPART_FORM_DATA_TYPE), String)).blockingFirst()
+
+        then:
+        response.body() == "true"
+        destination.bytes == data
+        new PollingConditions().eventually {
+            assert context.getBean(FormDataHttpContentSubscriberFactory).@dataFactory.memory == 0
+        }
+
+        cleanup:
+        destination.delete()
+        client.close()
+        context.close()
+    }
+
+    private static FileUpload upload(MultipartDataFactory factory, io.netty.handler.codec.http.HttpRequest request) {
+        factory.createFileUpload(request, "file", "file.txt", "text/plain", null, StandardCharsets.UTF_8, 0)
+    }
+
+    @Requires(property = 'spec.name', value = 'MultipartDataFactorySpec')
+    @Controller('/multipart-data')
+    static class UploadController {
+
+        static File destination
+
+        @Post(value = '/completed', consumes = MediaType.MULTIPART_FORM_DATA, produces = MediaType.TEXT_PLAIN)
+        String completed(CompletedFileUpload data) {
+            return "${data.filename}: ${data.bytes.length}"
+        }
+
+        @Post(value = '/streaming', consumes = MediaType.MULTIPART_FORM_DATA, produces = MediaType.TEXT_PLAIN)
+        Publisher<String> streaming(StreamingFileUpload data) {
+            return Flowable.fromPublisher(data.transferTo(destination)).map({ it.toString() })
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package io.micronaut.http.server.netty.sse
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.core.io.buffer.ByteBuffer
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.MediaType
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.client.RxStreamingHttpClient
+import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration
+import io.micronaut.http.sse.Event
+import io.micronaut.runtime.server.EmbeddedServer
+import io.reactivex.Emitter
+import io.reactivex.Flowable
+import org.reactivestreams.Publisher
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.nio.charset.StandardCharsets
+import java.time.Duration
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+
+class SseFlowControlSpec extends Specification {
+
+    @Shared @AutoCleanup EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+            'spec.name': 'SseFlowControlSpec',
+            'micronaut.server.netty.sse-heartbeat-interval': '50ms',
+            'micronaut.server.netty.write-buffer-high-water-mark': '16KB',
+            'micronaut.server.netty.write-buffer-low-water-mark': '8KB'
+    ])
+
+    void "test the write buffer water marks and heartbeat interval are configurable"() {
+        when:
+        NettyHttpServerConfiguration configuration = embeddedServer.applicationContext.getBean(NettyHttpServerConfiguration)
+
+        then:
+        configuration.writeBufferHighWaterMark == 16 * 1024
+        configuration.writeBufferLowWaterMark == 8 * 1024
+        configuration.sseHeartbeatInterval.get() == Duration.ofMillis(50)
+        !new NettyHttpServerConfiguration().sseHeartbeatInterval.isPresent()
+    }
+
+    void "test heartbeat comments are written between slow events"() {
+        given:
+        RxStreamingHttpClient client = embeddedServer.applicationContext.createBean(RxStreamingHttpClient, embeddedServer.URL)
+
+        when:
+        List<String> lines = client.dataStream(HttpRequest.GET('/sse-flow/slow').accept(MediaType.TEXT_EVENT_STREAM_TYPE))
+                .map({ ByteBuffer buffer -> buffer.toString(StandardCharsets.UTF_8) })
+                .toList()
+                .blockingGet()
+
+        then:"the stream is decoded line by line so heartbeat comments arrive as a lone colon"
+        lines.contains('data: one')
+        lines.contains('data: two')
+        lines.indexOf(':') < lines.indexOf('data: one')
+        lines.subList(lines.indexOf('data: one'), lines.indexOf('data: two')).contains(':')
+
+        cleanup:
+        client.close()
+    }
+
+    void "test a consumer that does not read stops the event publisher"() {
+        given:
+        SseFlowController controller = embeddedServer.applicationContext.getBean(SseFlowController)
+        Socket socket = new Socket()
+        socket.receiveBufferSize = 4096
+        socket.connect(new InetSocketAddress(embeddedServer.host, embeddedServer.port))
+        socket.outputStream.write("GET /sse-flow/infinite HTTP/1.1\r\nHost: localhost\r\nAccept: text/event-stream\r\n\r\n".getBytes(StandardCharsets.US_ASCII))
+        socket.outputStream.flush()
+        PollingConditions conditions = new PollingConditions(timeout: 5)
+
+        expect:
+        conditions.eventually {
+            controller.generated.get() > 0
+        }
+
+        when:
+        long stalled = waitUntilStalled(controller.generated)
+
+        then:"the publisher stops once the socket and outbound buffers are full"
+        stalled < 20000
+
+        cleanup:
+        socket.close()
+    }
+
+    private long waitUntilStalled(AtomicLong counter) {
+        long deadline = System.currentTimeMillis() + 5000
+        long before = -1
+        while (System.currentTimeMillis() < deadline) {
+            before = counter.get()
+            TimeUnit.MILLISECONDS.sleep(300)
+            if (counter.get() == before) {
+                return before
+            }
+        }
+        return Long.MAX_VALUE
+    }
+
+    @Controller('/sse-flow')
+    @Requires(property = 'spec.name', value = 'SseFlowControlSpec')
+    static class SseFlowController {
+
+        final AtomicLong generated = new AtomicLong()
+
+        @Get(uri = '/slow', produces = MediaType.TEXT_EVENT_STREAM)
+        Publisher<Event<String>> slow() {
+            Flowable.just(Event.of('one'), Event.of('two')).concatMap({ Event<String> event ->
+                Flowable.just(event).delay(200, TimeUnit.MILLISECONDS)
+            })
+        }
+
+        @Get(uri = '/infinite', produces = MediaType.TEXT_EVENT_STREAM)
+        Publisher<Event<String>> infinite() {
+            String payload = 'x' * 1024
+            Flowable.generate({ Emitter<Event<String>> emitter ->
+                generated.incrementAndGet()
+                emitter.onNext(Event.of(payload))
+            })
+        }
+    }
+}
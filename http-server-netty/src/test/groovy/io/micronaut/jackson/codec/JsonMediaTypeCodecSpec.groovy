@@ -0,0 +1,78 @@
+package io.micronaut.jackson.codec
+
+import com.fasterxml.jackson.databind.JsonNode
+import io.micronaut.context.ApplicationContext
+import io.micronaut.core.io.buffer.ByteBuffer
+import io.micronaut.core.type.Argument
+import io.micronaut.http.netty.buffer.NettyByteBufferFactory
+import io.netty.buffer.ByteBuf
+import io.netty.buffer.PooledByteBufAllocator
+import io.netty.buffer.Unpooled
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+
+class JsonMediaTypeCodecSpec extends Specification {
+
+    @Shared @AutoCleanup ApplicationContext context = ApplicationContext.run()
+    @Shared JsonMediaTypeCodec codec = context.getBean(JsonMediaTypeCodec)
+
+    void "test encode writes into a buffer of the given allocator"() {
+        given:
+        NettyByteBufferFactory factory = new NettyByteBufferFactory(PooledByteBufAllocator.DEFAULT)
+
+        when:
+        ByteBuffer buffer = codec.encode(new Book(title: "The Stand", pages: 1153), factory)
+        ByteBuf byteBuf = (ByteBuf) buffer.asNativeBuffer()
+
+        then:
+        byteBuf.alloc() == PooledByteBufAllocator.DEFAULT
+        byteBuf.toString(StandardCharsets.UTF_8) == '{"title":"The Stand","pages":1153}'
+
+        cleanup:
+        byteBuf.release()
+    }
+
+    void "test decode reads the buffer without consuming it"() {
+        given:
+        ByteBuf byteBuf = Unpooled.copiedBuffer('[{"title":"It","pages":1138},{"title":"Carrie","pages":199}]', StandardCharsets.UTF_8)
+        ByteBuffer buffer = NettyByteBufferFactory.DEFAULT.wrap(byteBuf)
+        Argument<List<Book>> type = Argument.of(List, Book)
+
+        when:
+        List<Book> books = codec.decode(type, buffer)
+
+        then:
+        books*.class == [Book, Book]
+        books*.title == ["It", "Carrie"]
+        byteBuf.readerIndex() == 0
+
+        when:"the same type is decoded again"
+        books = codec.decode(Argument.of(List, Book), buffer)
+
+        then:
+        books*.pages == [1138, 199]
+
+        cleanup:
+        byteBuf.release()
+    }
+
+    void "test decode generic types from a JSON node"() {
+        given:
+        JsonNode node = codec.objectMapper.readTree('{"a":{"title":"Misery","pages":370}}')
+
+        when:
+        Map<String, Book> books = codec.decode(Argument.of(Map, String, Book), node)
+
+        then:
+        books.a instanceof Book
+        books.a.title == "Misery"
+    }
+
+    static class Book {
+        String title
+        int pages
+    }
+}
@@ -57,6 +57,7 @@ public class HttpServerConfiguration {
     protected Duration idleTime = Duration.of(60, ChronoUnit.SECONDS);
     protected MultipartConfiguration multipart = new MultipartConfiguration();
     protected CorsConfiguration cors = new CorsConfiguration();
+    protected ResponseCacheConfiguration responseCache = new ResponseCacheConfiguration();
 
     private final ApplicationConfiguration applicationConfiguration;
     private Charset defaultCharset;
@@ -136,6 +137,13 @@ public class HttpServerConfiguration {
         return cors;
     }
 
+    /**
+     * @return Configuration for the caching of responses
+     */
+    public ResponseCacheConfiguration getResponseCache() {
+        return responseCache;
+    }
+
     /**
      * @return The maximum request body size
      */
@@ -174,6 +182,13 @@ public class HttpServerConfiguration {
         protected long maxFileSize = 1024 * 1024; // 1MB
         protected boolean enabled = true;
         protected boolean disk = false;
+        protected boolean mixed = false;
+        @ReadableBytes
+        protected long threshold = 1024 * 1024 * 10; // 10MB
+        @ReadableBytes
+        protected long maxRequestMemory = -1;
+        @ReadableBytes
+        protected long maxMemory = -1;
 
         /**
          * @return The location to store temporary files
@@ -203,6 +218,37 @@ public class HttpServerConfiguration {
         public boolean isDisk() {
             return disk;
         }
+
+        /**
+         * @return Whether to keep uploads in memory until they exceed the {@link #getThreshold() threshold} and then
+         * write them to disk. Defaults to false.
+         */
+        public boolean isMixed() {
+            return mixed;
+        }
+
+        /**
+         * @return The size after which an upload is written to disk in mixed mode. Defaults to 10MB
+         */
+        public long getThreshold() {
+            return threshold;
+        }
+
+        /**
+         * @return The maximum amount of memory the uploads of a single request may use before further uploads of the
+         * request are written to disk. Defaults to -1, meaning no limit.
+         */
+        public long getMaxRequestMemory() {
+            return maxRequestMemory;
+        }
+
+        /**
+         * @return The maximum amount of memory the uploads of all requests may use before further uploads are written
+         * to disk. Defaults to -1, meaning no limit.
+         */
+        public long getMaxMemory() {
+            return maxMemory;
+        }
     }
 
     /**
@@ -238,4 +284,36 @@ public class HttpServerConfiguration {
             return configurations;
         }
     }
+
+    /**
+     * Configuration for the caching of responses of routes annotated with
+     * {@link io.micronaut.http.server.cache.ResponseCache}.
+     */
+    @ConfigurationProperties("response-cache")
+    public static class ResponseCacheConfiguration implements Toggleable {
+
+        /**
+         * The name of the cache responses are stored in when the annotation does not name one.
+         */
+        public static final String DEFAULT_CACHE_NAME = "http-responses";
+
+        protected boolean enabled = true;
+
+        protected String cacheName = DEFAULT_CACHE_NAME;
+
+        /**
+         * @return Whether responses are cached. Defaults to true.
+         */
+        @Override
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * @return The name of the cache responses are stored in by default. Defaults to {@value #DEFAULT_CACHE_NAME}.
+         */
+        public String getCacheName() {
+            return cacheName;
+        }
+    }
 }
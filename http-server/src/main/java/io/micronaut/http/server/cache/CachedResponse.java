@@ -0,0 +1,120 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.server.cache;
+
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.MutableHttpHeaders;
+import io.micronaut.http.MutableHttpResponse;
+
+import java.io.Serializable;
+import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * An encoded response stored in the response cache.
+ *
+ * @author agent
+ * @since 1.0
+ */
+final class CachedResponse implements Serializable {
+
+    private static final String WEAK_PREFIX = "W/";
+
+    private final String contentType;
+    private final byte[] body;
+    private final String etag;
+    private final long lastModified;
+    private final LinkedHashMap<String, List<String>> headers;
+
+    /**
+     * @param contentType  The content type of the body
+     * @param body         The encoded body
+     * @param etag         The entity tag
+     * @param lastModified The time the response was last modified in milliseconds
+     * @param headers      The other headers of the response
+     */
+    CachedResponse(String contentType, byte[] body, String etag, long lastModified, LinkedHashMap<String, List<String>> headers) {
+        this.contentType = contentType;
+        this.body = body;
+        this.etag = etag;
+        this.lastModified = lastModified;
+        this.headers = headers;
+    }
+
+    /**
+     * @return The entity tag
+     */
+    String getEtag() {
+        return etag;
+    }
+
+    /**
+     * Evaluates the {@code If-None-Match} and {@code If-Modified-Since} headers of a request against this response.
+     * {@code If-Modified-Since} is only considered when the request has no {@code If-None-Match} header.
+     *
+     * @param request The request
+     * @return Whether the client already has this response
+     */
+    boolean isNotModified(HttpRequest<?> request) {
+        HttpHeaders requestHeaders = request.getHeaders();
+        List<String> ifNoneMatch = requestHeaders.getAll(HttpHeaders.IF_NONE_MATCH);
+        if (!ifNoneMatch.isEmpty()) {
+            for (String header : ifNoneMatch) {
+                for (String tag : header.split(",")) {
+                    String candidate = tag.trim();
+                    if (candidate.equals("*") || opaqueTag(candidate).equals(opaqueTag(etag))) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+        Optional<ZonedDateTime> ifModifiedSince = requestHeaders.findDate(HttpHeaders.IF_MODIFIED_SINCE);
+        return ifModifiedSince.isPresent() && lastModified <= ifModifiedSince.get().toInstant().toEpochMilli();
+    }
+
+    /**
+     * @param request The request
+     * @return A new response for the request, either the full response or {@code 304 Not Modified}
+     */
+    MutableHttpResponse<?> toResponse(HttpRequest<?> request) {
+        MutableHttpResponse<?> response;
+        if (isNotModified(request)) {
+            response = HttpResponse.notModified();
+        } else {
+            response = HttpResponse.ok(body).contentType(contentType);
+        }
+        MutableHttpHeaders responseHeaders = response.getHeaders();
+        for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
+            for (String value : entry.getValue()) {
+                responseHeaders.add(entry.getKey(), value);
+            }
+        }
+        responseHeaders.add(HttpHeaders.ETAG, etag);
+        responseHeaders.lastModified(lastModified);
+        return response;
+    }
+
+    private static String opaqueTag(String tag) {
+        return tag.startsWith(WEAK_PREFIX) ? tag.substring(WEAK_PREFIX.length()) : tag;
+    }
+}
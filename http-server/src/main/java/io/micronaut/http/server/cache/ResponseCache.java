@@ -0,0 +1,53 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.server.cache;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Caches the encoded responses of a {@code GET} route, or of all the {@code GET} routes of a controller. Responses
+ * are keyed by the request URI and the values of the request headers they vary on, are given an {@code ETag} and
+ * {@code Last-Modified} header and conditional requests for a cached response are answered with
+ * {@code 304 Not Modified} without invoking the route.
+ *
+ * @author agent
+ * @since 1.0
+ * @see ResponseCacheInvalidate
+ */
+@Documented
+@Retention(RUNTIME)
+@Target({METHOD, TYPE})
+public @interface ResponseCache {
+
+    /**
+     * @return The name of the cache to store responses in, which must be configured under {@code micronaut.caches}.
+     * Defaults to {@code micronaut.server.response-cache.cache-name}.
+     */
+    String value() default "";
+
+    /**
+     * @return The request headers the response varies on, in addition to those in the {@code Vary} header of the
+     * response
+     */
+    String[] vary() default {};
+}
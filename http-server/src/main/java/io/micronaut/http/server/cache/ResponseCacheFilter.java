@@ -0,0 +1,334 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.server.cache;
+
+import io.micronaut.cache.CacheManager;
+import io.micronaut.cache.SyncCache;
+import io.micronaut.core.annotation.AnnotationMetadata;
+import io.micronaut.core.annotation.AnnotationMetadataProvider;
+import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.core.io.buffer.ByteBuffer;
+import io.micronaut.core.order.Ordered;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.http.HttpAttributes;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpMethod;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.MutableHttpHeaders;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.Filter;
+import io.micronaut.http.annotation.Produces;
+import io.micronaut.http.codec.MediaTypeCodec;
+import io.micronaut.http.codec.MediaTypeCodecRegistry;
+import io.micronaut.http.filter.HttpServerFilter;
+import io.micronaut.http.filter.ServerFilterChain;
+import io.micronaut.http.server.HttpServerConfiguration;
+import io.micronaut.http.server.types.CustomizableResponseType;
+import io.micronaut.runtime.http.codec.TextPlainCodec;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches the encoded responses of routes annotated with {@link ResponseCache} and answers conditional requests
+ * for them. The body is encoded once when the response is cached, the cached bytes are written for subsequent
+ * requests and requests carrying a matching {@code If-None-Match} or {@code If-Modified-Since} header receive
+ * {@code 304 Not Modified}, in both cases without invoking the route.
+ *
+ * <p>Responses other than {@code 200 OK}, streamed responses and responses that set cookies or are marked
+ * {@code no-store} or {@code private} are not cached.</p>
+ *
+ * @author agent
+ * @since 1.0
+ */
+@Filter("/**")
+public class ResponseCacheFilter implements HttpServerFilter {
+
+    /**
+     * The order of the filter. Cached responses are only served to requests that passed the filters with a lower
+     * order, such as the session and security filters, so the filter runs after all of them.
+     */
+    public static final int ORDER = Ordered.LOWEST_PRECEDENCE - 100;
+
+    private static final Logger LOG = LoggerFactory.getLogger(ResponseCacheFilter.class);
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final String[] NO_HEADERS = new String[0];
+    private static final Set<String> EXCLUDED_HEADERS = new LinkedHashSet<>(Arrays.asList(
+        HttpHeaders.CONTENT_LENGTH.toLowerCase(Locale.ENGLISH),
+        HttpHeaders.CONTENT_TYPE.toLowerCase(Locale.ENGLISH),
+        HttpHeaders.TRANSFER_ENCODING.toLowerCase(Locale.ENGLISH),
+        HttpHeaders.CONNECTION.toLowerCase(Locale.ENGLISH),
+        HttpHeaders.DATE.toLowerCase(Locale.ENGLISH),
+        HttpHeaders.ETAG.toLowerCase(Locale.ENGLISH),
+        HttpHeaders.LAST_MODIFIED.toLowerCase(Locale.ENGLISH)
+    ));
+
+    private final HttpServerConfiguration serverConfiguration;
+    private final CacheManager<?> cacheManager;
+    private final MediaTypeCodecRegistry mediaTypeCodecRegistry;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final Set<String> cacheNames = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    /**
+     * @param serverConfiguration    The server configuration
+     * @param cacheManager           The cache manager that provides the caches responses are stored in
+     * @param mediaTypeCodecRegistry The codec registry used to encode response bodies
+     */
+    public ResponseCacheFilter(
+        HttpServerConfiguration serverConfiguration,
+        CacheManager<?> cacheManager,
+        MediaTypeCodecRegistry mediaTypeCodecRegistry) {
+        this.serverConfiguration = serverConfiguration;
+        this.cacheManager = cacheManager;
+        this.mediaTypeCodecRegistry = mediaTypeCodecRegistry;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Publisher<MutableHttpResponse<?>> doFilter(HttpRequest<?> request, ServerFilterChain chain) {
+        Optional<AnnotationMetadataProvider> route = request.getAttribute(HttpAttributes.ROUTE_MATCH, AnnotationMetadataProvider.class);
+        if (!route.isPresent()) {
+            return chain.proceed(request);
+        }
+        AnnotationMetadata metadata = route.get().getAnnotationMetadata();
+        String uriTemplate = request.getAttribute(HttpAttributes.URI_TEMPLATE, String.class).orElse(request.getPath());
+
+        if (metadata.hasAnnotation(ResponseCacheInvalidate.class)) {
+            String[] routes = metadata.getValue(ResponseCacheInvalidate.class, String[].class).orElse(NO_HEADERS);
+            return Publishers.then(chain.proceed(request), response -> {
+                if (response.getStatus().getCode() < HttpStatus.MULTIPLE_CHOICES.getCode()) {
+                    if (routes.length == 0) {
+                        invalidate(uriTemplate);
+                    } else {
+                        for (String template : routes) {
+                            invalidate(template);
+                        }
+                    }
+                }
+            });
+        }
+
+        if (request.getMethod() != HttpMethod.GET || !metadata.hasAnnotation(ResponseCache.class)) {
+            return chain.proceed(request);
+        }
+
+        SyncCache<?> cache = resolveCache(metadata);
+        ResponseCacheKey uriKey = new ResponseCacheKey(uriTemplate, generation(uriTemplate), request.getUri().toString(), null);
+        Optional<String[]> varyHeaders = cache.get(uriKey, String[].class);
+        if (varyHeaders.isPresent()) {
+            Optional<CachedResponse> cached = cache.get(uriKey.vary(varyValues(request, varyHeaders.get())), CachedResponse.class);
+            if (cached.isPresent()) {
+                if (LOG.isTraceEnabled()) {
+                    LOG.trace("Serving cached response for request: {}", uriKey);
+                }
+                return Publishers.just(cached.get().toResponse(request));
+            }
+        }
+
+        return Publishers.map(chain.proceed(request), response -> cacheResponse(request, response, metadata, cache, uriKey));
+    }
+
+    /**
+     * Invalidates the responses cached for the route with the given URI template.
+     *
+     * @param uriTemplate The URI template of the route, such as {@code /books/{id}}
+     */
+    public void invalidate(String uriTemplate) {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Invalidating cached responses for route: {}", uriTemplate);
+        }
+        generations.computeIfAbsent(uriTemplate, template -> new AtomicLong()).incrementAndGet();
+    }
+
+    /**
+     * Invalidates all cached responses.
+     */
+    public void invalidateAll() {
+        for (String cacheName : cacheNames) {
+            cacheManager.getCache(cacheName).invalidateAll();
+        }
+    }
+
+    /**
+     * Encodes the body of a response so that it can be cached.
+     *
+     * @param body      The body
+     * @param mediaType The media type of the response
+     * @param metadata  The annotation metadata of the route
+     * @return The encoded body, or an empty optional if the body cannot be cached
+     */
+    protected Optional<byte[]> encode(Object body, MediaType mediaType, AnnotationMetadata metadata) {
+        if (body instanceof byte[]) {
+            return Optional.of((byte[]) body);
+        } else if (body instanceof ByteBuffer) {
+            return Optional.of(((ByteBuffer) body).toByteArray());
+        } else if (body instanceof Publisher || body instanceof CustomizableResponseType ||
+            body instanceof File || body instanceof InputStream) {
+            return Optional.empty();
+        }
+        MediaTypeCodec codec = mediaTypeCodecRegistry.findCodec(mediaType, body.getClass())
+            .orElseGet(() -> new TextPlainCodec(serverConfiguration.getDefaultCharset()));
+        return Optional.of(codec.encode(body));
+    }
+
+    @SuppressWarnings("unchecked")
+    private MutableHttpResponse<?> cacheResponse(
+        HttpRequest<?> request,
+        MutableHttpResponse<?> response,
+        AnnotationMetadata metadata,
+        SyncCache<?> cache,
+        ResponseCacheKey uriKey) {
+
+        Optional<?> body = response.getBody();
+        MutableHttpHeaders headers = response.getHeaders();
+        if (response.getStatus() != HttpStatus.OK || !body.isPresent() || headers.contains(HttpHeaders.SET_COOKIE) || isPrivate(headers)) {
+            return response;
+        }
+
+        Set<String> vary = new LinkedHashSet<>();
+        for (String name : metadata.getValue(ResponseCache.class, "vary", String[].class).orElse(NO_HEADERS)) {
+            vary.add(name.trim().toLowerCase(Locale.ENGLISH));
+        }
+        for (String value : headers.getAll(HttpHeaders.VARY)) {
+            for (String name : value.split(",")) {
+                vary.add(name.trim().toLowerCase(Locale.ENGLISH));
+            }
+        }
+        if (vary.contains("*")) {
+            return response;
+        }
+
+        MediaType mediaType = response.getContentType().orElseGet(() ->
+            metadata.getValue(Produces.class, String[].class)
+                .filter(produces -> produces.length > 0)
+                .map(produces -> new MediaType(produces[0]))
+                .orElse(MediaType.APPLICATION_JSON_TYPE)
+        );
+        Optional<byte[]> encoded = encode(body.get(), mediaType, metadata);
+        if (!encoded.isPresent()) {
+            return response;
+        }
+        byte[] bytes = encoded.get();
+
+        String etag = headers.findFirst(HttpHeaders.ETAG).orElseGet(() -> etag(bytes));
+        // dates in headers have a resolution of seconds
+        long lastModified = headers.findDate(HttpHeaders.LAST_MODIFIED)
+            .map(date -> date.toInstant().toEpochMilli())
+            .orElseGet(() -> System.currentTimeMillis() / 1000 * 1000);
+
+        LinkedHashMap<String, List<String>> cachedHeaders = new LinkedHashMap<>();
+        for (String name : headers.names()) {
+            if (!EXCLUDED_HEADERS.contains(name.toLowerCase(Locale.ENGLISH))) {
+                cachedHeaders.put(name, new ArrayList<>(headers.getAll(name)));
+            }
+        }
+        CachedResponse cached = new CachedResponse(mediaType.toString(), bytes, etag, lastModified, cachedHeaders);
+        String[] varyHeaders = vary.toArray(new String[0]);
+        cache.put(uriKey, varyHeaders);
+        cache.put(uriKey.vary(varyValues(request, varyHeaders)), cached);
+
+        if (cached.isNotModified(request)) {
+            return cached.toResponse(request);
+        }
+        ((MutableHttpResponse<Object>) response).body(bytes);
+        if (!headers.contains(HttpHeaders.CONTENT_TYPE)) {
+            headers.contentType(mediaType);
+        }
+        if (!headers.contains(HttpHeaders.ETAG)) {
+            headers.add(HttpHeaders.ETAG, etag);
+        }
+        if (!headers.contains(HttpHeaders.LAST_MODIFIED)) {
+            headers.lastModified(lastModified);
+        }
+        return response;
+    }
+
+    private SyncCache<?> resolveCache(AnnotationMetadata metadata) {
+        String cacheName = metadata.getValue(ResponseCache.class, String.class)
+            .filter(StringUtils::isNotEmpty)
+            .orElse(serverConfiguration.getResponseCache().getCacheName());
+        SyncCache<?> cache = cacheManager.getCache(cacheName);
+        cacheNames.add(cacheName);
+        return cache;
+    }
+
+    private long generation(String uriTemplate) {
+        AtomicLong generation = generations.get(uriTemplate);
+        return generation != null ? generation.get() : 0;
+    }
+
+    private static List<String> varyValues(HttpRequest<?> request, String[] varyHeaders) {
+        if (varyHeaders.length == 0) {
+            return Collections.emptyList();
+        }
+        HttpHeaders requestHeaders = request.getHeaders();
+        List<String> values = new ArrayList<>(varyHeaders.length);
+        for (String name : varyHeaders) {
+            values.add(String.join(",", requestHeaders.getAll(name)));
+        }
+        return values;
+    }
+
+    private static boolean isPrivate(HttpHeaders headers) {
+        for (String value : headers.getAll(HttpHeaders.CACHE_CONTROL)) {
+            String directives = value.toLowerCase(Locale.ENGLISH);
+            if (directives.contains("no-store") || directives.contains("private")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String etag(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(bytes);
+            char[] chars = new char[digest.length * 2 + 2];
+            chars[0] = '"';
+            for (int i = 0; i < digest.length; i++) {
+                chars[i * 2 + 1] = HEX[(digest[i] >> 4) & 0xF];
+                chars[i * 2 + 2] = HEX[digest[i] & 0xF];
+            }
+            chars[chars.length - 1] = '"';
+            return new String(chars);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 is not available: " + e.getMessage(), e);
+        }
+    }
+}
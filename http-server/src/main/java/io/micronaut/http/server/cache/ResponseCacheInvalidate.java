@@ -0,0 +1,44 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.server.cache;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Invalidates the responses cached for one or more routes once the annotated route has completed successfully.
+ *
+ * @author agent
+ * @since 1.0
+ * @see ResponseCache
+ */
+@Documented
+@Retention(RUNTIME)
+@Target({METHOD, TYPE})
+public @interface ResponseCacheInvalidate {
+
+    /**
+     * @return The URI templates of the routes to invalidate, such as {@code /books/{id}}. Defaults to the URI
+     * template of the annotated route.
+     */
+    String[] value() default {};
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.server.cache;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The key of a cached response. Keys without vary values hold the names of the request headers the responses of
+ * a URI vary on, keys with vary values hold the response for those values. The generation of the route is part of
+ * the key so that invalidating a route makes all of its entries unreachable.
+ *
+ * @author agent
+ * @since 1.0
+ */
+final class ResponseCacheKey implements Serializable {
+
+    private final String uriTemplate;
+    private final long generation;
+    private final String uri;
+    private final List<String> varyValues;
+    private final int hashCode;
+
+    /**
+     * @param uriTemplate The URI template of the route
+     * @param generation  The generation of the route
+     * @param uri         The request URI
+     * @param varyValues  The values of the request headers the response varies on
+     */
+    ResponseCacheKey(String uriTemplate, long generation, String uri, List<String> varyValues) {
+        this.uriTemplate = uriTemplate;
+        this.generation = generation;
+        this.uri = uri;
+        this.varyValues = varyValues;
+        this.hashCode = Objects.hash(uriTemplate, generation, uri, varyValues);
+    }
+
+    /**
+     * @param values The values of the request headers the response varies on
+     * @return The key of the response for the given values
+     */
+    ResponseCacheKey vary(List<String> values) {
+        return new ResponseCacheKey(uriTemplate, generation, uri, values);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ResponseCacheKey that = (ResponseCacheKey) o;
+        return generation == that.generation &&
+            uri.equals(that.uri) &&
+            uriTemplate.equals(that.uriTemplate) &&
+            Objects.equals(varyValues, that.varyValues);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return uri + (varyValues != null ? varyValues : "");
+    }
+}
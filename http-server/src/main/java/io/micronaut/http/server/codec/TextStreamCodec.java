@@ -18,6 +18,7 @@ package io.micronaut.http.server.codec;
 
 import io.micronaut.core.io.buffer.ByteBuffer;
 import io.micronaut.core.io.buffer.ByteBufferFactory;
+import io.micronaut.core.io.buffer.ReferenceCounted;
 import io.micronaut.core.type.Argument;
 import io.micronaut.http.MediaType;
 import io.micronaut.http.codec.CodecException;
@@ -96,10 +97,15 @@ public class TextStreamCodec implements MediaTypeCodec {
     @Override
     public <T> byte[] encode(T object) throws CodecException {
         ByteBuffer buffer = encode(object, byteBufferFactory);
-        return buffer.toByteArray();
+        try {
+            return buffer.toByteArray();
+        } finally {
+            if (buffer instanceof ReferenceCounted) {
+                ((ReferenceCounted) buffer).release();
+            }
+        }
     }
 
-    @SuppressWarnings("MagicNumber")
     @Override
     public <T> ByteBuffer encode(T object, ByteBufferFactory allocator) throws CodecException {
         Event<Object> event;
@@ -109,28 +115,36 @@ public class TextStreamCodec implements MediaTypeCodec {
             event = Event.of(object);
         }
         Object data = event.getData();
-        ByteBuffer body;
-        if (data instanceof CharSequence) {
-            body = allocator.copiedBuffer(data.toString().getBytes(serverConfiguration.getDefaultCharset()));
-        } else {
-            MediaTypeCodec jsonCodec = resolveMediaTypeCodecRegistry().findCodec(MediaType.APPLICATION_JSON_TYPE)
-                .orElseThrow(() -> new CodecException("No possible JSON encoders found!"));
-            body = jsonCodec.encode(data, allocator);
-        }
-        ByteBuffer eventData = allocator.buffer(body.readableBytes() + 10);
-        writeAttribute(eventData, COMMENT_PREFIX, event.getComment());
-        writeAttribute(eventData, ID_PREFIX, event.getId());
-        writeAttribute(eventData, EVENT_PREFIX, event.getName());
-        Duration retry = event.getRetry();
-        if (retry != null) {
-            writeAttribute(eventData, RETRY_PREFIX, String.valueOf(retry.toMillis()));
+        // the event is written straight into a single buffer obtained from the allocator, which for the Netty
+        // server is a pooled buffer, rather than encoding the data into a separate buffer and copying it
+        ByteBuffer eventData = allocator.buffer();
+        try {
+            writeAttribute(eventData, COMMENT_PREFIX, event.getComment());
+            writeAttribute(eventData, ID_PREFIX, event.getId());
+            writeAttribute(eventData, EVENT_PREFIX, event.getName());
+            Duration retry = event.getRetry();
+            if (retry != null) {
+                writeAttribute(eventData, RETRY_PREFIX, String.valueOf(retry.toMillis()));
+            }
+            // Write the data: prefix
+            eventData.write(DATA_PREFIX);
+            if (data instanceof CharSequence) {
+                eventData.write((CharSequence) data, serverConfiguration.getDefaultCharset());
+            } else {
+                MediaTypeCodec jsonCodec = resolveMediaTypeCodecRegistry().findCodec(MediaType.APPLICATION_JSON_TYPE)
+                    .orElseThrow(() -> new CodecException("No possible JSON encoders found!"));
+                jsonCodec.encode(data, eventData.toOutputStream());
+            }
+            eventData
+                .write(NEWLINE) // Write new lines for event separation
+                .write(NEWLINE);
+            return eventData;
+        } catch (RuntimeException e) {
+            if (eventData instanceof ReferenceCounted) {
+                ((ReferenceCounted) eventData).release();
+            }
+            throw e;
         }
-        // Write the data: prefix
-        eventData.write(DATA_PREFIX)
-            .write(body)
-            .write(NEWLINE) // Write new lines for event separation
-            .write(NEWLINE);
-        return eventData;
     }
 
     private MediaTypeCodecRegistry resolveMediaTypeCodecRegistry() {
@@ -52,7 +52,12 @@ public enum HttpAttributes implements CharSequence {
     /**
      * Attribute used to store the service ID a client request is being sent to. Used for tracing purposes.
      */
-    SERVICE_ID(Constants.PREFIX + ".serviceId");
+    SERVICE_ID(Constants.PREFIX + ".serviceId"),
+
+    /**
+     * Attribute used to mark a client request that is safe to send more than once, for example to hedge it.
+     */
+    IDEMPOTENT(Constants.PREFIX + ".idempotent");
 
     private final String name;
 
@@ -23,6 +23,7 @@ import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.OptionalLong;
@@ -247,6 +248,11 @@ public interface HttpHeaders extends ConvertibleMultiValues<String> {
      */
     String IF_UNMODIFIED_SINCE = "If-Unmodified-Since";
 
+    /**
+     * {@code "Last-Event-ID"}.
+     */
+    String LAST_EVENT_ID = "Last-Event-ID";
+
     /**
      * {@code "Last-Modified"}.
      */
@@ -484,7 +490,7 @@ public interface HttpHeaders extends ConvertibleMultiValues<String> {
      */
     default Optional<MediaType> contentType() {
         return findFirst(HttpHeaders.CONTENT_TYPE)
-            .map(MediaType::new);
+            .map(MediaType::of);
     }
 
     /**
@@ -505,7 +511,10 @@ public interface HttpHeaders extends ConvertibleMultiValues<String> {
     default List<MediaType> accept() {
         return getAll(HttpHeaders.ACCEPT)
             .stream()
-            .map(MediaType::new)
+            .flatMap(value -> Arrays.stream(value.split(",")))
+            .map(String::trim)
+            .filter(value -> !value.isEmpty())
+            .map(MediaType::of)
             .distinct()
             .collect(Collectors.toList());
     }
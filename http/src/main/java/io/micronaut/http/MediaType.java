@@ -39,6 +39,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.regex.Pattern;
@@ -271,6 +272,9 @@ public class MediaType implements CharSequence {
     private static final BigDecimal QUALITY_RATING_NUMBER = new BigDecimal("1.0");
     private static final String QUALITY_RATING = "1.0";
     private static final String SEMICOLON = ";";
+    private static final int MAX_CACHED_MEDIA_TYPES = 500;
+    @SuppressWarnings("ConstantName")
+    private static final Map<String, MediaType> parsedMediaTypes = new ConcurrentHashMap<>();
 
     @SuppressWarnings("ConstantName")
     private static final CompletableFuture<Map<String, String>> mediaTypeFileExtensionsFuture = CompletableFuture.supplyAsync(MediaType::loadMimeTypes);
@@ -289,9 +293,7 @@ public class MediaType implements CharSequence {
     private BigDecimal qualityNumberField;
 
     static {
-        ConversionService.SHARED.addConverter(CharSequence.class, MediaType.class, (Function<CharSequence, MediaType>) charSequence ->
-            new MediaType(charSequence.toString())
-        );
+        ConversionService.SHARED.addConverter(CharSequence.class, MediaType.class, (Function<CharSequence, MediaType>) MediaType::of);
         textTypePatterns.add(Pattern.compile("^text/.*$"));
         textTypePatterns.add(Pattern.compile("^.*\\+json$"));
         textTypePatterns.add(Pattern.compile("^.*\\+text$"));
@@ -509,13 +511,23 @@ public class MediaType implements CharSequence {
     }
 
     /**
-     * Create a new {@link MediaType} from the given text.
+     * Create a new {@link MediaType} from the given text. Media types are immutable so the instances parsed for
+     * the first distinct values, typically those of the {@code Accept} and {@code Content-Type} headers sent by
+     * the clients of an application, are cached and returned for subsequent calls.
      *
      * @param mediaType The text
      * @return The {@link MediaType}
      */
     public static MediaType of(CharSequence mediaType) {
-        return new MediaType(mediaType.toString());
+        String text = mediaType.toString();
+        MediaType parsed = parsedMediaTypes.get(text);
+        if (parsed == null) {
+            parsed = new MediaType(text);
+            if (parsedMediaTypes.size() < MAX_CACHED_MEDIA_TYPES) {
+                parsedMediaTypes.put(text, parsed);
+            }
+        }
+        return parsed;
     }
 
     /**
@@ -525,7 +537,7 @@ public class MediaType implements CharSequence {
      * @return The {@link MediaType}
      */
     public static MediaType[] of(CharSequence... mediaType) {
-        return Arrays.stream(mediaType).map(txt -> new MediaType(txt.toString())).toArray(MediaType[]::new);
+        return Arrays.stream(mediaType).map(MediaType::of).toArray(MediaType[]::new);
     }
 
     /**
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.context;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.http.HttpRequest;
+
+import javax.annotation.Nullable;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * Holds the {@link HttpRequest} currently being processed by the server in a per-thread slot. The server populates
+ * the slot while it routes and executes a request and context propagation instrumentation carries it across thread
+ * boundaries.
+ *
+ * @author agent
+ * @since 1.0
+ */
+public final class ServerRequestContext {
+
+    private static final ThreadLocal<HttpRequest> REQUEST = new ThreadLocal<>();
+
+    private ServerRequestContext() {
+    }
+
+    /**
+     * Runs the given operation with the request bound to the current thread.
+     *
+     * @param request The request
+     * @param runnable The operation
+     */
+    public static void with(@Nullable HttpRequest request, Runnable runnable) {
+        HttpRequest existing = set(request);
+        try {
+            runnable.run();
+        } finally {
+            set(existing);
+        }
+    }
+
+    /**
+     * Runs the given operation with the request bound to the current thread.
+     *
+     * @param request The request
+     * @param supplier The operation
+     * @param <T> The result type
+     * @return The result of the operation
+     */
+    public static <T> T with(@Nullable HttpRequest request, Supplier<T> supplier) {
+        HttpRequest existing = set(request);
+        try {
+            return supplier.get();
+        } finally {
+            set(existing);
+        }
+    }
+
+    /**
+     * Runs the given operation with the request bound to the current thread.
+     *
+     * @param request The request
+     * @param callable The operation
+     * @param <T> The result type
+     * @return The result of the operation
+     * @throws Exception If the operation fails
+     */
+    public static <T> T with(@Nullable HttpRequest request, Callable<T> callable) throws Exception {
+        HttpRequest existing = set(request);
+        try {
+            return callable.call();
+        } finally {
+            set(existing);
+        }
+    }
+
+    /**
+     * @param <T> The body type
+     * @return The request bound to the current thread, if any
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Optional<HttpRequest<T>> currentRequest() {
+        return Optional.ofNullable(REQUEST.get());
+    }
+
+    /**
+     * Binds the given request to the current thread. Callers are responsible for restoring the returned previous
+     * value once they are done.
+     *
+     * @param request The request or {@code null} to clear the slot
+     * @return The request that was previously bound, if any
+     */
+    @Internal
+    public static @Nullable HttpRequest set(@Nullable HttpRequest request) {
+        HttpRequest existing = REQUEST.get();
+        if (request == null) {
+            REQUEST.remove();
+        } else if (existing != request) {
+            REQUEST.set(request);
+        }
+        return existing;
+    }
+}
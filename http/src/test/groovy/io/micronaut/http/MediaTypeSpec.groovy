@@ -69,4 +69,14 @@ class MediaTypeSpec extends Specification {
         "multipart/form-data"        | false
         "application/x-json-stream"  | false
     }
+
+    void "test parsed media types are cached"() {
+        when:
+        MediaType mediaType = MediaType.of("application/json;charset=utf-8")
+
+        then:
+        mediaType.is(MediaType.of("application/json;charset=utf-8"))
+        mediaType.name == "application/json"
+        mediaType.parameters.get("charset").get() == "utf-8"
+    }
 }
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.management.endpoint.health;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.util.Toggleable;
+
+import java.time.Duration;
+
+/**
+ * <p>Configuration for how the health indicators of the {@link HealthEndpoint} are executed.</p>
+ *
+ * @author agent
+ * @since 1.0
+ */
+@ConfigurationProperties(HealthEndpoint.PREFIX)
+public class HealthCheckConfiguration {
+
+    /**
+     * The default timeout of a single health indicator in seconds.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final long DEFAULT_TIMEOUT_SECONDS = 10;
+
+    private Duration timeout = Duration.ofSeconds(DEFAULT_TIMEOUT_SECONDS);
+
+    /**
+     * @return The maximum amount of time a single health indicator may take before it is reported as down
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * @param timeout The maximum amount of time a single health indicator may take
+     */
+    public void setTimeout(Duration timeout) {
+        if (timeout != null) {
+            this.timeout = timeout;
+        }
+    }
+
+    /**
+     * <p>Configuration for caching health results. When enabled the health indicators are executed on a background
+     * schedule and requests to the health endpoint are served from the cached results.</p>
+     */
+    @ConfigurationProperties("cache")
+    public static class CacheConfiguration implements Toggleable {
+
+        /**
+         * The prefix of the cache configuration.
+         */
+        public static final String PREFIX = HealthEndpoint.PREFIX + ".cache";
+
+        /**
+         * The default time to live of cached results in seconds.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final long DEFAULT_TTL_SECONDS = 30;
+
+        /**
+         * The default refresh interval in seconds.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final long DEFAULT_REFRESH_INTERVAL_SECONDS = 10;
+
+        private boolean enabled = false;
+        private Duration ttl = Duration.ofSeconds(DEFAULT_TTL_SECONDS);
+        private Duration refreshInterval = Duration.ofSeconds(DEFAULT_REFRESH_INTERVAL_SECONDS);
+
+        /**
+         * @return Whether health results are cached
+         */
+        @Override
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * @param enabled Whether health results are cached
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * @return How long a cached result is served before the indicator is executed again on request
+         */
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        /**
+         * @param ttl How long a cached result is served
+         */
+        public void setTtl(Duration ttl) {
+            if (ttl != null) {
+                this.ttl = ttl;
+            }
+        }
+
+        /**
+         * @return The interval at which the health indicators are executed in the background
+         */
+        public Duration getRefreshInterval() {
+            return refreshInterval;
+        }
+
+        /**
+         * @param refreshInterval The interval at which the health indicators are executed in the background
+         */
+        public void setRefreshInterval(Duration refreshInterval) {
+            if (refreshInterval != null) {
+                this.refreshInterval = refreshInterval;
+            }
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.management.endpoint.health;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.naming.NameUtils;
+import io.micronaut.health.HealthStatus;
+import io.micronaut.management.health.indicator.HealthIndicator;
+import io.micronaut.management.health.indicator.HealthResult;
+import io.micronaut.scheduling.TaskExecutors;
+import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
+import io.reactivex.schedulers.Schedulers;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * <p>Executes the {@link HealthIndicator} instances of the {@link HealthEndpoint}. Every indicator is subscribed to on
+ * the I/O executor so indicators run in parallel, and each is bounded by {@link HealthCheckConfiguration#getTimeout()}.
+ * An indicator that fails or times out is reported as {@link HealthStatus#DOWN}.</p>
+ *
+ * <p>If {@link HealthCheckConfiguration.CacheConfiguration caching} is enabled the last results of each indicator are
+ * kept and returned for as long as they are younger than the configured time to live, which
+ * {@link HealthResultRefresher} ensures by refreshing them in the background.</p>
+ *
+ * @author agent
+ * @since 1.0
+ */
+@Singleton
+@Requires(beans = HealthEndpoint.class)
+public class HealthCheckRunner {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HealthCheckRunner.class);
+
+    private final Map<HealthIndicator, ManagedHealthIndicator> managedIndicators = new ConcurrentHashMap<>();
+    private final long timeoutMillis;
+    private final long ttlMillis;
+    private final boolean cacheEnabled;
+    private final Scheduler scheduler;
+
+    /**
+     * @param configuration      The health check configuration
+     * @param cacheConfiguration The health result cache configuration
+     * @param executorService    The executor the indicators are subscribed on
+     * @param healthIndicators   The health indicators
+     */
+    public HealthCheckRunner(HealthCheckConfiguration configuration,
+                             HealthCheckConfiguration.CacheConfiguration cacheConfiguration,
+                             @Named(TaskExecutors.IO) ExecutorService executorService,
+                             HealthIndicator[] healthIndicators) {
+        this.timeoutMillis = configuration.getTimeout().toMillis();
+        this.ttlMillis = cacheConfiguration.getTtl().toMillis();
+        this.cacheEnabled = cacheConfiguration.isEnabled();
+        this.scheduler = Schedulers.from(executorService);
+        for (HealthIndicator healthIndicator : healthIndicators) {
+            managedIndicators.put(healthIndicator, new ManagedHealthIndicator(healthIndicator));
+        }
+    }
+
+    /**
+     * Wraps the given indicators so that they are executed with a timeout and, if enabled, served from the cache.
+     *
+     * @param healthIndicators The health indicators
+     * @return The managed health indicators
+     */
+    public HealthIndicator[] manage(HealthIndicator[] healthIndicators) {
+        HealthIndicator[] managed = new HealthIndicator[healthIndicators.length];
+        for (int i = 0; i < healthIndicators.length; i++) {
+            managed[i] = managedIndicators.computeIfAbsent(healthIndicators[i], ManagedHealthIndicator::new);
+        }
+        return managed;
+    }
+
+    /**
+     * Executes all health indicators and updates the cached results. Indicators that are still running from a
+     * previous refresh are skipped.
+     */
+    public void refresh() {
+        for (ManagedHealthIndicator indicator : managedIndicators.values()) {
+            if (indicator.running.compareAndSet(false, true)) {
+                indicator.execute()
+                    .doFinally(() -> indicator.running.set(false))
+                    .subscribe(results -> { }, throwable -> { });
+            }
+        }
+    }
+
+    /**
+     * Manages the execution of a single health indicator.
+     */
+    private final class ManagedHealthIndicator implements HealthIndicator {
+
+        private final HealthIndicator target;
+        private final AtomicBoolean running = new AtomicBoolean(false);
+        private volatile List<HealthResult> results;
+        private volatile long timestamp;
+
+        ManagedHealthIndicator(HealthIndicator target) {
+            this.target = target;
+        }
+
+        @Override
+        public int getOrder() {
+            return target.getOrder();
+        }
+
+        @Override
+        public Publisher<HealthResult> getResult() {
+            if (cacheEnabled) {
+                List<HealthResult> cached = this.results;
+                if (cached != null && System.currentTimeMillis() - timestamp <= ttlMillis) {
+                    return Flowable.fromIterable(cached);
+                }
+            }
+            return execute().flattenAsFlowable(list -> list);
+        }
+
+        Single<List<HealthResult>> execute() {
+            return Flowable.fromPublisher(target.getResult())
+                .subscribeOn(scheduler)
+                .toList()
+                .timeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                .onErrorReturn(this::failure)
+                .doOnSuccess(list -> {
+                    if (cacheEnabled) {
+                        this.results = list;
+                        this.timestamp = System.currentTimeMillis();
+                    }
+                });
+        }
+
+        private List<HealthResult> failure(Throwable throwable) {
+            String name = NameUtils.decapitalizeWithoutSuffix(target.getClass().getSimpleName(), "HealthIndicator", "Indicator");
+            if (LOG.isWarnEnabled()) {
+                if (throwable instanceof TimeoutException) {
+                    LOG.warn("Health indicator [{}] did not complete within {}ms", name, timeoutMillis);
+                } else {
+                    LOG.warn("Health indicator [" + name + "] failed: " + throwable.getMessage(), throwable);
+                }
+            }
+            if (throwable instanceof TimeoutException) {
+                throwable = new TimeoutException("Health indicator did not complete within " + timeoutMillis + "ms");
+            }
+            return Collections.singletonList(
+                HealthResult.builder(name, HealthStatus.DOWN).exception(throwable).build()
+            );
+        }
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.management.endpoint.health;
+
+/**
+ * The groups of health indicators that can be requested from the {@link HealthEndpoint}.
+ *
+ * @author agent
+ * @since 1.0
+ */
+public enum HealthCheckType {
+
+    /**
+     * Only the indicators qualified with {@link io.micronaut.management.health.indicator.Liveness}.
+     */
+    LIVENESS,
+
+    /**
+     * All indicators.
+     */
+    READINESS
+}
@@ -16,15 +16,26 @@
 
 package io.micronaut.management.endpoint.health;
 
+import io.micronaut.context.BeanContext;
+import io.micronaut.health.HealthStatus;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.inject.qualifiers.Qualifiers;
 import io.micronaut.management.endpoint.Endpoint;
 import io.micronaut.management.endpoint.EndpointConfiguration;
 import io.micronaut.management.endpoint.Read;
 import io.micronaut.management.health.aggregator.HealthAggregator;
 import io.micronaut.management.health.indicator.HealthIndicator;
+import io.micronaut.management.health.indicator.HealthResult;
+import io.micronaut.management.health.indicator.Liveness;
+import io.reactivex.Flowable;
 import io.reactivex.Single;
 
 import javax.annotation.Nullable;
+import javax.inject.Inject;
 import java.security.Principal;
+import java.util.List;
+import java.util.Locale;
 
 /**
  * <p>Exposes an {@link Endpoint} to provide information about the health of the application.</p>
@@ -52,6 +63,7 @@ public class HealthEndpoint {
 
     private HealthAggregator healthAggregator;
     private HealthIndicator[] healthIndicators;
+    private HealthIndicator[] livenessHealthIndicators;
     private HealthLevelOfDetailResolver healthLevelOfDetailResolver;
 
     /**
@@ -62,9 +74,52 @@ public class HealthEndpoint {
     public HealthEndpoint(HealthAggregator healthAggregator,
                           HealthIndicator[] healthIndicators,
                           HealthLevelOfDetailResolver healthLevelOfDetailResolver) {
+        this(healthAggregator, healthIndicators, new HealthIndicator[0], healthLevelOfDetailResolver, null);
+    }
+
+    /**
+     * @param healthAggregator            The {@link HealthAggregator}
+     * @param healthIndicators            The {@link HealthIndicator}
+     * @param livenessHealthIndicators    The {@link HealthIndicator} instances annotated with {@link Liveness}
+     * @param healthLevelOfDetailResolver The {@link HealthLevelOfDetailResolver}
+     * @param healthCheckRunner           The {@link HealthCheckRunner} used to execute the indicators
+     */
+    public HealthEndpoint(HealthAggregator healthAggregator,
+                          HealthIndicator[] healthIndicators,
+                          HealthIndicator[] livenessHealthIndicators,
+                          HealthLevelOfDetailResolver healthLevelOfDetailResolver,
+                          @Nullable HealthCheckRunner healthCheckRunner) {
         this.healthAggregator = healthAggregator;
-        this.healthIndicators = healthIndicators;
         this.healthLevelOfDetailResolver = healthLevelOfDetailResolver;
+        if (healthCheckRunner != null) {
+            this.healthIndicators = healthCheckRunner.manage(healthIndicators);
+            this.livenessHealthIndicators = healthCheckRunner.manage(livenessHealthIndicators);
+        } else {
+            this.healthIndicators = healthIndicators;
+            this.livenessHealthIndicators = livenessHealthIndicators;
+        }
+    }
+
+    /**
+     * @param healthAggregator            The {@link HealthAggregator}
+     * @param healthIndicators            The {@link HealthIndicator}
+     * @param beanContext                 The bean context used to look up the {@link Liveness} indicators
+     * @param healthLevelOfDetailResolver The {@link HealthLevelOfDetailResolver}
+     * @param healthCheckRunner           The {@link HealthCheckRunner} used to execute the indicators
+     */
+    @Inject
+    public HealthEndpoint(HealthAggregator healthAggregator,
+                          HealthIndicator[] healthIndicators,
+                          BeanContext beanContext,
+                          HealthLevelOfDetailResolver healthLevelOfDetailResolver,
+                          @Nullable HealthCheckRunner healthCheckRunner) {
+        this(
+            healthAggregator,
+            healthIndicators,
+            beanContext.getBeansOfType(HealthIndicator.class, Qualifiers.byStereotype(Liveness.class)).toArray(new HealthIndicator[0]),
+            healthLevelOfDetailResolver,
+            healthCheckRunner
+        );
     }
 
     /**
@@ -76,4 +131,41 @@ public class HealthEndpoint {
         HealthLevelOfDetail detail = healthLevelOfDetailResolver.levelOfDetail(principal);
         return Single.fromPublisher(healthAggregator.aggregate(healthIndicators, detail));
     }
+
+    /**
+     * Evaluates a group of health indicators, for example for use by liveness and readiness probes. Unlike
+     * {@link #getHealth(Principal)} the response status is {@link HttpStatus#SERVICE_UNAVAILABLE} if the group is not
+     * operational.
+     *
+     * @param principal Authenticated user
+     * @param type      The group of indicators to evaluate
+     * @return The health information of the group as a {@link Single}
+     */
+    @Read
+    Single<HttpResponse<Object>> getHealth(@Nullable Principal principal, HealthCheckType type) {
+        HealthLevelOfDetail detail = healthLevelOfDetailResolver.levelOfDetail(principal);
+        HealthIndicator[] indicators = type == HealthCheckType.LIVENESS ? livenessHealthIndicators : healthIndicators;
+        Flowable<HealthResult> results;
+        if (indicators.length == 0) {
+            // an application without indicators for the group is considered healthy as long as it responds
+            results = Flowable.just(HealthResult.builder(type.name().toLowerCase(Locale.ENGLISH), HealthStatus.UP).build());
+        } else {
+            // merge the indicators once and share the results between the aggregator and the status calculation
+            results = Flowable.merge(Flowable.fromArray(indicators).map(HealthIndicator::getResult)).cache();
+        }
+        HealthIndicator combined = () -> results;
+        Single<Object> aggregate = Single.fromPublisher(healthAggregator.aggregate(new HealthIndicator[] {combined}, detail));
+        Single<HealthStatus> status = results.map(HealthResult::getStatus).toList().map(this::calculateOverallStatus);
+        return Single.zip(aggregate, status, (body, overallStatus) -> {
+            boolean operational = overallStatus.getOperational().orElse(true);
+            return HttpResponse.status(operational ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE).body(body);
+        });
+    }
+
+    private HealthStatus calculateOverallStatus(List<HealthStatus> statuses) {
+        return statuses.stream()
+            .sorted()
+            .reduce((a, b) -> b)
+            .orElse(HealthStatus.UP);
+    }
 }
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.management.endpoint.health;
+
+import io.micronaut.context.annotation.Context;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.scheduling.TaskScheduler;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * <p>Refreshes the results cached by the {@link HealthCheckRunner} in the background so that requests to the
+ * {@link HealthEndpoint} are answered immediately.</p>
+ *
+ * @author agent
+ * @since 1.0
+ */
+@Context
+@Requires(beans = HealthEndpoint.class)
+@Requires(property = HealthCheckConfiguration.CacheConfiguration.PREFIX + ".enabled", value = "true")
+public class HealthResultRefresher {
+
+    private final ScheduledFuture<?> refreshTask;
+
+    /**
+     * @param healthCheckRunner  The health check runner
+     * @param cacheConfiguration The cache configuration
+     * @param taskScheduler      The task scheduler
+     */
+    public HealthResultRefresher(HealthCheckRunner healthCheckRunner,
+                                 HealthCheckConfiguration.CacheConfiguration cacheConfiguration,
+                                 TaskScheduler taskScheduler) {
+        this.refreshTask = taskScheduler.scheduleWithFixedDelay(
+            Duration.ZERO,
+            cacheConfiguration.getRefreshInterval(),
+            healthCheckRunner::refresh
+        );
+    }
+
+    /**
+     * Stops refreshing the health results.
+     */
+    @PreDestroy
+    void stop() {
+        refreshTask.cancel(false);
+    }
+}
@@ -21,17 +21,26 @@ import io.micronaut.core.convert.ArgumentConversionContext
 import io.micronaut.core.type.Argument
 import io.micronaut.http.HttpRequest
 import io.micronaut.http.HttpStatus
+import io.micronaut.health.HealthStatus
 import io.micronaut.http.client.RxHttpClient
+import io.micronaut.http.client.exceptions.HttpClientResponseException
 import io.micronaut.http.server.binding.binders.TypedRequestArgumentBinder
 import io.micronaut.management.health.aggregator.RxJavaHealthAggregator
+import io.micronaut.management.health.indicator.HealthIndicator
+import io.micronaut.management.health.indicator.HealthResult
+import io.micronaut.management.health.indicator.Liveness
 import io.micronaut.management.health.indicator.diskspace.DiskSpaceIndicator
 import io.micronaut.management.health.indicator.jdbc.JdbcIndicator
 import io.micronaut.runtime.server.EmbeddedServer
+import io.reactivex.Flowable
+import org.reactivestreams.Publisher
 import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
 
 import javax.inject.Singleton
 import javax.sql.DataSource
 import java.security.Principal
+import java.util.concurrent.atomic.AtomicInteger
 
 class HealthEndpointSpec extends Specification {
 
@@ -212,6 +221,119 @@ class HealthEndpointSpec extends Specification {
 
     }
 
+    void "test liveness and readiness health groups"() {
+        given:
+        EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+                'spec.name': getClass().simpleName,
+                'spec.liveness': true,
+                'endpoints.health.sensitive': false,
+                'endpoints.health.disk-space.threshold': '9999GB'])
+        RxHttpClient rxClient = embeddedServer.applicationContext.createBean(RxHttpClient, embeddedServer.getURL())
+
+        when:
+        def response = rxClient.exchange("/health/liveness", Map).blockingFirst()
+        Map result = response.body()
+
+        then:
+        response.code() == HttpStatus.OK.code
+        result.status == "UP"
+        result.details.keySet() == ["test"] as Set
+
+        when:
+        rxClient.exchange("/health/readiness", Map).blockingFirst()
+
+        then:
+        HttpClientResponseException e = thrown()
+        e.status == HttpStatus.SERVICE_UNAVAILABLE
+        e.response.getBody(Map).get().details.diskSpace.status == "DOWN"
+
+        cleanup:
+        embeddedServer.close()
+    }
+
+    void "test health indicators that do not complete are reported as down"() {
+        given:
+        EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+                'spec.name': getClass().simpleName,
+                'spec.slow': true,
+                'endpoints.health.sensitive': false,
+                'endpoints.health.timeout': '200ms'])
+        RxHttpClient rxClient = embeddedServer.applicationContext.createBean(RxHttpClient, embeddedServer.getURL())
+
+        when:
+        Map result = rxClient.retrieve(HttpRequest.GET("/health"), Map).blockingFirst()
+
+        then:
+        result.status == "DOWN"
+        result.details.diskSpace.status == "UP"
+        result.details.slow.status == "DOWN"
+        result.details.slow.details.error.contains("did not complete within 200ms")
+
+        cleanup:
+        embeddedServer.close()
+    }
+
+    void "test health results are cached and refreshed in the background"() {
+        given:
+        EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+                'spec.name': getClass().simpleName,
+                'spec.counting': true,
+                'endpoints.health.sensitive': false,
+                'endpoints.health.cache.enabled': true,
+                'endpoints.health.cache.ttl': '1m',
+                'endpoints.health.cache.refresh-interval': '1h'])
+        RxHttpClient rxClient = embeddedServer.applicationContext.createBean(RxHttpClient, embeddedServer.getURL())
+        CountingIndicator indicator = embeddedServer.applicationContext.getBean(CountingIndicator)
+
+        expect:
+        new PollingConditions(timeout: 5).eventually {
+            assert indicator.count.get() == 1
+        }
+
+        when:
+        List<Map> results = (1..3).collect { rxClient.retrieve(HttpRequest.GET("/health"), Map).blockingFirst() }
+
+        then:
+        results.every { it.details.counting.status == "UP" }
+        indicator.count.get() == 1
+
+        cleanup:
+        embeddedServer.close()
+    }
+
+    @Singleton
+    @Liveness
+    @Requires(property = 'spec.liveness')
+    static class TestLivenessIndicator implements HealthIndicator {
+        @Override
+        Publisher<HealthResult> getResult() {
+            Flowable.just(HealthResult.builder("test", HealthStatus.UP).build())
+        }
+    }
+
+    @Singleton
+    @Requires(property = 'spec.slow')
+    static class SlowIndicator implements HealthIndicator {
+        @Override
+        Publisher<HealthResult> getResult() {
+            Flowable.never()
+        }
+    }
+
+    @Singleton
+    @Requires(property = 'spec.counting')
+    static class CountingIndicator implements HealthIndicator {
+        final AtomicInteger count = new AtomicInteger()
+
+        @Override
+        Publisher<HealthResult> getResult() {
+            Flowable.fromCallable {
+                count.incrementAndGet()
+                HealthResult.builder("counting", HealthStatus.UP).build()
+            }
+        }
+    }
+
     @Singleton
     @Requires(property = 'spec.name', value = 'HealthEndpointSpec')
     static class TestPrincipalBinder implements TypedRequestArgumentBinder<Principal> {
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.discovery;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * An in-memory registry of {@link ServiceInstance} that is kept up to date by watching a discovery server for
+ * changes, allowing the instances of a service to be pushed to interested parties rather than polled.
+ *
+ * @author agent
+ * @since 1.0
+ */
+public interface ServiceInstanceRegistry {
+
+    /**
+     * Returns the instances of the given service known to the registry. Note: This method should NEVER block.
+     *
+     * @param serviceId The service ID
+     * @return The instances or empty if the service is not yet watched
+     */
+    Optional<List<ServiceInstance>> getInstances(String serviceId);
+
+    /**
+     * Adds a listener that is notified with the instances of the given service each time they change, starting a
+     * watch for the service if necessary. If the instances are already known the listener is notified immediately.
+     *
+     * @param serviceId The service ID
+     * @param listener  The listener
+     */
+    void addListener(String serviceId, Consumer<List<ServiceInstance>> listener);
+}
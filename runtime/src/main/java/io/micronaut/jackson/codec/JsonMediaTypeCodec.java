@@ -16,13 +16,15 @@
 
 package io.micronaut.jackson.codec;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.type.TypeFactory;
 import io.micronaut.core.io.buffer.ByteBuffer;
 import io.micronaut.core.io.buffer.ByteBufferFactory;
+import io.micronaut.core.io.buffer.ReferenceCounted;
 import io.micronaut.core.type.Argument;
 import io.micronaut.http.MediaType;
 import io.micronaut.http.codec.CodecException;
@@ -36,10 +38,16 @@ import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A {@link MediaTypeCodec} for JSON and Jackson.
  *
+ * <p>The {@link ObjectReader} for each decoded type and the {@link ObjectWriter} for each encoded class are created
+ * once and cached, so the {@link JavaType} of generic types is not constructed again for every payload. Payloads are
+ * encoded straight into a buffer allocated by the given {@link ByteBufferFactory} and decoded by streaming the readable
+ * bytes of the buffer, without copying them to an intermediate {@code byte[]}.</p>
+ *
  * @author Graeme Rocher
  * @since 1.0
  */
@@ -48,6 +56,8 @@ public class JsonMediaTypeCodec implements MediaTypeCodec {
 
     private final ObjectMapper objectMapper;
     private final ApplicationConfiguration applicationConfiguration;
+    private final Map<Object, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
 
     /**
      * @param objectMapper             To read/write JSON
@@ -75,16 +85,10 @@ public class JsonMediaTypeCodec implements MediaTypeCodec {
         return MediaType.APPLICATION_JSON_TYPE;
     }
 
-    @SuppressWarnings("Duplicates")
     @Override
     public <T> T decode(Argument<T> type, InputStream inputStream) throws CodecException {
         try {
-            if (type.hasTypeVariables()) {
-                JavaType javaType = constructJavaType(type);
-                return objectMapper.readValue(inputStream, javaType);
-            } else {
-                return objectMapper.readValue(inputStream, type.getType());
-            }
+            return readerFor(type).readValue(inputStream);
         } catch (IOException e) {
             throw new CodecException("Error decoding JSON stream for type [" + type.getName() + "]: " + e.getMessage());
         }
@@ -101,7 +105,7 @@ public class JsonMediaTypeCodec implements MediaTypeCodec {
      */
     public <T> T decode(Argument<T> type, JsonNode node) throws CodecException {
         try {
-            return objectMapper.treeToValue(node, type.getType());
+            return readerFor(type).readValue(node);
         } catch (IOException e) {
             throw new CodecException("Error decoding JSON stream for type [" + type.getName() + "]: " + e.getMessage());
         }
@@ -109,30 +113,21 @@ public class JsonMediaTypeCodec implements MediaTypeCodec {
 
     @Override
     public <T> T decode(Argument<T> type, ByteBuffer<?> buffer) throws CodecException {
-        try {
-            if (CharSequence.class.isAssignableFrom(type.getType())) {
-                return (T) buffer.toString(applicationConfiguration.getDefaultCharset());
-            } else if (type.hasTypeVariables()) {
-                JavaType javaType = constructJavaType(type);
-                return objectMapper.readValue(buffer.toByteArray(), javaType);
-            } else {
-                return objectMapper.readValue(buffer.toByteArray(), type.getType());
-            }
+        if (CharSequence.class.isAssignableFrom(type.getType())) {
+            return (T) buffer.toString(applicationConfiguration.getDefaultCharset());
+        }
+        // read through a slice so the reader index of the buffer is left untouched
+        try (InputStream inputStream = buffer.slice(buffer.readerIndex(), buffer.readableBytes()).toInputStream()) {
+            return readerFor(type).readValue(inputStream);
         } catch (IOException e) {
             throw new CodecException("Error decoding JSON stream for type [" + type.getType() + "]: " + e.getMessage());
         }
     }
 
-    @SuppressWarnings("Duplicates")
     @Override
     public <T> T decode(Argument<T> type, String data) throws CodecException {
         try {
-            if (type.hasTypeVariables()) {
-                JavaType javaType = constructJavaType(type);
-                return objectMapper.readValue(data, javaType);
-            } else {
-                return objectMapper.readValue(data, type.getType());
-            }
+            return readerFor(type).readValue(data);
         } catch (IOException e) {
             throw new CodecException("Error decoding JSON stream for type [" + type.getName() + "]: " + e.getMessage());
         }
@@ -141,7 +136,7 @@ public class JsonMediaTypeCodec implements MediaTypeCodec {
     @Override
     public <T> void encode(T object, OutputStream outputStream) throws CodecException {
         try {
-            objectMapper.writeValue(outputStream, object);
+            writerFor(object).writeValue(outputStream, object);
         } catch (IOException e) {
             throw new CodecException("Error encoding object [" + object + "] to JSON: " + e.getMessage());
         }
@@ -153,17 +148,43 @@ public class JsonMediaTypeCodec implements MediaTypeCodec {
             if (object instanceof byte[]) {
                 return (byte[]) object;
             } else {
-                return objectMapper.writeValueAsBytes(object);
+                return writerFor(object).writeValueAsBytes(object);
             }
-        } catch (JsonProcessingException e) {
+        } catch (IOException e) {
             throw new CodecException("Error encoding object [" + object + "] to JSON: " + e.getMessage());
         }
     }
 
     @Override
     public <T> ByteBuffer encode(T object, ByteBufferFactory allocator) throws CodecException {
-        byte[] bytes = encode(object);
-        return allocator.copiedBuffer(bytes);
+        if (object instanceof byte[]) {
+            return allocator.copiedBuffer((byte[]) object);
+        }
+        ByteBuffer buffer = allocator.buffer();
+        try {
+            writerFor(object).writeValue(buffer.toOutputStream(), object);
+            return buffer;
+        } catch (IOException e) {
+            if (buffer instanceof ReferenceCounted) {
+                ((ReferenceCounted) buffer).release();
+            }
+            throw new CodecException("Error encoding object [" + object + "] to JSON: " + e.getMessage());
+        }
+    }
+
+    private ObjectReader readerFor(Argument<?> type) {
+        if (type.hasTypeVariables()) {
+            return readers.computeIfAbsent(new TypeKey(type), key -> objectMapper.readerFor(constructJavaType(type)));
+        } else {
+            return readers.computeIfAbsent(type.getType(), key -> objectMapper.readerFor(type.getType()));
+        }
+    }
+
+    private ObjectWriter writerFor(Object object) {
+        if (object == null) {
+            return writers.computeIfAbsent(Object.class, objectMapper::writerFor);
+        }
+        return writers.computeIfAbsent(object.getClass(), objectMapper::writerFor);
     }
 
     private <T> JavaType constructJavaType(Argument<T> type) {
@@ -187,4 +208,26 @@ public class JsonMediaTypeCodec implements MediaTypeCodec {
         }
         return javaTypes.toArray(new JavaType[javaTypes.size()]);
     }
+
+    /**
+     * Cache key that compares arguments by their type and type variables, ignoring their names.
+     */
+    private static final class TypeKey {
+
+        private final Argument<?> argument;
+
+        TypeKey(Argument<?> argument) {
+            this.argument = argument;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof TypeKey && argument.equalsType(((TypeKey) o).argument);
+        }
+
+        @Override
+        public int hashCode() {
+            return argument.typeHashCode();
+        }
+    }
 }
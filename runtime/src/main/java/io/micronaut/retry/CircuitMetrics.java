@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.retry;
+
+import io.micronaut.inject.ExecutableMethod;
+
+/**
+ * Exposes the state and the sliding window metrics of a single circuit breaker.
+ *
+ * @author agent
+ * @since 1.0
+ */
+public interface CircuitMetrics {
+
+    /**
+     * @return The method that represents the circuit
+     */
+    ExecutableMethod<?, ?> getMethod();
+
+    /**
+     * @return The current state of the circuit
+     */
+    CircuitState getState();
+
+    /**
+     * @return The failure rate as a percentage or -1 if the circuit is not backed by a sliding window
+     */
+    float getFailureRate();
+
+    /**
+     * @return The slow call rate as a percentage or -1 if the circuit is not backed by a sliding window
+     */
+    float getSlowCallRate();
+
+    /**
+     * @return The number of calls recorded in the sliding window
+     */
+    int getNumberOfCalls();
+
+    /**
+     * @return The number of failed calls recorded in the sliding window
+     */
+    int getNumberOfFailedCalls();
+
+    /**
+     * @return The number of slow calls recorded in the sliding window
+     */
+    int getNumberOfSlowCalls();
+
+    /**
+     * @return The number of calls rejected because the circuit was open or the half open trial calls were exhausted
+     */
+    long getNumberOfNotPermittedCalls();
+}
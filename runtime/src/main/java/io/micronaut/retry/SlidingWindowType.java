@@ -0,0 +1,41 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.retry;
+
+/**
+ * The type of sliding window a circuit breaker uses to compute its failure and slow call rates.
+ *
+ * @author agent
+ * @since 1.0
+ */
+public enum SlidingWindowType {
+
+    /**
+     * No sliding window. The circuit opens as soon as an operation fails after exhausting its retries.
+     */
+    NONE,
+
+    /**
+     * The window holds the outcome of the last N calls.
+     */
+    COUNT_BASED,
+
+    /**
+     * The window holds the outcome of the calls made during the last N seconds.
+     */
+    TIME_BASED
+}
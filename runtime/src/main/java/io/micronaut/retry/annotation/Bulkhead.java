@@ -0,0 +1,90 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.retry.annotation;
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import io.micronaut.aop.Around;
+import io.micronaut.context.annotation.Type;
+import io.micronaut.retry.BulkheadType;
+import io.micronaut.retry.intercept.BulkheadInterceptor;
+import io.micronaut.retry.limit.LimitAlgorithm;
+
+import javax.validation.constraints.Digits;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * AOP around advice that limits the number of concurrent executions of a method. Calls that exceed the limit
+ * wait for a bounded amount of time and are otherwise rejected with a
+ * {@link io.micronaut.retry.exception.BulkheadRejectedException}, which can be handled by a {@link Fallback}.
+ *
+ * @author agent
+ * @since 1.0
+ */
+@Documented
+@Retention(RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE, ElementType.ANNOTATION_TYPE})
+@Around
+@Type(BulkheadInterceptor.class)
+public @interface Bulkhead {
+
+    /**
+     * The isolation strategy. With {@link BulkheadType#THREAD_POOL} blocking and {@link java.util.concurrent.CompletableFuture}
+     * returning methods execute on a dedicated pool. Reactive return types are non-blocking and always use
+     * {@link BulkheadType#SEMAPHORE} isolation.
+     *
+     * @return The bulkhead type
+     */
+    BulkheadType type() default BulkheadType.SEMAPHORE;
+
+    /**
+     * @return The maximum number of concurrent calls, which is also the initial limit of adaptive algorithms
+     */
+    @Digits(integer = 6, fraction = 0)
+    String maxConcurrentCalls() default "25";
+
+    /**
+     * @return The minimum number of concurrent calls an adaptive algorithm can reduce the limit to
+     */
+    @Digits(integer = 6, fraction = 0)
+    String minConcurrentCalls() default "1";
+
+    /**
+     * @return The maximum number of calls that may wait for a permit or be queued in the thread pool
+     */
+    @Digits(integer = 6, fraction = 0)
+    String maxWaitingCalls() default "0";
+
+    /**
+     * Calls to methods with a blocking return type wait at most this long for a permit. Queued thread pool calls
+     * that have waited longer are rejected instead of executed.
+     *
+     * @return The maximum {@link java.time.Duration} a call waits
+     */
+    String maxWaitDuration() default "0ms";
+
+    /**
+     * The algorithm used to compute the concurrency limit. Adaptive algorithms tune the limit between
+     * {@link #minConcurrentCalls()} and {@link #maxConcurrentCalls()} from the observed latency.
+     *
+     * @return The limit algorithm
+     */
+    LimitAlgorithm limit() default LimitAlgorithm.FIXED;
+}
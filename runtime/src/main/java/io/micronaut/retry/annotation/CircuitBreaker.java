@@ -21,6 +21,7 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
 import io.micronaut.aop.Around;
 import io.micronaut.context.annotation.AliasFor;
 import io.micronaut.context.annotation.Type;
+import io.micronaut.retry.SlidingWindowType;
 import io.micronaut.retry.intercept.DefaultRetryInterceptor;
 
 import javax.validation.constraints.Digits;
@@ -88,9 +89,58 @@ public @interface CircuitBreaker {
 
     /**
      * Sets the {@link java.time.Duration} of time before resetting the circuit to
-     * {@link io.micronaut.retry.CircuitState#HALF_OPEN} allowing a single retry.
+     * {@link io.micronaut.retry.CircuitState#HALF_OPEN} allowing a limited number of trial calls.
      *
      * @return The {@link java.time.Duration} of time before reset
+     * @see #halfOpenCalls()
      */
     String reset() default "20s";
+
+    /**
+     * The type of sliding window used to decide when to open the circuit. By default no window is used and
+     * the circuit opens as soon as an operation fails after exhausting its retries. With a
+     * {@link SlidingWindowType#COUNT_BASED} or {@link SlidingWindowType#TIME_BASED} window the circuit
+     * opens once the failure rate or the slow call rate exceed their thresholds.
+     *
+     * @return The sliding window type
+     */
+    SlidingWindowType slidingWindowType() default SlidingWindowType.NONE;
+
+    /**
+     * @return The number of calls (count based) or seconds (time based) held by the sliding window
+     */
+    @Digits(integer = 6, fraction = 0)
+    String slidingWindowSize() default "100";
+
+    /**
+     * @return The minimum number of calls in the sliding window before the rates are evaluated
+     */
+    @Digits(integer = 6, fraction = 0)
+    String minimumCalls() default "10";
+
+    /**
+     * @return The percentage of failed calls at which the circuit opens
+     */
+    @Digits(integer = 3, fraction = 0)
+    String failureRateThreshold() default "50";
+
+    /**
+     * @return The percentage of slow calls at which the circuit opens
+     */
+    @Digits(integer = 3, fraction = 0)
+    String slowCallRateThreshold() default "100";
+
+    /**
+     * @return The {@link java.time.Duration} above which a call is considered slow
+     */
+    String slowCallDuration() default "60s";
+
+    /**
+     * The number of trial calls permitted while the circuit is {@link io.micronaut.retry.CircuitState#HALF_OPEN}.
+     * Further calls are rejected until the outcome of the trial calls either closes or re-opens the circuit.
+     *
+     * @return The number of trial calls
+     */
+    @Digits(integer = 4, fraction = 0)
+    String halfOpenCalls() default "1";
 }
@@ -0,0 +1,299 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.retry.intercept;
+
+import io.micronaut.aop.InterceptPhase;
+import io.micronaut.aop.MethodInterceptor;
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.core.convert.ConversionService;
+import io.micronaut.core.type.ReturnType;
+import io.micronaut.retry.BulkheadType;
+import io.micronaut.retry.annotation.Bulkhead;
+import io.micronaut.retry.exception.BulkheadRejectedException;
+import io.micronaut.retry.limit.ConcurrencyLimiter;
+import io.micronaut.retry.limit.LimitAlgorithm;
+import io.micronaut.scheduling.exceptions.TaskExecutionException;
+import io.reactivex.Flowable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Singleton;
+import java.io.Closeable;
+import java.lang.reflect.Method;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * A {@link MethodInterceptor} that limits the number of concurrent executions of a method according to the
+ * {@link Bulkhead} annotation. Positioned after the {@link RecoveryInterceptor} so that rejected calls can be
+ * handled by a {@link io.micronaut.retry.annotation.Fallback} and before the {@link DefaultRetryInterceptor} so
+ * that retries of a call do not compete for additional permits.
+ *
+ * @author agent
+ * @since 1.0
+ */
+@Singleton
+public class BulkheadInterceptor implements MethodInterceptor<Object, Object>, Closeable, AutoCloseable {
+
+    /**
+     * Positioned between the {@link RecoveryInterceptor} and the {@link io.micronaut.retry.annotation.Retryable} interceptor.
+     */
+    public static final int POSITION = InterceptPhase.RETRY.getPosition() - 5;
+
+    private static final Logger LOG = LoggerFactory.getLogger(BulkheadInterceptor.class);
+    private static final int DEFAULT_MAX_CONCURRENT_CALLS = 25;
+
+    private final Map<Method, MethodBulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    @Override
+    public int getOrder() {
+        return POSITION;
+    }
+
+    @Override
+    public Object intercept(MethodInvocationContext<Object, Object> context) {
+        if (!context.hasStereotype(Bulkhead.class)) {
+            return context.proceed();
+        }
+        MethodBulkhead bulkhead = bulkheads.computeIfAbsent(context.getTargetMethod(), method -> new MethodBulkhead(context));
+        ReturnType<Object> returnType = context.getReturnType();
+        Class<?> javaReturnType = returnType.getType();
+        if (Publishers.isConvertibleToPublisher(javaReturnType)) {
+            return interceptPublisher(context, bulkhead);
+        } else if (javaReturnType == CompletableFuture.class || javaReturnType == CompletionStage.class) {
+            if (bulkhead.pool != null) {
+                return submitFuture(context, bulkhead);
+            }
+            return interceptFuture(context, bulkhead);
+        } else if (bulkhead.pool != null) {
+            return submitBlocking(context, bulkhead);
+        } else {
+            return interceptBlocking(context, bulkhead);
+        }
+    }
+
+    /**
+     * Shuts down the thread pools of the {@link BulkheadType#THREAD_POOL} bulkheads.
+     */
+    @Override
+    @PreDestroy
+    public void close() {
+        for (MethodBulkhead bulkhead : bulkheads.values()) {
+            if (bulkhead.pool != null) {
+                bulkhead.pool.shutdown();
+            }
+        }
+        bulkheads.clear();
+    }
+
+    private Object interceptBlocking(MethodInvocationContext<Object, Object> context, MethodBulkhead bulkhead) {
+        if (!bulkhead.limiter.acquire(bulkhead.maxWaitNanos, TimeUnit.NANOSECONDS)) {
+            throw rejected(context, bulkhead);
+        }
+        long start = System.nanoTime();
+        boolean dropped = false;
+        try {
+            return context.proceed();
+        } catch (RuntimeException | Error e) {
+            dropped = isDrop(e);
+            throw e;
+        } finally {
+            bulkhead.limiter.release(System.nanoTime() - start, dropped);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object interceptFuture(MethodInvocationContext<Object, Object> context, MethodBulkhead bulkhead) {
+        if (!bulkhead.limiter.tryAcquire()) {
+            CompletableFuture<Object> future = new CompletableFuture<>();
+            future.completeExceptionally(rejected(context, bulkhead));
+            return future;
+        }
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = context.proceed();
+        } catch (RuntimeException | Error e) {
+            bulkhead.limiter.release(System.nanoTime() - start, isDrop(e));
+            throw e;
+        }
+        if (result == null) {
+            bulkhead.limiter.release(System.nanoTime() - start, false);
+            return null;
+        }
+        return ((CompletionStage<Object>) result).whenComplete((value, throwable) ->
+            bulkhead.limiter.release(System.nanoTime() - start, throwable != null && isDrop(throwable))
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object interceptPublisher(MethodInvocationContext<Object, Object> context, MethodBulkhead bulkhead) {
+        ConversionService<?> conversionService = ConversionService.SHARED;
+        Object result = context.proceed();
+        if (result == null) {
+            return null;
+        }
+        Flowable<Object> flowable = conversionService
+            .convert(result, Flowable.class)
+            .orElseThrow(() -> new IllegalStateException("Unconvertible Reactive type: " + result));
+        Flowable<Object> guarded = Flowable.defer(() -> {
+            if (!bulkhead.limiter.tryAcquire()) {
+                return Flowable.error(rejected(context, bulkhead));
+            }
+            long start = System.nanoTime();
+            AtomicBoolean dropped = new AtomicBoolean();
+            return flowable
+                .doOnError(throwable -> dropped.set(isDrop(throwable)))
+                .doFinally(() -> bulkhead.limiter.release(System.nanoTime() - start, dropped.get()));
+        });
+        return conversionService
+            .convert(guarded, context.getReturnType().asArgument())
+            .orElseThrow(() -> new IllegalStateException("Unconvertible Reactive type: " + result));
+    }
+
+    private Object submitBlocking(MethodInvocationContext<Object, Object> context, MethodBulkhead bulkhead) {
+        Future<Object> future = submit(context, bulkhead, context::proceed, null);
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new TaskExecutionException("Error executing bulkhead task: " + cause.getMessage(), cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new TaskExecutionException("Interrupted waiting for bulkhead task", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object submitFuture(MethodInvocationContext<Object, Object> context, MethodBulkhead bulkhead) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        try {
+            submit(context, bulkhead, () -> {
+                try {
+                    Object result = context.proceed();
+                    if (result == null) {
+                        future.complete(null);
+                    } else {
+                        ((CompletionStage<Object>) result).whenComplete((value, throwable) -> {
+                            if (throwable != null) {
+                                future.completeExceptionally(throwable);
+                            } else {
+                                future.complete(value);
+                            }
+                        });
+                    }
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+                return null;
+            }, future::completeExceptionally);
+        } catch (BulkheadRejectedException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private Future<Object> submit(MethodInvocationContext<Object, Object> context, MethodBulkhead bulkhead, Callable<Object> call, Consumer<Throwable> onRejected) {
+        try {
+            return bulkhead.pool.submit(call, onRejected);
+        } catch (RejectedExecutionException e) {
+            throw rejected(context, bulkhead);
+        }
+    }
+
+    /**
+     * Whether a failed call is a sign of overload that should lower an adaptive limit. Only timeouts and rejections
+     * are, whereas exceptions thrown by the application are not.
+     *
+     * @param throwable The failure of the call
+     * @return Whether the call should be reported as dropped
+     */
+    static boolean isDrop(Throwable throwable) {
+        for (Throwable t = throwable; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            if (t instanceof TimeoutException || t instanceof SocketTimeoutException
+                || t instanceof RejectedExecutionException || t instanceof BulkheadRejectedException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private BulkheadRejectedException rejected(MethodInvocationContext<Object, Object> context, MethodBulkhead bulkhead) {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Bulkhead rejected call to [{}] with {} calls in flight", context, bulkhead.inflight());
+        }
+        return new BulkheadRejectedException("Bulkhead for [" + context + "] is full: " + bulkhead.inflight() + " calls in flight");
+    }
+
+    /**
+     * The state of the bulkhead of a single method.
+     */
+    private final class MethodBulkhead {
+        final ConcurrencyLimiter limiter;
+        final long maxWaitNanos;
+        final BulkheadThreadPool pool;
+
+        MethodBulkhead(MethodInvocationContext<Object, Object> context) {
+            int maxConcurrentCalls = context.getValue(Bulkhead.class, "maxConcurrentCalls", Integer.class).orElse(DEFAULT_MAX_CONCURRENT_CALLS);
+            int minConcurrentCalls = Math.min(
+                context.getValue(Bulkhead.class, "minConcurrentCalls", Integer.class).orElse(1),
+                maxConcurrentCalls
+            );
+            int maxWaitingCalls = context.getValue(Bulkhead.class, "maxWaitingCalls", Integer.class).orElse(0);
+            LimitAlgorithm algorithm = context.getValue(Bulkhead.class, "limit", LimitAlgorithm.class).orElse(LimitAlgorithm.FIXED);
+            BulkheadType type = context.getValue(Bulkhead.class, "type", BulkheadType.class).orElse(BulkheadType.SEMAPHORE);
+
+            this.maxWaitNanos = context.getValue(Bulkhead.class, "maxWaitDuration", Duration.class).orElse(Duration.ZERO).toNanos();
+            this.limiter = new ConcurrencyLimiter(algorithm.newLimit(minConcurrentCalls, maxConcurrentCalls), maxWaitingCalls);
+            if (type == BulkheadType.THREAD_POOL) {
+                this.pool = new BulkheadThreadPool(
+                    context.getDeclaringType().getSimpleName() + "-" + context.getMethodName(),
+                    limiter,
+                    maxConcurrentCalls,
+                    maxWaitingCalls,
+                    maxWaitNanos
+                );
+            } else {
+                this.pool = null;
+            }
+        }
+
+        int inflight() {
+            return limiter.getInflight();
+        }
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.retry.intercept;
+
+import io.micronaut.retry.exception.BulkheadRejectedException;
+import io.micronaut.retry.limit.ConcurrencyLimiter;
+
+import javax.annotation.Nullable;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * The bounded thread pool of a {@link io.micronaut.retry.BulkheadType#THREAD_POOL} bulkhead. A call only starts
+ * executing once it holds a permit of the {@link ConcurrencyLimiter}, so adaptive limits take effect whether or
+ * not calls may be queued. Calls submitted while no permit is available wait in a queue of bounded size and are
+ * started as permits are released. A queued call that has not started within the maximum wait is rejected, even if
+ * no permit is released in the meantime.
+ *
+ * @author agent
+ * @since 1.0
+ */
+class BulkheadThreadPool {
+
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private final ThreadPoolExecutor executor;
+    private final ScheduledThreadPoolExecutor timeouts;
+    private final ConcurrencyLimiter limiter;
+    private final int queueSize;
+    private final long maxWaitNanos;
+    private final Queue<BulkheadTask<?>> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    /**
+     * @param name         The name used for the pool threads
+     * @param limiter      The concurrency limiter that admits calls
+     * @param maxThreads   The maximum number of threads
+     * @param queueSize    The number of calls that can be queued
+     * @param maxWaitNanos The maximum time a call may be queued or zero to wait indefinitely
+     */
+    BulkheadThreadPool(String name, ConcurrencyLimiter limiter, int maxThreads, int queueSize, long maxWaitNanos) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.limiter = limiter;
+        this.queueSize = Math.max(queueSize, 0);
+        this.maxWaitNanos = maxWaitNanos;
+        // admitted calls never exceed the limit, which is at most maxThreads, so the executor queue stays empty
+        this.executor = new ThreadPoolExecutor(
+            maxThreads,
+            maxThreads,
+            KEEP_ALIVE_SECONDS,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            runnable -> {
+                Thread thread = new Thread(runnable, "bulkhead-" + name + "-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+        this.executor.allowCoreThreadTimeOut(true);
+        if (maxWaitNanos > 0 && this.queueSize > 0) {
+            this.timeouts = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "bulkhead-" + name + "-timeout");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.timeouts.setRemoveOnCancelPolicy(true);
+        } else {
+            this.timeouts = null;
+        }
+    }
+
+    /**
+     * Submits a call to the pool.
+     *
+     * @param call       The call
+     * @param onRejected Invoked with the cause if the call is rejected after it was queued, or null
+     * @param <T>        The result type
+     * @return The future result, which fails with a {@link BulkheadRejectedException} if the call is rejected
+     * after it was queued
+     * @throws RejectedExecutionException If no permit is available and the queue is full
+     */
+    <T> Future<T> submit(Callable<T> call, @Nullable Consumer<Throwable> onRejected) {
+        BulkheadTask<T> task = new BulkheadTask<>(call, onRejected);
+        if (limiter.tryAcquire()) {
+            execute(task);
+        } else if (queued.incrementAndGet() <= queueSize) {
+            if (timeouts != null) {
+                task.timeout = timeouts.schedule(() -> expire(task), maxWaitNanos, TimeUnit.NANOSECONDS);
+            }
+            queue.add(task);
+            // a permit may have been released before the task was queued
+            drain();
+        } else {
+            queued.decrementAndGet();
+            throw new RejectedExecutionException("Bulkhead queue is full");
+        }
+        return task;
+    }
+
+    /**
+     * Shuts down the pool.
+     */
+    void shutdown() {
+        executor.shutdown();
+        if (timeouts != null) {
+            timeouts.shutdownNow();
+        }
+    }
+
+    /**
+     * Rejects a call that is still queued once its maximum wait has elapsed.
+     *
+     * @param task The queued call
+     */
+    private void expire(BulkheadTask<?> task) {
+        if (queue.remove(task)) {
+            queued.decrementAndGet();
+            task.reject(timeoutException());
+        }
+    }
+
+    private BulkheadRejectedException timeoutException() {
+        return new BulkheadRejectedException("Bulkhead call was queued for longer than " + TimeUnit.NANOSECONDS.toMillis(maxWaitNanos) + "ms");
+    }
+
+    /**
+     * Starts queued calls while permits are available and rejects those that have been queued for too long.
+     */
+    private void drain() {
+        while (queued.get() > 0) {
+            if (!limiter.tryAcquire()) {
+                return;
+            }
+            BulkheadTask<?> task = queue.poll();
+            if (task == null) {
+                limiter.cancel();
+                return;
+            }
+            queued.decrementAndGet();
+            if (task.timeout != null) {
+                task.timeout.cancel(false);
+            }
+            if (maxWaitNanos > 0 && System.nanoTime() - task.queuedAt > maxWaitNanos) {
+                limiter.cancel();
+                task.reject(timeoutException());
+            } else {
+                execute(task);
+            }
+        }
+    }
+
+    private void execute(BulkheadTask<?> task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            limiter.cancel();
+            task.reject(e);
+        }
+    }
+
+    /**
+     * A call that holds a permit of the limiter while it runs.
+     *
+     * @param <T> The result type
+     */
+    private final class BulkheadTask<T> extends FutureTask<T> {
+        final long queuedAt = System.nanoTime();
+        ScheduledFuture<?> timeout;
+        private final Consumer<Throwable> onRejected;
+        private boolean dropped;
+
+        BulkheadTask(Callable<T> callable, @Nullable Consumer<Throwable> onRejected) {
+            super(callable);
+            this.onRejected = onRejected;
+        }
+
+        @Override
+        public void run() {
+            if (isDone()) {
+                // cancelled before it started
+                limiter.cancel();
+                drain();
+                return;
+            }
+            long start = System.nanoTime();
+            try {
+                super.run();
+            } finally {
+                limiter.release(System.nanoTime() - start, dropped);
+                drain();
+            }
+        }
+
+        @Override
+        protected void setException(Throwable t) {
+            dropped = BulkheadInterceptor.isDrop(t);
+            super.setException(t);
+        }
+
+        void reject(Throwable t) {
+            super.setException(t);
+            if (onRejected != null) {
+                onRejected.accept(t);
+            }
+        }
+    }
+}
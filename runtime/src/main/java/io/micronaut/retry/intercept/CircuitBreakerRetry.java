@@ -18,6 +18,7 @@ package io.micronaut.retry.intercept;
 
 import io.micronaut.context.event.ApplicationEventPublisher;
 import io.micronaut.inject.ExecutableMethod;
+import io.micronaut.retry.CircuitMetrics;
 import io.micronaut.retry.CircuitState;
 import io.micronaut.retry.RetryStateBuilder;
 import io.micronaut.retry.event.CircuitClosedEvent;
@@ -30,15 +31,19 @@ import javax.annotation.Nullable;
 import java.time.Duration;
 import java.util.Optional;
 import java.util.OptionalDouble;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * A context object for storing the state of the Circuit.
+ * A context object for storing the state of the Circuit. When constructed with a {@link SlidingWindow} the
+ * circuit opens once the failure rate or slow call rate of the window exceed their thresholds, otherwise it
+ * opens as soon as an operation fails.
  *
  * @author graemerocher
  * @since 1.0
  */
-class CircuitBreakerRetry implements MutableRetryState {
+class CircuitBreakerRetry implements MutableRetryState, CircuitMetrics {
 
     private static final Logger LOG = LoggerFactory.getLogger(DefaultRetryInterceptor.class);
 
@@ -46,6 +51,15 @@ class CircuitBreakerRetry implements MutableRetryState {
     private final long openTimeout;
     private final ExecutableMethod<?, ?> method;
     private final ApplicationEventPublisher eventPublisher;
+    private final SlidingWindow window;
+    private final SlidingWindow halfOpenWindow;
+    private final int minimumCalls;
+    private final float failureRateThreshold;
+    private final float slowCallRateThreshold;
+    private final long slowCallDurationNanos;
+    private final int halfOpenCalls;
+    private final AtomicInteger halfOpenPermits = new AtomicInteger();
+    private final LongAdder notPermittedCalls = new LongAdder();
     private AtomicReference<CircuitState> state = new AtomicReference<>(CircuitState.CLOSED);
     private volatile Throwable lastError;
     private volatile long time = System.currentTimeMillis();
@@ -63,16 +77,85 @@ class CircuitBreakerRetry implements MutableRetryState {
         ExecutableMethod<?, ?> method,
         ApplicationEventPublisher eventPublisher) {
 
+        this(openTimeout, childStateBuilder, method, eventPublisher, null, 0, 0, 0, 0, 1);
+    }
+
+    /**
+     * @param openTimeout           The circuit open timeout in millis
+     * @param childStateBuilder     The retry state builder
+     * @param method                A compile time produced invocation of a method call
+     * @param eventPublisher        To publish circuit events
+     * @param window                The sliding window or null to open the circuit on the first failure
+     * @param minimumCalls          The minimum number of calls in the window before the rates are evaluated
+     * @param failureRateThreshold  The failure rate percentage at which the circuit opens
+     * @param slowCallRateThreshold The slow call rate percentage at which the circuit opens
+     * @param slowCallDurationNanos The duration in nanoseconds above which a call is slow
+     * @param halfOpenCalls         The number of trial calls permitted when the circuit is half open
+     */
+    CircuitBreakerRetry(
+        long openTimeout,
+        RetryStateBuilder childStateBuilder,
+        ExecutableMethod<?, ?> method,
+        ApplicationEventPublisher eventPublisher,
+        @Nullable SlidingWindow window,
+        int minimumCalls,
+        float failureRateThreshold,
+        float slowCallRateThreshold,
+        long slowCallDurationNanos,
+        int halfOpenCalls) {
+
+        if (halfOpenCalls < 1) {
+            throw new IllegalArgumentException("The number of half open calls must be greater than zero");
+        }
         this.retryStateBuilder = childStateBuilder;
         this.openTimeout = openTimeout;
         this.childState = (MutableRetryState) childStateBuilder.build();
         this.eventPublisher = eventPublisher;
         this.method = method;
+        this.window = window;
+        this.halfOpenWindow = window != null ? new CountSlidingWindow(halfOpenCalls) : null;
+        this.minimumCalls = Math.max(minimumCalls, 1);
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallDurationNanos = slowCallDurationNanos;
+        this.halfOpenCalls = halfOpenCalls;
+    }
+
+    @Override
+    public void close(@Nullable Throwable exception, long elapsedNanos) {
+        if (window == null) {
+            close(exception);
+            return;
+        }
+        boolean failed = exception != null;
+        boolean slow = slowCallDurationNanos > 0 && elapsedNanos > slowCallDurationNanos;
+        CircuitState currentState = currentState();
+        if (currentState == CircuitState.HALF_OPEN) {
+            halfOpenWindow.record(failed, slow);
+            if (halfOpenWindow.getNumberOfCalls() >= halfOpenCalls) {
+                Throwable cause = thresholdExceeded(halfOpenWindow, exception);
+                if (cause != null) {
+                    openCircuit(cause);
+                } else {
+                    closeCircuit();
+                }
+            }
+        } else if (currentState == CircuitState.CLOSED) {
+            window.record(failed, slow);
+            if (window.getNumberOfCalls() >= minimumCalls) {
+                Throwable cause = thresholdExceeded(window, exception);
+                if (cause != null) {
+                    openCircuit(cause);
+                }
+            }
+        }
     }
 
     @Override
     public void close(@Nullable Throwable exception) {
-        if (exception == null && currentState() == CircuitState.HALF_OPEN) {
+        if (window != null) {
+            close(exception, -1);
+        } else if (exception == null && currentState() == CircuitState.HALF_OPEN) {
             closeCircuit();
         } else if (exception != null) {
             if (currentState() != CircuitState.OPEN) {
@@ -88,7 +171,9 @@ class CircuitBreakerRetry implements MutableRetryState {
 
     @Override
     public void open() {
-        if (currentState() == CircuitState.OPEN && lastError != null) {
+        CircuitState currentState = currentState();
+        if (currentState == CircuitState.OPEN && lastError != null) {
+            notPermittedCalls.increment();
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Rethrowing existing exception for Open Circuit [{}]: {}", method, lastError.getMessage());
             }
@@ -97,6 +182,12 @@ class CircuitBreakerRetry implements MutableRetryState {
             } else {
                 throw new CircuitOpenException("Circuit Open: " + lastError.getMessage(), lastError);
             }
+        } else if (currentState == CircuitState.HALF_OPEN && !acquireHalfOpenPermit()) {
+            notPermittedCalls.increment();
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Rejecting call for Half Open Circuit [{}]: all {} trial calls are in progress", method, halfOpenCalls);
+            }
+            throw new CircuitOpenException("Circuit Half Open: all " + halfOpenCalls + " trial calls are in progress");
         }
     }
 
@@ -110,6 +201,10 @@ class CircuitBreakerRetry implements MutableRetryState {
         if (exception == null) {
             throw new IllegalArgumentException("Exception cause cannot be null");
         }
+        if (window != null) {
+            // trial calls are not retried, their outcome is recorded when the state is closed
+            return currentState() == CircuitState.CLOSED && childState.canRetry(exception);
+        }
         try {
             return currentState() != CircuitState.OPEN && childState.canRetry(exception);
         } finally {
@@ -149,6 +244,46 @@ class CircuitBreakerRetry implements MutableRetryState {
         return childState.getMaxDelay();
     }
 
+    @Override
+    public ExecutableMethod<?, ?> getMethod() {
+        return method;
+    }
+
+    @Override
+    public CircuitState getState() {
+        return currentState();
+    }
+
+    @Override
+    public float getFailureRate() {
+        return window != null ? window.getFailureRate() : -1;
+    }
+
+    @Override
+    public float getSlowCallRate() {
+        return window != null ? window.getSlowCallRate() : -1;
+    }
+
+    @Override
+    public int getNumberOfCalls() {
+        return window != null ? window.getNumberOfCalls() : 0;
+    }
+
+    @Override
+    public int getNumberOfFailedCalls() {
+        return window != null ? window.getNumberOfFailedCalls() : 0;
+    }
+
+    @Override
+    public int getNumberOfSlowCalls() {
+        return window != null ? window.getNumberOfSlowCalls() : 0;
+    }
+
+    @Override
+    public long getNumberOfNotPermittedCalls() {
+        return notPermittedCalls.sum();
+    }
+
     /**
      * @return The current state
      */
@@ -165,6 +300,53 @@ class CircuitBreakerRetry implements MutableRetryState {
         }
     }
 
+    /**
+     * Acquires one of the trial call permits of a half open circuit. If the trial calls have not completed
+     * within the reset timeout (for example because a reactive result was never subscribed to) the permits
+     * are granted again.
+     *
+     * @return Whether a permit was acquired
+     */
+    private boolean acquireHalfOpenPermit() {
+        while (true) {
+            int permits = halfOpenPermits.get();
+            if (permits <= 0) {
+                if (System.currentTimeMillis() > time + openTimeout && halfOpenPermits.compareAndSet(permits, halfOpenCalls - 1)) {
+                    time = System.currentTimeMillis();
+                    if (halfOpenWindow != null) {
+                        halfOpenWindow.reset();
+                    }
+                    return true;
+                }
+                return false;
+            }
+            if (halfOpenPermits.compareAndSet(permits, permits - 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Evaluates the rates of the given window against the thresholds.
+     *
+     * @param slidingWindow The window
+     * @param exception     The exception of the last call, if any
+     * @return The cause to open the circuit with or null if no threshold was exceeded
+     */
+    private Throwable thresholdExceeded(SlidingWindow slidingWindow, @Nullable Throwable exception) {
+        float failureRate = slidingWindow.getFailureRate();
+        if (failureRate >= failureRateThreshold && slidingWindow.getNumberOfFailedCalls() > 0) {
+            return exception != null ? exception : new CircuitOpenException(
+                "Failure rate of " + failureRate + "% exceeded the threshold of " + failureRateThreshold + "%");
+        }
+        float slowCallRate = slidingWindow.getSlowCallRate();
+        if (slowCallRate >= slowCallRateThreshold && slidingWindow.getNumberOfSlowCalls() > 0) {
+            return new CircuitOpenException(
+                "Slow call rate of " + slowCallRate + "% exceeded the threshold of " + slowCallRateThreshold + "%");
+        }
+        return null;
+    }
+
     /**
      * Opens the circuit.
      *
@@ -180,6 +362,7 @@ class CircuitBreakerRetry implements MutableRetryState {
         this.childState = (MutableRetryState) retryStateBuilder.build();
         this.lastError = cause;
         this.time = System.currentTimeMillis();
+        halfOpenPermits.set(0);
         try {
             return state.getAndSet(CircuitState.OPEN);
         } finally {
@@ -208,6 +391,9 @@ class CircuitBreakerRetry implements MutableRetryState {
         time = System.currentTimeMillis();
         lastError = null;
         this.childState = (MutableRetryState) retryStateBuilder.build();
+        if (window != null) {
+            window.reset();
+        }
         try {
             return state.getAndSet(CircuitState.CLOSED);
         } finally {
@@ -224,16 +410,23 @@ class CircuitBreakerRetry implements MutableRetryState {
     }
 
     /**
-     * Resets the circuit state to {@link CircuitState#CLOSED}.
+     * Sets the circuit state to {@link CircuitState#HALF_OPEN} and grants the trial call permits.
      *
      * @return The current state
      */
     private CircuitState halfOpenCircuit() {
-        if (LOG.isDebugEnabled()) {
-            LOG.debug("Half Opening Circuit Breaker [{}]", method);
+        if (state.compareAndSet(CircuitState.OPEN, CircuitState.HALF_OPEN)) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Half Opening Circuit Breaker [{}]", method);
+            }
+            lastError = null;
+            time = System.currentTimeMillis();
+            this.childState = (MutableRetryState) retryStateBuilder.build();
+            if (halfOpenWindow != null) {
+                halfOpenWindow.reset();
+            }
+            halfOpenPermits.set(halfOpenCalls);
         }
-        lastError = null;
-        this.childState = (MutableRetryState) retryStateBuilder.build();
-        return state.getAndSet(CircuitState.HALF_OPEN);
+        return state.get();
     }
 }
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.retry.intercept;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link SlidingWindow} over the outcome of the last N calls. Outcomes are stored in a ring buffer
+ * and the totals are adjusted as the slots are overwritten.
+ *
+ * @author agent
+ * @since 1.0
+ */
+class CountSlidingWindow implements SlidingWindow {
+
+    private static final int RECORDED = 1;
+    private static final int FAILED = 2;
+    private static final int SLOW = 4;
+
+    private final AtomicIntegerArray outcomes;
+    private final AtomicLong cursor = new AtomicLong();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicInteger failedCalls = new AtomicInteger();
+    private final AtomicInteger slowCalls = new AtomicInteger();
+
+    /**
+     * @param size The number of calls to hold in the window
+     */
+    CountSlidingWindow(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Sliding window size must be greater than zero");
+        }
+        this.outcomes = new AtomicIntegerArray(size);
+    }
+
+    @Override
+    public void record(boolean failed, boolean slow) {
+        int outcome = RECORDED | (failed ? FAILED : 0) | (slow ? SLOW : 0);
+        int index = (int) (cursor.getAndIncrement() % outcomes.length());
+        int previous = outcomes.getAndSet(index, outcome);
+        adjust(previous, -1);
+        adjust(outcome, 1);
+    }
+
+    @Override
+    public int getNumberOfCalls() {
+        return calls.get();
+    }
+
+    @Override
+    public int getNumberOfFailedCalls() {
+        return failedCalls.get();
+    }
+
+    @Override
+    public int getNumberOfSlowCalls() {
+        return slowCalls.get();
+    }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < outcomes.length(); i++) {
+            adjust(outcomes.getAndSet(i, 0), -1);
+        }
+    }
+
+    private void adjust(int outcome, int delta) {
+        if ((outcome & RECORDED) != 0) {
+            calls.addAndGet(delta);
+            if ((outcome & FAILED) != 0) {
+                failedCalls.addAndGet(delta);
+            }
+            if ((outcome & SLOW) != 0) {
+                slowCalls.addAndGet(delta);
+            }
+        }
+    }
+}
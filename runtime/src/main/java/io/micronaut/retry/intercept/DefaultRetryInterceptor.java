@@ -25,7 +25,9 @@ import io.micronaut.core.convert.ConversionService;
 import io.micronaut.core.convert.value.ConvertibleValues;
 import io.micronaut.core.convert.value.MutableConvertibleValues;
 import io.micronaut.core.type.ReturnType;
+import io.micronaut.retry.CircuitMetrics;
 import io.micronaut.retry.RetryState;
+import io.micronaut.retry.SlidingWindowType;
 import io.micronaut.retry.annotation.CircuitBreaker;
 import io.micronaut.retry.annotation.Retryable;
 import io.micronaut.retry.event.RetryEvent;
@@ -37,9 +39,12 @@ import org.slf4j.LoggerFactory;
 import javax.inject.Singleton;
 import java.lang.reflect.Method;
 import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * A {@link MethodInterceptor} that retries an operation according to the specified
@@ -53,6 +58,11 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
 
     private static final Logger LOG = LoggerFactory.getLogger(DefaultRetryInterceptor.class);
     private static final int DEFAULT_CIRCUIT_BREAKER_TIMEOUT_IN_MILLIS = 20;
+    private static final int DEFAULT_SLIDING_WINDOW_SIZE = 100;
+    private static final int DEFAULT_MINIMUM_CALLS = 10;
+    private static final float DEFAULT_FAILURE_RATE_THRESHOLD = 50;
+    private static final float DEFAULT_SLOW_CALL_RATE_THRESHOLD = 100;
+    private static final Duration DEFAULT_SLOW_CALL_DURATION = Duration.ofSeconds(60);
 
     private final ApplicationEventPublisher eventPublisher;
     private final Map<Method, CircuitBreakerRetry> circuitContexts = new ConcurrentHashMap<>();
@@ -87,13 +97,14 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
                     .map(Duration::toMillis).orElse(Duration.ofSeconds(DEFAULT_CIRCUIT_BREAKER_TIMEOUT_IN_MILLIS).toMillis());
                 retryState = circuitContexts.computeIfAbsent(
                     context.getTargetMethod(),
-                    method -> new CircuitBreakerRetry(timeout, retryStateBuilder, context, eventPublisher)
+                    method -> newCircuitBreakerRetry(context, timeout, retryStateBuilder)
                 );
             } else {
                 retryState = (MutableRetryState) retryStateBuilder.build();
             }
 
             retryState.open();
+            long start = System.nanoTime();
 
             MutableConvertibleValues<Object> attrs = context.getAttributes();
             attrs.put(RetryState.class.getName(), retry);
@@ -109,9 +120,12 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
                     Flowable observable = conversionService
                         .convert(result, Flowable.class)
                         .orElseThrow(() -> new IllegalStateException("Unconvertible Reactive type: " + result));
-                    Flowable retryObservable = observable.onErrorResumeNext(retryFlowable(context, retryState, observable))
+                    AtomicBoolean closed = new AtomicBoolean();
+                    Flowable retryObservable = observable.onErrorResumeNext(retryFlowable(context, retryState, observable, start))
                         .map(o -> {
-                            retryState.close(null);
+                            if (closed.compareAndSet(false, true)) {
+                                retryState.close(null, System.nanoTime() - start);
+                            }
                             return o;
                         });
 
@@ -124,14 +138,14 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
                 while (true) {
                     try {
                         Object result = context.proceed(this);
-                        retryState.close(null);
+                        retryState.close(null, System.nanoTime() - start);
                         return result;
                     } catch (RuntimeException e) {
                         if (!retryState.canRetry(e)) {
                             if (LOG.isDebugEnabled()) {
                                 LOG.debug("Cannot retry anymore. Rethrowing original exception for method: {}", context);
                             }
-                            retryState.close(e);
+                            retryState.close(e, System.nanoTime() - start);
                             throw e;
                         } else {
                             long delayMillis = retryState.nextDelay();
@@ -159,12 +173,50 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
         }
     }
 
+    /**
+     * @return The metrics of the circuit breakers invoked so far
+     */
+    public Collection<CircuitMetrics> getCircuitMetrics() {
+        return Collections.unmodifiableCollection(circuitContexts.values());
+    }
+
+    private CircuitBreakerRetry newCircuitBreakerRetry(MethodInvocationContext<Object, Object> context, long timeout, AnnotationRetryStateBuilder retryStateBuilder) {
+        SlidingWindowType windowType = context
+            .getValue(CircuitBreaker.class, "slidingWindowType", SlidingWindowType.class)
+            .orElse(SlidingWindowType.NONE);
+        int halfOpenCalls = context.getValue(CircuitBreaker.class, "halfOpenCalls", Integer.class).orElse(1);
+        if (windowType == SlidingWindowType.NONE) {
+            return new CircuitBreakerRetry(timeout, retryStateBuilder, context, eventPublisher, null, 0, 0, 0, 0, halfOpenCalls);
+        }
+        int windowSize = context.getValue(CircuitBreaker.class, "slidingWindowSize", Integer.class).orElse(DEFAULT_SLIDING_WINDOW_SIZE);
+        int minimumCalls = context.getValue(CircuitBreaker.class, "minimumCalls", Integer.class).orElse(DEFAULT_MINIMUM_CALLS);
+        SlidingWindow window;
+        if (windowType == SlidingWindowType.COUNT_BASED) {
+            window = new CountSlidingWindow(windowSize);
+            minimumCalls = Math.min(minimumCalls, windowSize);
+        } else {
+            window = new TimeSlidingWindow(windowSize);
+        }
+        return new CircuitBreakerRetry(
+            timeout,
+            retryStateBuilder,
+            context,
+            eventPublisher,
+            window,
+            minimumCalls,
+            context.getValue(CircuitBreaker.class, "failureRateThreshold", Float.class).orElse(DEFAULT_FAILURE_RATE_THRESHOLD),
+            context.getValue(CircuitBreaker.class, "slowCallRateThreshold", Float.class).orElse(DEFAULT_SLOW_CALL_RATE_THRESHOLD),
+            context.getValue(CircuitBreaker.class, "slowCallDuration", Duration.class).orElse(DEFAULT_SLOW_CALL_DURATION).toNanos(),
+            halfOpenCalls
+        );
+    }
+
     @SuppressWarnings("unchecked")
-    private Function retryFlowable(MethodInvocationContext<Object, Object> context, MutableRetryState retryState, Flowable observable) {
+    private Function retryFlowable(MethodInvocationContext<Object, Object> context, MutableRetryState retryState, Flowable observable, long start) {
         return throwable -> {
             Throwable exception = (Throwable) throwable;
             if (retryState.canRetry(exception)) {
-                Flowable retryObservable = observable.onErrorResumeNext(retryFlowable(context, retryState, observable));
+                Flowable retryObservable = observable.onErrorResumeNext(retryFlowable(context, retryState, observable, start));
                 long delay = retryState.nextDelay();
                 if (eventPublisher != null) {
                     try {
@@ -184,7 +236,7 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
                 if (LOG.isDebugEnabled()) {
                     LOG.debug("Cannot retry anymore. Rethrowing original exception for method: {}", context);
                 }
-                retryState.close(exception);
+                retryState.close(exception, System.nanoTime() - start);
                 return Flowable.error(exception);
             }
         };
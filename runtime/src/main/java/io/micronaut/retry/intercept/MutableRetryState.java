@@ -19,6 +19,8 @@ package io.micronaut.retry.intercept;
 import io.micronaut.core.annotation.Internal;
 import io.micronaut.retry.RetryState;
 
+import javax.annotation.Nullable;
+
 /**
  * @author graemerocher
  * @since 1.0
@@ -30,4 +32,14 @@ interface MutableRetryState extends RetryState {
      * @return Return the milli second value for the next delay
      */
     long nextDelay();
+
+    /**
+     * Closes the {@link RetryState} supplying the time the operation took to complete.
+     *
+     * @param exception    An exception if an error occurred or null if the operation completed as expected
+     * @param elapsedNanos The time the operation took in nanoseconds
+     */
+    default void close(@Nullable Throwable exception, long elapsedNanos) {
+        close(exception);
+    }
 }
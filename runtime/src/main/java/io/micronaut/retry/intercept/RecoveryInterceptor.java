@@ -27,6 +27,7 @@ import io.micronaut.discovery.exceptions.NoAvailableServiceException;
 import io.micronaut.inject.MethodExecutionHandle;
 import io.micronaut.inject.qualifiers.Qualifiers;
 import io.micronaut.retry.annotation.Fallback;
+import io.micronaut.retry.exception.BulkheadRejectedException;
 import io.micronaut.retry.exception.FallbackException;
 import io.reactivex.Flowable;
 import org.reactivestreams.Publisher;
@@ -201,6 +202,11 @@ public class RecoveryInterceptor implements MethodInterceptor<Object, Object> {
                 LOG.debug(nase.getMessage(), nase);
                 LOG.error("Type [{}] attempting to resolve fallback for unavailable service [{}]", context.getTarget().getClass().getName(), nase.getServiceID());
             }
+        } else if (exception instanceof BulkheadRejectedException) {
+            // shedding load is expected under overload so avoid flooding the error log
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Type [{}] attempting to resolve fallback for rejected call: {}", context.getTarget().getClass().getName(), exception.getMessage());
+            }
         } else {
             if (LOG.isErrorEnabled()) {
                 LOG.error("Type [" + context.getTarget().getClass().getName() + "] executed with error: " + exception.getMessage(), exception);
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.retry.intercept;
+
+import io.micronaut.core.annotation.Internal;
+
+/**
+ * A lock-free window over the outcome of the most recent calls of a circuit.
+ *
+ * @author agent
+ * @since 1.0
+ */
+@Internal
+interface SlidingWindow {
+
+    /**
+     * Records the outcome of a call.
+     *
+     * @param failed Whether the call failed
+     * @param slow   Whether the call took longer than the slow call threshold
+     */
+    void record(boolean failed, boolean slow);
+
+    /**
+     * @return The number of calls in the window
+     */
+    int getNumberOfCalls();
+
+    /**
+     * @return The number of failed calls in the window
+     */
+    int getNumberOfFailedCalls();
+
+    /**
+     * @return The number of slow calls in the window
+     */
+    int getNumberOfSlowCalls();
+
+    /**
+     * Discards all the recorded outcomes.
+     */
+    void reset();
+
+    /**
+     * @return The failure rate as a percentage
+     */
+    default float getFailureRate() {
+        int calls = getNumberOfCalls();
+        return calls == 0 ? 0 : getNumberOfFailedCalls() * 100f / calls;
+    }
+
+    /**
+     * @return The slow call rate as a percentage
+     */
+    default float getSlowCallRate() {
+        int calls = getNumberOfCalls();
+        return calls == 0 ? 0 : getNumberOfSlowCalls() * 100f / calls;
+    }
+}
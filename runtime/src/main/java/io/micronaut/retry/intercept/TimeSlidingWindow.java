@@ -0,0 +1,144 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.retry.intercept;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+
+/**
+ * A {@link SlidingWindow} over the outcome of the calls made during the last N seconds. Each second
+ * is aggregated into a bucket of a ring buffer and stale buckets are swapped out with a compare and set.
+ *
+ * @author agent
+ * @since 1.0
+ */
+class TimeSlidingWindow implements SlidingWindow {
+
+    private final AtomicReferenceArray<Bucket> buckets;
+    private final LongSupplier clock;
+
+    /**
+     * @param seconds The number of seconds to hold in the window
+     */
+    TimeSlidingWindow(int seconds) {
+        this(seconds, () -> TimeUnit.NANOSECONDS.toSeconds(System.nanoTime()));
+    }
+
+    /**
+     * @param seconds The number of seconds to hold in the window
+     * @param clock   Supplies the current time in seconds
+     */
+    TimeSlidingWindow(int seconds, LongSupplier clock) {
+        if (seconds < 1) {
+            throw new IllegalArgumentException("Sliding window size must be greater than zero");
+        }
+        this.buckets = new AtomicReferenceArray<>(seconds);
+        this.clock = clock;
+    }
+
+    @Override
+    public void record(boolean failed, boolean slow) {
+        long now = clock.getAsLong();
+        int index = (int) Math.floorMod(now, (long) buckets.length());
+        Bucket bucket = buckets.get(index);
+        while (bucket == null || bucket.epochSecond != now) {
+            if (bucket != null && bucket.epochSecond > now) {
+                // the clock of this thread lags behind a thread that already rotated the bucket
+                return;
+            }
+            Bucket fresh = new Bucket(now);
+            if (buckets.compareAndSet(index, bucket, fresh)) {
+                bucket = fresh;
+            } else {
+                bucket = buckets.get(index);
+            }
+        }
+        bucket.calls.incrementAndGet();
+        if (failed) {
+            bucket.failedCalls.incrementAndGet();
+        }
+        if (slow) {
+            bucket.slowCalls.incrementAndGet();
+        }
+    }
+
+    @Override
+    public int getNumberOfCalls() {
+        long now = clock.getAsLong();
+        int total = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            Bucket bucket = buckets.get(i);
+            if (isCurrent(bucket, now)) {
+                total += bucket.calls.get();
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public int getNumberOfFailedCalls() {
+        long now = clock.getAsLong();
+        int total = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            Bucket bucket = buckets.get(i);
+            if (isCurrent(bucket, now)) {
+                total += bucket.failedCalls.get();
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public int getNumberOfSlowCalls() {
+        long now = clock.getAsLong();
+        int total = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            Bucket bucket = buckets.get(i);
+            if (isCurrent(bucket, now)) {
+                total += bucket.slowCalls.get();
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < buckets.length(); i++) {
+            buckets.set(i, null);
+        }
+    }
+
+    private boolean isCurrent(Bucket bucket, long now) {
+        return bucket != null && now - bucket.epochSecond < buckets.length();
+    }
+
+    /**
+     * The aggregated outcomes of a single second.
+     */
+    private static final class Bucket {
+        final long epochSecond;
+        final AtomicInteger calls = new AtomicInteger();
+        final AtomicInteger failedCalls = new AtomicInteger();
+        final AtomicInteger slowCalls = new AtomicInteger();
+
+        Bucket(long epochSecond) {
+            this.epochSecond = epochSecond;
+        }
+    }
+}
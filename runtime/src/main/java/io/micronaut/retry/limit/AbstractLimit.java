@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.retry.limit;
+
+/**
+ * Base class for adaptive limits that keeps the limit within a minimum and maximum value.
+ *
+ * @author agent
+ * @since 1.0
+ */
+public abstract class AbstractLimit implements ConcurrencyLimit {
+
+    protected final int minLimit;
+    protected final int maxLimit;
+    private volatile int limit;
+
+    /**
+     * @param minLimit     The minimum limit
+     * @param maxLimit     The maximum limit
+     * @param initialLimit The initial limit
+     */
+    protected AbstractLimit(int minLimit, int maxLimit, int initialLimit) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 0 < minLimit <= maxLimit");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = clamp(initialLimit);
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public final synchronized void onSample(long rttNanos, int inflight, boolean dropped) {
+        limit = clamp(computeLimit(limit, rttNanos, inflight, dropped));
+    }
+
+    /**
+     * Computes the new limit from a sample. Invocations are serialized.
+     *
+     * @param currentLimit The current limit
+     * @param rttNanos     The time the call took in nanoseconds
+     * @param inflight     The number of calls in flight when the call started
+     * @param dropped      Whether the call was dropped
+     * @return The new limit
+     */
+    protected abstract int computeLimit(int currentLimit, long rttNanos, int inflight, boolean dropped);
+
+    private int clamp(int value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.retry.limit;
+
+/**
+ * A loss based {@link ConcurrencyLimit} that increases the limit by one for every successful call made while
+ * the limit is being used and multiplies it by a backoff ratio whenever a call is dropped.
+ *
+ * @author agent
+ * @since 1.0
+ */
+public class AimdLimit extends AbstractLimit {
+
+    private static final double DEFAULT_BACKOFF_RATIO = 0.9;
+
+    private final double backoffRatio;
+
+    /**
+     * @param minLimit     The minimum limit
+     * @param maxLimit     The maximum limit
+     * @param initialLimit The initial limit
+     */
+    public AimdLimit(int minLimit, int maxLimit, int initialLimit) {
+        this(minLimit, maxLimit, initialLimit, DEFAULT_BACKOFF_RATIO);
+    }
+
+    /**
+     * @param minLimit     The minimum limit
+     * @param maxLimit     The maximum limit
+     * @param initialLimit The initial limit
+     * @param backoffRatio The ratio applied to the limit when a call is dropped
+     */
+    public AimdLimit(int minLimit, int maxLimit, int initialLimit, double backoffRatio) {
+        super(minLimit, maxLimit, initialLimit);
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be between 0 and 1");
+        }
+        this.backoffRatio = backoffRatio;
+    }
+
+    @Override
+    protected int computeLimit(int currentLimit, long rttNanos, int inflight, boolean dropped) {
+        if (dropped) {
+            return (int) (currentLimit * backoffRatio);
+        }
+        if (inflight * 2 >= currentLimit) {
+            return currentLimit + 1;
+        }
+        return currentLimit;
+    }
+}
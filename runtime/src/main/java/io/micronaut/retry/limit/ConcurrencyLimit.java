@@ -0,0 +1,41 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.retry.limit;
+
+/**
+ * Computes the number of calls that may execute concurrently. Adaptive implementations tune the limit from
+ * the latency samples reported by a {@link ConcurrencyLimiter}.
+ *
+ * @author agent
+ * @since 1.0
+ */
+public interface ConcurrencyLimit {
+
+    /**
+     * @return The current limit
+     */
+    int getLimit();
+
+    /**
+     * Reports the outcome of a call.
+     *
+     * @param rttNanos The time the call took in nanoseconds
+     * @param inflight The number of calls in flight when the call started
+     * @param dropped  Whether the call failed and should be treated as a sign of overload
+     */
+    void onSample(long rttNanos, int inflight, boolean dropped);
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.retry.limit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Admits calls while the number of calls in flight is below the current {@link ConcurrencyLimit}. Permits are
+ * acquired with a compare and set, callers that are prepared to wait are parked until a permit is released
+ * and at most a fixed number of callers may wait at any time so overload results in rejections rather than
+ * an unbounded queue.
+ *
+ * @author agent
+ * @since 1.0
+ */
+public class ConcurrencyLimiter {
+
+    private final ConcurrencyLimit limit;
+    private final int maxWaiting;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+
+    /**
+     * @param limit      The limit
+     * @param maxWaiting The maximum number of callers that may wait for a permit
+     */
+    public ConcurrencyLimiter(ConcurrencyLimit limit, int maxWaiting) {
+        this.limit = limit;
+        this.maxWaiting = Math.max(maxWaiting, 0);
+    }
+
+    /**
+     * Acquires a permit without waiting.
+     *
+     * @return Whether the permit was acquired
+     */
+    public boolean tryAcquire() {
+        if (increment()) {
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    /**
+     * Acquires a permit, waiting up to the given timeout if no permit is available and fewer than the maximum
+     * number of callers are already waiting.
+     *
+     * @param timeout The maximum time to wait
+     * @param unit    The unit of the timeout
+     * @return Whether the permit was acquired
+     */
+    public boolean acquire(long timeout, TimeUnit unit) {
+        if (increment()) {
+            return true;
+        }
+        long remaining = unit.toNanos(timeout);
+        if (remaining <= 0 || waiting.incrementAndGet() > maxWaiting) {
+            if (remaining > 0) {
+                waiting.decrementAndGet();
+            }
+            rejected.increment();
+            return false;
+        }
+        lock.lock();
+        try {
+            while (!increment()) {
+                if (remaining <= 0) {
+                    rejected.increment();
+                    return false;
+                }
+                remaining = released.awaitNanos(remaining);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejected.increment();
+            return false;
+        } finally {
+            lock.unlock();
+            waiting.decrementAndGet();
+        }
+    }
+
+    /**
+     * Releases a permit and reports the outcome of the call to the limit.
+     *
+     * @param rttNanos The time the call took in nanoseconds
+     * @param dropped  Whether the call failed and should be treated as a sign of overload
+     */
+    public void release(long rttNanos, boolean dropped) {
+        int current = inflight.getAndDecrement();
+        limit.onSample(rttNanos, current, dropped);
+        signalWaiting();
+    }
+
+    /**
+     * Returns a permit acquired for a call that never ran, without reporting a sample to the limit.
+     */
+    public void cancel() {
+        inflight.decrementAndGet();
+        signalWaiting();
+    }
+
+    /**
+     * @return The current limit
+     */
+    public int getLimit() {
+        return limit.getLimit();
+    }
+
+    /**
+     * @return The number of calls in flight
+     */
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    /**
+     * @return The number of callers waiting for a permit
+     */
+    public int getWaiting() {
+        return waiting.get();
+    }
+
+    /**
+     * @return The number of calls rejected so far
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    private void signalWaiting() {
+        if (waiting.get() > 0) {
+            lock.lock();
+            try {
+                released.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private boolean increment() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= limit.getLimit()) {
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.retry.limit;
+
+/**
+ * A delay based {@link ConcurrencyLimit} that follows the gradient between an exponentially weighted long
+ * term latency and the latency of the current call. While the current latency stays close to the long term
+ * latency the limit grows by the square root of the limit, once it rises above the tolerated ratio the limit
+ * shrinks proportionally.
+ *
+ * @author agent
+ * @since 1.0
+ */
+public class GradientLimit extends AbstractLimit {
+
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double LONG_WINDOW = 600;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private double longRtt;
+    private double estimatedLimit;
+
+    /**
+     * @param minLimit     The minimum limit
+     * @param maxLimit     The maximum limit
+     * @param initialLimit The initial limit
+     */
+    public GradientLimit(int minLimit, int maxLimit, int initialLimit) {
+        super(minLimit, maxLimit, initialLimit);
+        this.estimatedLimit = getLimit();
+    }
+
+    @Override
+    protected int computeLimit(int currentLimit, long rttNanos, int inflight, boolean dropped) {
+        if (dropped) {
+            estimatedLimit = Math.max(minLimit, estimatedLimit * BACKOFF_RATIO);
+            return (int) estimatedLimit;
+        }
+        if (rttNanos <= 0) {
+            return currentLimit;
+        }
+        if (longRtt == 0) {
+            longRtt = rttNanos;
+            return currentLimit;
+        }
+        longRtt += (rttNanos - longRtt) * 2 / (LONG_WINDOW + 1);
+        if (longRtt / rttNanos > 2) {
+            // recover quickly from a period of high latency
+            longRtt *= 0.95;
+        }
+        if (inflight * 2 < currentLimit) {
+            return currentLimit;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / rttNanos));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING));
+        return (int) estimatedLimit;
+    }
+}
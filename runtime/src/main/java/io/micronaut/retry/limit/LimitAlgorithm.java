@@ -0,0 +1,75 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.retry.limit;
+
+/**
+ * The algorithms available to compute a {@link ConcurrencyLimit}.
+ *
+ * @author agent
+ * @since 1.0
+ */
+public enum LimitAlgorithm {
+
+    /**
+     * A fixed limit.
+     *
+     * @see FixedLimit
+     */
+    FIXED,
+
+    /**
+     * Additive increase, multiplicative decrease.
+     *
+     * @see AimdLimit
+     */
+    AIMD,
+
+    /**
+     * Delay based limit inspired by TCP Vegas.
+     *
+     * @see VegasLimit
+     */
+    VEGAS,
+
+    /**
+     * Limit following the gradient between the long term and the current latency.
+     *
+     * @see GradientLimit
+     */
+    GRADIENT;
+
+    /**
+     * Creates a new limit for this algorithm.
+     *
+     * @param minLimit The minimum limit
+     * @param maxLimit The maximum limit, which is also the initial limit
+     * @return The limit
+     */
+    public ConcurrencyLimit newLimit(int minLimit, int maxLimit) {
+        switch (this) {
+            case AIMD:
+                return new AimdLimit(minLimit, maxLimit, maxLimit);
+            case VEGAS:
+                return new VegasLimit(minLimit, maxLimit, maxLimit);
+            case GRADIENT:
+                return new GradientLimit(minLimit, maxLimit, maxLimit);
+            case FIXED:
+            default:
+                return new FixedLimit(maxLimit);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.retry.limit;
+
+/**
+ * A delay based {@link ConcurrencyLimit} inspired by TCP Vegas. The queue size is estimated from the ratio
+ * between the lowest latency observed (the latency without load) and the latency of the current call. The
+ * limit grows while the estimated queue is small and shrinks once it exceeds a threshold.
+ *
+ * @author agent
+ * @since 1.0
+ */
+public class VegasLimit extends AbstractLimit {
+
+    private static final int ALPHA = 3;
+    private static final int BETA = 6;
+
+    private long rttNoLoad;
+
+    /**
+     * @param minLimit     The minimum limit
+     * @param maxLimit     The maximum limit
+     * @param initialLimit The initial limit
+     */
+    public VegasLimit(int minLimit, int maxLimit, int initialLimit) {
+        super(minLimit, maxLimit, initialLimit);
+    }
+
+    @Override
+    protected int computeLimit(int currentLimit, long rttNanos, int inflight, boolean dropped) {
+        if (rttNanos <= 0) {
+            return currentLimit;
+        }
+        if (rttNoLoad == 0 || rttNanos < rttNoLoad) {
+            rttNoLoad = rttNanos;
+            return currentLimit;
+        }
+        double log = Math.max(1, Math.log10(currentLimit));
+        if (dropped) {
+            return (int) (currentLimit - log);
+        }
+        if (inflight * 2 < currentLimit) {
+            // the limit is not being used so the latency says nothing about it
+            return currentLimit;
+        }
+        int queueSize = (int) Math.ceil(currentLimit * (1 - (double) rttNoLoad / rttNanos));
+        if (queueSize <= log) {
+            return (int) (currentLimit + BETA * log);
+        } else if (queueSize < ALPHA * log) {
+            return (int) (currentLimit + log);
+        } else if (queueSize > BETA * log) {
+            return (int) (currentLimit - log);
+        }
+        return currentLimit;
+    }
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.retry.intercept
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.retry.BulkheadType
+import io.micronaut.retry.annotation.Bulkhead
+import io.micronaut.retry.annotation.Fallback
+import io.micronaut.retry.annotation.Recoverable
+import io.micronaut.retry.exception.BulkheadRejectedException
+import io.reactivex.Single
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import javax.inject.Singleton
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionException
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.TimeoutException
+
+/**
+ * @author agent
+ * @since 1.0
+ */
+class BulkheadSpec extends Specification {
+
+    @Shared @AutoCleanup ApplicationContext context = ApplicationContext.run()
+
+    void "test semaphore bulkhead rejects calls over the limit"() {
+        given:
+        BlockingService service = context.getBean(BlockingService)
+        CountDownLatch started = new CountDownLatch(2)
+        CountDownLatch release = new CountDownLatch(1)
+        service.started = started
+        service.release = release
+
+        when:"The limit is reached"
+        List<Thread> threads = (1..2).collect { Thread.start { service.call() } }
+        started.await(5, TimeUnit.SECONDS)
+        service.call()
+
+        then:"Further calls are rejected"
+        def e = thrown(BulkheadRejectedException)
+        e.message.contains("2 calls in flight")
+
+        when:"The calls complete"
+        release.countDown()
+        threads*.join()
+        service.release = new CountDownLatch(0)
+
+        then:"Calls are admitted again"
+        service.call() == "done"
+    }
+
+    void "test rejected calls are handled by the fallback"() {
+        given:
+        RecoverableService service = context.getBean(RecoverableService)
+        CountDownLatch started = new CountDownLatch(1)
+        service.started = started
+
+        when:
+        Thread thread = Thread.start { service.call() }
+        started.await(5, TimeUnit.SECONDS)
+
+        then:
+        service.call() == "fallback"
+
+        cleanup:
+        service.release.countDown()
+        thread.join()
+    }
+
+    void "test reactive bulkhead acquires permits on subscribe"() {
+        given:
+        ReactiveService service = context.getBean(ReactiveService)
+
+        when:
+        Single<String> first = service.call()
+        Single<String> second = service.call()
+
+        then:"Permits are only held by subscribed calls"
+        first.blockingGet() == "done"
+        second.blockingGet() == "done"
+    }
+
+    void "test thread pool bulkhead"() {
+        given:
+        ThreadPoolService service = context.getBean(ThreadPoolService)
+
+        expect:
+        service.call().startsWith("bulkhead-")
+        service.callAsync().get(5, TimeUnit.SECONDS).startsWith("bulkhead-")
+
+        when:
+        service.fail()
+
+        then:
+        def e = thrown(IllegalStateException)
+        e.message == "bad"
+    }
+
+    void "test thread pool bulkhead queues calls until a permit is released"() {
+        given:
+        QueueingService service = context.getBean(QueueingService)
+        CountDownLatch started = new CountDownLatch(1)
+        service.started = started
+
+        when:"The permit is held and a call is queued"
+        CompletableFuture<String> first = service.call()
+        started.await(5, TimeUnit.SECONDS)
+        CompletableFuture<String> second = service.call()
+        service.call().get(5, TimeUnit.SECONDS)
+
+        then:"Calls over the queue size are rejected"
+        def e = thrown(ExecutionException)
+        e.cause instanceof BulkheadRejectedException
+        !second.isDone()
+
+        when:"The permit is released"
+        service.release.countDown()
+
+        then:"The queued call runs"
+        first.get(5, TimeUnit.SECONDS) == "done"
+        second.get(5, TimeUnit.SECONDS) == "done"
+    }
+
+    void "test queued calls are rejected after the maximum wait while the running call hangs"() {
+        given:
+        HangingService service = context.getBean(HangingService)
+        CountDownLatch started = new CountDownLatch(1)
+        service.started = started
+
+        when:"The running call hangs and another call is queued"
+        Thread thread = Thread.start { service.call() }
+        started.await(5, TimeUnit.SECONDS)
+        long start = System.currentTimeMillis()
+        service.call()
+
+        then:"The queued call is rejected once the maximum wait elapses"
+        def e = thrown(BulkheadRejectedException)
+        e.message.contains("queued for longer than 200ms")
+        System.currentTimeMillis() - start < 3000
+
+        when:"The running asynchronous call hangs and another one is queued"
+        service.started = new CountDownLatch(1)
+        CompletableFuture<String> first = service.callAsync()
+        service.started.await(5, TimeUnit.SECONDS)
+        start = System.currentTimeMillis()
+        service.callAsync().get(3, TimeUnit.SECONDS)
+
+        then:"The returned future is completed with the rejection"
+        e = thrown(ExecutionException)
+        e.cause instanceof BulkheadRejectedException
+        System.currentTimeMillis() - start < 3000
+
+        cleanup:
+        service.release.countDown()
+        thread.join()
+        first?.get(5, TimeUnit.SECONDS)
+    }
+
+    void "test only timeouts and rejections are treated as drops"() {
+        expect:
+        BulkheadInterceptor.isDrop(throwable) == dropped
+
+        where:
+        throwable                                                   | dropped
+        new IllegalStateException("bad")                            | false
+        new RuntimeException(new IOException("bad"))                | false
+        new TimeoutException()                                      | true
+        new SocketTimeoutException()                                | true
+        new CompletionException(new TimeoutException())             | true
+        new BulkheadRejectedException("full")                       | true
+        new RejectedExecutionException()                            | true
+    }
+
+    @Singleton
+    static class BlockingService {
+        CountDownLatch started
+        CountDownLatch release
+
+        @Bulkhead(maxConcurrentCalls = "2")
+        String call() {
+            started?.countDown()
+            release.await(5, TimeUnit.SECONDS)
+            return "done"
+        }
+    }
+
+    @Singleton
+    @Recoverable
+    static class RecoverableService implements RecoverableOperations {
+        CountDownLatch started
+        CountDownLatch release = new CountDownLatch(1)
+
+        @Override
+        @Bulkhead(maxConcurrentCalls = "1")
+        String call() {
+            started.countDown()
+            release.await(5, TimeUnit.SECONDS)
+            return "done"
+        }
+    }
+
+    static interface RecoverableOperations {
+        String call()
+    }
+
+    @Fallback
+    static class RecoverableFallback implements RecoverableOperations {
+        @Override
+        String call() {
+            return "fallback"
+        }
+    }
+
+    @Singleton
+    static class ReactiveService {
+        @Bulkhead(maxConcurrentCalls = "1")
+        Single<String> call() {
+            Single.just("done")
+        }
+    }
+
+    @Singleton
+    @Bulkhead(type = BulkheadType.THREAD_POOL, maxConcurrentCalls = "1", maxWaitingCalls = "5", maxWaitDuration = "200ms")
+    static class HangingService {
+        CountDownLatch started
+        CountDownLatch release = new CountDownLatch(1)
+
+        String call() {
+            started.countDown()
+            release.await()
+            return "done"
+        }
+
+        CompletableFuture<String> callAsync() {
+            started.countDown()
+            release.await()
+            CompletableFuture.completedFuture("done")
+        }
+    }
+
+    @Singleton
+    static class QueueingService {
+        CountDownLatch started
+        CountDownLatch release = new CountDownLatch(1)
+
+        @Bulkhead(type = BulkheadType.THREAD_POOL, maxConcurrentCalls = "1", maxWaitingCalls = "1")
+        CompletableFuture<String> call() {
+            started.countDown()
+            release.await(5, TimeUnit.SECONDS)
+            CompletableFuture.completedFuture("done")
+        }
+    }
+
+    @Singleton
+    @Bulkhead(type = BulkheadType.THREAD_POOL, maxConcurrentCalls = "2", maxWaitingCalls = "2")
+    static class ThreadPoolService {
+        String call() {
+            Thread.currentThread().name
+        }
+
+        CompletableFuture<String> callAsync() {
+            CompletableFuture.completedFuture(Thread.currentThread().name)
+        }
+
+        String fail() {
+            throw new IllegalStateException("bad")
+        }
+    }
+}
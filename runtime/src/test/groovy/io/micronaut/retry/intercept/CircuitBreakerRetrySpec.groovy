@@ -16,6 +16,7 @@
 package io.micronaut.retry.intercept
 
 import io.micronaut.retry.CircuitState
+import io.micronaut.retry.exception.CircuitOpenException
 import spock.lang.Specification
 import spock.util.concurrent.PollingConditions
 
@@ -105,4 +106,113 @@ class CircuitBreakerRetrySpec extends Specification {
         retry.canRetry(new RuntimeException("bad"))
 
     }
+
+    void "test sliding window circuit breaker retry"() {
+        given:"A circuit backed by a count based window"
+        CircuitBreakerRetry retry = new CircuitBreakerRetry(
+                1000,
+                {->
+                    new SimpleRetry(0, 2.0d, Duration.ofMillis(500))
+                }, null, null,
+                new CountSlidingWindow(4),
+                4,
+                50,
+                100,
+                Duration.ofSeconds(1).toNanos(),
+                2
+        )
+
+        when:"Fewer calls than the minimum fail"
+        3.times {
+            retry.open()
+            retry.close(new RuntimeException("bad"), 0)
+        }
+
+        then:"The circuit remains closed"
+        retry.currentState() == CircuitState.CLOSED
+        retry.numberOfCalls == 3
+        retry.numberOfFailedCalls == 3
+
+        when:"The minimum number of calls is reached with a failure rate above the threshold"
+        retry.open()
+        retry.close(null, 0)
+
+        then:"The circuit is opened"
+        retry.currentState() == CircuitState.OPEN
+        retry.failureRate == 75
+
+        when:
+        PollingConditions conditions = new PollingConditions(timeout: 3)
+        retry.open()
+
+        then:"Calls are rejected"
+        def e = thrown(CircuitOpenException)
+        e.message == "Failure rate of 75.0% exceeded the threshold of 50.0%"
+        retry.numberOfNotPermittedCalls == 1
+        conditions.eventually {
+            retry.currentState() == CircuitState.HALF_OPEN
+        }
+
+        when:"The trial calls are in progress"
+        retry.open()
+        retry.open()
+        retry.open()
+
+        then:"Further calls are rejected"
+        e = thrown(CircuitOpenException)
+        e.message.startsWith("Circuit Half Open")
+        retry.numberOfNotPermittedCalls == 2
+
+        when:"The trial calls succeed"
+        retry.close(null, 0)
+
+        then:"The circuit waits for all the trial calls"
+        retry.currentState() == CircuitState.HALF_OPEN
+
+        when:
+        retry.close(null, 0)
+
+        then:"The circuit is closed and the window is reset"
+        retry.currentState() == CircuitState.CLOSED
+        retry.numberOfCalls == 0
+    }
+
+    void "test sliding window circuit breaker opens on slow calls"() {
+        given:
+        CircuitBreakerRetry retry = new CircuitBreakerRetry(
+                1000,
+                {->
+                    new SimpleRetry(0, 2.0d, Duration.ofMillis(500))
+                }, null, null,
+                new CountSlidingWindow(10),
+                2,
+                50,
+                50,
+                Duration.ofMillis(100).toNanos(),
+                1
+        )
+
+        when:"A slow call completes"
+        retry.open()
+        retry.close(null, Duration.ofMillis(200).toNanos())
+
+        then:"The minimum number of calls is not reached"
+        retry.currentState() == CircuitState.CLOSED
+
+        when:"The slow call rate reaches the threshold"
+        retry.open()
+        retry.close(null, Duration.ofMillis(10).toNanos())
+
+        then:"The circuit is opened"
+        retry.currentState() == CircuitState.OPEN
+        retry.slowCallRate == 50
+        retry.failureRate == 0
+
+        when:
+        retry.open()
+
+        then:
+        def e = thrown(CircuitOpenException)
+        e.message.startsWith("Slow call rate")
+    }
 }
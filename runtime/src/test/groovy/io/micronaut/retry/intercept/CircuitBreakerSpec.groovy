@@ -18,6 +18,9 @@ package io.micronaut.retry.intercept
 import io.reactivex.Single
 import io.micronaut.context.ApplicationContext
 import io.micronaut.context.event.ApplicationEventListener
+import io.micronaut.retry.CircuitMetrics
+import io.micronaut.retry.CircuitState
+import io.micronaut.retry.SlidingWindowType
 import io.micronaut.retry.annotation.CircuitBreaker
 import io.micronaut.retry.event.CircuitClosedEvent
 import io.micronaut.retry.event.CircuitOpenEvent
@@ -176,6 +179,56 @@ class CircuitBreakerSpec extends Specification{
         context.stop()
     }
 
+    void "test sliding window circuit breaker"() {
+        given:
+        ApplicationContext context = ApplicationContext.run()
+        WindowedService service = context.getBean(WindowedService)
+        DefaultRetryInterceptor interceptor = context.getBean(DefaultRetryInterceptor)
+
+        when:"Calls fail below the failure rate threshold"
+        service.fail = true
+        service.call()
+
+        then:
+        thrown(IllegalStateException)
+
+        when:
+        service.fail = false
+        3.times { service.call() }
+        CircuitMetrics metrics = interceptor.circuitMetrics.find { it.method.methodName == 'call' }
+
+        then:"The circuit stays closed"
+        metrics.state == CircuitState.CLOSED
+        metrics.numberOfCalls == 4
+        metrics.numberOfFailedCalls == 1
+        metrics.failureRate == 25
+
+        when:"The failure rate exceeds the threshold"
+        service.fail = true
+        2.times {
+            try {
+                service.call()
+            } catch (IllegalStateException ignored) {
+            }
+        }
+
+        then:
+        metrics.state == CircuitState.OPEN
+        metrics.failureRate == 50
+
+        when:"The method is invoked while the circuit is open"
+        int invocations = service.invocations
+        service.call()
+
+        then:"The original logic is never invoked"
+        thrown(IllegalStateException)
+        service.invocations == invocations
+        metrics.numberOfNotPermittedCalls == 1
+
+        cleanup:
+        context.stop()
+    }
+
     @Singleton
     static class MyRetryListener implements RetryEventListener {
 
@@ -249,4 +302,20 @@ class CircuitBreakerSpec extends Specification{
             })
         }
     }
+
+    @Singleton
+    static class WindowedService {
+        boolean fail = false
+        int invocations = 0
+
+        @CircuitBreaker(attempts = '0', reset = '10s', slidingWindowType = SlidingWindowType.COUNT_BASED,
+                slidingWindowSize = '4', minimumCalls = '4', failureRateThreshold = '50')
+        String call() {
+            invocations++
+            if (fail) {
+                throw new IllegalStateException("Bad call")
+            }
+            return "good"
+        }
+    }
 }
@@ -43,4 +43,15 @@ class InterceptorOrderSpec extends Specification {
         interceptors[0] instanceof RecoveryInterceptor
         interceptors[1] instanceof DefaultRetryInterceptor
     }
+
+    void "test bulkhead interceptor is positioned between recovery and retry"() {
+        given:
+        List interceptors = [new DefaultRetryInterceptor(null), new BulkheadInterceptor(), new RecoveryInterceptor() ]
+        OrderUtil.sort(interceptors)
+
+        expect:
+        interceptors[0] instanceof RecoveryInterceptor
+        interceptors[1] instanceof BulkheadInterceptor
+        interceptors[2] instanceof DefaultRetryInterceptor
+    }
 }
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.retry.intercept
+
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+/**
+ * @author agent
+ * @since 1.0
+ */
+class SlidingWindowSpec extends Specification {
+
+    void "test count based sliding window evicts the oldest outcomes"() {
+        given:
+        CountSlidingWindow window = new CountSlidingWindow(3)
+
+        when:
+        window.record(true, false)
+        window.record(true, true)
+        window.record(false, false)
+
+        then:
+        window.numberOfCalls == 3
+        window.numberOfFailedCalls == 2
+        window.numberOfSlowCalls == 1
+
+        when:"The window wraps around"
+        window.record(false, false)
+        window.record(false, false)
+
+        then:
+        window.numberOfCalls == 3
+        window.numberOfFailedCalls == 0
+        window.numberOfSlowCalls == 0
+        window.failureRate == 0
+
+        when:
+        window.reset()
+
+        then:
+        window.numberOfCalls == 0
+        window.failureRate == 0
+    }
+
+    void "test count based sliding window under concurrent updates"() {
+        given:
+        CountSlidingWindow window = new CountSlidingWindow(100)
+        ExecutorService executor = Executors.newFixedThreadPool(8)
+        CountDownLatch latch = new CountDownLatch(8)
+
+        when:
+        8.times {
+            executor.submit {
+                1000.times { window.record(true, false) }
+                latch.countDown()
+            }
+        }
+        latch.await(10, TimeUnit.SECONDS)
+
+        then:
+        window.numberOfCalls == 100
+        window.numberOfFailedCalls == 100
+        window.failureRate == 100
+
+        cleanup:
+        executor.shutdown()
+    }
+
+    void "test time based sliding window expires old buckets"() {
+        given:
+        long now = 1000
+        TimeSlidingWindow window = new TimeSlidingWindow(3, { -> now })
+
+        when:
+        window.record(true, false)
+        now++
+        window.record(false, true)
+        window.record(false, false)
+
+        then:
+        window.numberOfCalls == 3
+        window.numberOfFailedCalls == 1
+        window.numberOfSlowCalls == 1
+
+        when:"The first second leaves the window"
+        now += 2
+
+        then:
+        window.numberOfCalls == 2
+        window.numberOfFailedCalls == 0
+        window.slowCallRate == 50
+
+        when:"A bucket is reused"
+        window.record(true, false)
+
+        then:
+        window.numberOfCalls == 3
+        window.numberOfFailedCalls == 1
+
+        when:"The whole window elapses"
+        now += 3
+
+        then:
+        window.numberOfCalls == 0
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.retry.limit
+
+import spock.lang.Specification
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * @author agent
+ * @since 1.0
+ */
+class ConcurrencyLimitSpec extends Specification {
+
+    void "test new limit for algorithm"() {
+        expect:
+        algorithm.newLimit(1, 10).getClass() == type
+        algorithm.newLimit(1, 10).limit == 10
+
+        where:
+        algorithm               | type
+        LimitAlgorithm.FIXED    | FixedLimit
+        LimitAlgorithm.AIMD     | AimdLimit
+        LimitAlgorithm.VEGAS    | VegasLimit
+        LimitAlgorithm.GRADIENT | GradientLimit
+    }
+
+    void "test aimd limit"() {
+        given:
+        AimdLimit limit = new AimdLimit(1, 20, 10)
+
+        when:"A call completes while the limit is in use"
+        limit.onSample(ms(10), 8, false)
+
+        then:"The limit increases by one"
+        limit.limit == 11
+
+        when:"A call completes while the limit is barely used"
+        limit.onSample(ms(10), 1, false)
+
+        then:
+        limit.limit == 11
+
+        when:"A call is dropped"
+        limit.onSample(ms(10), 11, true)
+
+        then:"The limit backs off"
+        limit.limit == 9
+
+        when:"Calls keep being dropped"
+        100.times { limit.onSample(ms(10), 1, true) }
+
+        then:"The limit does not go below the minimum"
+        limit.limit == 1
+    }
+
+    void "test vegas limit"() {
+        given:
+        VegasLimit limit = new VegasLimit(1, 100, 20)
+
+        when:"The latency without load is established"
+        limit.onSample(ms(10), 20, false)
+        limit.onSample(ms(10), 20, false)
+
+        then:"The limit grows while there is no queueing"
+        limit.limit > 20
+
+        when:"The latency increases sharply under load"
+        int before = limit.limit
+        limit.onSample(ms(100), before, false)
+
+        then:"The limit shrinks"
+        limit.limit < before
+    }
+
+    void "test gradient limit"() {
+        given:
+        GradientLimit limit = new GradientLimit(1, 100, 50)
+
+        when:"The latency is stable"
+        10.times { limit.onSample(ms(10), 50, false) }
+
+        then:"The limit stays within the bounds"
+        limit.limit <= 100
+        limit.limit >= 50
+
+        when:"The latency rises well above the long term latency"
+        int before = limit.limit
+        10.times { limit.onSample(ms(100), before, false) }
+
+        then:"The limit shrinks"
+        limit.limit < before
+    }
+
+    void "test fixed limit"() {
+        given:
+        FixedLimit limit = new FixedLimit(5)
+
+        when:
+        limit.onSample(ms(1000), 5, true)
+
+        then:
+        limit.limit == 5
+    }
+
+    private static long ms(long millis) {
+        TimeUnit.MILLISECONDS.toNanos(millis)
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.retry.limit
+
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+
+/**
+ * @author agent
+ * @since 1.0
+ */
+class ConcurrencyLimiterSpec extends Specification {
+
+    void "test permits are limited"() {
+        given:
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(new FixedLimit(2), 0)
+
+        expect:
+        limiter.tryAcquire()
+        limiter.tryAcquire()
+        !limiter.tryAcquire()
+        !limiter.acquire(10, TimeUnit.MILLISECONDS)
+        limiter.inflight == 2
+        limiter.rejected == 2
+
+        when:
+        limiter.release(1, false)
+
+        then:
+        limiter.inflight == 1
+        limiter.tryAcquire()
+    }
+
+    void "test waiting for a permit"() {
+        given:
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(new FixedLimit(1), 1)
+        AtomicBoolean acquired = new AtomicBoolean()
+        CountDownLatch done = new CountDownLatch(1)
+        limiter.tryAcquire()
+
+        when:"A caller waits for a permit"
+        Thread.start {
+            acquired.set(limiter.acquire(5, TimeUnit.SECONDS))
+            done.countDown()
+        }
+        while (limiter.waiting == 0) {
+            Thread.sleep(5)
+        }
+
+        then:"No more callers may wait"
+        !limiter.acquire(1, TimeUnit.SECONDS)
+
+        when:"The permit is released"
+        limiter.release(1, false)
+        done.await(5, TimeUnit.SECONDS)
+
+        then:"The waiting caller acquires it"
+        acquired.get()
+        limiter.inflight == 1
+        limiter.waiting == 0
+    }
+
+    void "test waiting times out"() {
+        given:
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(new FixedLimit(1), 5)
+        limiter.tryAcquire()
+
+        expect:
+        !limiter.acquire(20, TimeUnit.MILLISECONDS)
+        limiter.waiting == 0
+        limiter.rejected == 1
+    }
+}
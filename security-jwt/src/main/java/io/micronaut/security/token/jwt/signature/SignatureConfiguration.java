@@ -43,6 +43,18 @@ public interface SignatureConfiguration {
      */
     boolean supports(JWSAlgorithm algorithm);
 
+    /**
+     * Whether this signature configuration holds the key identified by the {@code kid} header of a JWT. Signed JWTs
+     * are only verified with the configurations holding their key. Configurations that do not identify their keys
+     * return false and are tried in turn when no configuration holds the key.
+     *
+     * @param keyId the key ID
+     * @return whether this signature configuration holds the key
+     */
+    default boolean supportsKeyId(String keyId) {
+        return false;
+    }
+
     /**
      * Generate a signed JWT based on claims.
      * @throws JOSEException could be thrown while signing the JWT token
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.security.token.jwt.signature.jwks;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.RemoteJWKSet;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.micronaut.context.exceptions.ConfigurationException;
+import io.micronaut.security.token.jwt.signature.SignatureConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Verifies signed JWTs with the public keys of a remote JSON Web Key Set. The key set is loaded and reloaded in the
+ * background and the verifiers of its keys are cached, so that verifying a JWT never waits for the key set to load.
+ * A JWT signed with a key that is not in the cached key set fails verification and triggers a reload, at most once per
+ * {@link JwksSignatureConfiguration#getMinRefreshInterval()}, in case the keys were rotated.
+ *
+ * @author agent
+ * @since 1.0
+ */
+public class JwksSignature implements SignatureConfiguration, Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JwksSignature.class);
+
+    private final JwksSignatureConfiguration configuration;
+    private final ScheduledExecutorService scheduledExecutorService;
+    private final ScheduledFuture<?> scheduledRefresh;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile Map<String, JWSVerifier> verifiers = Collections.emptyMap();
+    private volatile long lastRefresh;
+
+    /**
+     *
+     * @param configuration Instance of {@link JwksSignatureConfiguration}
+     * @param scheduledExecutorService The executor used to load the key set in the background
+     */
+    public JwksSignature(JwksSignatureConfiguration configuration, ScheduledExecutorService scheduledExecutorService) {
+        if (configuration.getUrl() == null) {
+            throw new ConfigurationException("The URL of the JSON Web Key Set [" + configuration.getName() + "] must be configured");
+        }
+        this.configuration = configuration;
+        this.scheduledExecutorService = scheduledExecutorService;
+        this.lastRefresh = System.nanoTime() - configuration.getMinRefreshInterval().toNanos();
+        long refreshMillis = configuration.getRefreshInterval().toMillis();
+        this.scheduledRefresh = scheduledExecutorService.scheduleWithFixedDelay(this::refresh, 0, refreshMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     *
+     * @return message explaining the supported algorithms
+     */
+    @Override
+    public String supportedAlgorithmsMessage() {
+        return "Only the RSA and EC algorithms are supported for JWKS signature";
+    }
+
+    @Override
+    public boolean supports(final JWSAlgorithm algorithm) {
+        return algorithm != null && (RSASSAVerifier.SUPPORTED_ALGORITHMS.contains(algorithm) || ECDSAVerifier.SUPPORTED_ALGORITHMS.contains(algorithm));
+    }
+
+    @Override
+    public boolean supportsKeyId(String keyId) {
+        return verifiers.containsKey(keyId);
+    }
+
+    /**
+     * A JSON Web Key Set only holds public keys and cannot be used to sign JWTs.
+     *
+     * @param claims the provided claims
+     * @return never returns
+     * @throws JOSEException always
+     */
+    @Override
+    public SignedJWT sign(JWTClaimsSet claims) throws JOSEException {
+        throw new JOSEException("The JSON Web Key Set [" + configuration.getName() + "] cannot be used to sign a JWT");
+    }
+
+    @Override
+    public boolean verify(final SignedJWT jwt) throws JOSEException {
+        Map<String, JWSVerifier> current = this.verifiers;
+        String keyId = jwt.getHeader().getKeyID();
+        if (keyId != null) {
+            JWSVerifier verifier = current.get(keyId);
+            if (verifier == null) {
+                refreshIfStale();
+                return false;
+            }
+            return jwt.verify(verifier);
+        }
+        JWSAlgorithm algorithm = jwt.getHeader().getAlgorithm();
+        for (JWSVerifier verifier : current.values()) {
+            if (verifier.supportedJWSAlgorithms().contains(algorithm) && jwt.verify(verifier)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Stops reloading the key set.
+     */
+    @Override
+    public void close() {
+        scheduledRefresh.cancel(false);
+    }
+
+    /**
+     * Reloads the key set in the background unless it was reloaded recently.
+     */
+    protected void refreshIfStale() {
+        if (System.nanoTime() - lastRefresh >= configuration.getMinRefreshInterval().toNanos() && !refreshing.get()) {
+            scheduledExecutorService.execute(this::refresh);
+        }
+    }
+
+    /**
+     * Loads the key set and replaces the cached verifiers. The previous verifiers are kept if the key set cannot be loaded.
+     */
+    protected void refresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            lastRefresh = System.nanoTime();
+            JWKSet jwkSet = JWKSet.load(
+                    configuration.getUrl(),
+                    (int) configuration.getConnectTimeout().toMillis(),
+                    (int) configuration.getReadTimeout().toMillis(),
+                    RemoteJWKSet.DEFAULT_HTTP_SIZE_LIMIT);
+            this.verifiers = createVerifiers(jwkSet.getKeys());
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Loaded {} keys from JSON Web Key Set: {}", verifiers.size(), configuration.getUrl());
+            }
+        } catch (Exception e) {
+            if (LOG.isErrorEnabled()) {
+                LOG.error("Error loading JSON Web Key Set [" + configuration.getUrl() + "]: " + e.getMessage(), e);
+            }
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    private Map<String, JWSVerifier> createVerifiers(List<JWK> keys) throws JOSEException {
+        Map<String, JWSVerifier> verifiers = new LinkedHashMap<>(keys.size());
+        int index = 0;
+        for (JWK key : keys) {
+            if (KeyUse.ENCRYPTION.equals(key.getKeyUse())) {
+                continue;
+            }
+            String keyId = key.getKeyID() != null ? key.getKeyID() : "#" + index;
+            if (key instanceof RSAKey) {
+                verifiers.put(keyId, new RSASSAVerifier((RSAKey) key));
+            } else if (key instanceof ECKey) {
+                verifiers.put(keyId, new ECDSAVerifier((ECKey) key));
+            }
+            index++;
+        }
+        return verifiers;
+    }
+}
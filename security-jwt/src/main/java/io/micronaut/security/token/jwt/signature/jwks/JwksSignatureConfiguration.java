@@ -0,0 +1,136 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.security.token.jwt.signature.jwks;
+
+import io.micronaut.context.annotation.EachProperty;
+import io.micronaut.context.annotation.Parameter;
+import io.micronaut.security.token.jwt.config.JwtConfigurationProperties;
+
+import java.net.URL;
+import java.time.Duration;
+
+/**
+ * Configuration of a remote JSON Web Key Set used to verify signed JWTs.
+ *
+ * @author agent
+ * @since 1.0
+ */
+@EachProperty(JwtConfigurationProperties.PREFIX + ".signatures.jwks")
+public class JwksSignatureConfiguration {
+    private URL url;
+    private Duration refreshInterval = Duration.ofMinutes(5);
+    private Duration minRefreshInterval = Duration.ofSeconds(30);
+    private Duration connectTimeout = Duration.ofSeconds(5);
+    private Duration readTimeout = Duration.ofSeconds(5);
+    private final String name;
+
+    /**
+     *
+     * @param name Bean's qualifier name
+     */
+    public JwksSignatureConfiguration(@Parameter String name) {
+        this.name = name;
+    }
+
+    /**
+     *
+     * @return The URL of the JSON Web Key Set
+     */
+    public URL getUrl() {
+        return url;
+    }
+
+    /**
+     * url setter.
+     * @param url The URL of the JSON Web Key Set
+     */
+    public void setUrl(URL url) {
+        this.url = url;
+    }
+
+    /**
+     *
+     * @return The interval at which the key set is reloaded in the background
+     */
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    /**
+     * refreshInterval setter.
+     * @param refreshInterval The interval at which the key set is reloaded in the background. Defaults to 5 minutes.
+     */
+    public void setRefreshInterval(Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+
+    /**
+     *
+     * @return The minimum interval between reloads triggered by JWTs signed with an unknown key
+     */
+    public Duration getMinRefreshInterval() {
+        return minRefreshInterval;
+    }
+
+    /**
+     * minRefreshInterval setter.
+     * @param minRefreshInterval The minimum interval between reloads triggered by JWTs signed with an unknown key. Defaults to 30 seconds.
+     */
+    public void setMinRefreshInterval(Duration minRefreshInterval) {
+        this.minRefreshInterval = minRefreshInterval;
+    }
+
+    /**
+     *
+     * @return The connect timeout used to load the key set
+     */
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    /**
+     * connectTimeout setter.
+     * @param connectTimeout The connect timeout used to load the key set. Defaults to 5 seconds.
+     */
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    /**
+     *
+     * @return The read timeout used to load the key set
+     */
+    public Duration getReadTimeout() {
+        return readTimeout;
+    }
+
+    /**
+     * readTimeout setter.
+     * @param readTimeout The read timeout used to load the key set. Defaults to 5 seconds.
+     */
+    public void setReadTimeout(Duration readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+
+    /**
+     *
+     * @return Bean's qualifier name
+     */
+    public String getName() {
+        return name;
+    }
+}
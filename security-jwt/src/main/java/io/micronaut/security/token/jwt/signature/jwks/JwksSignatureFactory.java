@@ -0,0 +1,54 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.security.token.jwt.signature.jwks;
+
+import io.micronaut.context.annotation.Bean;
+import io.micronaut.context.annotation.EachBean;
+import io.micronaut.context.annotation.Factory;
+import io.micronaut.context.exceptions.ConfigurationException;
+import io.micronaut.scheduling.TaskExecutors;
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * @author agent
+ * @since 1.0
+ */
+@Factory
+public class JwksSignatureFactory {
+
+    /**
+     * Creates a {@link JwksSignature} for each {@link JwksSignatureConfiguration} bean.
+     *
+     * @param configuration {@link JwksSignatureConfiguration} bean.
+     * @param scheduledExecutorService The executor used to reload the key set in the background
+     * @return The {@link JwksSignature}
+     */
+    @EachBean(JwksSignatureConfiguration.class)
+    @Singleton
+    @Bean(preDestroy = "close")
+    public JwksSignature signatureConfiguration(JwksSignatureConfiguration configuration,
+                                                @Named(TaskExecutors.SCHEDULED) ExecutorService scheduledExecutorService) {
+        if (!(scheduledExecutorService instanceof ScheduledExecutorService)) {
+            throw new ConfigurationException("Configured scheduled executor service is not an instanceof ScheduledExecutorService");
+        }
+        return new JwksSignature(configuration, (ScheduledExecutorService) scheduledExecutorService);
+    }
+}
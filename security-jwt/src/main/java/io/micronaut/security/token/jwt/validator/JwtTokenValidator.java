@@ -16,6 +16,9 @@
 
 package io.micronaut.security.token.jwt.validator;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.nimbusds.jose.EncryptionMethod;
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWEAlgorithm;
@@ -29,6 +32,7 @@ import com.nimbusds.jwt.PlainJWT;
 import com.nimbusds.jwt.SignedJWT;
 import io.micronaut.security.authentication.Authentication;
 import io.micronaut.security.token.jwt.encryption.EncryptionConfiguration;
+import io.micronaut.security.token.jwt.generator.claims.JwtClaims;
 import io.micronaut.security.token.jwt.signature.SignatureConfiguration;
 import io.micronaut.security.token.validator.TokenValidator;
 import io.reactivex.Flowable;
@@ -36,13 +40,27 @@ import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
+ * Validates JWTs against the configured signature and encryption configurations. When enabled through
+ * {@link JwtTokenValidatorConfiguration#isCacheEnabled()}, the {@link Authentication} of a successfully validated
+ * token is cached until the token expires or the cache expiration elapses, whichever comes first, so that a token
+ * presented with every request is only verified once. The cache is keyed by the SHA-256 digest of the token rather
+ * than the token itself.
+ *
  * @see <a href="https://connect2id.com/products/nimbus-jose-jwt/examples/validating-jwt-access-tokens">Validating JWT Access Tokens</a>
  *
  * @author Sergio del Amo
@@ -55,6 +73,7 @@ public class JwtTokenValidator implements TokenValidator {
 
     protected final List<SignatureConfiguration> signatureConfigurations = new ArrayList<>();
     protected final List<EncryptionConfiguration> encryptionConfigurations = new ArrayList<>();
+    protected final Cache<ByteBuffer, Authentication> authenticationCache;
 
     /**
      *
@@ -63,8 +82,56 @@ public class JwtTokenValidator implements TokenValidator {
      */
     public JwtTokenValidator(Collection<SignatureConfiguration> signatureConfigurations,
                              Collection<EncryptionConfiguration> encryptionConfigurations) {
+        this(signatureConfigurations, encryptionConfigurations, new JwtTokenValidatorConfigurationProperties());
+    }
+
+    /**
+     *
+     * @param signatureConfigurations List of Signature configurations which are used to attempt validation.
+     * @param encryptionConfigurations List of Encryption configurations which are used to attempt validation.
+     * @param validatorConfiguration The configuration of the cache of validated tokens
+     */
+    @Inject
+    public JwtTokenValidator(Collection<SignatureConfiguration> signatureConfigurations,
+                             Collection<EncryptionConfiguration> encryptionConfigurations,
+                             JwtTokenValidatorConfiguration validatorConfiguration) {
         this.signatureConfigurations.addAll(signatureConfigurations);
         this.encryptionConfigurations.addAll(encryptionConfigurations);
+        this.authenticationCache = validatorConfiguration.isCacheEnabled() ? newAuthenticationCache(validatorConfiguration) : null;
+    }
+
+    /**
+     * Creates the cache of the authentications of validated tokens.
+     *
+     * @param validatorConfiguration The validator configuration
+     * @return The new cache
+     */
+    protected Cache<ByteBuffer, Authentication> newAuthenticationCache(JwtTokenValidatorConfiguration validatorConfiguration) {
+        final long maxExpirationNanos = validatorConfiguration.getCacheExpiration().toNanos();
+        return Caffeine.newBuilder()
+                .maximumSize(validatorConfiguration.getCacheMaximumSize())
+                .expireAfter(new Expiry<ByteBuffer, Authentication>() {
+                    @Override
+                    public long expireAfterCreate(ByteBuffer tokenDigest, Authentication authentication, long currentTime) {
+                        Object expirationTime = authentication.getAttributes().get(JwtClaims.EXPIRATION_TIME);
+                        if (expirationTime instanceof Date) {
+                            long remaining = TimeUnit.MILLISECONDS.toNanos(((Date) expirationTime).getTime() - System.currentTimeMillis());
+                            return Math.max(0, Math.min(maxExpirationNanos, remaining));
+                        }
+                        return maxExpirationNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(ByteBuffer tokenDigest, Authentication authentication, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(ByteBuffer tokenDigest, Authentication authentication, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
     private Publisher<Authentication> validatePlainJWT(JWT jwt) throws ParseException {
@@ -87,7 +154,7 @@ public class JwtTokenValidator implements TokenValidator {
         }
 
         final JWSAlgorithm algorithm = signedJWT.getHeader().getAlgorithm();
-        for (final SignatureConfiguration config : signatureConfigurations) {
+        for (final SignatureConfiguration config : signatureConfigurationsFor(signedJWT.getHeader().getKeyID())) {
             if (config.supports(algorithm)) {
                 if (LOG.isDebugEnabled()) {
                     LOG.debug("Using signature configuration: {}", config.toString());
@@ -117,6 +184,25 @@ public class JwtTokenValidator implements TokenValidator {
         return Flowable.empty();
     }
 
+    /**
+     * The signature configurations to try for a JWT. If the key ID of the JWT is known to some of the configurations
+     * only those are tried, otherwise every configuration is tried in turn.
+     *
+     * @param keyId The key ID of the JWT header or null
+     * @return The signature configurations to try
+     */
+    private List<SignatureConfiguration> signatureConfigurationsFor(String keyId) {
+        if (keyId != null && signatureConfigurations.size() > 1) {
+            List<SignatureConfiguration> matching = signatureConfigurations.stream()
+                    .filter(config -> config.supportsKeyId(keyId))
+                    .collect(Collectors.toList());
+            if (!matching.isEmpty()) {
+                return matching;
+            }
+        }
+        return signatureConfigurations;
+    }
+
     private Publisher<Authentication> validateEncryptedJWT(JWT jwt, EncryptedJWT encryptedJWT, String token) throws ParseException  {
         if (LOG.isDebugEnabled()) {
             LOG.debug("JWT is encrypted");
@@ -156,6 +242,36 @@ public class JwtTokenValidator implements TokenValidator {
 
     @Override
     public Publisher<Authentication> validateToken(String token) {
+        if (authenticationCache == null) {
+            return validate(token);
+        }
+        final ByteBuffer tokenDigest = digest(token);
+        Authentication cached = authenticationCache.getIfPresent(tokenDigest);
+        if (cached != null) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("JWT found in the cache of validated tokens");
+            }
+            return Flowable.just(cached);
+        }
+        return Flowable.fromPublisher(validate(token))
+                .doOnNext(authentication -> authenticationCache.put(tokenDigest, authentication));
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Validates a token without consulting the cache of validated tokens.
+     *
+     * @param token The token string
+     * @return Publisher which emits the authentication if the token is valid
+     */
+    protected Publisher<Authentication> validate(String token) {
         try {
             // Parse the token
             JWT jwt = JWTParser.parse(token);
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.security.token.jwt.validator;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the {@link JwtTokenValidator}.
+ *
+ * @author agent
+ * @since 1.0
+ */
+public interface JwtTokenValidatorConfiguration {
+
+    /**
+     *
+     * @return a boolean flag indicating whether tokens that were already validated should be cached
+     */
+    boolean isCacheEnabled();
+
+    /**
+     *
+     * @return The maximum number of validated tokens to cache
+     */
+    long getCacheMaximumSize();
+
+    /**
+     *
+     * @return The maximum duration to cache a validated token for. Tokens are never cached beyond their expiration time.
+     */
+    Duration getCacheExpiration();
+}
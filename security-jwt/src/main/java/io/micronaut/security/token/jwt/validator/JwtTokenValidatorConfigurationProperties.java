@@ -0,0 +1,53 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.security.token.jwt.validator;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.security.token.jwt.config.JwtConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Default implementation of {@link JwtTokenValidatorConfiguration}.
+ *
+ * @author agent
+ * @since 1.0
+ */
+@ConfigurationProperties(JwtTokenValidatorConfigurationProperties.PREFIX)
+public class JwtTokenValidatorConfigurationProperties implements JwtTokenValidatorConfiguration {
+
+    public static final String PREFIX = JwtConfigurationProperties.PREFIX + ".validator";
+
+    protected boolean cacheEnabled = true;
+    protected long cacheMaximumSize = 10000;
+    protected Duration cacheExpiration = Duration.ofMinutes(5);
+
+    @Override
+    public boolean isCacheEnabled() {
+        return cacheEnabled;
+    }
+
+    @Override
+    public long getCacheMaximumSize() {
+        return cacheMaximumSize;
+    }
+
+    @Override
+    public Duration getCacheExpiration() {
+        return cacheExpiration;
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.security.token.jwt.signature.jwks
+
+import com.nimbusds.jose.JWSAlgorithm
+import com.nimbusds.jose.JWSHeader
+import com.nimbusds.jose.crypto.RSASSASigner
+import com.nimbusds.jose.jwk.RSAKey
+import com.nimbusds.jwt.JWTClaimsSet
+import com.nimbusds.jwt.SignedJWT
+import io.micronaut.context.ApplicationContext
+import io.micronaut.inject.qualifiers.Qualifiers
+import io.micronaut.runtime.server.EmbeddedServer
+import io.micronaut.security.authentication.Authentication
+import io.micronaut.security.token.jwt.signature.SignatureConfiguration
+import io.micronaut.security.token.jwt.validator.JwtTokenValidator
+import io.reactivex.Flowable
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.security.KeyPair
+import java.security.KeyPairGenerator
+import java.security.interfaces.RSAPrivateKey
+import java.security.interfaces.RSAPublicKey
+
+class JwksSignatureSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    EmbeddedServer keysServer = ApplicationContext.run(EmbeddedServer, [
+            'spec.name': 'jwks',
+            'micronaut.security.token.jwt.enabled': true,
+    ])
+
+    void "test JWTs are verified with the cached keys of a JSON Web Key Set"() {
+        given:
+        RSAKey first = rsaKey("first")
+        RSAKey second = rsaKey("second")
+        JwksController controller = keysServer.applicationContext.getBean(JwksController)
+        controller.keys.add(first.toPublicJWK())
+        ApplicationContext context = ApplicationContext.run([
+                'micronaut.security.enabled': true,
+                'micronaut.security.token.jwt.enabled': true,
+                'micronaut.security.token.jwt.signatures.jwks.remote.url': "${keysServer.URL}/keys".toString(),
+                'micronaut.security.token.jwt.signatures.jwks.remote.min-refresh-interval': '0s',
+        ])
+        JwksSignature signature = context.getBean(JwksSignature, Qualifiers.byName("remote"))
+        JwtTokenValidator validator = context.getBean(JwtTokenValidator)
+        PollingConditions conditions = new PollingConditions(timeout: 5)
+
+        expect:
+        context.getBean(SignatureConfiguration, Qualifiers.byName("remote")) == signature
+        conditions.eventually {
+            assert signature.supportsKeyId("first")
+        }
+
+        when:
+        Authentication authentication = validate(validator, sign(first, "sherlock"))
+        int requests = controller.requests.get()
+
+        then:
+        authentication.name == "sherlock"
+
+        when:
+        validate(validator, sign(first, "watson"))
+        validate(validator, sign(first, "hudson"))
+
+        then:"the keys are not fetched again for known keys"
+        controller.requests.get() == requests
+
+        when:"a JWT is signed with a key that was rotated in"
+        controller.keys.add(second.toPublicJWK())
+        String token = sign(second, "moriarty")
+
+        then:"verification fails and the keys are reloaded"
+        validate(validator, token) == null
+        conditions.eventually {
+            assert signature.supportsKeyId("second")
+        }
+        validate(validator, token).name == "moriarty"
+
+        when:"a JWT has no key ID"
+        SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.RS256), new JWTClaimsSet.Builder().subject("mycroft").build())
+        jwt.sign(new RSASSASigner(second))
+
+        then:"each key supporting the algorithm is tried"
+        validate(validator, jwt.serialize()).name == "mycroft"
+
+        cleanup:
+        context.close()
+        controller.keys.clear()
+    }
+
+    private static Authentication validate(JwtTokenValidator validator, String token) {
+        Flowable.fromPublisher(validator.validateToken(token)).blockingFirst(null)
+    }
+
+    private static String sign(RSAKey key, String subject) {
+        SignedJWT jwt = new SignedJWT(
+                new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.keyID).build(),
+                new JWTClaimsSet.Builder().subject(subject).build())
+        jwt.sign(new RSASSASigner(key))
+        jwt.serialize()
+    }
+
+    private static RSAKey rsaKey(String keyId) {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA")
+        generator.initialize(2048)
+        KeyPair keyPair = generator.generateKeyPair()
+        new RSAKey.Builder((RSAPublicKey) keyPair.public)
+                .privateKey((RSAPrivateKey) keyPair.private)
+                .keyID(keyId)
+                .build()
+    }
+}
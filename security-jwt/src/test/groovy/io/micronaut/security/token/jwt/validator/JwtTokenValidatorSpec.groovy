@@ -0,0 +1,138 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.security.token.jwt.validator
+
+import com.nimbusds.jose.JWSAlgorithm
+import com.nimbusds.jose.JWSHeader
+import com.nimbusds.jose.crypto.MACSigner
+import com.nimbusds.jwt.JWTClaimsSet
+import com.nimbusds.jwt.SignedJWT
+import io.micronaut.security.authentication.Authentication
+import io.micronaut.security.token.jwt.signature.SignatureConfiguration
+import io.reactivex.Flowable
+import spock.lang.Specification
+
+import java.nio.ByteBuffer
+import java.security.MessageDigest
+import java.time.Duration
+
+class JwtTokenValidatorSpec extends Specification {
+
+    static final String SECRET = "pleaseChangeThisSecretForANewOne"
+
+    void "test the authentication of a validated token is cached"() {
+        given:
+        SignatureConfiguration signature = Mock(SignatureConfiguration)
+        JwtTokenValidator validator = new JwtTokenValidator([signature], [])
+        String token = sign(new JWTClaimsSet.Builder().subject("sherlock").build())
+
+        when:
+        Authentication first = validate(validator, token)
+        Authentication second = validate(validator, token)
+
+        then:
+        1 * signature.supports(JWSAlgorithm.HS256) >> true
+        1 * signature.verify(_) >> true
+        first.name == "sherlock"
+        second.is(first)
+    }
+
+    void "test the cache is keyed by the digest of the token"() {
+        given:
+        SignatureConfiguration signature = Mock(SignatureConfiguration)
+        signature.supports(_) >> true
+        signature.verify(_) >> true
+        JwtTokenValidator validator = new JwtTokenValidator([signature], [])
+        String token = sign(new JWTClaimsSet.Builder().subject("sherlock").build())
+
+        when:
+        validate(validator, token)
+
+        then:
+        validator.authenticationCache.asMap().keySet() == [ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.bytes))] as Set
+    }
+
+    void "test failed validations and expired tokens are not cached"() {
+        given:
+        SignatureConfiguration signature = Mock(SignatureConfiguration)
+        signature.supports(_) >> true
+        JwtTokenValidator validator = new JwtTokenValidator([signature], [])
+        String invalid = sign(new JWTClaimsSet.Builder().subject("moriarty").build())
+        String expired = sign(new JWTClaimsSet.Builder().subject("watson").expirationTime(new Date(System.currentTimeMillis() - 1000)).build())
+
+        when:
+        validate(validator, invalid)
+        validate(validator, invalid)
+
+        then:
+        2 * signature.verify(_) >> false
+
+        when:
+        validate(validator, expired)
+        validator.authenticationCache.cleanUp()
+        validate(validator, expired)
+
+        then:
+        2 * signature.verify(_) >> true
+    }
+
+    void "test the cache can be disabled"() {
+        given:
+        SignatureConfiguration signature = Mock(SignatureConfiguration)
+        signature.supports(_) >> true
+        JwtTokenValidatorConfigurationProperties configuration = new JwtTokenValidatorConfigurationProperties(cacheEnabled: false)
+        JwtTokenValidator validator = new JwtTokenValidator([signature], [], configuration)
+        String token = sign(new JWTClaimsSet.Builder().subject("sherlock").build())
+
+        when:
+        validate(validator, token)
+        validate(validator, token)
+
+        then:
+        2 * signature.verify(_) >> true
+    }
+
+    void "test the signature configurations knowing the key ID are tried first"() {
+        given:
+        SignatureConfiguration other = Mock(SignatureConfiguration)
+        SignatureConfiguration matching = Mock(SignatureConfiguration)
+        JwtTokenValidatorConfigurationProperties configuration = new JwtTokenValidatorConfigurationProperties(cacheEnabled: false)
+        JwtTokenValidator validator = new JwtTokenValidator([other, matching], [], configuration)
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.HS256).keyID("key").build(), new JWTClaimsSet.Builder().subject("sherlock").build())
+        jwt.sign(new MACSigner(SECRET))
+
+        when:
+        Authentication authentication = validate(validator, jwt.serialize())
+
+        then:
+        1 * other.supportsKeyId("key") >> false
+        1 * matching.supportsKeyId("key") >> true
+        1 * matching.supports(JWSAlgorithm.HS256) >> true
+        1 * matching.verify(_) >> true
+        0 * other.verify(_)
+        authentication.name == "sherlock"
+    }
+
+    private static Authentication validate(JwtTokenValidator validator, String token) {
+        Flowable.fromPublisher(validator.validateToken(token)).blockingFirst(null)
+    }
+
+    private static String sign(JWTClaimsSet claims) {
+        SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claims)
+        jwt.sign(new MACSigner(SECRET))
+        jwt.serialize()
+    }
+}
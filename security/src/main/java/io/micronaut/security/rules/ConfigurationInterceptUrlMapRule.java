@@ -48,6 +48,7 @@ public class ConfigurationInterceptUrlMapRule extends InterceptUrlMapRule {
                                             SecurityConfiguration securityConfiguration) {
         super(tokenConfiguration);
         this.patternList = securityConfiguration.getInterceptUrlMap();
+        compilePatterns();
     }
 
     @Override
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.security.rules;
+
+import io.micronaut.core.util.AntPathMatcher;
+import io.micronaut.core.util.PathMatcher;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.http.HttpMethod;
+import io.micronaut.security.config.InterceptUrlMapPattern;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Matches a request against a list of {@link InterceptUrlMapPattern} compiled into a trie per {@link HttpMethod}.
+ * The trie is keyed by the literal leading segments of each pattern, so that a single walk over the segments of the
+ * request URI selects the few patterns that can match and only those are evaluated with the {@link AntPathMatcher}.
+ * As with a sequential scan, the first pattern in the list that matches wins.
+ *
+ * @author agent
+ * @since 1.0
+ */
+class InterceptUrlMapMatcher {
+
+    private static final String SEPARATOR = AntPathMatcher.DEFAULT_PATH_SEPARATOR;
+
+    private final AntPathMatcher pathMatcher = PathMatcher.ANT;
+    private final List<InterceptUrlMapPattern> patterns;
+    private final Map<HttpMethod, Node> tries = new EnumMap<>(HttpMethod.class);
+
+    /**
+     * @param patterns The patterns in order of precedence
+     */
+    InterceptUrlMapMatcher(List<InterceptUrlMapPattern> patterns) {
+        this.patterns = new ArrayList<>(patterns);
+        for (HttpMethod method : HttpMethod.values()) {
+            Node root = new Node();
+            for (int i = 0; i < this.patterns.size(); i++) {
+                InterceptUrlMapPattern pattern = this.patterns.get(i);
+                if (pattern.getHttpMethod().map(method::equals).orElse(true)) {
+                    root.insert(literalPrefix(pattern.getPattern()), 0, i);
+                }
+            }
+            tries.put(method, root);
+        }
+    }
+
+    /**
+     * @param method The HTTP method of the request
+     * @param uri The request URI
+     * @return The index of the first pattern matching the request or -1 if none matches
+     */
+    int match(HttpMethod method, String uri) {
+        Node node = tries.get(method);
+        if (node == null) {
+            return -1;
+        }
+        String[] segments = StringUtils.tokenizeToStringArray(uri, SEPARATOR);
+        int best = node.firstMatch(this, uri, Integer.MAX_VALUE);
+        for (int i = 0; i < segments.length && node != null; i++) {
+            node = node.children.get(segments[i]);
+            if (node != null) {
+                best = node.firstMatch(this, uri, best);
+            }
+        }
+        return best == Integer.MAX_VALUE ? -1 : best;
+    }
+
+    /**
+     * @param index The index of a pattern
+     * @return The pattern
+     */
+    InterceptUrlMapPattern getPattern(int index) {
+        return patterns.get(index);
+    }
+
+    private boolean matches(int index, String uri) {
+        return pathMatcher.matches(patterns.get(index).getPattern(), uri);
+    }
+
+    /**
+     * The leading segments of a pattern up to the first one containing a wildcard. Any path matched by the pattern
+     * starts with these segments.
+     */
+    private static List<String> literalPrefix(String pattern) {
+        List<String> prefix = new ArrayList<>();
+        for (String segment : StringUtils.tokenizeToStringArray(pattern, SEPARATOR)) {
+            if (segment.indexOf('*') != -1 || segment.indexOf('?') != -1) {
+                break;
+            }
+            prefix.add(segment);
+        }
+        return prefix;
+    }
+
+    /**
+     * A node of the trie holding the patterns whose literal prefix ends at this node, in order of precedence.
+     */
+    private static final class Node {
+        final Map<String, Node> children = new HashMap<>();
+        final List<Integer> patterns = new ArrayList<>();
+
+        void insert(List<String> prefix, int depth, int index) {
+            if (depth == prefix.size()) {
+                patterns.add(index);
+            } else {
+                children.computeIfAbsent(prefix.get(depth), segment -> new Node()).insert(prefix, depth + 1, index);
+            }
+        }
+
+        int firstMatch(InterceptUrlMapMatcher matcher, String uri, int best) {
+            for (Integer index : patterns) {
+                if (index >= best) {
+                    break;
+                }
+                if (matcher.matches(index, uri)) {
+                    return index;
+                }
+            }
+            return best;
+        }
+    }
+}
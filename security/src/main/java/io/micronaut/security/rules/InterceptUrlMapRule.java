@@ -16,21 +16,28 @@
 
 package io.micronaut.security.rules;
 
-import io.micronaut.core.util.AntPathMatcher;
-import io.micronaut.core.util.PathMatcher;
 import io.micronaut.http.HttpMethod;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.security.config.InterceptUrlMapPattern;
 import io.micronaut.security.token.config.TokenConfiguration;
 import io.micronaut.web.router.RouteMatch;
+import io.micronaut.web.router.UriRouteMatch;
 import javax.annotation.Nullable;
-import java.net.URI;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * An abstract class with common functionality for Security Rule implementations which
  * opt to express their configuration as a List of {@link InterceptUrlMapPattern}.
  *
+ * <p>The patterns are compiled into an {@link InterceptUrlMapMatcher} when the rule is created. Subclasses call
+ * {@link #compilePatterns()} once the patterns returned by {@link #getPatternList()} are available.</p>
+ *
+ * <p>The patterns are matched against the request URI, so the result only depends on the matched route when the
+ * request URI is the route template itself, which is the case for routes without variables requested without a
+ * query string. Those results are cached by HTTP method and route template, so the cache holds at most one entry
+ * per route. Any other request walks the matcher.</p>
+ *
  * @author James Kleeh
  * @since 1.0
  */
@@ -41,7 +48,8 @@ abstract class InterceptUrlMapRule extends AbstractSecurityRule {
      */
     public static final Integer ORDER = 0;
 
-    private final AntPathMatcher pathMatcher;
+    private final Map<HttpMethod, Map<String, Integer>> routeResults = new EnumMap<>(HttpMethod.class);
+    private InterceptUrlMapMatcher matcher;
 
     /**
      *
@@ -49,7 +57,9 @@ abstract class InterceptUrlMapRule extends AbstractSecurityRule {
      */
     InterceptUrlMapRule(TokenConfiguration tokenConfiguration) {
         super(tokenConfiguration);
-        this.pathMatcher = PathMatcher.ANT;
+        for (HttpMethod method : HttpMethod.values()) {
+            routeResults.put(method, new ConcurrentHashMap<>());
+        }
     }
 
     /**
@@ -58,6 +68,15 @@ abstract class InterceptUrlMapRule extends AbstractSecurityRule {
      */
     protected abstract List<InterceptUrlMapPattern> getPatternList();
 
+    /**
+     * Compiles the patterns returned by {@link #getPatternList()} into the matcher used to check requests.
+     */
+    final void compilePatterns() {
+        List<InterceptUrlMapPattern> patterns = getPatternList();
+        this.matcher = new InterceptUrlMapMatcher(patterns != null ? patterns : Collections.emptyList());
+        routeResults.values().forEach(Map::clear);
+    }
+
     /**
      * If no configured pattern matches the request, return {@link SecurityRuleResult#UNKNOWN}.
      * Reads the rules in order. The first matched rule will be used for determining authorization.
@@ -69,18 +88,17 @@ abstract class InterceptUrlMapRule extends AbstractSecurityRule {
      */
     @Override
     public SecurityRuleResult check(HttpRequest request, @Nullable RouteMatch routeMatch, @Nullable Map<String, Object> claims) {
-        final URI uri = request.getUri();
-        final String uriString = uri.toString();
+        final String uriString = request.getUri().toString();
         final HttpMethod httpMethod = request.getMethod();
-
-        Optional<InterceptUrlMapPattern> matchedPattern = getPatternList()
-                .stream()
-                .filter(p -> p.getHttpMethod().map(method -> method.equals(httpMethod)).orElse(true))
-                .filter(p -> pathMatcher.matches(p.getPattern(), uriString))
-                .findFirst();
-
-        return matchedPattern
-                .map(pattern -> compareRoles(pattern.getAccess(), getRoles(claims)))
-                .orElse(SecurityRuleResult.UNKNOWN);
+        int index;
+        if (routeMatch instanceof UriRouteMatch && uriString.equals(((UriRouteMatch) routeMatch).getRoute().getUriMatchTemplate().toString())) {
+            index = routeResults.get(httpMethod).computeIfAbsent(uriString, template -> matcher.match(httpMethod, template));
+        } else {
+            index = matcher.match(httpMethod, uriString);
+        }
+        if (index < 0) {
+            return SecurityRuleResult.UNKNOWN;
+        }
+        return compareRoles(matcher.getPattern(index).getAccess(), getRoles(claims));
     }
 }
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.security.rules;
+
+/**
+ * A binary prefix trie of IP address ranges in CIDR notation. Looking up an address walks at most one node per bit
+ * of the address, regardless of the number of ranges.
+ *
+ * @author agent
+ * @since 1.0
+ */
+class IpAddressTrie {
+
+    private final Node root = new Node();
+    private boolean empty = true;
+
+    /**
+     * Adds a range of addresses.
+     *
+     * @param address The address of the range
+     * @param prefixLength The number of leading bits of the address defining the range
+     */
+    void add(byte[] address, int prefixLength) {
+        if (prefixLength < 0 || prefixLength > address.length * Byte.SIZE) {
+            throw new IllegalArgumentException("Invalid prefix length: " + prefixLength);
+        }
+        Node node = root;
+        for (int bit = 0; bit < prefixLength && !node.terminal; bit++) {
+            if (isSet(address, bit)) {
+                if (node.one == null) {
+                    node.one = new Node();
+                }
+                node = node.one;
+            } else {
+                if (node.zero == null) {
+                    node.zero = new Node();
+                }
+                node = node.zero;
+            }
+        }
+        node.terminal = true;
+        node.zero = null;
+        node.one = null;
+        empty = false;
+    }
+
+    /**
+     * @return Whether no range was added
+     */
+    boolean isEmpty() {
+        return empty;
+    }
+
+    /**
+     * @param address The address
+     * @return Whether the address is within one of the ranges
+     */
+    boolean contains(byte[] address) {
+        Node node = root;
+        int bits = address.length * Byte.SIZE;
+        for (int bit = 0; node != null; bit++) {
+            if (node.terminal) {
+                return true;
+            }
+            if (bit == bits) {
+                return false;
+            }
+            node = isSet(address, bit) ? node.one : node.zero;
+        }
+        return false;
+    }
+
+    private static boolean isSet(byte[] address, int bit) {
+        return (address[bit / Byte.SIZE] & (0x80 >>> (bit % Byte.SIZE))) != 0;
+    }
+
+    /**
+     * A node of the trie.
+     */
+    private static final class Node {
+        Node zero;
+        Node one;
+        boolean terminal;
+    }
+}
@@ -23,14 +23,20 @@ import io.micronaut.security.token.config.TokenConfiguration;
 import io.micronaut.web.router.RouteMatch;
 import javax.annotation.Nullable;
 import javax.inject.Singleton;
+import java.net.InetAddress;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 /**
  * A security rule implementation backed by the {@link SecurityConfigurationProperties#getIpPatterns()} ()}.
  *
+ * <p>Patterns which are literal IPv4 addresses or address ranges in CIDR notation (for example {@code 10.0.0.0/8} or
+ * {@code fd00::/8}) are compiled into prefix tries and matched against the raw bytes of the remote address. Any other
+ * pattern is matched as a regular expression against the host address.</p>
+ *
  * @author Sergio del Amo
  * @since 1.0
  */
@@ -42,7 +48,16 @@ public class IpPatternsRule extends AbstractSecurityRule {
      */
     public static final Integer ORDER = SecuredAnnotationRule.ORDER - 100;
 
-    private final List<Pattern> patternList;
+    private static final Pattern IPV4_ADDRESS = Pattern.compile("\\d{1,3}(\\.\\d{1,3}){3}");
+    private static final Pattern IPV6_CHARACTERS = Pattern.compile("[0-9a-fA-F:.]*:[0-9a-fA-F:.]*");
+    private static final Pattern IPV6_GROUP = Pattern.compile("[0-9a-fA-F]{1,4}");
+    private static final Pattern CIDR = Pattern.compile("([0-9a-fA-F:.]+)/(\\d{1,3})");
+
+    private final List<Pattern> patternList = new ArrayList<>();
+    private final IpAddressTrie ipv4Ranges = new IpAddressTrie();
+    private final IpAddressTrie ipv6Ranges = new IpAddressTrie();
+    private final boolean empty;
+    private boolean anywhere;
 
     /**
      *
@@ -52,10 +67,15 @@ public class IpPatternsRule extends AbstractSecurityRule {
     public IpPatternsRule(TokenConfiguration tokenConfiguration,
                           SecurityConfiguration securityConfiguration) {
         super(tokenConfiguration);
-        this.patternList = securityConfiguration.getIpPatterns()
-                        .stream()
-                        .map(Pattern::compile)
-                        .collect(Collectors.toList());
+        List<String> ipPatterns = securityConfiguration.getIpPatterns();
+        this.empty = ipPatterns.isEmpty();
+        for (String ipPattern : ipPatterns) {
+            if (ipPattern.equals(SecurityConfigurationProperties.ANYWHERE)) {
+                anywhere = true;
+            } else if (!addRange(ipPattern)) {
+                patternList.add(Pattern.compile(ipPattern));
+            }
+        }
     }
 
     @Override
@@ -66,16 +86,137 @@ public class IpPatternsRule extends AbstractSecurityRule {
     @Override
     public SecurityRuleResult check(HttpRequest request, @Nullable RouteMatch routeMatch, @Nullable Map<String, Object> claims) {
 
-        if (patternList.isEmpty()) {
+        if (empty || anywhere) {
+            return SecurityRuleResult.UNKNOWN;
+        }
+        InetAddress address = request.getRemoteAddress().getAddress();
+        byte[] bytes = address.getAddress();
+        IpAddressTrie ranges = bytes.length == 4 ? ipv4Ranges : ipv6Ranges;
+        if (!ranges.isEmpty() && ranges.contains(bytes)) {
             return SecurityRuleResult.UNKNOWN;
-        } else {
-            if (patternList.stream().anyMatch(pattern ->
-                    pattern.pattern().equals(SecurityConfigurationProperties.ANYWHERE) ||
-                    pattern.matcher(request.getRemoteAddress().getAddress().getHostAddress()).matches())) {
-                return SecurityRuleResult.UNKNOWN;
+        }
+        if (!patternList.isEmpty()) {
+            String hostAddress = address.getHostAddress();
+            for (Pattern pattern : patternList) {
+                if (pattern.matcher(hostAddress).matches()) {
+                    return SecurityRuleResult.UNKNOWN;
+                }
+            }
+        }
+        return SecurityRuleResult.REJECTED;
+    }
+
+    /**
+     * Adds the pattern to the address ranges if it is a literal IPv4 address or a range in CIDR notation.
+     *
+     * @param ipPattern The pattern
+     * @return Whether the pattern was added to the address ranges
+     */
+    private boolean addRange(String ipPattern) {
+        String address = ipPattern;
+        int prefixLength = -1;
+        Matcher cidr = CIDR.matcher(ipPattern);
+        if (cidr.matches()) {
+            address = cidr.group(1);
+            prefixLength = Integer.parseInt(cidr.group(2));
+        }
+        byte[] bytes = parseAddress(address);
+        if (bytes == null || prefixLength > bytes.length * Byte.SIZE) {
+            return false;
+        }
+        (bytes.length == 4 ? ipv4Ranges : ipv6Ranges).add(bytes, prefixLength < 0 ? bytes.length * Byte.SIZE : prefixLength);
+        return true;
+    }
+
+    /**
+     * Parses a numeric IPv4 or IPv6 address without ever resolving a host name.
+     *
+     * @param address The address
+     * @return The bytes of the address or null if it is not a numeric address
+     */
+    private static byte[] parseAddress(String address) {
+        if (IPV4_ADDRESS.matcher(address).matches()) {
+            return parseIpv4(address);
+        } else if (IPV6_CHARACTERS.matcher(address).matches()) {
+            return parseIpv6(address);
+        }
+        return null;
+    }
+
+    private static byte[] parseIpv4(String address) {
+        String[] octets = address.split("\\.");
+        byte[] bytes = new byte[octets.length];
+        for (int i = 0; i < octets.length; i++) {
+            int octet = Integer.parseInt(octets[i]);
+            if (octet > 255) {
+                return null;
+            }
+            bytes[i] = (byte) octet;
+        }
+        return bytes;
+    }
+
+    /**
+     * Strictly parses an IPv6 literal such as {@code fe80::1} or {@code ::ffff:10.0.0.1}. Anything else, including
+     * regular expressions that happen to consist of hexadecimal digits and colons only, yields null.
+     *
+     * @param address The address
+     * @return The 16 bytes of the address or null if it is not a valid IPv6 literal
+     */
+    private static byte[] parseIpv6(String address) {
+        int compression = address.indexOf("::");
+        if (compression != -1 && address.indexOf("::", compression + 1) != -1) {
+            return null;
+        }
+        List<Integer> head = compression == -1 ? parseIpv6Groups(address) : parseIpv6Groups(address.substring(0, compression));
+        List<Integer> tail = compression == -1 ? new ArrayList<>() : parseIpv6Groups(address.substring(compression + 2));
+        if (head == null || tail == null) {
+            return null;
+        }
+        int groups = head.size() + tail.size();
+        if (compression == -1 ? groups != 8 : groups > 7) {
+            return null;
+        }
+        byte[] bytes = new byte[16];
+        for (int i = 0; i < head.size(); i++) {
+            putGroup(bytes, i, head.get(i));
+        }
+        for (int i = 0; i < tail.size(); i++) {
+            putGroup(bytes, 8 - tail.size() + i, tail.get(i));
+        }
+        return bytes;
+    }
+
+    /**
+     * @param groups The colon separated groups of an IPv6 address, without a compressed section
+     * @return The 16 bit values of the groups, with a trailing IPv4 address counting as two groups, or null if invalid
+     */
+    private static List<Integer> parseIpv6Groups(String groups) {
+        List<Integer> values = new ArrayList<>(8);
+        if (groups.isEmpty()) {
+            return values;
+        }
+        String[] parts = groups.split(":", -1);
+        for (int i = 0; i < parts.length; i++) {
+            String part = parts[i];
+            if (i == parts.length - 1 && IPV4_ADDRESS.matcher(part).matches()) {
+                byte[] ipv4 = parseIpv4(part);
+                if (ipv4 == null) {
+                    return null;
+                }
+                values.add(((ipv4[0] & 0xff) << 8) | (ipv4[1] & 0xff));
+                values.add(((ipv4[2] & 0xff) << 8) | (ipv4[3] & 0xff));
+            } else if (IPV6_GROUP.matcher(part).matches()) {
+                values.add(Integer.parseInt(part, 16));
             } else {
-                return SecurityRuleResult.REJECTED;
+                return null;
             }
         }
+        return values;
+    }
+
+    private static void putGroup(byte[] bytes, int index, int value) {
+        bytes[index * 2] = (byte) (value >> 8);
+        bytes[index * 2 + 1] = (byte) value;
     }
 }
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.security.cache
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.core.order.OrderUtil
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.client.RxHttpClient
+import io.micronaut.http.client.exceptions.HttpClientResponseException
+import io.micronaut.http.filter.HttpServerFilter
+import io.micronaut.http.server.cache.ResponseCache
+import io.micronaut.http.server.cache.ResponseCacheFilter
+import io.micronaut.runtime.server.EmbeddedServer
+import io.micronaut.security.Secured
+import io.micronaut.security.authentication.AuthenticationFailed
+import io.micronaut.security.authentication.AuthenticationProvider
+import io.micronaut.security.authentication.AuthenticationRequest
+import io.micronaut.security.authentication.AuthenticationResponse
+import io.micronaut.security.authentication.UserDetails
+import io.micronaut.security.filters.SecurityFilter
+import io.micronaut.security.rules.SecurityRule
+import io.reactivex.Flowable
+import org.reactivestreams.Publisher
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import javax.inject.Singleton
+import java.util.concurrent.atomic.AtomicInteger
+
+class SecuredResponseCacheSpec extends Specification {
+
+    @Shared @AutoCleanup EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+            'spec.name': 'SecuredResponseCacheSpec',
+            'micronaut.security.enabled': true,
+            'micronaut.caches.http-responses.maximum-size': 10
+    ], "test")
+    @Shared @AutoCleanup RxHttpClient client = embeddedServer.applicationContext.createBean(RxHttpClient, embeddedServer.URL)
+
+    void "test the response cache filter runs after the security filter"() {
+        when:
+        List<HttpServerFilter> filters = embeddedServer.applicationContext.getBeansOfType(HttpServerFilter).toList()
+        OrderUtil.sort(filters)
+
+        then:
+        filters.findIndexOf { it instanceof SecurityFilter } < filters.findIndexOf { it instanceof ResponseCacheFilter }
+    }
+
+    void "test a cached response of a secured route is not served to unauthorized requests"() {
+        given:
+        SecuredCacheController controller = embeddedServer.applicationContext.getBean(SecuredCacheController)
+
+        when:"the response is cached for an authorized request"
+        String first = client.retrieve(HttpRequest.GET('/secured-cache/report').basicAuth('user', 'password')).blockingFirst()
+        String second = client.retrieve(HttpRequest.GET('/secured-cache/report').basicAuth('user', 'password')).blockingFirst()
+
+        then:
+        first == 'secret report'
+        second == 'secret report'
+        controller.invocations.get() == 1
+
+        when:"the cached route is requested without credentials"
+        client.exchange(HttpRequest.GET('/secured-cache/report'), String).blockingFirst()
+
+        then:
+        HttpClientResponseException e = thrown()
+        e.status == HttpStatus.UNAUTHORIZED
+
+        when:"the cached route is requested with invalid credentials"
+        client.exchange(HttpRequest.GET('/secured-cache/report').basicAuth('user', 'wrong'), String).blockingFirst()
+
+        then:
+        e = thrown()
+        e.status == HttpStatus.UNAUTHORIZED
+        controller.invocations.get() == 1
+    }
+
+    @Requires(property = 'spec.name', value = 'SecuredResponseCacheSpec')
+    @Controller('/secured-cache')
+    @Secured(SecurityRule.IS_AUTHENTICATED)
+    static class SecuredCacheController {
+
+        final AtomicInteger invocations = new AtomicInteger()
+
+        @Get('/report')
+        @ResponseCache
+        String report() {
+            invocations.incrementAndGet()
+            'secret report'
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'SecuredResponseCacheSpec')
+    @Singleton
+    static class UserPasswordAuthenticationProvider implements AuthenticationProvider {
+
+        @Override
+        Publisher<AuthenticationResponse> authenticate(AuthenticationRequest authenticationRequest) {
+            if (authenticationRequest.identity == 'user' && authenticationRequest.secret == 'password') {
+                return Flowable.just(new UserDetails('user', []))
+            }
+            return Flowable.just(new AuthenticationFailed())
+        }
+    }
+}
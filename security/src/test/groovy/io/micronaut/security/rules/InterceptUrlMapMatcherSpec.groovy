@@ -0,0 +1,118 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.security.rules
+
+import io.micronaut.core.util.PathMatcher
+import io.micronaut.http.HttpMethod
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.uri.UriMatchTemplate
+import io.micronaut.security.config.InterceptUrlMapPattern
+import io.micronaut.security.config.SecurityConfiguration
+import io.micronaut.security.token.config.TokenConfiguration
+import io.micronaut.web.router.UriRoute
+import io.micronaut.web.router.UriRouteMatch
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class InterceptUrlMapMatcherSpec extends Specification {
+
+    static final List<InterceptUrlMapPattern> PATTERNS = [
+            new InterceptUrlMapPattern('/books/stats', ['ROLE_ADMIN'], HttpMethod.GET),
+            new InterceptUrlMapPattern('/books/*/reviews', ['ROLE_USER'], null),
+            new InterceptUrlMapPattern('/books/**', ['isAnonymous()'], HttpMethod.GET),
+            new InterceptUrlMapPattern('/books/**', ['ROLE_ADMIN'], null),
+            new InterceptUrlMapPattern('/health', ['isAnonymous()'], null),
+            new InterceptUrlMapPattern('/h?alth/', ['ROLE_ADMIN'], null),
+            new InterceptUrlMapPattern('/**/admin', ['ROLE_ADMIN'], null),
+            new InterceptUrlMapPattern('/a*/b/**', ['ROLE_USER'], null),
+    ]
+
+    @Unroll
+    void "test #method #uri matches the same pattern as a sequential scan"() {
+        given:
+        InterceptUrlMapMatcher matcher = new InterceptUrlMapMatcher(PATTERNS)
+
+        expect:
+        matcher.match(method, uri) == sequentialScan(method, uri)
+
+        where:
+        [method, uri] << [
+                [HttpMethod.GET, HttpMethod.POST, HttpMethod.DELETE],
+                ['/books/stats', '/books/1/reviews', '/books/1/reviews/2', '/books', '/books/', '/books/1',
+                 '/health', '/health/', '/healt', '/heALTH', '/hxalth/', '/x/y/admin', '/admin', '/ab/b/c',
+                 '/ab/c', 'books/1', '/unknown', '/books/stats?x=y', '/', '']
+        ].combinations()
+    }
+
+    void "test the first matching pattern wins"() {
+        given:
+        InterceptUrlMapMatcher matcher = new InterceptUrlMapMatcher(PATTERNS)
+
+        expect:
+        matcher.getPattern(matcher.match(HttpMethod.GET, '/books/stats')).access == ['ROLE_ADMIN']
+        matcher.getPattern(matcher.match(HttpMethod.POST, '/books/stats')).access == ['ROLE_ADMIN']
+        matcher.getPattern(matcher.match(HttpMethod.GET, '/books/1')).access == ['isAnonymous()']
+        matcher.match(HttpMethod.GET, '/unknown') == -1
+    }
+
+    @Unroll
+    void "test the matched pattern is only cached by route template when the request URI is the template: #uri"() {
+        given:
+        SecurityConfiguration securityConfiguration = Stub(SecurityConfiguration) {
+            getInterceptUrlMap() >> PATTERNS
+        }
+        ConfigurationInterceptUrlMapRule rule = new ConfigurationInterceptUrlMapRule(Stub(TokenConfiguration), securityConfiguration)
+        UriMatchTemplate matchTemplate = new UriMatchTemplate(template)
+        UriRoute route = Stub(UriRoute) {
+            getUriMatchTemplate() >> matchTemplate
+        }
+        UriRouteMatch routeMatch = Stub(UriRouteMatch) {
+            getRoute() >> route
+        }
+
+        expect:
+        rule.check(request(HttpMethod.GET, uri), routeMatch, null) == expected
+        rule.check(request(HttpMethod.GET, uri), routeMatch, null) == expected
+        routeResults(rule)[HttpMethod.GET].keySet() == cached as Set
+
+        where:
+        template       | uri                | expected                    | cached
+        '/health'      | '/health'          | SecurityRuleResult.ALLOWED  | ['/health']
+        '/health'      | '/health?full=yes' | SecurityRuleResult.UNKNOWN  | []
+        '/books/{id}'  | '/books/stats'     | SecurityRuleResult.REJECTED | []
+        '/books/{id}'  | '/books/1'         | SecurityRuleResult.ALLOWED  | []
+        '/unknown'     | '/unknown'         | SecurityRuleResult.UNKNOWN  | ['/unknown']
+    }
+
+    private static Map<HttpMethod, Map<String, Integer>> routeResults(InterceptUrlMapRule rule) {
+        def field = InterceptUrlMapRule.getDeclaredField('routeResults')
+        field.accessible = true
+        field.get(rule)
+    }
+
+    private HttpRequest request(HttpMethod method, String uri) {
+        Stub(HttpRequest) {
+            getUri() >> new URI(uri)
+            getMethod() >> method
+        }
+    }
+
+    private static int sequentialScan(HttpMethod method, String uri) {
+        PATTERNS.findIndexOf { p ->
+            p.httpMethod.map { it == method }.orElse(true) && PathMatcher.ANT.matches(p.pattern, uri)
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.security.rules
+
+import io.micronaut.http.HttpRequest
+import io.micronaut.security.config.SecurityConfiguration
+import io.micronaut.security.token.config.TokenConfiguration
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class IpPatternsRuleSpec extends Specification {
+
+    @Unroll
+    void "test remote address #address with ip patterns #patterns is #expected"() {
+        given:
+        SecurityConfiguration securityConfiguration = Stub(SecurityConfiguration) {
+            getIpPatterns() >> patterns
+        }
+        IpPatternsRule rule = new IpPatternsRule(Stub(TokenConfiguration), securityConfiguration)
+        HttpRequest request = Stub(HttpRequest) {
+            getRemoteAddress() >> new InetSocketAddress(InetAddress.getByName(address), 8080)
+        }
+
+        expect:
+        rule.check(request, null, null) == expected
+
+        where:
+        address       | patterns                       | expected
+        '10.10.0.48'  | []                             | SecurityRuleResult.UNKNOWN
+        '10.10.0.48'  | ['0.0.0.0']                    | SecurityRuleResult.UNKNOWN
+        '10.10.0.48'  | ['10.10.0.48']                 | SecurityRuleResult.UNKNOWN
+        '10.10.0.49'  | ['10.10.0.48']                 | SecurityRuleResult.REJECTED
+        '10.10.0.49'  | ['10.10.0.0/24']               | SecurityRuleResult.UNKNOWN
+        '10.10.1.49'  | ['10.10.0.0/24']               | SecurityRuleResult.REJECTED
+        '10.200.1.1'  | ['192.168.0.0/16', '10.0.0.0/8'] | SecurityRuleResult.UNKNOWN
+        '127.0.0.1'   | ['0.0.0.0/0']                  | SecurityRuleResult.UNKNOWN
+        '192.168.1.5' | ['192\\.168\\.1\\..*']         | SecurityRuleResult.UNKNOWN
+        '192.168.2.5' | ['192\\.168\\.1\\..*']         | SecurityRuleResult.REJECTED
+        '::1'         | ['10.0.0.0/8']                 | SecurityRuleResult.REJECTED
+        '::1'         | ['::1/128']                    | SecurityRuleResult.UNKNOWN
+        'fd00::1234'  | ['fd00::/8']                   | SecurityRuleResult.UNKNOWN
+        'fe80::1'     | ['fd00::/8']                   | SecurityRuleResult.REJECTED
+        '::1'         | ['0:0:0:0:0:0:0:1']            | SecurityRuleResult.UNKNOWN
+        '1::2:3'      | ['1:0:0:0:0:0:2:3']            | SecurityRuleResult.UNKNOWN
+        '64:ff9b::a00:1' | ['64:ff9b::10.0.0.1']       | SecurityRuleResult.UNKNOWN
+        'fe80::1'     | ['fe80:.*']                    | SecurityRuleResult.UNKNOWN
+        'fd00::1'     | ['fe80:.*']                    | SecurityRuleResult.REJECTED
+        '127.0.0.1'   | ['::1|127.*']                  | SecurityRuleResult.UNKNOWN
+        '10.0.0.1'    | ['::1|127.*']                  | SecurityRuleResult.REJECTED
+        '10.0.0.1'    | ['1:2:3:4:5:6:7:8:9']          | SecurityRuleResult.REJECTED
+    }
+}
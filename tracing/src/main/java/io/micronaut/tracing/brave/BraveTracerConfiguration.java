@@ -30,6 +30,7 @@ import io.micronaut.context.env.Environment;
 import io.micronaut.core.util.Toggleable;
 import io.micronaut.http.client.HttpClientConfiguration;
 import io.micronaut.runtime.ApplicationConfiguration;
+import io.micronaut.tracing.brave.sampler.RateLimitingSampler;
 import io.micronaut.tracing.brave.sender.HttpClientSender;
 
 import javax.annotation.Nullable;
@@ -90,7 +91,12 @@ public class BraveTracerConfiguration implements Toggleable {
     @Inject
     public void setSamplerConfiguration(@Nullable SamplerConfiguration samplerConfiguration) {
         if (samplerConfiguration != null) {
-            tracingBuilder.sampler(CountingSampler.create(samplerConfiguration.getProbability()));
+            Integer tracesPerSecond = samplerConfiguration.getTracesPerSecond();
+            if (tracesPerSecond != null) {
+                tracingBuilder.sampler(new RateLimitingSampler(tracesPerSecond));
+            } else {
+                tracingBuilder.sampler(CountingSampler.create(samplerConfiguration.getProbability()));
+            }
         }
     }
 
@@ -189,6 +195,7 @@ public class BraveTracerConfiguration implements Toggleable {
     @Requires(missingBeans = Sampler.class)
     public static class SamplerConfiguration {
         private float probability = DEFAULT_SAMPLER_PROBABILITY;
+        private Integer tracesPerSecond;
 
         /**
          * Get sampler probability. A value of 1.0
@@ -209,5 +216,22 @@ public class BraveTracerConfiguration implements Toggleable {
         public void setProbability(float probability) {
             this.probability = probability;
         }
+
+        /**
+         * @return The maximum number of traces sampled per second or null if the probability is used
+         */
+        public @Nullable Integer getTracesPerSecond() {
+            return tracesPerSecond;
+        }
+
+        /**
+         * Sets the maximum number of traces sampled per second. When set a {@link RateLimitingSampler} is used
+         * instead of the probability, which keeps the tracing overhead bounded as the traffic grows.
+         *
+         * @param tracesPerSecond The maximum number of traces sampled per second
+         */
+        public void setTracesPerSecond(@Nullable Integer tracesPerSecond) {
+            this.tracesPerSecond = tracesPerSecond;
+        }
     }
 }
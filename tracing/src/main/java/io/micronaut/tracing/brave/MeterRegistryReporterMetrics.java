@@ -0,0 +1,105 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.tracing.brave;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.context.annotation.Requires;
+import zipkin2.reporter.ReporterMetrics;
+
+import javax.inject.Singleton;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Publishes the {@link ReporterMetrics} of the span reporter to the {@link MeterRegistry}. In particular
+ * {@code zipkin.reporter.spans.dropped} counts the spans dropped because the reporter queue was full, which the
+ * reporter does instead of blocking the application threads.
+ *
+ * @author agent
+ * @since 1.0
+ */
+@Singleton
+@Requires(classes = {MeterRegistry.class, ReporterMetrics.class})
+@Requires(beans = {MeterRegistry.class, BraveTracerConfiguration.class})
+public class MeterRegistryReporterMetrics implements ReporterMetrics {
+
+    private static final String PREFIX = "zipkin.reporter.";
+
+    private final Counter messages;
+    private final Counter messageBytes;
+    private final Counter messagesDropped;
+    private final Counter spans;
+    private final Counter spanBytes;
+    private final Counter spansDropped;
+    private final AtomicInteger queuedSpans = new AtomicInteger();
+    private final AtomicInteger queuedBytes = new AtomicInteger();
+
+    /**
+     * @param meterRegistry The meter registry
+     */
+    public MeterRegistryReporterMetrics(MeterRegistry meterRegistry) {
+        this.messages = meterRegistry.counter(PREFIX + "messages");
+        this.messageBytes = meterRegistry.counter(PREFIX + "message.bytes");
+        this.messagesDropped = meterRegistry.counter(PREFIX + "messages.dropped");
+        this.spans = meterRegistry.counter(PREFIX + "spans");
+        this.spanBytes = meterRegistry.counter(PREFIX + "span.bytes");
+        this.spansDropped = meterRegistry.counter(PREFIX + "spans.dropped");
+        Gauge.builder(PREFIX + "queue.spans", queuedSpans, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder(PREFIX + "queue.bytes", queuedBytes, AtomicInteger::get).register(meterRegistry);
+    }
+
+    @Override
+    public void incrementMessages() {
+        messages.increment();
+    }
+
+    @Override
+    public void incrementMessagesDropped(Throwable cause) {
+        messagesDropped.increment();
+    }
+
+    @Override
+    public void incrementSpans(int quantity) {
+        spans.increment(quantity);
+    }
+
+    @Override
+    public void incrementSpanBytes(int quantity) {
+        spanBytes.increment(quantity);
+    }
+
+    @Override
+    public void incrementMessageBytes(int quantity) {
+        messageBytes.increment(quantity);
+    }
+
+    @Override
+    public void incrementSpansDropped(int quantity) {
+        spansDropped.increment(quantity);
+    }
+
+    @Override
+    public void updateQueuedSpans(int update) {
+        queuedSpans.set(update);
+    }
+
+    @Override
+    public void updateQueuedBytes(int update) {
+        queuedBytes.set(update);
+    }
+}
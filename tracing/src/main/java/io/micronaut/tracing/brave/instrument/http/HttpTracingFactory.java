@@ -24,8 +24,10 @@ import io.micronaut.context.annotation.Requires;
 import io.micronaut.http.HttpAttributes;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpResponse;
+import io.micronaut.tracing.brave.sampler.HttpRouteSampler;
 import zipkin2.Endpoint;
 
+import javax.annotation.Nullable;
 import javax.inject.Singleton;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
@@ -45,14 +47,19 @@ public class HttpTracingFactory {
     /**
      * The {@link HttpTracing} bean.
      *
-     * @param tracing The {@link Tracing} bean
+     * @param tracing      The {@link Tracing} bean
+     * @param routeSampler The sampler of the server requests configured per route, if any
      * @return The {@link HttpTracing} bean
      */
     @Bean
     @Singleton
     @Requires(missingBeans = HttpTracing.class)
-    HttpTracing httpTracing(Tracing tracing) {
-        return HttpTracing.create(tracing);
+    HttpTracing httpTracing(Tracing tracing, @Nullable HttpRouteSampler routeSampler) {
+        HttpTracing.Builder builder = HttpTracing.newBuilder(tracing);
+        if (routeSampler != null) {
+            builder.serverSampler(routeSampler);
+        }
+        return builder.build();
     }
 
     /**
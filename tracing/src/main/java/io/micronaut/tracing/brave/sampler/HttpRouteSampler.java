@@ -0,0 +1,91 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.tracing.brave.sampler;
+
+import brave.http.HttpAdapter;
+import brave.http.HttpSampler;
+import brave.sampler.Sampler;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.util.PathMatcher;
+
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A {@link HttpSampler} that applies the {@link HttpRouteSamplerConfiguration} rules to the server requests. The most
+ * specific rule that matches a request decides whether it is sampled: rules that specify a method are tried first,
+ * then rules with longer path patterns. Requests that match no rule are left to the trace sampler.
+ *
+ * @author agent
+ * @since 1.0
+ */
+@Singleton
+@Requires(property = HttpRouteSamplerConfiguration.PREFIX)
+public class HttpRouteSampler extends HttpSampler {
+
+    private final List<Rule> rules;
+
+    /**
+     * @param configurations The route sampler configurations
+     */
+    public HttpRouteSampler(Collection<HttpRouteSamplerConfiguration> configurations) {
+        List<Rule> rules = new ArrayList<>(configurations.size());
+        for (HttpRouteSamplerConfiguration configuration : configurations) {
+            if (configuration.getPath() == null) {
+                throw new IllegalStateException("Route sampler [" + configuration.getName() + "] must specify a path");
+            }
+            rules.add(new Rule(configuration.getMethod().orElse(null), configuration.getPath(), configuration.getSampler()));
+        }
+        rules.sort(Comparator.comparing((Rule rule) -> rule.method == null)
+                .thenComparing(rule -> -rule.path.length()));
+        this.rules = rules;
+    }
+
+    @Override
+    public <Req> Boolean trySample(HttpAdapter<Req, ?> adapter, Req request) {
+        String path = adapter.path(request);
+        if (path == null) {
+            return null;
+        }
+        String method = adapter.method(request);
+        for (Rule rule : rules) {
+            if ((rule.method == null || rule.method.equalsIgnoreCase(method)) && PathMatcher.ANT.matches(rule.path, path)) {
+                // the trace id has not been generated yet, so the sampler decides on its own state
+                return rule.sampler.isSampled(0L);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A sampling rule.
+     */
+    private static final class Rule {
+        private final String method;
+        private final String path;
+        private final Sampler sampler;
+
+        Rule(String method, String path, Sampler sampler) {
+            this.method = method;
+            this.path = path;
+            this.sampler = sampler;
+        }
+    }
+}
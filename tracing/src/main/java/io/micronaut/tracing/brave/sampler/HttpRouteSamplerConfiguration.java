@@ -0,0 +1,127 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.tracing.brave.sampler;
+
+import brave.sampler.CountingSampler;
+import brave.sampler.Sampler;
+import io.micronaut.context.annotation.EachProperty;
+import io.micronaut.context.annotation.Parameter;
+import io.micronaut.tracing.brave.BraveTracerConfiguration;
+
+import javax.annotation.Nullable;
+import java.util.Optional;
+
+/**
+ * Configures the sampling of the server requests that match a path pattern. For example:
+ *
+ * <pre>
+ * tracing:
+ *   zipkin:
+ *     sampler:
+ *       routes:
+ *         health:
+ *           path: /health/**
+ *           probability: 0
+ *         orders:
+ *           path: /orders/**
+ *           method: POST
+ *           traces-per-second: 10
+ * </pre>
+ *
+ * @author agent
+ * @since 1.0
+ */
+@EachProperty(HttpRouteSamplerConfiguration.PREFIX)
+public class HttpRouteSamplerConfiguration {
+
+    public static final String PREFIX = BraveTracerConfiguration.PREFIX + ".sampler.routes";
+
+    private final String name;
+    private String path;
+    private String method;
+    private Float probability;
+    private Integer tracesPerSecond;
+
+    /**
+     * @param name The name of the rule
+     */
+    public HttpRouteSamplerConfiguration(@Parameter String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return The name of the rule
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The ant style path pattern the request path must match
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * @param path The ant style path pattern the request path must match
+     */
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    /**
+     * @return The HTTP method the request must use or empty to match any method
+     */
+    public Optional<String> getMethod() {
+        return Optional.ofNullable(method);
+    }
+
+    /**
+     * @param method The HTTP method the request must use
+     */
+    public void setMethod(@Nullable String method) {
+        this.method = method;
+    }
+
+    /**
+     * @param probability The probability of sampling a matching request, between 0 and 1
+     */
+    public void setProbability(@Nullable Float probability) {
+        this.probability = probability;
+    }
+
+    /**
+     * @param tracesPerSecond The maximum number of matching requests sampled per second
+     */
+    public void setTracesPerSecond(@Nullable Integer tracesPerSecond) {
+        this.tracesPerSecond = tracesPerSecond;
+    }
+
+    /**
+     * @return The sampler of the matching requests. A rate takes precedence over a probability.
+     */
+    public Sampler getSampler() {
+        if (tracesPerSecond != null) {
+            return new RateLimitingSampler(tracesPerSecond);
+        }
+        if (probability != null) {
+            return CountingSampler.create(probability);
+        }
+        throw new IllegalStateException("Route sampler [" + name + "] must specify a probability or traces-per-second");
+    }
+}
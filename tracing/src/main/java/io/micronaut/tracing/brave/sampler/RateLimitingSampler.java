@@ -0,0 +1,65 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.tracing.brave.sampler;
+
+import brave.sampler.Sampler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link Sampler} that samples at most a number of traces per second. Unlike a probability the cost of tracing
+ * stays bounded as the traffic grows, whilst quiet periods are still sampled.
+ *
+ * @author agent
+ * @since 1.0
+ */
+public class RateLimitingSampler extends Sampler {
+
+    private final int tracesPerSecond;
+    private final AtomicLong currentSecond = new AtomicLong();
+    private final AtomicInteger sampledInSecond = new AtomicInteger();
+
+    /**
+     * @param tracesPerSecond The maximum number of traces sampled per second
+     */
+    public RateLimitingSampler(int tracesPerSecond) {
+        if (tracesPerSecond < 0) {
+            throw new IllegalArgumentException("Traces per second must not be negative");
+        }
+        this.tracesPerSecond = tracesPerSecond;
+    }
+
+    @Override
+    public boolean isSampled(long traceId) {
+        if (tracesPerSecond == 0) {
+            return false;
+        }
+        long second = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
+        long current = currentSecond.get();
+        if (second != current && currentSecond.compareAndSet(current, second)) {
+            sampledInSecond.set(0);
+        }
+        return sampledInSecond.incrementAndGet() <= tracesPerSecond;
+    }
+
+    @Override
+    public String toString() {
+        return "RateLimitingSampler(" + tracesPerSecond + ")";
+    }
+}
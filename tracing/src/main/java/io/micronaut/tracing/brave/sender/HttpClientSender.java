@@ -19,13 +19,17 @@ package io.micronaut.tracing.brave.sender;
 import io.micronaut.core.io.buffer.ByteBuffer;
 import io.micronaut.core.util.CollectionUtils;
 import io.micronaut.discovery.exceptions.NoAvailableServiceException;
+import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MediaType;
 import io.micronaut.http.MutableHttpRequest;
 import io.micronaut.http.client.*;
 import io.micronaut.tracing.brave.ZipkinServiceInstanceList;
-import io.reactivex.BackpressureStrategy;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufOutputStream;
 import io.reactivex.Flowable;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
@@ -37,15 +41,20 @@ import zipkin2.codec.Encoding;
 import zipkin2.reporter.Sender;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
 
 /**
- * An {@link Sender} implementation that uses Micronaut's {@link io.micronaut.http.client.HttpClient}.
+ * An {@link Sender} implementation that uses Micronaut's {@link io.micronaut.http.client.HttpClient}. Each batch of
+ * spans is framed as a list of the configured {@link Encoding} into a pooled direct buffer, gzip compressed unless
+ * compression is disabled, and written to the request without further copies.
  *
  * @author graemerocher
  * @since 1.0
@@ -88,7 +97,7 @@ public final class HttpClientSender extends Sender {
     @Override
     public Call<Void> sendSpans(List<byte[]> encodedSpans) {
         if (httpClient != null && httpClient.isRunning()) {
-            return new HttpCall(httpClient, endpoint, compressionEnabled, encodedSpans);
+            return new HttpCall(httpClient, endpoint, encoding, compressionEnabled, encodedSpans);
         } else {
             throw new IllegalStateException("HTTP Client Closed");
         }
@@ -123,17 +132,22 @@ public final class HttpClientSender extends Sender {
      * The HTTP call.
      */
     private static class HttpCall extends Call<Void> {
+        private static final MediaType APPLICATION_PROTOBUF = new MediaType("application/x-protobuf");
+        private static final String GZIP = "gzip";
+
         private final HttpClient httpClient;
         private final URI endpoint;
+        private final Encoding encoding;
         private final boolean compressionEnabled;
         private final List<byte[]> encodedSpans;
 
         private AtomicReference<Subscription> subscription = new AtomicReference<>();
         private AtomicBoolean cancelled = new AtomicBoolean(false);
 
-        HttpCall(HttpClient httpClient, URI endpoint, boolean compressionEnabled, List<byte[]> encodedSpans) {
+        HttpCall(HttpClient httpClient, URI endpoint, Encoding encoding, boolean compressionEnabled, List<byte[]> encodedSpans) {
             this.httpClient = httpClient;
             this.endpoint = endpoint;
+            this.encoding = encoding;
             this.compressionEnabled = compressionEnabled;
             this.encodedSpans = encodedSpans;
         }
@@ -141,16 +155,23 @@ public final class HttpClientSender extends Sender {
         @Override
         public Void execute() throws IOException {
             BlockingHttpClient blockingHttpClient = httpClient.toBlocking();
-            HttpResponse<Object> response = blockingHttpClient.exchange(prepareRequest());
-            if (response.getStatus().getCode() >= HttpStatus.BAD_REQUEST.getCode()) {
-                throw new IllegalStateException("Response return invalid status code: " + response.getStatus());
+            MutableHttpRequest<ByteBuf> request = prepareRequest();
+            try {
+                HttpResponse<Object> response = blockingHttpClient.exchange(request);
+                if (response.getStatus().getCode() >= HttpStatus.BAD_REQUEST.getCode()) {
+                    throw new IllegalStateException("Response return invalid status code: " + response.getStatus());
+                }
+                return null;
+            } finally {
+                request.getBody().ifPresent(ByteBuf::release);
             }
-            return null;
         }
 
         @Override
         public void enqueue(Callback<Void> callback) {
-            Publisher<HttpResponse<ByteBuffer>> publisher = httpClient.exchange(prepareRequest());
+            MutableHttpRequest<ByteBuf> request = prepareRequest();
+            Publisher<HttpResponse<ByteBuffer>> publisher = Flowable.fromPublisher(httpClient.exchange(request))
+                    .doFinally(() -> request.getBody().ifPresent(ByteBuf::release));
             publisher.subscribe(new Subscriber<HttpResponse<ByteBuffer>>() {
                 @Override
                 public void onSubscribe(Subscription s) {
@@ -200,20 +221,62 @@ public final class HttpClientSender extends Sender {
         @Override
         public Call<Void> clone() {
             // stateless. no need to clone
-            return new HttpCall(httpClient, endpoint, compressionEnabled, encodedSpans);
+            return new HttpCall(httpClient, endpoint, encoding, compressionEnabled, encodedSpans);
         }
 
-        protected MutableHttpRequest<Flowable<Object>> prepareRequest() {
-            return HttpRequest.POST(endpoint, spanFlowable());
+        protected MutableHttpRequest<ByteBuf> prepareRequest() {
+            MutableHttpRequest<ByteBuf> request = HttpRequest.POST(endpoint, encodeSpans())
+                    .contentType(encoding == Encoding.JSON ? MediaType.APPLICATION_JSON_TYPE : APPLICATION_PROTOBUF);
+            if (compressionEnabled) {
+                request.header(HttpHeaders.CONTENT_ENCODING, GZIP);
+            }
+            return request;
+        }
+
+        /**
+         * Frames the spans as a list into a pooled direct buffer, compressing them on the fly when enabled.
+         *
+         * @return The buffer, which the client retains for every write and the call releases once the exchange completes
+         */
+        private ByteBuf encodeSpans() {
+            int size = encoding.listSizeInBytes(encodedSpans);
+            // spans compress well, so start with a fraction of the uncompressed size
+            ByteBuf buffer = ByteBufAllocator.DEFAULT.directBuffer(compressionEnabled ? Math.max(size / 4, 64) : size);
+            try {
+                OutputStream out = new ByteBufOutputStream(buffer);
+                if (compressionEnabled) {
+                    out = new GZIPOutputStream(out, 8192);
+                }
+                try {
+                    writeList(out);
+                } finally {
+                    out.close();
+                }
+                return buffer;
+            } catch (IOException e) {
+                buffer.release();
+                throw new UncheckedIOException(e);
+            } catch (RuntimeException e) {
+                buffer.release();
+                throw e;
+            }
         }
 
-        private Flowable<Object> spanFlowable() {
-            return Flowable.create(emitter -> {
-                for (byte[] encodedSpan : encodedSpans) {
-                    emitter.onNext(encodedSpan);
+        private void writeList(OutputStream out) throws IOException {
+            boolean json = encoding == Encoding.JSON;
+            if (json) {
+                out.write('[');
+            }
+            for (int i = 0; i < encodedSpans.size(); i++) {
+                if (json && i > 0) {
+                    out.write(',');
                 }
-                emitter.onComplete();
-            }, BackpressureStrategy.BUFFER);
+                // proto3 spans are already encoded as repeated fields of a list
+                out.write(encodedSpans.get(i));
+            }
+            if (json) {
+                out.write(']');
+            }
         }
     }
 
@@ -223,9 +286,10 @@ public final class HttpClientSender extends Sender {
     public static class Builder {
         public static final String DEFAULT_PATH = "/api/v2/spans";
         public static final String DEFAULT_SERVER_URL = "http://localhost:9411";
+        public static final int DEFAULT_MESSAGE_MAX_BYTES = 512 * 1024;
 
         private Encoding encoding = Encoding.JSON;
-        private int messageMaxBytes = 5 * 1024;
+        private int messageMaxBytes = DEFAULT_MESSAGE_MAX_BYTES;
         private String path = DEFAULT_PATH;
         private boolean compressionEnabled = true;
         private List<URI> servers = Collections.singletonList(URI.create(DEFAULT_SERVER_URL));
@@ -261,7 +325,8 @@ public final class HttpClientSender extends Sender {
         }
 
         /**
-         * The message max bytes.
+         * The maximum size of a batch of spans before compression. The reporter sends a batch once it reaches this
+         * size or the message timeout elapses, so batches grow with the traffic. Defaults to 512KB.
          *
          * @param messageMaxBytes The max bytes
          * @return This builder
@@ -24,7 +24,7 @@ import com.netflix.hystrix.strategy.concurrency.HystrixRequestVariable;
 import com.netflix.hystrix.strategy.concurrency.HystrixRequestVariableLifecycle;
 import com.netflix.hystrix.strategy.properties.HystrixProperty;
 import io.micronaut.context.annotation.Requires;
-import io.micronaut.tracing.instrument.util.TracingCallable;
+import io.micronaut.tracing.instrument.util.ContextPropagation;
 import io.opentracing.Tracer;
 import io.opentracing.noop.NoopTracer;
 
@@ -49,18 +49,18 @@ import java.util.concurrent.TimeUnit;
 public class TracingHystrixConcurrentStrategy extends HystrixConcurrencyStrategy {
 
     private final HystrixConcurrencyStrategy delegate;
-    private final Tracer tracer;
+    private final ContextPropagation contextPropagation;
 
     /**
      * Creates enhanced {@link HystrixConcurrencyStrategy} for tracing.
      *
-     * @param tracer For span creation and propagation across arbitrary transports
+     * @param contextPropagation Propagates context to Hystrix threads
      * @param hystrixConcurrencyStrategy Different behavior or implementations for concurrency related aspects of the system with default implementations
      */
     @Inject
-    public TracingHystrixConcurrentStrategy(Tracer tracer, @Nullable HystrixConcurrencyStrategy hystrixConcurrencyStrategy) {
+    public TracingHystrixConcurrentStrategy(ContextPropagation contextPropagation, @Nullable HystrixConcurrencyStrategy hystrixConcurrencyStrategy) {
         this.delegate = hystrixConcurrencyStrategy != null ? hystrixConcurrencyStrategy : HystrixConcurrencyStrategyDefault.getInstance();
-        this.tracer = tracer;
+        this.contextPropagation = contextPropagation;
     }
 
     @Override
@@ -88,12 +88,7 @@ public class TracingHystrixConcurrentStrategy extends HystrixConcurrencyStrategy
 
     @Override
     public <T> Callable<T> wrapCallable(Callable<T> callable) {
-        Callable<T> wrapped = super.wrapCallable(callable);
-        if (callable instanceof TracingCallable) {
-            return callable;
-        } else {
-            return new TracingCallable<>(wrapped, tracer);
-        }
+        return contextPropagation.instrument(super.wrapCallable(callable));
     }
 
     @Override
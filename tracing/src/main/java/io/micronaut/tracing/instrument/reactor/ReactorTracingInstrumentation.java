@@ -18,76 +18,62 @@ package io.micronaut.tracing.instrument.reactor;
 
 import io.micronaut.context.annotation.Context;
 import io.micronaut.context.annotation.Requires;
-import io.micronaut.tracing.instrument.util.TracingRunnable;
-import io.opentracing.Tracer;
+import io.micronaut.scheduling.instrument.InstrumentedScheduledExecutorService;
+import io.micronaut.tracing.instrument.util.ContextPropagation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Flux;
-import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
 
 import javax.annotation.PostConstruct;
 import javax.inject.Singleton;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ThreadFactory;
 import java.util.function.Supplier;
 
 /**
- * Instrumentation for Reactor.
+ * Instrumentation for Reactor. Context is captured when a task is submitted to the executor backing a
+ * {@link reactor.core.scheduler.Scheduler} so operators that do not switch threads are left untouched.
  *
  * @author graemerocher
  * @since 1.0
  */
 @Requires(classes = Flux.class)
-@Requires(beans = Tracer.class)
+@Requires(beans = ContextPropagation.class)
 @Singleton
 @Context
 public class ReactorTracingInstrumentation {
     private static final Logger LOG = LoggerFactory.getLogger(ReactorTracingInstrumentation.class);
 
     /**
-     * Initialize instrumentation for reactor with the tracer and factory.
+     * Initialize instrumentation for reactor.
      *
-     * @param tracer For Span creation and propagation across arbitrary transports
-     * @param threadFactory The factory to create new threads on-demand
+     * @param contextPropagation Propagates context to scheduled tasks
      */
     @PostConstruct
-    void init(Tracer tracer, ThreadFactory threadFactory) {
+    void init(ContextPropagation contextPropagation) {
         try {
             Schedulers.setFactory(
                     new Schedulers.Factory() {
                         @Override
                         public ScheduledExecutorService decorateExecutorService(String schedulerType, Supplier<? extends ScheduledExecutorService> actual) {
-                            return actual.get();
-                        }
+                            ScheduledExecutorService executorService = actual.get();
+                            return new InstrumentedScheduledExecutorService() {
+                                @Override
+                                public ScheduledExecutorService getTarget() {
+                                    return executorService;
+                                }
 
-                        @Override
-                        public Scheduler newElastic(int ttlSeconds, ThreadFactory threadFactory) {
-                            return Schedulers.Factory.super.newElastic(
-                                    ttlSeconds,
-                                    (ThreadFactory) r -> {
-                                        return threadFactory.newThread(new TracingRunnable(r, tracer));
-                                    }
-                            );
-                        }
+                                @Override
+                                public <T> Callable<T> instrument(Callable<T> task) {
+                                    return contextPropagation.instrument(task);
+                                }
 
-                        @Override
-                        public Scheduler newParallel(int parallelism, ThreadFactory threadFactory) {
-                            return Schedulers.Factory.super.newParallel(
-                                    parallelism,
-                                    (ThreadFactory) r -> {
-                                        return threadFactory.newThread(new TracingRunnable(r, tracer));
-                                    }
-                            );
-                        }
-
-                        @Override
-                        public Scheduler newSingle(ThreadFactory threadFactory) {
-                            return Schedulers.Factory.super.newSingle(
-                                    (ThreadFactory) r -> {
-                                        return threadFactory.newThread(new TracingRunnable(r, tracer));
-                                    }
-                            );
+                                @Override
+                                public Runnable instrument(Runnable command) {
+                                    return contextPropagation.instrument(command);
+                                }
+                            };
                         }
                     }
             );
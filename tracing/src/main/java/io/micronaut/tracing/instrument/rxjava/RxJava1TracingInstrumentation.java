@@ -18,7 +18,7 @@ package io.micronaut.tracing.instrument.rxjava;
 
 import io.micronaut.context.annotation.Context;
 import io.micronaut.context.annotation.Requires;
-import io.micronaut.tracing.instrument.util.TracingRunnableInstrumenter;
+import io.micronaut.tracing.instrument.util.ContextPropagation;
 import rx.Single;
 import rx.functions.Action0;
 import rx.functions.Func1;
@@ -36,41 +36,43 @@ import javax.inject.Singleton;
 @Singleton
 @Context
 @Requires(classes = Single.class)
-@Requires(beans = TracingRunnableInstrumenter.class)
+@Requires(beans = ContextPropagation.class)
 public class RxJava1TracingInstrumentation {
 
     /**
-     * Instrumentation for RxJava 1 using function with {@link io.micronaut.tracing.instrument.util.TracingRunnable}..
+     * Instrumentation for RxJava 1 that propagates context to scheduled actions.
      *
-     * @param instrumenter A function that instruments an existing Runnable with {@link io.micronaut.tracing.instrument.util.TracingRunnable}.
+     * @param contextPropagation Propagates context to scheduled tasks
      */
     @PostConstruct
-    void init(TracingRunnableInstrumenter instrumenter) {
-        if (instrumenter != null) {
+    void init(ContextPropagation contextPropagation) {
+        if (contextPropagation != null) {
             Func1<Action0, Action0> existing = RxJavaHooks.getOnScheduleAction();
             if (existing != null && !(existing instanceof InstrumentScheduleAction)) {
                 RxJavaHooks.setOnScheduleAction(action0 ->
-                        new InstrumentScheduleAction(instrumenter).call(existing.call(action0))
+                        new InstrumentScheduleAction(contextPropagation).call(existing.call(action0))
                 );
             } else {
-                RxJavaHooks.setOnScheduleAction(new InstrumentScheduleAction(instrumenter));
+                RxJavaHooks.setOnScheduleAction(new InstrumentScheduleAction(contextPropagation));
             }
         }
     }
 
     /**
-     * A function that instruments an existing Runnable with {@link io.micronaut.tracing.instrument.util.TracingRunnable}.
+     * A function that propagates context to scheduled actions.
      */
     private static class InstrumentScheduleAction implements Func1<Action0, Action0> {
-        private final TracingRunnableInstrumenter instrumenter;
+        private final ContextPropagation contextPropagation;
 
-        InstrumentScheduleAction(TracingRunnableInstrumenter instrumenter) {
-            this.instrumenter = instrumenter;
+        InstrumentScheduleAction(ContextPropagation contextPropagation) {
+            this.contextPropagation = contextPropagation;
         }
 
         @Override
         public Action0 call(Action0 action0) {
-            return () -> instrumenter.apply(action0::call);
+            Runnable command = action0::call;
+            Runnable instrumented = contextPropagation.instrument(command);
+            return instrumented == command ? action0 : instrumented::run;
         }
     }
 }
@@ -18,7 +18,7 @@ package io.micronaut.tracing.instrument.rxjava;
 
 import io.micronaut.context.annotation.Context;
 import io.micronaut.context.annotation.Requires;
-import io.micronaut.tracing.instrument.util.TracingRunnableInstrumenter;
+import io.micronaut.tracing.instrument.util.ContextPropagation;
 import io.reactivex.functions.Function;
 import io.reactivex.plugins.RxJavaPlugins;
 
@@ -26,31 +26,47 @@ import javax.annotation.PostConstruct;
 import javax.inject.Singleton;
 
 /**
- * Enables RxJava 2 instrumentation.
+ * Enables RxJava 2 instrumentation. Context is captured when a task is handed to a {@link io.reactivex.Scheduler}
+ * so operators that do not switch threads are left untouched.
  *
  * @author graemerocher
  * @since 1.0
  */
 @Singleton
 @Context
-@Requires(beans = TracingRunnableInstrumenter.class)
+@Requires(beans = ContextPropagation.class)
 public class RxJava2TracingInstrumentation {
 
     /**
      * Initialize RxJava2 instrumentation.
      *
-     * @param instrumenter A function that instruments an existing Runnable with {@link io.micronaut.tracing.instrument.util.TracingRunnable}
+     * @param contextPropagation Propagates context to scheduled tasks
      */
     @PostConstruct
-    void init(TracingRunnableInstrumenter instrumenter) {
-        if (instrumenter != null) {
+    void init(ContextPropagation contextPropagation) {
+        if (contextPropagation != null) {
             Function<? super Runnable, ? extends Runnable> existing = RxJavaPlugins.getScheduleHandler();
-            if (existing != null && !(existing instanceof TracingRunnableInstrumenter)) {
-                RxJavaPlugins.setScheduleHandler(runnable -> instrumenter.apply(existing.apply(runnable)));
+            if (existing != null && !(existing instanceof InstrumentScheduleHandler)) {
+                RxJavaPlugins.setScheduleHandler(runnable -> contextPropagation.instrument(existing.apply(runnable)));
             } else {
-                RxJavaPlugins.setScheduleHandler(instrumenter::apply);
+                RxJavaPlugins.setScheduleHandler(new InstrumentScheduleHandler(contextPropagation));
             }
         }
     }
 
+    /**
+     * A schedule handler that propagates context to scheduled tasks.
+     */
+    private static class InstrumentScheduleHandler implements Function<Runnable, Runnable> {
+        private final ContextPropagation contextPropagation;
+
+        InstrumentScheduleHandler(ContextPropagation contextPropagation) {
+            this.contextPropagation = contextPropagation;
+        }
+
+        @Override
+        public Runnable apply(Runnable runnable) {
+            return contextPropagation.instrument(runnable);
+        }
+    }
 }
@@ -21,9 +21,7 @@ import io.micronaut.context.event.BeanCreatedEvent;
 import io.micronaut.context.event.BeanCreatedEventListener;
 import io.micronaut.scheduling.instrument.InstrumentedExecutorService;
 import io.micronaut.scheduling.instrument.InstrumentedScheduledExecutorService;
-import io.micronaut.tracing.instrument.util.TracingCallable;
-import io.micronaut.tracing.instrument.util.TracingRunnable;
-import io.opentracing.Tracer;
+import io.micronaut.tracing.instrument.util.ContextPropagation;
 
 import javax.inject.Singleton;
 import java.util.concurrent.Callable;
@@ -31,24 +29,24 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 
 /**
- * Instruments runnable threads with {@link Tracer}.
+ * Instruments {@link ExecutorService} beans so that submitted tasks run with the context of the submitting thread.
  *
  * @author graemerocher
  * @since 1.0
  */
 @Singleton
-@Requires(beans = Tracer.class)
+@Requires(beans = ContextPropagation.class)
 public class ExecutorServiceInstrumenter implements BeanCreatedEventListener<ExecutorService> {
 
-    private final Tracer tracer;
+    private final ContextPropagation contextPropagation;
 
     /**
      * Creates a new {@link ExecutorServiceInstrumenter}.
      *
-     * @param tracer The tracer
+     * @param contextPropagation Propagates context to submitted tasks
      */
-    public ExecutorServiceInstrumenter(Tracer tracer) {
-        this.tracer = tracer;
+    public ExecutorServiceInstrumenter(ContextPropagation contextPropagation) {
+        this.contextPropagation = contextPropagation;
     }
 
     @Override
@@ -63,12 +61,12 @@ public class ExecutorServiceInstrumenter implements BeanCreatedEventListener<Exe
 
                 @Override
                 public <T> Callable<T> instrument(Callable<T> task) {
-                    return new TracingCallable<>(task, tracer);
+                    return contextPropagation.instrument(task);
                 }
 
                 @Override
                 public Runnable instrument(Runnable command) {
-                    return new TracingRunnable(command, tracer);
+                    return contextPropagation.instrument(command);
                 }
             };
         } else {
@@ -80,12 +78,12 @@ public class ExecutorServiceInstrumenter implements BeanCreatedEventListener<Exe
 
                 @Override
                 public <T> Callable<T> instrument(Callable<T> task) {
-                    return new TracingCallable<>(task, tracer);
+                    return contextPropagation.instrument(task);
                 }
 
                 @Override
                 public Runnable instrument(Runnable command) {
-                    return new TracingRunnable(command, tracer);
+                    return contextPropagation.instrument(command);
                 }
             };
         }
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.tracing.instrument.util;
+
+import io.micronaut.core.order.OrderUtil;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.Collection;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+
+/**
+ * Propagates the context captured by all registered {@link ContextPropagator} instances across thread boundaries.
+ *
+ * <p>Context is captured once when a task is scheduled. Tasks scheduled while there is no context to propagate are
+ * returned as is and tasks that already carry context are not wrapped a second time, so the cost is paid at
+ * scheduling boundaries only and not per operator or per signal.</p>
+ *
+ * @author agent
+ * @since 1.0
+ */
+@Singleton
+public class ContextPropagation implements Function<Runnable, Runnable> {
+
+    private final ContextPropagator[] propagators;
+
+    /**
+     * @param propagators The context propagators
+     */
+    @Inject
+    public ContextPropagation(Collection<ContextPropagator> propagators) {
+        this(propagators.toArray(new ContextPropagator[0]));
+    }
+
+    /**
+     * @param propagators The context propagators
+     */
+    public ContextPropagation(ContextPropagator... propagators) {
+        this.propagators = propagators.clone();
+        OrderUtil.sort(this.propagators);
+    }
+
+    @Override
+    public Runnable apply(Runnable runnable) {
+        return instrument(runnable);
+    }
+
+    /**
+     * Instruments the given task so that it runs with the context of the calling thread.
+     *
+     * @param runnable The task
+     * @return The instrumented task or the original if there is nothing to propagate
+     */
+    public Runnable instrument(Runnable runnable) {
+        if (runnable instanceof PropagatingRunnable) {
+            return runnable;
+        }
+        Object[] captured = capture();
+        if (captured == null) {
+            return runnable;
+        }
+        return new PropagatingRunnable(runnable, captured);
+    }
+
+    /**
+     * Instruments the given task so that it runs with the context of the calling thread.
+     *
+     * @param callable The task
+     * @param <V> The result type
+     * @return The instrumented task or the original if there is nothing to propagate
+     */
+    public <V> Callable<V> instrument(Callable<V> callable) {
+        if (callable instanceof PropagatingCallable) {
+            return callable;
+        }
+        Object[] captured = capture();
+        if (captured == null) {
+            return callable;
+        }
+        return new PropagatingCallable<>(callable, captured);
+    }
+
+    /**
+     * @return The context of each propagator or {@code null} if none of them has anything to propagate
+     */
+    private Object[] capture() {
+        Object[] captured = null;
+        for (int i = 0; i < propagators.length; i++) {
+            Object context = propagators[i].capture();
+            if (context != null) {
+                if (captured == null) {
+                    captured = new Object[propagators.length];
+                }
+                captured[i] = context;
+            }
+        }
+        return captured;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object[] propagate(Object[] captured) {
+        Object[] tokens = new Object[captured.length];
+        for (int i = 0; i < captured.length; i++) {
+            Object context = captured[i];
+            if (context != null) {
+                tokens[i] = propagators[i].propagate(context);
+            }
+        }
+        return tokens;
+    }
+
+    private void restore(Object[] captured, Object[] tokens) {
+        for (int i = captured.length - 1; i >= 0; i--) {
+            if (captured[i] != null) {
+                propagators[i].restore(tokens[i]);
+            }
+        }
+    }
+
+    /**
+     * A runnable that carries captured context.
+     */
+    private final class PropagatingRunnable implements Runnable {
+        private final Runnable runnable;
+        private final Object[] captured;
+
+        PropagatingRunnable(Runnable runnable, Object[] captured) {
+            this.runnable = runnable;
+            this.captured = captured;
+        }
+
+        @Override
+        public void run() {
+            Object[] tokens = propagate(captured);
+            try {
+                runnable.run();
+            } finally {
+                restore(captured, tokens);
+            }
+        }
+    }
+
+    /**
+     * A callable that carries captured context.
+     *
+     * @param <V> The result type
+     */
+    private final class PropagatingCallable<V> implements Callable<V> {
+        private final Callable<V> callable;
+        private final Object[] captured;
+
+        PropagatingCallable(Callable<V> callable, Object[] captured) {
+            this.callable = callable;
+            this.captured = captured;
+        }
+
+        @Override
+        public V call() throws Exception {
+            Object[] tokens = propagate(captured);
+            try {
+                return callable.call();
+            } finally {
+                restore(captured, tokens);
+            }
+        }
+    }
+}
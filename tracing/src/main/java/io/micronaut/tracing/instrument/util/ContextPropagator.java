@@ -0,0 +1,61 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.tracing.instrument.util;
+
+import io.micronaut.core.order.Ordered;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A strategy for carrying a piece of thread-bound context (the active span, the logging MDC, the current request etc.)
+ * from the thread that schedules a task to the thread that executes it.
+ *
+ * <p>{@link #capture()} is invoked once when a task is handed over to a scheduler or executor. If it returns a
+ * non-null value then {@link #propagate(Object)} is invoked on the executing thread before the task runs and
+ * {@link #restore(Object)} with the returned token after it completes.</p>
+ *
+ * @param <C> The type of the captured context
+ *
+ * @author agent
+ * @since 1.0
+ * @see ContextPropagation
+ */
+public interface ContextPropagator<C> extends Ordered {
+
+    /**
+     * Captures the context of the current thread.
+     *
+     * @return The captured context or {@code null} if there is nothing to propagate
+     */
+    @Nullable C capture();
+
+    /**
+     * Binds the previously captured context to the current thread.
+     *
+     * @param context The captured context
+     * @return A token that is passed to {@link #restore(Object)} once the task completes
+     */
+    @Nullable Object propagate(@Nonnull C context);
+
+    /**
+     * Restores the state of the current thread to what it was before {@link #propagate(Object)} was called.
+     *
+     * @param token The token returned by {@link #propagate(Object)}
+     */
+    void restore(@Nullable Object token);
+}
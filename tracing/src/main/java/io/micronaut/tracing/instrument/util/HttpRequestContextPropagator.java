@@ -0,0 +1,53 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.tracing.instrument.util;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.context.ServerRequestContext;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.inject.Singleton;
+
+/**
+ * Propagates the {@link HttpRequest} bound to the current thread by {@link ServerRequestContext}.
+ *
+ * @author agent
+ * @since 1.0
+ */
+@Singleton
+@Requires(classes = ServerRequestContext.class)
+public class HttpRequestContextPropagator implements ContextPropagator<HttpRequest<Object>> {
+
+    @Nullable
+    @Override
+    public HttpRequest<Object> capture() {
+        return ServerRequestContext.<Object>currentRequest().orElse(null);
+    }
+
+    @Nullable
+    @Override
+    public Object propagate(@Nonnull HttpRequest<Object> request) {
+        return ServerRequestContext.set(request);
+    }
+
+    @Override
+    public void restore(@Nullable Object token) {
+        ServerRequestContext.set((HttpRequest) token);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.tracing.instrument.util;
+
+import io.micronaut.context.annotation.Requires;
+import org.slf4j.MDC;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.inject.Singleton;
+import java.util.Map;
+
+/**
+ * Propagates the SLF4J {@link MDC}. Applied before any other propagator so that those that write to the MDC
+ * themselves (such as the Brave trace context) see the propagated values. Can be disabled with
+ * {@code tracing.propagation.mdc.enabled=false}.
+ *
+ * @author agent
+ * @since 1.0
+ */
+@Singleton
+@Requires(classes = MDC.class)
+@Requires(property = MdcContextPropagator.ENABLED, notEquals = "false")
+public class MdcContextPropagator implements ContextPropagator<Map<String, String>> {
+
+    /**
+     * The property used to disable MDC propagation.
+     */
+    public static final String ENABLED = "tracing.propagation.mdc.enabled";
+
+    @Override
+    public int getOrder() {
+        return HIGHEST_PRECEDENCE;
+    }
+
+    @Nullable
+    @Override
+    public Map<String, String> capture() {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        if (context == null || context.isEmpty()) {
+            return null;
+        }
+        return context;
+    }
+
+    @Nullable
+    @Override
+    public Object propagate(@Nonnull Map<String, String> context) {
+        Map<String, String> existing = MDC.getCopyOfContextMap();
+        MDC.setContextMap(context);
+        return existing;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void restore(@Nullable Object token) {
+        if (token == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap((Map<String, String>) token);
+        }
+    }
+}
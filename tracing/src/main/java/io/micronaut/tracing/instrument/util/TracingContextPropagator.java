@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.tracing.instrument.util;
+
+import io.micronaut.context.annotation.Requires;
+import io.opentracing.Scope;
+import io.opentracing.Span;
+import io.opentracing.Tracer;
+import io.opentracing.noop.NoopTracer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.inject.Singleton;
+
+/**
+ * Propagates the active {@link Span}.
+ *
+ * @author agent
+ * @since 1.0
+ */
+@Singleton
+@Requires(beans = Tracer.class)
+@Requires(missingBeans = NoopTracer.class)
+public class TracingContextPropagator implements ContextPropagator<Span> {
+
+    private final Tracer tracer;
+
+    /**
+     * @param tracer The tracer
+     */
+    public TracingContextPropagator(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Nullable
+    @Override
+    public Span capture() {
+        return tracer.activeSpan();
+    }
+
+    @Nullable
+    @Override
+    public Object propagate(@Nonnull Span span) {
+        if (tracer.activeSpan() == span) {
+            return null;
+        }
+        return tracer.scopeManager().activate(span, false);
+    }
+
+    @Override
+    public void restore(@Nullable Object token) {
+        if (token != null) {
+            ((Scope) token).close();
+        }
+    }
+}
@@ -119,6 +119,12 @@ public class TracingPublisher<T> implements Publisher<T> {
 
                     @Override
                     public void onNext(T object) {
+                        if (!isSingle && tracer.activeSpan() == span) {
+                            // the span is already active on this thread, avoid activating a new scope per item
+                            TracingPublisher.this.doOnNext(object, span);
+                            actual.onNext(object);
+                            return;
+                        }
                         try (Scope ignored = tracer.scopeManager().activate(span, isSingle)) {
                             TracingPublisher.this.doOnNext(object, span);
                             actual.onNext(object);
@@ -16,6 +16,9 @@
 package io.micronaut.tracing.brave
 
 import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.context.event.BeanCreatedEvent
+import io.micronaut.context.event.BeanCreatedEventListener
 import io.micronaut.core.io.socket.SocketUtils
 import io.micronaut.http.HttpResponse
 import io.micronaut.http.HttpStatus
@@ -31,6 +34,8 @@ import spock.lang.Specification
 import spock.util.concurrent.PollingConditions
 import zipkin2.Span
 
+import javax.inject.Singleton
+
 /**
  * @author graemerocher
  * @since 1.0
@@ -42,7 +47,8 @@ class HttpClientSenderSpec extends Specification {
         ApplicationContext context = ApplicationContext.run(
                 'tracing.zipkin.enabled':true,
                 'tracing.zipkin.sampler.probability':1,
-                'tracing.zipkin.http.url':HttpClientSender.Builder.DEFAULT_SERVER_URL
+                'tracing.zipkin.http.url':HttpClientSender.Builder.DEFAULT_SERVER_URL,
+                'spec.name':'HttpClientSenderSpec'
         )
         EmbeddedServer embeddedServer = context.getBean(EmbeddedServer).start()
         HttpClient client = context.createBean(HttpClient, embeddedServer.getURL())
@@ -93,6 +99,18 @@ class HttpClientSenderSpec extends Specification {
 
     }
 
+    @Singleton
+    @Requires(property = 'spec.name', value = 'HttpClientSenderSpec')
+    static class UncompressedSenderListener implements BeanCreatedEventListener<BraveTracerConfiguration.HttpClientSenderConfiguration> {
+
+        @Override
+        BraveTracerConfiguration.HttpClientSenderConfiguration onCreated(BeanCreatedEvent<BraveTracerConfiguration.HttpClientSenderConfiguration> event) {
+            // the mock server does not decode compressed request bodies
+            event.bean.builder.compressionEnabled(false)
+            event.bean
+        }
+    }
+
     @Controller('/api/v2')
     static class SpanController {
         List<Map> receivedSpans = []
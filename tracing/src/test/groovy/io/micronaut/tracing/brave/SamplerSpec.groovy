@@ -0,0 +1,103 @@
+package io.micronaut.tracing.brave
+
+import brave.http.HttpServerAdapter
+import brave.http.HttpTracing
+import io.micrometer.core.instrument.MeterRegistry
+import io.micronaut.context.ApplicationContext
+import io.micronaut.tracing.brave.sampler.HttpRouteSampler
+import io.micronaut.tracing.brave.sampler.RateLimitingSampler
+import spock.lang.Specification
+import zipkin2.reporter.ReporterMetrics
+
+class SamplerSpec extends Specification {
+
+    void "test the rate limiting sampler samples at most the configured traces per second"() {
+        given:
+        RateLimitingSampler sampler = new RateLimitingSampler(5)
+
+        when:
+        int sampled = (1..100).count { sampler.isSampled(it) }
+
+        then:
+        sampled <= 10 // the window may roll over once during the loop
+        sampled >= 5
+        !new RateLimitingSampler(0).isSampled(1L)
+    }
+
+    void "test server requests are sampled by the most specific route"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(
+                'tracing.zipkin.enabled': true,
+                'tracing.zipkin.sampler.routes.health.path': '/health/**',
+                'tracing.zipkin.sampler.routes.health.probability': 0,
+                'tracing.zipkin.sampler.routes.all.path': '/**',
+                'tracing.zipkin.sampler.routes.all.probability': 1,
+                'tracing.zipkin.sampler.routes.orders.path': '/orders/**',
+                'tracing.zipkin.sampler.routes.orders.method': 'POST',
+                'tracing.zipkin.sampler.routes.orders.traces-per-second': 0,
+                'micronaut.metrics.binders.logback.enabled': false
+        )
+        HttpTracing httpTracing = context.getBean(HttpTracing)
+
+        expect:
+        httpTracing.serverSampler() instanceof HttpRouteSampler
+        !trySample(httpTracing, 'GET', '/health/db')
+        trySample(httpTracing, 'GET', '/orders/1')
+        !trySample(httpTracing, 'POST', '/orders/1')
+        trySample(httpTracing, 'GET', '/books')
+
+        cleanup:
+        context.close()
+    }
+
+    void "test dropped spans are published to the meter registry"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(
+                'tracing.zipkin.enabled': true,
+                'micronaut.metrics.binders.logback.enabled': false
+        )
+        ReporterMetrics metrics = context.getBean(ReporterMetrics)
+        MeterRegistry registry = context.getBean(MeterRegistry)
+
+        when:
+        metrics.incrementSpansDropped(3)
+        metrics.updateQueuedSpans(7)
+
+        then:
+        metrics instanceof MeterRegistryReporterMetrics
+        registry.get("zipkin.reporter.spans.dropped").counter().count() == 3
+        registry.get("zipkin.reporter.queue.spans").gauge().value() == 7
+
+        cleanup:
+        context.close()
+    }
+
+    private static Boolean trySample(HttpTracing httpTracing, String method, String path) {
+        httpTracing.serverSampler().trySample(new HttpServerAdapter<Map, Map>() {
+            @Override
+            String method(Map request) {
+                request.method
+            }
+
+            @Override
+            String url(Map request) {
+                "http://localhost" + request.path
+            }
+
+            @Override
+            String path(Map request) {
+                request.path
+            }
+
+            @Override
+            String requestHeader(Map request, String name) {
+                null
+            }
+
+            @Override
+            Integer statusCode(Map response) {
+                null
+            }
+        }, [method: method, path: path])
+    }
+}
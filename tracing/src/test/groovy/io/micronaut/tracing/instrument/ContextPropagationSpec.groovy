@@ -0,0 +1,146 @@
+package io.micronaut.tracing.instrument
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.context.ServerRequestContext
+import io.micronaut.inject.qualifiers.Qualifiers
+import io.micronaut.scheduling.TaskExecutors
+import io.micronaut.tracing.instrument.util.ContextPropagation
+import io.micronaut.tracing.instrument.util.ContextPropagator
+import io.micronaut.tracing.instrument.util.HttpRequestContextPropagator
+import io.micronaut.tracing.instrument.util.MdcContextPropagator
+import io.opentracing.Scope
+import io.opentracing.Span
+import io.opentracing.Tracer
+import io.reactivex.Flowable
+import io.reactivex.Single
+import io.reactivex.functions.Function
+import io.reactivex.plugins.RxJavaPlugins
+import io.reactivex.schedulers.Schedulers
+import org.slf4j.MDC
+import spock.lang.Specification
+
+import javax.annotation.Nonnull
+import javax.annotation.Nullable
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.atomic.AtomicInteger
+
+class ContextPropagationSpec extends Specification {
+
+    void cleanup() {
+        RxJavaPlugins.setScheduleHandler(null)
+    }
+
+    void "test the active span is propagated to tasks submitted to executors"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(
+                'tracing.zipkin.enabled': true,
+                'micronaut.metrics.binders.logback.enabled': false
+        )
+        Tracer tracer = context.getBean(Tracer)
+        ExecutorService executor = context.getBean(ExecutorService, Qualifiers.byName(TaskExecutors.IO))
+        Span span = tracer.buildSpan("test").start()
+
+        when:
+        Span propagated
+        Scope scope = tracer.scopeManager().activate(span, false)
+        try {
+            propagated = executor.submit({ tracer.activeSpan() } as java.util.concurrent.Callable).get()
+        } finally {
+            scope.close()
+        }
+        Span afterwards = executor.submit({ tracer.activeSpan() } as java.util.concurrent.Callable).get()
+
+        then:
+        context.getBean(ContextPropagation)
+        propagated.is(span)
+        afterwards == null
+
+        cleanup:
+        span.finish()
+        context.close()
+    }
+
+    void "test context is captured once per scheduling boundary regardless of the number of operators"() {
+        given:
+        CountingPropagator counter = new CountingPropagator()
+        scheduleWith(new ContextPropagation(counter, new HttpRequestContextPropagator()))
+        HttpRequest request = HttpRequest.GET("/test")
+
+        when:
+        List<Object> results = operators.collect { int count ->
+            ServerRequestContext.with(request, {
+                Flowable<Integer> flowable = Flowable.range(1, 100)
+                count.times { flowable = flowable.map { it + 1 } }
+                flowable.subscribeOn(Schedulers.io())
+                        .map { ServerRequestContext.currentRequest().orElse(null) }
+                        .lastOrError()
+                        .blockingGet()
+            } as java.util.function.Supplier)
+        }
+
+        then:
+        results.every { it.is(request) }
+        counter.captures.get() == operators.size()
+        counter.propagations.get() == operators.size()
+
+        where:
+        operators = [1, 10, 50]
+    }
+
+    void "test tasks are not wrapped when there is no context to propagate"() {
+        given:
+        ContextPropagation propagation = new ContextPropagation(new HttpRequestContextPropagator())
+        Runnable runnable = { -> }
+        Runnable instrumented = ServerRequestContext.with(HttpRequest.GET("/"), { propagation.instrument(runnable) } as java.util.function.Supplier)
+
+        expect:
+        propagation.instrument(runnable).is(runnable)
+        !instrumented.is(runnable)
+        propagation.instrument(instrumented).is(instrumented)
+    }
+
+    void "test the MDC is propagated across RxJava schedulers"() {
+        given:
+        scheduleWith(new ContextPropagation(new MdcContextPropagator()))
+        MDC.put("user", "fred")
+
+        when:
+        String user = Single.fromCallable { String.valueOf(MDC.get("user")) }
+                .subscribeOn(Schedulers.computation())
+                .blockingGet()
+        MDC.clear()
+        String afterwards = Single.fromCallable { String.valueOf(MDC.get("user")) }
+                .subscribeOn(Schedulers.computation())
+                .blockingGet()
+
+        then:
+        user == "fred"
+        afterwards == "null"
+    }
+
+    private static void scheduleWith(ContextPropagation propagation) {
+        RxJavaPlugins.setScheduleHandler({ Runnable runnable -> propagation.instrument(runnable) } as Function)
+    }
+
+    static class CountingPropagator implements ContextPropagator<Object> {
+        final AtomicInteger captures = new AtomicInteger()
+        final AtomicInteger propagations = new AtomicInteger()
+
+        @Override
+        Object capture() {
+            captures.incrementAndGet()
+            return this
+        }
+
+        @Override
+        Object propagate(@Nonnull Object context) {
+            propagations.incrementAndGet()
+            return null
+        }
+
+        @Override
+        void restore(@Nullable Object token) {
+        }
+    }
+}